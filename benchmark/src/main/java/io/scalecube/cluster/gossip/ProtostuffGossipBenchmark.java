@@ -56,7 +56,7 @@ public class ProtostuffGossipBenchmark {
    */
   @Setup
   public void setup() {
-    List<Gossip> gossips = ImmutableList.of(new Gossip("ABCDEFGH_0", Message.fromData(PAYLOAD_X32)));
+    List<Gossip> gossips = ImmutableList.of(new Gossip("ABCDEFGH", 0, Message.fromData(PAYLOAD_X32)));
     Member from = new Member("0", Address.from("localhost:1234"));
     gossipReq = Message.fromData(new GossipRequest(gossips, from.id()));
     MessageCodec.serialize(gossipReq, gossipReqSer = Unpooled.buffer(1024));
@@ -65,7 +65,7 @@ public class ProtostuffGossipBenchmark {
 
     List<Gossip> list32 = new ArrayList<>();
     for (int i = 0; i < 32; i++) {
-      list32.add(new Gossip("ABCDEFGH_" + i, Message.fromData(PAYLOAD)));
+      list32.add(new Gossip("ABCDEFGH", i, Message.fromData(PAYLOAD)));
     }
     gossipReqx32 = Message.fromData(new GossipRequest(list32, from.id()));
     MessageCodec.serialize(gossipReqx32, gossipReqx32Ser = Unpooled.buffer(1024));
@@ -1,6 +1,8 @@
 package io.scalecube.cluster;
 
+import io.scalecube.cluster.cell.CellSummary;
 import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.membership.SyncMetrics;
 import io.scalecube.transport.Address;
 import io.scalecube.transport.Message;
 import io.scalecube.transport.NetworkEmulator;
@@ -9,10 +11,13 @@ import com.google.common.base.Throwables;
 
 import rx.Observable;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
@@ -119,15 +124,29 @@ public interface Cluster {
   Observable<Message> listen();
 
   /**
-   * Spreads given message between cluster members using gossiping protocol.
+   * Spreads given message between cluster members using gossiping protocol or using Plumtree broadcast if it is
+   * enabled by {@link ClusterConfig.Builder#broadcastEnabled(boolean)}.
    */
   CompletableFuture<String> spreadGossip(Message message);
 
+  /**
+   * Spreads given message between cluster members interested in the given topic (see {@link #listenGossips(String)})
+   * using gossiping protocol. Members not interested in the topic don't receive such gossips except a bounded number of
+   * topic relays.
+   */
+  CompletableFuture<String> spreadGossip(String topic, Message message);
+
   /**
    * Listens for gossips from other cluster members.
    */
   Observable<Message> listenGossips();
 
+  /**
+   * Listens for gossips of the given topic from other cluster members. Interest in the topic is advertised to other
+   * cluster members via member metadata while there are subscribers.
+   */
+  Observable<Message> listenGossips(String topic);
+
   /**
    * Returns local cluster member which corresponds to this cluster instance.
    */
@@ -153,10 +172,17 @@ public interface Cluster {
    */
   Collection<Member> otherMembers();
 
+  /**
+   * Returns current immutable snapshot of cluster members. Snapshot is replaced by a new one with greater
+   * {@link ClusterView#version()} on each membership change.
+   */
+  ClusterView view();
+
   /**
    * Updates local member metadata with the given metadata map. Metadata is updated asynchronously and results in a
    * membership update event for local member once it is updated locally. Information about new metadata is disseminated
-   * to other nodes of the cluster with a weekly-consistent guarantees.
+   * to other nodes of the cluster with a weekly-consistent guarantees. Metadata properties with "sc/" prefix which are
+   * maintained by cluster itself are kept unless the given metadata overrides them.
    *
    * @param metadata new metadata
    */
@@ -177,6 +203,15 @@ public interface Cluster {
    */
   Observable<MembershipEvent> listenMembership();
 
+  /**
+   * Listen changes in cluster membership collected during the given time window and coalesced into net change per
+   * member (see {@link MembershipEvent#coalesce(List)}). Windows without net changes are skipped. Intended for
+   * consumers which rebuild their state on each change, so a burst of changes costs them a single rebuild.
+   *
+   * @param window time window to collect changes
+   */
+  Observable<List<MembershipEvent>> listenMembershipBatched(Duration window);
+
   /**
    * Member notifies other members of the cluster about leaving and gracefully shutdown and free occupied resources.
    *
@@ -184,6 +219,35 @@ public interface Cluster {
    */
   CompletableFuture<Void> shutdown();
 
+  /**
+   * Returns aggregate view of all cells of the cluster including the cell of local member if hierarchical mode is
+   * enabled by {@link ClusterConfig#isCellsEnabled()}, otherwise empty collection.
+   */
+  Collection<CellSummary> cells();
+
+  /**
+   * Returns counters of traffic exchanged with members of other zones. Counters stay zero unless zone awareness is
+   * enabled by {@link ClusterConfig#getZoneMetadataKey()}.
+   */
+  ZoneTrafficMetrics zoneTrafficMetrics();
+
+  /**
+   * Returns counters of periodic membership syncs which local member sends and receives.
+   */
+  SyncMetrics syncMetrics();
+
+  /**
+   * Returns round trip time in milliseconds to the given member estimated by network coordinates, empty if network
+   * coordinates are disabled by {@link ClusterConfig#isNetworkCoordinatesEnabled()} or the member wasn't pinged yet.
+   */
+  OptionalDouble estimatedRtt(Member member);
+
+  /**
+   * Returns up to the given number of other members with known network coordinates ordered by estimated round trip
+   * time, nearest first. Returns empty list if network coordinates are disabled.
+   */
+  List<Member> nearestMembers(int count);
+
   /**
    * Check if cluster instance has been shut down.
    * 
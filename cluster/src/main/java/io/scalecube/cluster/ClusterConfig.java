@@ -1,12 +1,19 @@
 package io.scalecube.cluster;
 
+import io.scalecube.cluster.broadcast.BroadcastConfig;
+import io.scalecube.cluster.cell.CellConfig;
 import io.scalecube.cluster.fdetector.FailureDetectorConfig;
 import io.scalecube.cluster.gossip.GossipConfig;
 import io.scalecube.cluster.membership.MembershipConfig;
 import io.scalecube.transport.Address;
+import io.scalecube.transport.StallWatchdog;
 import io.scalecube.transport.TransportConfig;
+import io.scalecube.transport.TransportMetrics;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+import io.netty.channel.EventLoopGroup;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,6 +21,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Cluster configuration encapsulate settings needed cluster to create and successfully join.
@@ -21,23 +30,59 @@ import java.util.Map;
  * @see MembershipConfig
  * @see FailureDetectorConfig
  * @see GossipConfig
+ * @see BroadcastConfig
+ * @see CellConfig
  * @see TransportConfig
  *
  * @author Anton Kharenko
  */
-public final class ClusterConfig implements FailureDetectorConfig, GossipConfig, MembershipConfig {
+public final class ClusterConfig
+    implements FailureDetectorConfig, GossipConfig, MembershipConfig, BroadcastConfig, CellConfig {
 
   // Default settings for LAN cluster
   public static final String DEFAULT_SYNC_GROUP = "default";
   public static final int DEFAULT_SYNC_INTERVAL = 30_000;
   public static final int DEFAULT_SYNC_TIMEOUT = 3_000;
+  public static final int DEFAULT_SYNC_PAGE_SIZE = 0;
+  public static final int DEFAULT_SYNC_MAX_CONCURRENT_JOINS = 0;
+  public static final boolean DEFAULT_SYNC_DELTA_ENABLED = false;
+  public static final boolean DEFAULT_METADATA_FETCH_ENABLED = false;
+  public static final int DEFAULT_METADATA_FETCH_TIMEOUT = 1_000;
   public static final int DEFAULT_SUSPICION_MULT = 5;
+  public static final int DEFAULT_SUSPICION_MAX_TIMEOUT_MULT = 6;
+  public static final int DEFAULT_PIGGYBACK_MAX_SIZE = 0;
   public static final int DEFAULT_PING_INTERVAL = 1_000;
   public static final int DEFAULT_PING_TIMEOUT = 500;
   public static final int DEFAULT_PING_REQ_MEMBERS = 3;
+  public static final boolean DEFAULT_LIFEGUARD_ENABLED = false;
+  public static final int DEFAULT_LIFEGUARD_MAX_HEALTH_MULT = 8;
+  public static final boolean DEFAULT_PHI_ACCRUAL_ENABLED = false;
+  public static final double DEFAULT_PHI_THRESHOLD = 8.0;
+  public static final int DEFAULT_PHI_WINDOW_SIZE = 100;
+  public static final int DEFAULT_PHI_MIN_SAMPLES = 10;
+  public static final int DEFAULT_PHI_MIN_PING_TIMEOUT = 50;
+  public static final boolean DEFAULT_NETWORK_COORDINATES_ENABLED = false;
   public static final long DEFAULT_GOSSIP_INTERVAL = 200;
   public static final int DEFAULT_GOSSIP_FANOUT = 3;
   public static final int DEFAULT_GOSSIP_REPEAT_MULT = 3;
+  public static final int DEFAULT_GOSSIP_MAX_REQUEST_GOSSIPS = 0;
+  public static final int DEFAULT_GOSSIP_MAX_REQUEST_SIZE = 0;
+  public static final long DEFAULT_GOSSIP_MIN_INTERVAL = 0;
+  public static final int DEFAULT_GOSSIP_PUSH_PULL_THRESHOLD = 0;
+  public static final int DEFAULT_GOSSIP_TOPIC_RELAYS = 2;
+  public static final String DEFAULT_ZONE_METADATA_KEY = null;
+  public static final int DEFAULT_CROSS_ZONE_GOSSIP_FANOUT = 1;
+  public static final int DEFAULT_CROSS_ZONE_PING_PERCENT = 20;
+  public static final boolean DEFAULT_CELLS_ENABLED = false;
+  public static final int DEFAULT_CELL_COUNT = 16;
+  public static final int DEFAULT_CELL_REPRESENTATIVES = 2;
+  public static final long DEFAULT_CELL_SUMMARY_INTERVAL = 1_000;
+  public static final long DEFAULT_CELL_SUMMARY_TIMEOUT = 30_000;
+  public static final boolean DEFAULT_BROADCAST_ENABLED = false;
+  public static final long DEFAULT_BROADCAST_LAZY_INTERVAL = 100;
+  public static final long DEFAULT_BROADCAST_GRAFT_TIMEOUT = 500;
+  public static final long DEFAULT_BROADCAST_RETENTION = 60_000;
+  public static final int DEFAULT_BROADCAST_MAX_RETAINED_MESSAGES = 10_000;
 
   // Default settings for WAN cluster (overrides default/LAN settings)
   public static final int DEFAULT_WAN_SUSPICION_MULT = 6;
@@ -45,6 +90,7 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
   public static final int DEFAULT_WAN_PING_TIMEOUT = 3_000;
   public static final int DEFAULT_WAN_PING_INTERVAL = 5_000;
   public static final int DEFAULT_WAN_GOSSIP_FANOUT = 4;
+  public static final String DEFAULT_WAN_ZONE_METADATA_KEY = "zone";
   public static final int DEFAULT_WAN_CONNECT_TIMEOUT = 10_000;
 
   // Default settings for local cluster working via loopback interface (overrides default/LAN settings)
@@ -60,44 +106,129 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
   public static final String DEFAULT_MEMBER_HOST = null;
   public static final Integer DEFAULT_MEMBER_PORT = null;
 
+  public static final boolean DEFAULT_FLIGHT_RECORDER_ENABLED = false;
+  public static final boolean DEFAULT_TRANSPORT_EVENT_LOOP_ENABLED = false;
+  public static final ScheduledExecutorService DEFAULT_PROTOCOL_EXECUTOR = null;
+  public static final Ticker DEFAULT_TICKER = Ticker.systemTicker();
+  public static final Random DEFAULT_RANDOM = null;
+
   private final List<Address> seedMembers;
   private final Map<String, String> metadata;
   private final int syncInterval;
   private final int syncTimeout;
+  private final int syncPageSize;
+  private final int syncMaxConcurrentJoins;
+  private final boolean syncDeltaEnabled;
+  private final boolean metadataFetchEnabled;
+  private final int metadataFetchTimeout;
   private final int suspicionMult;
+  private final int suspicionMaxTimeoutMult;
+  private final int piggybackMaxSize;
   private final String syncGroup;
 
   private final int pingInterval;
   private final int pingTimeout;
   private final int pingReqMembers;
+  private final boolean lifeguardEnabled;
+  private final int lifeguardMaxHealthMult;
+  private final boolean phiAccrualEnabled;
+  private final double phiThreshold;
+  private final int phiWindowSize;
+  private final int phiMinSamples;
+  private final int phiMinPingTimeout;
+  private final boolean networkCoordinatesEnabled;
 
   private final long gossipInterval;
   private final int gossipFanout;
   private final int gossipRepeatMult;
+  private final int gossipMaxRequestGossips;
+  private final int gossipMaxRequestSize;
+  private final long gossipMinInterval;
+  private final int gossipPushPullThreshold;
+  private final int gossipTopicRelays;
+  private final String zoneMetadataKey;
+  private final List<String> metadataIndexKeys;
+  private final int crossZoneGossipFanout;
+  private final int crossZonePingPercent;
+  private final boolean cellsEnabled;
+  private final int cellCount;
+  private final int cellRepresentatives;
+  private final long cellSummaryInterval;
+  private final long cellSummaryTimeout;
+  private final boolean broadcastEnabled;
+  private final long broadcastLazyInterval;
+  private final long broadcastGraftTimeout;
+  private final long broadcastRetention;
+  private final int broadcastMaxRetainedMessages;
 
   private final TransportConfig transportConfig;
   private final String memberHost;
   private final Integer memberPort;
 
+  private final boolean flightRecorderEnabled;
+  private final boolean transportEventLoopEnabled;
+  private final ScheduledExecutorService protocolExecutor;
+  private final Ticker ticker;
+  private final Random random;
+
   private ClusterConfig(Builder builder) {
     this.seedMembers = Collections.unmodifiableList(builder.seedMembers);
     this.metadata = Collections.unmodifiableMap(builder.metadata);
     this.syncInterval = builder.syncInterval;
     this.syncTimeout = builder.syncTimeout;
+    this.syncPageSize = builder.syncPageSize;
+    this.syncMaxConcurrentJoins = builder.syncMaxConcurrentJoins;
+    this.syncDeltaEnabled = builder.syncDeltaEnabled;
+    this.metadataFetchEnabled = builder.metadataFetchEnabled;
+    this.metadataFetchTimeout = builder.metadataFetchTimeout;
     this.syncGroup = builder.syncGroup;
     this.suspicionMult = builder.suspicionMult;
+    this.suspicionMaxTimeoutMult = builder.suspicionMaxTimeoutMult;
+    this.piggybackMaxSize = builder.piggybackMaxSize;
 
     this.pingInterval = builder.pingInterval;
     this.pingTimeout = builder.pingTimeout;
     this.pingReqMembers = builder.pingReqMembers;
+    this.lifeguardEnabled = builder.lifeguardEnabled;
+    this.lifeguardMaxHealthMult = builder.lifeguardMaxHealthMult;
+    this.phiAccrualEnabled = builder.phiAccrualEnabled;
+    this.phiThreshold = builder.phiThreshold;
+    this.phiWindowSize = builder.phiWindowSize;
+    this.phiMinSamples = builder.phiMinSamples;
+    this.phiMinPingTimeout = builder.phiMinPingTimeout;
+    this.networkCoordinatesEnabled = builder.networkCoordinatesEnabled;
 
     this.gossipFanout = builder.gossipFanout;
     this.gossipInterval = builder.gossipInterval;
     this.gossipRepeatMult = builder.gossipRepeatMult;
+    this.gossipMaxRequestGossips = builder.gossipMaxRequestGossips;
+    this.gossipMaxRequestSize = builder.gossipMaxRequestSize;
+    this.gossipMinInterval = builder.gossipMinInterval;
+    this.gossipPushPullThreshold = builder.gossipPushPullThreshold;
+    this.gossipTopicRelays = builder.gossipTopicRelays;
+    this.zoneMetadataKey = builder.zoneMetadataKey;
+    this.metadataIndexKeys = Collections.unmodifiableList(builder.metadataIndexKeys);
+    this.crossZoneGossipFanout = builder.crossZoneGossipFanout;
+    this.crossZonePingPercent = builder.crossZonePingPercent;
+    this.cellsEnabled = builder.cellsEnabled;
+    this.cellCount = builder.cellCount;
+    this.cellRepresentatives = builder.cellRepresentatives;
+    this.cellSummaryInterval = builder.cellSummaryInterval;
+    this.cellSummaryTimeout = builder.cellSummaryTimeout;
+    this.broadcastEnabled = builder.broadcastEnabled;
+    this.broadcastLazyInterval = builder.broadcastLazyInterval;
+    this.broadcastGraftTimeout = builder.broadcastGraftTimeout;
+    this.broadcastRetention = builder.broadcastRetention;
+    this.broadcastMaxRetainedMessages = builder.broadcastMaxRetainedMessages;
 
     this.transportConfig = builder.transportConfigBuilder.build();
     this.memberHost = builder.memberHost;
     this.memberPort = builder.memberPort;
+    this.flightRecorderEnabled = builder.flightRecorderEnabled;
+    this.transportEventLoopEnabled = builder.transportEventLoopEnabled;
+    this.protocolExecutor = builder.protocolExecutor;
+    this.ticker = builder.ticker;
+    this.random = builder.random;
   }
 
   public static Builder builder() {
@@ -122,6 +253,7 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
         .pingTimeout(DEFAULT_WAN_PING_TIMEOUT)
         .pingInterval(DEFAULT_WAN_PING_INTERVAL)
         .gossipFanout(DEFAULT_WAN_GOSSIP_FANOUT)
+        .zoneMetadataKey(DEFAULT_WAN_ZONE_METADATA_KEY)
         .connectTimeout(DEFAULT_WAN_CONNECT_TIMEOUT)
         .build();
   }
@@ -158,10 +290,38 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
     return syncTimeout;
   }
 
+  public int getSyncPageSize() {
+    return syncPageSize;
+  }
+
+  public int getSyncMaxConcurrentJoins() {
+    return syncMaxConcurrentJoins;
+  }
+
+  public boolean isSyncDeltaEnabled() {
+    return syncDeltaEnabled;
+  }
+
+  public boolean isMetadataFetchEnabled() {
+    return metadataFetchEnabled;
+  }
+
+  public int getMetadataFetchTimeout() {
+    return metadataFetchTimeout;
+  }
+
   public int getSuspicionMult() {
     return suspicionMult;
   }
 
+  public int getSuspicionMaxTimeoutMult() {
+    return suspicionMaxTimeoutMult;
+  }
+
+  public int getPiggybackMaxSize() {
+    return piggybackMaxSize;
+  }
+
   public String getSyncGroup() {
     return syncGroup;
   }
@@ -178,6 +338,38 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
     return pingReqMembers;
   }
 
+  public boolean isLifeguardEnabled() {
+    return lifeguardEnabled;
+  }
+
+  public int getLifeguardMaxHealthMult() {
+    return lifeguardMaxHealthMult;
+  }
+
+  public boolean isPhiAccrualEnabled() {
+    return phiAccrualEnabled;
+  }
+
+  public double getPhiThreshold() {
+    return phiThreshold;
+  }
+
+  public int getPhiWindowSize() {
+    return phiWindowSize;
+  }
+
+  public int getPhiMinSamples() {
+    return phiMinSamples;
+  }
+
+  public int getPhiMinPingTimeout() {
+    return phiMinPingTimeout;
+  }
+
+  public boolean isNetworkCoordinatesEnabled() {
+    return networkCoordinatesEnabled;
+  }
+
   public int getGossipFanout() {
     return gossipFanout;
   }
@@ -190,6 +382,82 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
     return gossipRepeatMult;
   }
 
+  public int getGossipMaxRequestGossips() {
+    return gossipMaxRequestGossips;
+  }
+
+  public int getGossipMaxRequestSize() {
+    return gossipMaxRequestSize;
+  }
+
+  public long getGossipMinInterval() {
+    return gossipMinInterval;
+  }
+
+  public int getGossipPushPullThreshold() {
+    return gossipPushPullThreshold;
+  }
+
+  public int getGossipTopicRelays() {
+    return gossipTopicRelays;
+  }
+
+  public String getZoneMetadataKey() {
+    return zoneMetadataKey;
+  }
+
+  public List<String> getMetadataIndexKeys() {
+    return metadataIndexKeys;
+  }
+
+  public int getCrossZoneGossipFanout() {
+    return crossZoneGossipFanout;
+  }
+
+  public int getCrossZonePingPercent() {
+    return crossZonePingPercent;
+  }
+
+  public boolean isCellsEnabled() {
+    return cellsEnabled;
+  }
+
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  public int getCellRepresentatives() {
+    return cellRepresentatives;
+  }
+
+  public long getCellSummaryInterval() {
+    return cellSummaryInterval;
+  }
+
+  public long getCellSummaryTimeout() {
+    return cellSummaryTimeout;
+  }
+
+  public boolean isBroadcastEnabled() {
+    return broadcastEnabled;
+  }
+
+  public long getBroadcastLazyInterval() {
+    return broadcastLazyInterval;
+  }
+
+  public long getBroadcastGraftTimeout() {
+    return broadcastGraftTimeout;
+  }
+
+  public long getBroadcastRetention() {
+    return broadcastRetention;
+  }
+
+  public int getBroadcastMaxRetainedMessages() {
+    return broadcastMaxRetainedMessages;
+  }
+
   public TransportConfig getTransportConfig() {
     return transportConfig;
   }
@@ -202,23 +470,86 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
     return memberPort;
   }
 
+  public boolean isFlightRecorderEnabled() {
+    return flightRecorderEnabled;
+  }
+
+  public boolean isTransportEventLoopEnabled() {
+    return transportEventLoopEnabled;
+  }
+
+  public ScheduledExecutorService getProtocolExecutor() {
+    return protocolExecutor;
+  }
+
+  public Ticker getTicker() {
+    return ticker;
+  }
+
+  public Random getRandom() {
+    return random;
+  }
+
+  public StallWatchdog getStallWatchdog() {
+    return transportConfig.getStallWatchdog();
+  }
+
   @Override
   public String toString() {
     return "ClusterConfig{seedMembers=" + seedMembers
         + ", metadata=" + metadata
         + ", syncInterval=" + syncInterval
         + ", syncTimeout=" + syncTimeout
+        + ", syncPageSize=" + syncPageSize
+        + ", syncMaxConcurrentJoins=" + syncMaxConcurrentJoins
+        + ", syncDeltaEnabled=" + syncDeltaEnabled
+        + ", metadataFetchEnabled=" + metadataFetchEnabled
+        + ", metadataFetchTimeout=" + metadataFetchTimeout
         + ", suspicionMult=" + suspicionMult
+        + ", suspicionMaxTimeoutMult=" + suspicionMaxTimeoutMult
+        + ", piggybackMaxSize=" + piggybackMaxSize
         + ", syncGroup='" + syncGroup + '\''
         + ", pingInterval=" + pingInterval
         + ", pingTimeout=" + pingTimeout
         + ", pingReqMembers=" + pingReqMembers
+        + ", lifeguardEnabled=" + lifeguardEnabled
+        + ", lifeguardMaxHealthMult=" + lifeguardMaxHealthMult
+        + ", phiAccrualEnabled=" + phiAccrualEnabled
+        + ", phiThreshold=" + phiThreshold
+        + ", phiWindowSize=" + phiWindowSize
+        + ", phiMinSamples=" + phiMinSamples
+        + ", phiMinPingTimeout=" + phiMinPingTimeout
+        + ", networkCoordinatesEnabled=" + networkCoordinatesEnabled
         + ", gossipInterval=" + gossipInterval
         + ", gossipFanout=" + gossipFanout
         + ", gossipRepeatMult=" + gossipRepeatMult
+        + ", gossipMaxRequestGossips=" + gossipMaxRequestGossips
+        + ", gossipMaxRequestSize=" + gossipMaxRequestSize
+        + ", gossipMinInterval=" + gossipMinInterval
+        + ", gossipPushPullThreshold=" + gossipPushPullThreshold
+        + ", gossipTopicRelays=" + gossipTopicRelays
+        + ", zoneMetadataKey=" + zoneMetadataKey
+        + ", metadataIndexKeys=" + metadataIndexKeys
+        + ", crossZoneGossipFanout=" + crossZoneGossipFanout
+        + ", crossZonePingPercent=" + crossZonePingPercent
+        + ", cellsEnabled=" + cellsEnabled
+        + ", cellCount=" + cellCount
+        + ", cellRepresentatives=" + cellRepresentatives
+        + ", cellSummaryInterval=" + cellSummaryInterval
+        + ", cellSummaryTimeout=" + cellSummaryTimeout
+        + ", broadcastEnabled=" + broadcastEnabled
+        + ", broadcastLazyInterval=" + broadcastLazyInterval
+        + ", broadcastGraftTimeout=" + broadcastGraftTimeout
+        + ", broadcastRetention=" + broadcastRetention
+        + ", broadcastMaxRetainedMessages=" + broadcastMaxRetainedMessages
         + ", transportConfig=" + transportConfig
         + ", memberHost=" + memberHost
         + ", memberPort=" + memberPort
+        + ", flightRecorderEnabled=" + flightRecorderEnabled
+        + ", transportEventLoopEnabled=" + transportEventLoopEnabled
+        + ", protocolExecutor=" + protocolExecutor
+        + ", ticker=" + ticker
+        + ", random=" + random
         + '}';
   }
 
@@ -228,22 +559,62 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
     private Map<String, String> metadata = new HashMap<>();
     private int syncInterval = DEFAULT_SYNC_INTERVAL;
     private int syncTimeout = DEFAULT_SYNC_TIMEOUT;
+    private int syncPageSize = DEFAULT_SYNC_PAGE_SIZE;
+    private int syncMaxConcurrentJoins = DEFAULT_SYNC_MAX_CONCURRENT_JOINS;
+    private boolean syncDeltaEnabled = DEFAULT_SYNC_DELTA_ENABLED;
+    private boolean metadataFetchEnabled = DEFAULT_METADATA_FETCH_ENABLED;
+    private int metadataFetchTimeout = DEFAULT_METADATA_FETCH_TIMEOUT;
     private String syncGroup = DEFAULT_SYNC_GROUP;
     private int suspicionMult = DEFAULT_SUSPICION_MULT;
+    private int suspicionMaxTimeoutMult = DEFAULT_SUSPICION_MAX_TIMEOUT_MULT;
+    private int piggybackMaxSize = DEFAULT_PIGGYBACK_MAX_SIZE;
 
     private int pingInterval = DEFAULT_PING_INTERVAL;
     private int pingTimeout = DEFAULT_PING_TIMEOUT;
     private int pingReqMembers = DEFAULT_PING_REQ_MEMBERS;
+    private boolean lifeguardEnabled = DEFAULT_LIFEGUARD_ENABLED;
+    private int lifeguardMaxHealthMult = DEFAULT_LIFEGUARD_MAX_HEALTH_MULT;
+    private boolean phiAccrualEnabled = DEFAULT_PHI_ACCRUAL_ENABLED;
+    private double phiThreshold = DEFAULT_PHI_THRESHOLD;
+    private int phiWindowSize = DEFAULT_PHI_WINDOW_SIZE;
+    private int phiMinSamples = DEFAULT_PHI_MIN_SAMPLES;
+    private int phiMinPingTimeout = DEFAULT_PHI_MIN_PING_TIMEOUT;
+    private boolean networkCoordinatesEnabled = DEFAULT_NETWORK_COORDINATES_ENABLED;
 
     private long gossipInterval = DEFAULT_GOSSIP_INTERVAL;
     private int gossipFanout = DEFAULT_GOSSIP_FANOUT;
     private int gossipRepeatMult = DEFAULT_GOSSIP_REPEAT_MULT;
+    private int gossipMaxRequestGossips = DEFAULT_GOSSIP_MAX_REQUEST_GOSSIPS;
+    private int gossipMaxRequestSize = DEFAULT_GOSSIP_MAX_REQUEST_SIZE;
+    private long gossipMinInterval = DEFAULT_GOSSIP_MIN_INTERVAL;
+    private int gossipPushPullThreshold = DEFAULT_GOSSIP_PUSH_PULL_THRESHOLD;
+    private int gossipTopicRelays = DEFAULT_GOSSIP_TOPIC_RELAYS;
+    private String zoneMetadataKey = DEFAULT_ZONE_METADATA_KEY;
+    private List<String> metadataIndexKeys = Collections.emptyList();
+    private int crossZoneGossipFanout = DEFAULT_CROSS_ZONE_GOSSIP_FANOUT;
+    private int crossZonePingPercent = DEFAULT_CROSS_ZONE_PING_PERCENT;
+    private boolean cellsEnabled = DEFAULT_CELLS_ENABLED;
+    private int cellCount = DEFAULT_CELL_COUNT;
+    private int cellRepresentatives = DEFAULT_CELL_REPRESENTATIVES;
+    private long cellSummaryInterval = DEFAULT_CELL_SUMMARY_INTERVAL;
+    private long cellSummaryTimeout = DEFAULT_CELL_SUMMARY_TIMEOUT;
+    private boolean broadcastEnabled = DEFAULT_BROADCAST_ENABLED;
+    private long broadcastLazyInterval = DEFAULT_BROADCAST_LAZY_INTERVAL;
+    private long broadcastGraftTimeout = DEFAULT_BROADCAST_GRAFT_TIMEOUT;
+    private long broadcastRetention = DEFAULT_BROADCAST_RETENTION;
+    private int broadcastMaxRetainedMessages = DEFAULT_BROADCAST_MAX_RETAINED_MESSAGES;
 
     private TransportConfig.Builder transportConfigBuilder = TransportConfig.builder();
 
     private String memberHost = DEFAULT_MEMBER_HOST;
     private Integer memberPort = DEFAULT_MEMBER_PORT;
 
+    private boolean flightRecorderEnabled = DEFAULT_FLIGHT_RECORDER_ENABLED;
+    private boolean transportEventLoopEnabled = DEFAULT_TRANSPORT_EVENT_LOOP_ENABLED;
+    private ScheduledExecutorService protocolExecutor = DEFAULT_PROTOCOL_EXECUTOR;
+    private Ticker ticker = DEFAULT_TICKER;
+    private Random random = DEFAULT_RANDOM;
+
     private Builder() {}
 
     public Builder metadata(Map<String, String> metadata) {
@@ -281,11 +652,103 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
       return this;
     }
 
+    /**
+     * Sets max number of membership records in single page of initial sync response. If enabled seed member replies to
+     * joining member with paged SyncAck and sends next page only when joining member requests it, so neither side
+     * buffers full membership table of a large cluster in a single message. Zero sends full membership table in single
+     * SyncAck.
+     *
+     * @param syncPageSize max number of membership records per initial sync page
+     * @return this builder
+     */
+    public Builder syncPageSize(int syncPageSize) {
+      this.syncPageSize = syncPageSize;
+      return this;
+    }
+
+    /**
+     * Sets max number of paged initial syncs seed member serves concurrently. Initial syncs over the limit are ignored,
+     * so joining member gets response from another seed member or joins by periodic sync. Applies only if initial sync
+     * paging is enabled. Zero means no limit.
+     *
+     * @param syncMaxConcurrentJoins max number of concurrent paged initial syncs
+     * @return this builder
+     */
+    public Builder syncMaxConcurrentJoins(int syncMaxConcurrentJoins) {
+      this.syncMaxConcurrentJoins = syncMaxConcurrentJoins;
+      return this;
+    }
+
+    /**
+     * Enables delta anti-entropy sync. Instead of sending full membership table on periodic sync members exchange
+     * compact digests of (member id, incarnation, status) and then transfer only membership records which differ. Since
+     * metadata update increments incarnation, digest also reflects metadata version. Initial sync on join still
+     * transfers full membership table.
+     *
+     * @param syncDeltaEnabled whether periodic sync exchanges digests first
+     * @return this builder
+     */
+    public Builder syncDeltaEnabled(boolean syncDeltaEnabled) {
+      this.syncDeltaEnabled = syncDeltaEnabled;
+      return this;
+    }
+
+    /**
+     * Enables versioned member metadata. Membership gossips, syncs and piggybacked updates refer member metadata by its
+     * version (content hash) instead of embedding it, and members fetch metadata from its owner or from another member
+     * only when version changes. Fetched metadata is cached by member id and version. Response to initial sync still
+     * embeds metadata.
+     *
+     * @param metadataFetchEnabled whether metadata is sent by version and fetched on demand
+     * @return this builder
+     */
+    public Builder metadataFetchEnabled(boolean metadataFetchEnabled) {
+      this.metadataFetchEnabled = metadataFetchEnabled;
+      return this;
+    }
+
+    /**
+     * Sets timeout of metadata fetch request. On timeout metadata is requested once again from another member.
+     *
+     * @param metadataFetchTimeout metadata fetch timeout in milliseconds
+     * @return this builder
+     */
+    public Builder metadataFetchTimeout(int metadataFetchTimeout) {
+      this.metadataFetchTimeout = metadataFetchTimeout;
+      return this;
+    }
+
     public Builder suspicionMult(int suspicionMult) {
       this.suspicionMult = suspicionMult;
       return this;
     }
 
+    /**
+     * Sets multiplier of max suspicion timeout relative to regular one, used if Lifeguard is enabled. Suspicion timeout
+     * starts at max and shrinks logarithmically down to regular one as independent confirmations of suspicion arrive.
+     *
+     * @param suspicionMaxTimeoutMult max suspicion timeout multiplier
+     * @return this builder
+     */
+    public Builder suspicionMaxTimeoutMult(int suspicionMaxTimeoutMult) {
+      this.suspicionMaxTimeoutMult = suspicionMaxTimeoutMult;
+      return this;
+    }
+
+    /**
+     * Sets max size in bytes of membership updates piggybacked on failure detector ping and ack messages. Updates are
+     * piggybacked least disseminated first, each one up to gossip repeat multiplier times log2 of cluster size times.
+     * If enabled membership updates about other members are disseminated by piggybacking only, while updates of local
+     * member are also gossiped. Zero disables piggybacking.
+     *
+     * @param piggybackMaxSize max size of piggybacked membership updates per message
+     * @return this builder
+     */
+    public Builder piggybackMaxSize(int piggybackMaxSize) {
+      this.piggybackMaxSize = piggybackMaxSize;
+      return this;
+    }
+
     public Builder syncGroup(String syncGroup) {
       this.syncGroup = syncGroup;
       return this;
@@ -306,6 +769,109 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
       return this;
     }
 
+    /**
+     * Enables Lifeguard extensions of failure detection (see "Lifeguard: Local Health Awareness for More Accurate
+     * Failure Detection"). Failure detector maintains local health score, which grows on failed probes and when local
+     * member is suspected by others and declines on successful probes, and stretches ping interval and timeouts by it,
+     * so slow member doesn't accuse healthy ones. Suspicion timeout starts at its max and shrinks down to regular one
+     * as independent confirmations of suspicion arrive. Pings to suspected member carry suspicion, so it refutes it
+     * without waiting for gossip.
+     *
+     * @param lifeguardEnabled whether Lifeguard extensions are enabled
+     * @return this builder
+     */
+    public Builder lifeguardEnabled(boolean lifeguardEnabled) {
+      this.lifeguardEnabled = lifeguardEnabled;
+      return this;
+    }
+
+    /**
+     * Sets max multiplier by which Lifeguard local health score stretches ping interval and timeouts.
+     *
+     * @param lifeguardMaxHealthMult max local health multiplier
+     * @return this builder
+     */
+    public Builder lifeguardMaxHealthMult(int lifeguardMaxHealthMult) {
+      this.lifeguardMaxHealthMult = lifeguardMaxHealthMult;
+      return this;
+    }
+
+    /**
+     * Enables phi accrual ping timeouts (see "The Phi Accrual Failure Detector"). Failure detector keeps window of
+     * round trip times of recent pings to each member and waits for ack until suspicion level phi computed over this
+     * window reaches {@link #phiThreshold(double)}, so ping timeout adapts to each member between
+     * {@link #phiMinPingTimeout(int)} and {@link #pingTimeout(int)}. Remaining part of ping interval is given to ping
+     * requests.
+     *
+     * @param phiAccrualEnabled whether phi accrual ping timeouts are enabled
+     * @return this builder
+     */
+    public Builder phiAccrualEnabled(boolean phiAccrualEnabled) {
+      this.phiAccrualEnabled = phiAccrualEnabled;
+      return this;
+    }
+
+    /**
+     * Sets phi at which direct ping is considered failed. Phi of 1 means about 10% chance of mistake, phi of 2 about 1%
+     * and so on.
+     *
+     * @param phiThreshold phi threshold
+     * @return this builder
+     */
+    public Builder phiThreshold(double phiThreshold) {
+      this.phiThreshold = phiThreshold;
+      return this;
+    }
+
+    /**
+     * Sets number of recent ping round trip times kept per member to compute phi.
+     *
+     * @param phiWindowSize size of round trip times window
+     * @return this builder
+     */
+    public Builder phiWindowSize(int phiWindowSize) {
+      this.phiWindowSize = phiWindowSize;
+      return this;
+    }
+
+    /**
+     * Sets min number of ping round trip times collected for a member before phi is used, until then regular ping
+     * timeout is applied.
+     *
+     * @param phiMinSamples min number of round trip times
+     * @return this builder
+     */
+    public Builder phiMinSamples(int phiMinSamples) {
+      this.phiMinSamples = phiMinSamples;
+      return this;
+    }
+
+    /**
+     * Sets lower bound of ping timeout computed by phi accrual, it protects from false suspicions of members with
+     * steady low round trip time on short pauses.
+     *
+     * @param phiMinPingTimeout min ping timeout in milliseconds
+     * @return this builder
+     */
+    public Builder phiMinPingTimeout(int phiMinPingTimeout) {
+      this.phiMinPingTimeout = phiMinPingTimeout;
+      return this;
+    }
+
+    /**
+     * Enables Vivaldi network coordinates. Each member computes its coordinate from round trip times of direct pings
+     * and sends it with pings and acks, so members learn coordinates of members they ping or which ping them. Distance
+     * between coordinates estimates round trip time without extra probing, see {@link Cluster#estimatedRtt(Member)}
+     * and {@link Cluster#nearestMembers(int)}.
+     *
+     * @param networkCoordinatesEnabled either network coordinates are enabled
+     * @return this builder
+     */
+    public Builder networkCoordinatesEnabled(boolean networkCoordinatesEnabled) {
+      this.networkCoordinatesEnabled = networkCoordinatesEnabled;
+      return this;
+    }
+
     public Builder gossipInterval(long gossipInterval) {
       this.gossipInterval = gossipInterval;
       return this;
@@ -321,6 +887,249 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
       return this;
     }
 
+    /**
+     * Sets max number of gossips packed into single gossip request. Zero means unlimited.
+     *
+     * @param gossipMaxRequestGossips max gossips per request
+     * @return this builder
+     */
+    public Builder gossipMaxRequestGossips(int gossipMaxRequestGossips) {
+      this.gossipMaxRequestGossips = gossipMaxRequestGossips;
+      return this;
+    }
+
+    /**
+     * Sets max size in bytes of serialized gossips packed into single gossip request, e.g. path MTU. Gossip
+     * which alone exceeds this size is sent in separate request. Zero means unlimited.
+     *
+     * @param gossipMaxRequestSize max gossip request size
+     * @return this builder
+     */
+    public Builder gossipMaxRequestSize(int gossipMaxRequestSize) {
+      this.gossipMaxRequestSize = gossipMaxRequestSize;
+      return this;
+    }
+
+    /**
+     * Sets min gossip interval in milliseconds used by adaptive gossip interval. While gossips are deferred due to
+     * request budget gossip interval is halved on each period down to this value, once backlog is drained it goes back
+     * to the gossip interval. Zero disables adaptive interval.
+     *
+     * @param gossipMinInterval min gossip interval
+     * @return this builder
+     */
+    public Builder gossipMinInterval(long gossipMinInterval) {
+      this.gossipMinInterval = gossipMinInterval;
+      return this;
+    }
+
+    /**
+     * Enables push-pull gossip mode for gossips with estimated serialized size of at least given number of bytes.
+     * Such gossips are not pushed on each gossip round but announced by compact digest of gossip ids, target member
+     * replies with ids it misses and only those are sent with full payload. Zero disables push-pull mode.
+     *
+     * @param gossipPushPullThreshold min gossip size in bytes for push-pull mode
+     * @return this builder
+     */
+    public Builder gossipPushPullThreshold(int gossipPushPullThreshold) {
+      this.gossipPushPullThreshold = gossipPushPullThreshold;
+      return this;
+    }
+
+    /**
+     * Sets number of members not interested in a topic which relay gossips of that topic in addition to interested
+     * members. Relays are selected by rendezvous hashing of member id and topic, so all members agree on the same
+     * relays and topic gossips keep spreading even if topic interest of some members is not known yet.
+     *
+     * @param gossipTopicRelays number of topic relays
+     * @return this builder
+     */
+    public Builder gossipTopicRelays(int gossipTopicRelays) {
+      this.gossipTopicRelays = gossipTopicRelays;
+      return this;
+    }
+
+    /**
+     * Sets key of member metadata property which holds zone (e.g. availability zone, rack or region) of the member.
+     * If set, gossip fanout and failure detector pings prefer members of the same zone as local member while still
+     * reaching other zones at the rate set by {@link #crossZoneGossipFanout(int)} and
+     * {@link #crossZonePingPercent(int)}. Members without this metadata property belong to the same unnamed zone.
+     *
+     * @param zoneMetadataKey member metadata key of zone; null disables zone awareness
+     * @return this builder
+     */
+    public Builder zoneMetadataKey(String zoneMetadataKey) {
+      this.zoneMetadataKey = zoneMetadataKey;
+      return this;
+    }
+
+    /**
+     * Sets member metadata keys to index in {@link ClusterView}, so members with given value of the key are found
+     * without scanning all members, see {@link ClusterView#membersWith(String, String)}.
+     *
+     * @param metadataIndexKeys metadata keys to index
+     * @return this builder
+     */
+    public Builder metadataIndexKeys(List<String> metadataIndexKeys) {
+      this.metadataIndexKeys = new ArrayList<>(metadataIndexKeys);
+      return this;
+    }
+
+    public Builder metadataIndexKeys(String... metadataIndexKeys) {
+      this.metadataIndexKeys = Arrays.asList(metadataIndexKeys);
+      return this;
+    }
+
+    /**
+     * Sets number of members of other zones out of gossip fanout to which every gossip round is sent if zone awareness
+     * is enabled. Rest of the fanout is taken from the local zone, or from other zones if local zone is too small. At
+     * least one keeps gossip spreading between zones within the same number of periods.
+     *
+     * @param crossZoneGossipFanout number of cross zone members per gossip round
+     * @return this builder
+     */
+    public Builder crossZoneGossipFanout(int crossZoneGossipFanout) {
+      this.crossZoneGossipFanout = crossZoneGossipFanout;
+      return this;
+    }
+
+    /**
+     * Sets percent of failure detector pings sent to members of other zones if zone awareness is enabled. Members of
+     * local zone and of other zones are pinged in separate round robin orders, so each member is still pinged
+     * periodically by members of its own zone and, at this rate, by members of other zones.
+     *
+     * @param crossZonePingPercent percent of cross zone pings, from 0 to 100
+     * @return this builder
+     */
+    public Builder crossZonePingPercent(int crossZonePingPercent) {
+      this.crossZonePingPercent = crossZonePingPercent;
+      return this;
+    }
+
+    /**
+     * Enables hierarchical mode for clusters of many thousands members. Members are grouped into cells, by zone if
+     * {@link #zoneMetadataKey(String)} is set or by hash of member id into {@link #cellCount(int)} cells otherwise.
+     * Membership, failure detection and gossips run only inside the cell of local member, so membership events and
+     * {@link Cluster#members()} cover the local cell only. A few elected representatives of each cell exchange cell
+     * summaries, so every member keeps aggregate view of other cells (see {@link Cluster#cells()}). Cell of local
+     * member is resolved once on start.
+     *
+     * @param cellsEnabled either hierarchical mode is enabled
+     * @return this builder
+     */
+    public Builder cellsEnabled(boolean cellsEnabled) {
+      this.cellsEnabled = cellsEnabled;
+      return this;
+    }
+
+    /**
+     * Sets number of cells members are hashed into in hierarchical mode if zone metadata key isn't set.
+     *
+     * @param cellCount number of cells
+     * @return this builder
+     */
+    public Builder cellCount(int cellCount) {
+      this.cellCount = cellCount;
+      return this;
+    }
+
+    /**
+     * Sets number of representatives of each cell which exchange cell summaries with other cells in hierarchical
+     * mode. Representatives are elected by rendezvous hashing, so all members with the same view of the cell elect
+     * the same ones.
+     *
+     * @param cellRepresentatives number of representatives per cell
+     * @return this builder
+     */
+    public Builder cellRepresentatives(int cellRepresentatives) {
+      this.cellRepresentatives = cellRepresentatives;
+      return this;
+    }
+
+    /**
+     * Sets interval in milliseconds of exchanging cell summaries between cell representatives.
+     *
+     * @param cellSummaryInterval cell summary interval
+     * @return this builder
+     */
+    public Builder cellSummaryInterval(long cellSummaryInterval) {
+      this.cellSummaryInterval = cellSummaryInterval;
+      return this;
+    }
+
+    /**
+     * Sets time in milliseconds after which summary of a cell which isn't refreshed by its representatives is
+     * removed from aggregate view. Representatives refresh summary of their cell at least three times within this
+     * timeout.
+     *
+     * @param cellSummaryTimeout cell summary timeout
+     * @return this builder
+     */
+    public Builder cellSummaryTimeout(long cellSummaryTimeout) {
+      this.cellSummaryTimeout = cellSummaryTimeout;
+      return this;
+    }
+
+    /**
+     * Enables Plumtree based broadcast of application gossips. If enabled gossips spread by application are eagerly
+     * pushed along self-healing spanning tree and lazily announced to other members instead of gossiping, which gives
+     * lower latency and near single copy of gossip per member. System gossips are spread by gossip protocol anyway.
+     *
+     * @param broadcastEnabled either broadcast is enabled
+     * @return this builder
+     */
+    public Builder broadcastEnabled(boolean broadcastEnabled) {
+      this.broadcastEnabled = broadcastEnabled;
+      return this;
+    }
+
+    /**
+     * Sets interval in milliseconds of sending batched announcements of received broadcast messages to lazy push peers.
+     *
+     * @param broadcastLazyInterval lazy push interval
+     * @return this builder
+     */
+    public Builder broadcastLazyInterval(long broadcastLazyInterval) {
+      this.broadcastLazyInterval = broadcastLazyInterval;
+      return this;
+    }
+
+    /**
+     * Sets timeout in milliseconds to wait for announced broadcast message before pulling it from announcing member
+     * and grafting link to that member back to the broadcast tree.
+     *
+     * @param broadcastGraftTimeout graft timeout
+     * @return this builder
+     */
+    public Builder broadcastGraftTimeout(long broadcastGraftTimeout) {
+      this.broadcastGraftTimeout = broadcastGraftTimeout;
+      return this;
+    }
+
+    /**
+     * Sets time in milliseconds received broadcast messages are retained to serve grafts and deduplicate messages.
+     *
+     * @param broadcastRetention broadcast messages retention time
+     * @return this builder
+     */
+    public Builder broadcastRetention(long broadcastRetention) {
+      this.broadcastRetention = broadcastRetention;
+      return this;
+    }
+
+    /**
+     * Sets max number of received broadcast messages retained to serve grafts and deduplicate messages. Oldest
+     * messages are dropped before their retention time once the limit is reached, so memory stays bounded under high
+     * broadcast rate.
+     *
+     * @param broadcastMaxRetainedMessages max number of retained broadcast messages
+     * @return this builder
+     */
+    public Builder broadcastMaxRetainedMessages(int broadcastMaxRetainedMessages) {
+      this.broadcastMaxRetainedMessages = broadcastMaxRetainedMessages;
+      return this;
+    }
+
     /**
      * Sets all transport config settings equal to provided transport config.
      */
@@ -359,6 +1168,11 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
       return this;
     }
 
+    public Builder transportMetrics(TransportMetrics transportMetrics) {
+      this.transportConfigBuilder.metrics(transportMetrics);
+      return this;
+    }
+
     /**
      * Member address overrides.
      */
@@ -383,6 +1197,101 @@ public final class ClusterConfig implements FailureDetectorConfig, GossipConfig,
       return this;
     }
 
+    /**
+     * Enables emitting of Java Flight Recorder events by cluster protocols (gossip rounds, ping outcomes and member
+     * status transitions) and by the underlying transport (message send and receive). Events are recorded only when
+     * flight recording with these events enabled is running. Requires scalecube-jfr module on classpath and JDK 11+,
+     * otherwise setting is ignored with a warning.
+     *
+     * @param flightRecorderEnabled either flight recorder events are enabled
+     * @return this builder
+     */
+    public Builder flightRecorderEnabled(boolean flightRecorderEnabled) {
+      this.flightRecorderEnabled = flightRecorderEnabled;
+      this.transportConfigBuilder.flightRecorderEnabled(flightRecorderEnabled);
+      return this;
+    }
+
+    /**
+     * Runs failure detector, gossip, membership and broadcast protocols on the event loop of cluster transport instead
+     * of a thread per protocol. Protocol tasks then share the thread with transport I/O, so it is meant for running
+     * many lightweight nodes in one JVM, e.g. for simulation or embedded nodes. Ignored if
+     * {@link #protocolExecutor(ScheduledExecutorService)} is set.
+     *
+     * @param transportEventLoopEnabled whether protocols run on transport event loop
+     * @return this builder
+     */
+    public Builder transportEventLoopEnabled(boolean transportEventLoopEnabled) {
+      this.transportEventLoopEnabled = transportEventLoopEnabled;
+      return this;
+    }
+
+    /**
+     * Sets single threaded executor on which failure detector, gossip, membership and broadcast protocols run instead
+     * of a thread per protocol. The same executor may be given to several clusters in one JVM, so they share thread
+     * and timers, e.g. event loop of the group shared by their transports (see
+     * {@link #eventLoopGroup(EventLoopGroup)}). Executor is not shut down when cluster is shut down, it is up to the
+     * caller to shut it down.
+     *
+     * @param protocolExecutor single threaded executor; null runs each protocol on its own thread
+     * @return this builder
+     */
+    public Builder protocolExecutor(ScheduledExecutorService protocolExecutor) {
+      this.protocolExecutor = protocolExecutor;
+      return this;
+    }
+
+    /**
+     * Sets source of monotonic time which failure detector and membership protocols use to measure ping round trip
+     * times, probe deadlines and suspicion timeouts. Intended for simulation with virtual time, in which case it should
+     * read the clock of the executor given to {@link #protocolExecutor(ScheduledExecutorService)}.
+     *
+     * @param ticker source of monotonic time in nanoseconds
+     * @return this builder
+     */
+    public Builder ticker(Ticker ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    /**
+     * Sets source of randomness for selection of ping, gossip and sync members and for member id. Intended for
+     * deterministic simulation with seeded random and single threaded
+     * {@link #protocolExecutor(ScheduledExecutorService)}.
+     *
+     * @param random source of randomness; null uses thread local random
+     * @return this builder
+     */
+    public Builder random(Random random) {
+      this.random = random;
+      return this;
+    }
+
+    /**
+     * Sets watchdog which detects stalls of transport I/O threads and of failure detector, gossip and membership
+     * executors.
+     *
+     * @param stallWatchdog stall watchdog; null disables stall detection
+     * @return this builder
+     */
+    public Builder stallWatchdog(StallWatchdog stallWatchdog) {
+      this.transportConfigBuilder.stallWatchdog(stallWatchdog);
+      return this;
+    }
+
+    /**
+     * Sets event loop group shared by transports of several clusters in the same JVM instead of creating boss and
+     * worker threads per cluster. Group is not shut down when cluster is shut down, it is up to the caller to shut it
+     * down.
+     *
+     * @param eventLoopGroup shared event loop group; null creates own groups per cluster
+     * @return this builder
+     * @see io.scalecube.transport.Transport#createEventLoopGroup(int)
+     */
+    public Builder eventLoopGroup(EventLoopGroup eventLoopGroup) {
+      this.transportConfigBuilder.eventLoopGroup(eventLoopGroup);
+      return this;
+    }
 
     public ClusterConfig build() {
       Preconditions.checkState(pingTimeout < pingInterval, "Ping timeout can't be bigger than ping interval");
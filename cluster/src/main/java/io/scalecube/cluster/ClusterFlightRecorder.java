@@ -0,0 +1,73 @@
+package io.scalecube.cluster;
+
+import io.scalecube.cluster.membership.MemberStatus;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.FlightRecorderSupport;
+
+/**
+ * Recorder of cluster protocol events into Java Flight Recorder. Implementation resides in optional scalecube-jfr
+ * module and is instantiated by protocols only when flight recorder is enabled in {@link ClusterConfig}. It fills and
+ * commits event only if corresponding event type is enabled in running recording. All methods are called from protocol
+ * threads and must not block.
+ */
+public interface ClusterFlightRecorder {
+
+  /**
+   * Returns new recorder instance.
+   *
+   * @return recorder or null if scalecube-jfr module isn't on classpath or flight recorder isn't supported by JVM
+   */
+  static ClusterFlightRecorder newInstance() {
+    return FlightRecorderSupport.newInstance("io.scalecube.jfr.JfrClusterFlightRecorder", ClusterFlightRecorder.class);
+  }
+
+  /**
+   * Records outcome of failure detector probe.
+   *
+   * @param localMemberId id of local member
+   * @param member probed member
+   * @param status detected status
+   * @param indirect true if outcome was obtained through PingReq members
+   * @param rttNanos time elapsed since the probe start
+   * @param phi suspicion level of direct ping outcome, zero if not known
+   */
+  void onPing(String localMemberId, Member member, MemberStatus status, boolean indirect, long rttNanos, double phi);
+
+  /**
+   * Records periodic sync request sent or received by local member.
+   *
+   * @param localMemberId id of local member
+   * @param peer address of remote member
+   * @param received true if sync request was received from peer, false if sent to peer
+   * @param qualifier sync message qualifier
+   * @param syncRequestsReceived total number of sync requests received by local member
+   */
+  void onSync(String localMemberId, Address peer, boolean received, String qualifier, long syncRequestsReceived);
+
+  /**
+   * Records status transition of member in local membership table.
+   *
+   * @param localMemberId id of local member
+   * @param member member which status changed
+   * @param oldStatus previous status; null if member was added
+   * @param newStatus new status
+   * @param incarnation incarnation of the new membership record
+   * @param reason reason of membership update
+   */
+  void onMemberStatusChange(String localMemberId, Member member, MemberStatus oldStatus, MemberStatus newStatus,
+      int incarnation, String reason);
+
+  /**
+   * Records gossip period in which there was something to spread.
+   *
+   * @param localMemberId id of local member
+   * @param period gossip period
+   * @param gossips number of gossips maintained locally
+   * @param gossipsSent total number of gossips sent to all targeted members
+   * @param membersTargeted number of targeted members
+   * @param gossipsDeferred number of gossip deferrals to the next period due to gossip request budget
+   */
+  void onGossipRound(String localMemberId, long period, int gossips, int gossipsSent, int membersTargeted,
+      int gossipsDeferred);
+
+}
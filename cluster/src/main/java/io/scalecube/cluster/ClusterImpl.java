@@ -1,22 +1,44 @@
 package io.scalecube.cluster;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.scalecube.cluster.broadcast.BroadcastProtocolImpl.BROADCAST_GOSSIP;
+import static io.scalecube.cluster.broadcast.BroadcastProtocolImpl.BROADCAST_GRAFT;
+import static io.scalecube.cluster.broadcast.BroadcastProtocolImpl.BROADCAST_IHAVE;
+import static io.scalecube.cluster.broadcast.BroadcastProtocolImpl.BROADCAST_PRUNE;
+import static io.scalecube.cluster.cell.CellProtocolImpl.CELL_GOSSIP;
+import static io.scalecube.cluster.cell.CellProtocolImpl.CELL_SYNC;
+import static io.scalecube.cluster.cell.CellProtocolImpl.CELL_SYNC_ACK;
 import static io.scalecube.cluster.fdetector.FailureDetectorImpl.PING;
 import static io.scalecube.cluster.fdetector.FailureDetectorImpl.PING_ACK;
 import static io.scalecube.cluster.fdetector.FailureDetectorImpl.PING_REQ;
+import static io.scalecube.cluster.gossip.GossipProtocolImpl.GOSSIP_DIGEST;
+import static io.scalecube.cluster.gossip.GossipProtocolImpl.GOSSIP_PULL;
 import static io.scalecube.cluster.gossip.GossipProtocolImpl.GOSSIP_REQ;
+import static io.scalecube.cluster.membership.MembershipProtocolImpl.GET_METADATA_REQ;
+import static io.scalecube.cluster.membership.MembershipProtocolImpl.GET_METADATA_RESP;
 import static io.scalecube.cluster.membership.MembershipProtocolImpl.MEMBERSHIP_GOSSIP;
 import static io.scalecube.cluster.membership.MembershipProtocolImpl.SYNC;
 import static io.scalecube.cluster.membership.MembershipProtocolImpl.SYNC_ACK;
+import static io.scalecube.cluster.membership.MembershipProtocolImpl.SYNC_DELTA;
+import static io.scalecube.cluster.membership.MembershipProtocolImpl.SYNC_DIGEST;
+import static io.scalecube.cluster.membership.MembershipProtocolImpl.SYNC_PAGE;
 
+import io.scalecube.cluster.broadcast.BroadcastProtocolImpl;
+import io.scalecube.cluster.cell.CellProtocolImpl;
+import io.scalecube.cluster.cell.CellSummary;
 import io.scalecube.cluster.fdetector.FailureDetectorImpl;
+import io.scalecube.cluster.fdetector.NetworkCoordinates;
 import io.scalecube.cluster.gossip.GossipProtocolImpl;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.cluster.membership.MembershipProtocolImpl;
+import io.scalecube.cluster.membership.SyncMetrics;
 import io.scalecube.transport.Address;
 import io.scalecube.transport.Message;
 import io.scalecube.transport.NetworkEmulator;
 import io.scalecube.transport.Transport;
+import io.scalecube.transport.TransportConfig;
+import io.scalecube.transport.TransportMetrics;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -25,15 +47,21 @@ import org.slf4j.LoggerFactory;
 
 import rx.Observable;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
@@ -47,20 +75,24 @@ final class ClusterImpl implements Cluster {
   private static final Logger LOGGER = LoggerFactory.getLogger(ClusterImpl.class);
 
   private static final Set<String> SYSTEM_MESSAGES =
-      ImmutableSet.of(PING, PING_REQ, PING_ACK, SYNC, SYNC_ACK, GOSSIP_REQ);
+      ImmutableSet.of(PING, PING_REQ, PING_ACK, SYNC, SYNC_ACK, SYNC_DIGEST, SYNC_DELTA, SYNC_PAGE, GET_METADATA_REQ,
+          GET_METADATA_RESP, GOSSIP_REQ, GOSSIP_DIGEST, GOSSIP_PULL, BROADCAST_GOSSIP, BROADCAST_IHAVE, BROADCAST_GRAFT,
+          BROADCAST_PRUNE, CELL_SYNC, CELL_SYNC_ACK);
 
-  private static final Set<String> SYSTEM_GOSSIPS = ImmutableSet.of(MEMBERSHIP_GOSSIP);
+  private static final Set<String> SYSTEM_GOSSIPS = ImmutableSet.of(MEMBERSHIP_GOSSIP, CELL_GOSSIP);
 
   private final ClusterConfig config;
 
-  private final ConcurrentMap<String, Member> members = new ConcurrentHashMap<>();
-  private final ConcurrentMap<Address, String> memberAddressIndex = new ConcurrentHashMap<>();
+  private final AtomicReference<ClusterView> view = new AtomicReference<>();
+  private final ZoneTrafficMetrics zoneTrafficMetrics;
 
   // Cluster components
   private Transport transport;
   private FailureDetectorImpl failureDetector;
   private GossipProtocolImpl gossip;
   private MembershipProtocolImpl membership;
+  private BroadcastProtocolImpl broadcast; // null if broadcast is disabled
+  private CellProtocolImpl cells; // null if hierarchical mode is disabled
 
   private Observable<Message> messageObservable;
   private Observable<Message> gossipObservable;
@@ -68,20 +100,37 @@ final class ClusterImpl implements Cluster {
   public ClusterImpl(ClusterConfig config) {
     checkNotNull(config);
     this.config = config;
+    this.zoneTrafficMetrics = new ZoneTrafficMetrics(config.getZoneMetadataKey());
   }
 
   public CompletableFuture<Cluster> join0() {
-    CompletableFuture<Transport> transportFuture = Transport.bind(config.getTransportConfig());
+    TransportConfig transportConfig = config.getTransportConfig();
+    if (config.getZoneMetadataKey() != null) {
+      transportConfig = TransportConfig.builder()
+          .fillFrom(transportConfig)
+          .metrics(TransportMetrics.compose(transportConfig.getMetrics(), zoneTrafficMetrics))
+          .build();
+    }
+    CompletableFuture<Transport> transportFuture = Transport.bind(transportConfig);
     CompletableFuture<Void> clusterFuture = transportFuture.thenCompose(boundTransport -> {
       transport = boundTransport;
       messageObservable = transport.listen()
           .filter(msg -> !SYSTEM_MESSAGES.contains(msg.qualifier())); // filter out system gossips
 
-      membership = new MembershipProtocolImpl(transport, config);
-      gossip = new GossipProtocolImpl(transport, membership, config);
-      failureDetector = new FailureDetectorImpl(transport, membership, config);
+      ScheduledExecutorService executor = protocolExecutor(transport);
+      membership = new MembershipProtocolImpl(transport, config, executor);
+      gossip = new GossipProtocolImpl(transport, membership, config, executor);
+      failureDetector = new FailureDetectorImpl(transport, membership, config, executor);
       membership.setFailureDetector(failureDetector);
       membership.setGossipProtocol(gossip);
+      failureDetector.setPiggybackBuffer(membership.getPiggybackBuffer());
+      failureDetector.setSuspicionTracker(membership.getSuspicionTracker());
+      if (config.isCellsEnabled()) {
+        cells = new CellProtocolImpl(transport, membership, gossip, config, executor);
+        membership.setCellProtocol(cells);
+      }
+      view.set(new ClusterView(membership.member().id(), config.getMetadataIndexKeys()));
+      zoneTrafficMetrics.bind(membership::member, this::member);
 
       Member localMember = membership.member();
       onMemberAdded(localMember);
@@ -102,27 +151,43 @@ final class ClusterImpl implements Cluster {
       gossip.start();
       gossipObservable = gossip.listen()
           .filter(msg -> !SYSTEM_GOSSIPS.contains(msg.qualifier())); // filter out system gossips
+      if (config.isBroadcastEnabled()) {
+        broadcast = new BroadcastProtocolImpl(transport, membership, config, executor);
+        broadcast.start();
+        gossipObservable = Observable.merge(gossipObservable, broadcast.listen());
+      }
+      if (cells != null) {
+        cells.start();
+      }
       return membership.start();
     });
     return clusterFuture.thenApply(aVoid -> ClusterImpl.this);
   }
 
+  /**
+   * Returns executor shared by all protocols of this cluster member or null if each protocol runs on its own thread.
+   */
+  private ScheduledExecutorService protocolExecutor(Transport transport) {
+    if (config.getProtocolExecutor() != null) {
+      return config.getProtocolExecutor();
+    }
+    return config.isTransportEventLoopEnabled() ? transport.eventLoop() : null;
+  }
+
   private void onError(Throwable throwable) {
     LOGGER.error("Received unexpected error: ", throwable);
   }
 
   private void onMemberAdded(Member member) {
-    memberAddressIndex.put(member.address(), member.id());
-    members.put(member.id(), member);
+    view.updateAndGet(current -> current.withMember(member));
   }
 
   private void onMemberRemoved(Member member) {
-    members.remove(member.id());
-    memberAddressIndex.remove(member.address());
+    view.updateAndGet(current -> current.withoutMember(member));
   }
 
   private void onMemberUpdated(Member member) {
-    members.put(member.id(), member);
+    view.updateAndGet(current -> current.withMember(member));
   }
 
   @Override
@@ -157,7 +222,12 @@ final class ClusterImpl implements Cluster {
 
   @Override
   public CompletableFuture<String> spreadGossip(Message message) {
-    return gossip.spread(message);
+    return broadcast != null ? broadcast.broadcast(message) : gossip.spread(message);
+  }
+
+  @Override
+  public CompletableFuture<String> spreadGossip(String topic, Message message) {
+    return gossip.spread(topic, message);
   }
 
   @Override
@@ -165,9 +235,14 @@ final class ClusterImpl implements Cluster {
     return gossipObservable;
   }
 
+  @Override
+  public Observable<Message> listenGossips(String topic) {
+    return gossip.listen(topic);
+  }
+
   @Override
   public Collection<Member> members() {
-    return Collections.unmodifiableCollection(members.values());
+    return view.get().members();
   }
 
   @Override
@@ -177,20 +252,22 @@ final class ClusterImpl implements Cluster {
 
   @Override
   public Optional<Member> member(String id) {
-    return Optional.ofNullable(members.get(id));
+    return view.get().member(id);
   }
 
   @Override
   public Optional<Member> member(Address address) {
-    return Optional.ofNullable(memberAddressIndex.get(address))
-        .flatMap(memberId -> Optional.ofNullable(members.get(memberId)));
+    return view.get().member(address);
   }
 
   @Override
   public Collection<Member> otherMembers() {
-    ArrayList<Member> otherMembers = new ArrayList<>(members.values());
-    otherMembers.remove(membership.member());
-    return Collections.unmodifiableCollection(otherMembers);
+    return view.get().otherMembers();
+  }
+
+  @Override
+  public ClusterView view() {
+    return view.get();
   }
 
   @Override
@@ -208,6 +285,15 @@ final class ClusterImpl implements Cluster {
     return membership.listen();
   }
 
+  @Override
+  public Observable<List<MembershipEvent>> listenMembershipBatched(Duration window) {
+    checkArgument(window != null && !window.isNegative() && !window.isZero());
+    return membership.listen()
+        .buffer(window.toMillis(), TimeUnit.MILLISECONDS)
+        .map(MembershipEvent::coalesce)
+        .filter(events -> !events.isEmpty());
+  }
+
   @Override
   public CompletableFuture<Void> shutdown() {
     LOGGER.info("Cluster member {} is shutting down...", membership.member());
@@ -219,6 +305,12 @@ final class ClusterImpl implements Cluster {
           // stop algorithms
           membership.stop();
           gossip.stop();
+          if (broadcast != null) {
+            broadcast.stop();
+          }
+          if (cells != null) {
+            cells.stop();
+          }
           failureDetector.stop();
 
           // stop transport
@@ -235,6 +327,45 @@ final class ClusterImpl implements Cluster {
     return transport.networkEmulator();
   }
 
+  @Override
+  public Collection<CellSummary> cells() {
+    return cells != null ? cells.cells() : Collections.emptyList();
+  }
+
+  @Override
+  public ZoneTrafficMetrics zoneTrafficMetrics() {
+    return zoneTrafficMetrics;
+  }
+
+  @Override
+  public SyncMetrics syncMetrics() {
+    return membership.getSyncMetrics();
+  }
+
+  @Override
+  public OptionalDouble estimatedRtt(Member member) {
+    checkNotNull(member);
+    NetworkCoordinates coordinates = failureDetector.networkCoordinates();
+    return coordinates != null ? coordinates.estimatedRtt(member.id()) : OptionalDouble.empty();
+  }
+
+  @Override
+  public List<Member> nearestMembers(int count) {
+    checkArgument(count >= 0);
+    NetworkCoordinates coordinates = failureDetector.networkCoordinates();
+    if (coordinates == null) {
+      return Collections.emptyList();
+    }
+    Map<Member, Double> rtts = new HashMap<>();
+    for (Member member : otherMembers()) {
+      coordinates.estimatedRtt(member.id()).ifPresent(rtt -> rtts.put(member, rtt));
+    }
+    return rtts.keySet().stream()
+        .sorted(Comparator.comparingDouble(rtts::get))
+        .limit(count)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public boolean isShutdown() {
     return this.transport.isStopped(); // since transport is the last component stopped on shutdown
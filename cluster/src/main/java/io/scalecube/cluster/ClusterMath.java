@@ -51,6 +51,20 @@ public final class ClusterMath {
     return suspicionMult * ceilLog2(clusterSize) * pingInterval;
   }
 
+  /**
+   * Returns suspicion timeout which shrinks logarithmically from max timeout to min timeout as independent suspicion
+   * confirmations arrive (see Lifeguard). Min timeout is returned if expected number of confirmations is reached or if
+   * no confirmations are expected.
+   */
+  public static long suspicionTimeout(long minTimeout, long maxTimeout, int confirmations, int expectedConfirmations) {
+    if (expectedConfirmations <= 0) {
+      return minTimeout;
+    }
+    double fraction = Math.log(confirmations + 1) / Math.log(expectedConfirmations + 1);
+    long timeout = maxTimeout - (long) (fraction * (maxTimeout - minTimeout));
+    return Math.max(timeout, minTimeout);
+  }
+
   /**
    * Returns ceil(log2(n + 1)).
    */
@@ -0,0 +1,156 @@
+package io.scalecube.cluster;
+
+import io.scalecube.transport.Address;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Immutable snapshot of cluster members. Cluster replaces its view with a new one with incremented version on each
+ * membership change, so consumers can hold a view as consistent state and detect that nothing changed since they
+ * processed a view by comparing versions. Members are ordered by member id. Lookups by member id, address and by
+ * value of metadata keys listed in {@link ClusterConfig#getMetadataIndexKeys()} don't scan members.
+ */
+@Immutable
+public final class ClusterView {
+
+  private final long version;
+  private final String localMemberId;
+  private final List<String> indexKeys;
+  private final List<Member> members; // ordered by id
+  private final List<Member> otherMembers;
+  private final Map<String, Member> membersById;
+  private final Map<Address, Member> membersByAddress;
+  private final Map<String, ImmutableListMultimap<String, Member>> indexes; // metadata key -> value -> members
+
+  /**
+   * Creates empty view of version zero.
+   *
+   * @param localMemberId id of local member
+   * @param indexKeys metadata keys to index
+   */
+  ClusterView(String localMemberId, List<String> indexKeys) {
+    this(0, localMemberId, ImmutableList.copyOf(indexKeys), Collections.emptyMap());
+  }
+
+  private ClusterView(long version, String localMemberId, List<String> indexKeys, Map<String, Member> membersById) {
+    this.version = version;
+    this.localMemberId = localMemberId;
+    this.indexKeys = indexKeys;
+    this.membersById = ImmutableMap.copyOf(new TreeMap<>(membersById));
+    this.members = ImmutableList.copyOf(this.membersById.values());
+    this.otherMembers = ImmutableList.copyOf(
+        members.stream().filter(member -> !member.id().equals(localMemberId)).collect(Collectors.toList()));
+    Map<Address, Member> membersByAddress = new HashMap<>();
+    for (Member member : members) {
+      membersByAddress.put(member.address(), member);
+    }
+    this.membersByAddress = Collections.unmodifiableMap(membersByAddress);
+    Map<String, ImmutableListMultimap<String, Member>> indexes = new HashMap<>();
+    for (String key : indexKeys) {
+      ImmutableListMultimap.Builder<String, Member> index = ImmutableListMultimap.builder();
+      for (Member member : members) {
+        String value = member.metadata().get(key);
+        if (value != null) {
+          index.put(value, member);
+        }
+      }
+      indexes.put(key, index.build());
+    }
+    this.indexes = Collections.unmodifiableMap(indexes);
+  }
+
+  /**
+   * Returns view with the given member added or replaced, or this view if it already contains equal member.
+   */
+  ClusterView withMember(Member member) {
+    if (member.equals(membersById.get(member.id()))) {
+      return this;
+    }
+    Map<String, Member> newMembers = new HashMap<>(membersById);
+    newMembers.put(member.id(), member);
+    return new ClusterView(version + 1, localMemberId, indexKeys, newMembers);
+  }
+
+  /**
+   * Returns view without the given member, or this view if it doesn't contain the member.
+   */
+  ClusterView withoutMember(Member member) {
+    if (!membersById.containsKey(member.id())) {
+      return this;
+    }
+    Map<String, Member> newMembers = new HashMap<>(membersById);
+    newMembers.remove(member.id());
+    return new ClusterView(version + 1, localMemberId, indexKeys, newMembers);
+  }
+
+  /**
+   * Returns version of this view which is incremented on each membership change.
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * Returns all members including local one ordered by member id.
+   */
+  public List<Member> members() {
+    return members;
+  }
+
+  /**
+   * Returns all members except local one ordered by member id.
+   */
+  public List<Member> otherMembers() {
+    return otherMembers;
+  }
+
+  public Optional<Member> member(String id) {
+    return Optional.ofNullable(membersById.get(id));
+  }
+
+  public Optional<Member> member(Address address) {
+    return Optional.ofNullable(membersByAddress.get(address));
+  }
+
+  /**
+   * Returns members ordered by member id which have the given value of the given metadata key. Lookup by key listed in
+   * {@link ClusterConfig#getMetadataIndexKeys()} takes index, lookup by other key scans all members.
+   *
+   * @param key metadata key
+   * @param value metadata value
+   */
+  public List<Member> membersWith(String key, String value) {
+    ImmutableListMultimap<String, Member> index = indexes.get(key);
+    if (index != null) {
+      return index.get(value);
+    }
+    List<Member> result = new ArrayList<>();
+    for (Member member : members) {
+      if (Objects.equals(member.metadata().get(key), value)) {
+        result.add(member);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public String toString() {
+    return "ClusterView{version=" + version
+        + ", members=" + members
+        + '}';
+  }
+}
@@ -0,0 +1,142 @@
+package io.scalecube.cluster;
+
+import io.scalecube.transport.Address;
+import io.scalecube.transport.TransportMetrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Counts messages and bytes which local member exchanges with members of other zones, zone of member is the value of
+ * {@link ClusterConfig#getZoneMetadataKey()} in member metadata. Messages of peers which aren't known cluster members
+ * (e.g. seed members before join) aren't counted. Counters stay zero if zone awareness is disabled.
+ */
+public final class ZoneTrafficMetrics implements TransportMetrics {
+
+  private static final String NO_QUALIFIER = "none";
+
+  private final String zoneMetadataKey;
+  private volatile Supplier<Member> localMember;
+  private volatile Function<Address, Optional<Member>> memberResolver;
+
+  private final LongAdder messagesSent = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder messagesReceived = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final ConcurrentMap<String, LongAdder> messagesSentByQualifier = new ConcurrentHashMap<>();
+
+  ZoneTrafficMetrics(String zoneMetadataKey) {
+    this.zoneMetadataKey = zoneMetadataKey;
+  }
+
+  /**
+   * Binds metrics to cluster membership, messages aren't counted until bound.
+   *
+   * @param localMember supplier of local member with its current metadata
+   * @param memberResolver resolves member by its transport address
+   */
+  void bind(Supplier<Member> localMember, Function<Address, Optional<Member>> memberResolver) {
+    this.memberResolver = memberResolver;
+    this.localMember = localMember;
+  }
+
+  @Override
+  public void onMessageSent(Address peer, String qualifier, int bytes, long encodeNanos) {
+    if (isCrossZone(peer)) {
+      messagesSent.increment();
+      bytesSent.add(bytes);
+      messagesSentByQualifier.computeIfAbsent(qualifier != null ? qualifier : NO_QUALIFIER, key -> new LongAdder())
+          .increment();
+    }
+  }
+
+  @Override
+  public void onMessageReceived(Address peer, String qualifier, int bytes, long decodeNanos) {
+    if (isCrossZone(peer)) {
+      messagesReceived.increment();
+      bytesReceived.add(bytes);
+    }
+  }
+
+  private boolean isCrossZone(Address peer) {
+    Supplier<Member> localMember = this.localMember;
+    if (zoneMetadataKey == null || localMember == null || peer == null) {
+      return false;
+    }
+    String localZone = localMember.get().metadata().get(zoneMetadataKey);
+    return memberResolver.apply(peer)
+        .map(member -> !Objects.equals(member.metadata().get(zoneMetadataKey), localZone))
+        .orElse(false);
+  }
+
+  /**
+   * Returns number of messages sent to members of other zones.
+   */
+  public long messagesSent() {
+    return messagesSent.sum();
+  }
+
+  /**
+   * Returns number of serialized bytes sent to members of other zones.
+   */
+  public long bytesSent() {
+    return bytesSent.sum();
+  }
+
+  /**
+   * Returns number of messages received from members of other zones.
+   */
+  public long messagesReceived() {
+    return messagesReceived.sum();
+  }
+
+  /**
+   * Returns number of serialized bytes received from members of other zones.
+   */
+  public long bytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  /**
+   * Returns number of messages sent to members of other zones per message qualifier.
+   */
+  public Map<String, Long> messagesSentByQualifier() {
+    Map<String, Long> result = new TreeMap<>();
+    messagesSentByQualifier.forEach((qualifier, counter) -> result.put(qualifier, counter.sum()));
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Registers gauges of cross zone traffic {@code messages.out|in} and {@code bytes.out|in} in the given registry
+   * under the given prefix.
+   *
+   * @param registry metric registry
+   * @param prefix metric names prefix
+   */
+  public void register(MetricRegistry registry, String prefix) {
+    registry.register(MetricRegistry.name(prefix, "messages", "out"), (Gauge<Long>) this::messagesSent);
+    registry.register(MetricRegistry.name(prefix, "messages", "in"), (Gauge<Long>) this::messagesReceived);
+    registry.register(MetricRegistry.name(prefix, "bytes", "out"), (Gauge<Long>) this::bytesSent);
+    registry.register(MetricRegistry.name(prefix, "bytes", "in"), (Gauge<Long>) this::bytesReceived);
+  }
+
+  @Override
+  public String toString() {
+    return "ZoneTrafficMetrics{messagesSent=" + messagesSent()
+        + ", bytesSent=" + bytesSent()
+        + ", messagesReceived=" + messagesReceived()
+        + ", bytesReceived=" + bytesReceived()
+        + '}';
+  }
+}
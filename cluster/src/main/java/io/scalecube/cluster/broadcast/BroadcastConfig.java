@@ -0,0 +1,23 @@
+package io.scalecube.cluster.broadcast;
+
+import io.scalecube.transport.StallWatchdog;
+
+import java.util.Random;
+
+public interface BroadcastConfig {
+
+  long getBroadcastLazyInterval();
+
+  long getBroadcastGraftTimeout();
+
+  long getBroadcastRetention();
+
+  int getBroadcastMaxRetainedMessages();
+
+  int getGossipFanout();
+
+  Random getRandom();
+
+  StallWatchdog getStallWatchdog();
+
+}
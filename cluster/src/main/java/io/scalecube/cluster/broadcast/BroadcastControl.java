@@ -0,0 +1,54 @@
+package io.scalecube.cluster.broadcast;
+
+import io.protostuff.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Control message of broadcast protocol: announcement of received messages (IHAVE), request to pull message and to
+ * promote link to the tree (GRAFT) or request to demote link from the tree (PRUNE). Message ids are stored as two
+ * parallel lists of origins and sequences.
+ */
+final class BroadcastControl {
+  @Tag(1)
+  private final List<String> origins;
+
+  @Tag(2)
+  private final List<Long> sequences;
+
+  @Tag(3)
+  private final String from;
+
+  public BroadcastControl(String from) {
+    this.origins = new ArrayList<>();
+    this.sequences = new ArrayList<>();
+    this.from = from;
+  }
+
+  public void add(String origin, long sequence) {
+    origins.add(origin);
+    sequences.add(sequence);
+  }
+
+  public int size() {
+    return origins != null ? origins.size() : 0; // empty lists are not serialized
+  }
+
+  public String origin(int index) {
+    return origins.get(index);
+  }
+
+  public long sequence(int index) {
+    return sequences.get(index);
+  }
+
+  public String from() {
+    return from;
+  }
+
+  @Override
+  public String toString() {
+    return "BroadcastControl{size=" + size() + ", from=" + from + '}';
+  }
+}
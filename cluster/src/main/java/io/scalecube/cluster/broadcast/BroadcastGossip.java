@@ -0,0 +1,69 @@
+package io.scalecube.cluster.broadcast;
+
+import io.scalecube.transport.Message;
+
+import io.protostuff.Tag;
+
+/**
+ * Broadcast message eagerly pushed along spanning tree links. Identified by id of the origin member and sequence number
+ * of the message at the origin member.
+ */
+final class BroadcastGossip {
+  @Tag(1)
+  private final String origin;
+
+  @Tag(2)
+  private final long sequence;
+
+  @Tag(3)
+  private final String from;
+
+  @Tag(4)
+  private final Message message;
+
+  public BroadcastGossip(String origin, long sequence, String from, Message message) {
+    this.origin = origin;
+    this.sequence = sequence;
+    this.from = from;
+    this.message = message;
+  }
+
+  public String origin() {
+    return origin;
+  }
+
+  public long sequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns id of the member which sent this message, origin or one of the intermediate members.
+   */
+  public String from() {
+    return from;
+  }
+
+  public Message message() {
+    return message;
+  }
+
+  public String gossipId() {
+    return gossipId(origin, sequence);
+  }
+
+  static String gossipId(String origin, long sequence) {
+    return origin + "-" + sequence;
+  }
+
+  /**
+   * Returns copy of this message to be forwarded by the given member.
+   */
+  public BroadcastGossip forwardBy(String memberId) {
+    return new BroadcastGossip(origin, sequence, memberId, message);
+  }
+
+  @Override
+  public String toString() {
+    return "BroadcastGossip{gossipId=" + gossipId() + ", from=" + from + ", message=" + message + '}';
+  }
+}
@@ -0,0 +1,38 @@
+package io.scalecube.cluster.broadcast;
+
+import io.scalecube.transport.Message;
+
+import rx.Observable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Broadcast Protocol component responsible for delivering application messages to all cluster members along a
+ * self-healing spanning tree (see Plumtree: "Epidemic Broadcast Trees" by Leitão, Pereira and Rodrigues). Messages are
+ * eagerly pushed along tree links and lazily announced to the rest of members which are used to repair the tree.
+ */
+public interface BroadcastProtocol {
+
+  /**
+   * Starts running broadcast protocol. After started it begins to receive and send broadcast messages.
+   */
+  void start();
+
+  /**
+   * Stops running broadcast protocol and releases occupied resources.
+   */
+  void stop();
+
+  /**
+   * Broadcasts given message to cluster members.
+   *
+   * @return future result with broadcast message id once message is not retained locally anymore
+   */
+  CompletableFuture<String> broadcast(Message message);
+
+  /**
+   * Listens for messages broadcast by other cluster members.
+   */
+  Observable<Message> listen();
+
+}
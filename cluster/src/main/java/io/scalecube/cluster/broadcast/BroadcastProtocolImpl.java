@@ -0,0 +1,504 @@
+package io.scalecube.cluster.broadcast;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.membership.MembershipProtocol;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.StallWatchdog;
+import io.scalecube.transport.Transport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.observers.Subscribers;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+import rx.subjects.Subject;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plumtree based implementation of {@link BroadcastProtocol}. Initially up to gossip fanout randomly selected remote
+ * members are eager push peers and the rest are lazy push peers. Once message is received second time the link it was
+ * received by is pruned from the tree and becomes lazy push peer. Lazy push peers receive only periodic announcements
+ * of message ids. If announced message is not received by the tree within graft timeout it is pulled from the
+ * announcing member and the link is grafted back to the tree. Lazy push with graft is the gossip fallback of this
+ * protocol: messages missed by the tree are repaired by pulling them from announcing members rather than by spreading
+ * them again through {@link io.scalecube.cluster.gossip.GossipProtocol}.
+ */
+public final class BroadcastProtocolImpl implements BroadcastProtocol {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastProtocolImpl.class);
+
+  // Qualifiers
+
+  public static final String BROADCAST_GOSSIP = "sc/broadcast/gossip";
+  public static final String BROADCAST_IHAVE = "sc/broadcast/ihave";
+  public static final String BROADCAST_GRAFT = "sc/broadcast/graft";
+  public static final String BROADCAST_PRUNE = "sc/broadcast/prune";
+
+  // Injected
+
+  private final Transport transport;
+  private final MembershipProtocol membership;
+  private final BroadcastConfig config;
+
+  // Local State
+
+  private long sequenceCounter = 0;
+  private final Map<String, Member> eagerPushPeers = new LinkedHashMap<>(); // member id -> member
+  private final Map<String, Member> lazyPushPeers = new LinkedHashMap<>(); // member id -> member
+  private final Map<String, BroadcastControl> lazyQueue = new HashMap<>(); // member id -> pending announcements
+  private final Map<String, ReceivedMessage> receivedMessages = new LinkedHashMap<>(); // ordered by receive time
+  private final Map<String, MissingMessage> missingMessages = new HashMap<>();
+  private final Set<String> prunedPeers = new HashSet<>(); // ids of peers pruned since they were last grafted
+
+  // Subscriptions
+
+  private Subscriber<Member> onMemberAddedEventSubscriber;
+  private Subscriber<Member> onMemberRemovedEventSubscriber;
+  private Subscriber<Message> onGossipSubscriber;
+  private Subscriber<Message> onIHaveSubscriber;
+  private Subscriber<Message> onGraftSubscriber;
+  private Subscriber<Message> onPruneSubscriber;
+
+  // Subject
+
+  private Subject<Message, Message> subject = PublishSubject.<Message>create().toSerialized();
+
+  // Scheduled
+
+  private final String executorName;
+  private final ScheduledExecutorService executor;
+  private final boolean ownExecutor; // false if executor is shared with other components
+  private final Scheduler scheduler;
+  private ScheduledFuture<?> lazyPushTask;
+
+  /**
+   * Creates new instance of broadcast protocol with given transport, membership and settings.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config broadcast protocol settings
+   */
+  public BroadcastProtocolImpl(Transport transport, MembershipProtocol membership, BroadcastConfig config) {
+    this(transport, membership, config, null);
+  }
+
+  /**
+   * Creates new instance of broadcast protocol with given transport, membership and settings which runs on given
+   * executor.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config broadcast protocol settings
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public BroadcastProtocolImpl(Transport transport, MembershipProtocol membership, BroadcastConfig config,
+      ScheduledExecutorService executor) {
+    checkArgument(transport != null);
+    checkArgument(membership != null);
+    checkArgument(config != null);
+    checkArgument(config.getBroadcastMaxRetainedMessages() > 0);
+    this.transport = transport;
+    this.membership = membership;
+    this.config = config;
+    this.executorName = "sc-broadcast-" + Integer.toString(membership.member().address().port());
+    this.ownExecutor = executor == null;
+    this.executor = ownExecutor
+        ? Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(executorName).setDaemon(true).build())
+        : executor;
+    this.scheduler = Schedulers.from(this.executor);
+  }
+
+  @Override
+  public void start() {
+    StallWatchdog watchdog = config.getStallWatchdog();
+    if (watchdog != null && ownExecutor) {
+      watchdog.register(executorName, executor);
+    }
+
+    onMemberAddedEventSubscriber = Subscribers.create(this::onMemberAdded, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isAdded)
+        .map(MembershipEvent::member)
+        .subscribe(onMemberAddedEventSubscriber);
+
+    onMemberRemovedEventSubscriber = Subscribers.create(this::onMemberRemoved, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isRemoved)
+        .map(MembershipEvent::member)
+        .subscribe(onMemberRemovedEventSubscriber);
+
+    onGossipSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGossip), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> BROADCAST_GOSSIP.equals(message.qualifier()))
+        .subscribe(onGossipSubscriber);
+
+    onIHaveSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onIHave), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> BROADCAST_IHAVE.equals(message.qualifier()))
+        .subscribe(onIHaveSubscriber);
+
+    onGraftSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGraft), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> BROADCAST_GRAFT.equals(message.qualifier()))
+        .subscribe(onGraftSubscriber);
+
+    onPruneSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onPrune), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> BROADCAST_PRUNE.equals(message.qualifier()))
+        .subscribe(onPruneSubscriber);
+
+    lazyPushTask = executor.scheduleWithFixedDelay(this::doLazyPush,
+        config.getBroadcastLazyInterval(), config.getBroadcastLazyInterval(), TimeUnit.MILLISECONDS);
+  }
+
+  private void onError(Throwable throwable) {
+    LOGGER.error("Received unexpected error: ", throwable);
+  }
+
+  @Override
+  public void stop() {
+    // Stop accepting broadcast messages
+    unsubscribe(onMemberAddedEventSubscriber);
+    unsubscribe(onMemberRemovedEventSubscriber);
+    unsubscribe(onGossipSubscriber);
+    unsubscribe(onIHaveSubscriber);
+    unsubscribe(onGraftSubscriber);
+    unsubscribe(onPruneSubscriber);
+
+    // Stop lazy push
+    if (lazyPushTask != null) {
+      lazyPushTask.cancel(true);
+    }
+
+    // Cancel grafts of missing messages
+    missingMessages.values().stream()
+        .filter(missing -> missing.graftTask != null)
+        .forEach(missing -> missing.graftTask.cancel(true));
+    missingMessages.clear();
+
+    // Shutdown executor unless it is shared
+    if (ownExecutor) {
+      if (config.getStallWatchdog() != null) {
+        config.getStallWatchdog().unregister(executorName);
+      }
+      executor.shutdown();
+    }
+
+    // Stop publishing events
+    subject.onCompleted();
+  }
+
+  private void unsubscribe(Subscriber<?> subscriber) {
+    if (subscriber != null) {
+      subscriber.unsubscribe();
+    }
+  }
+
+  @Override
+  public CompletableFuture<String> broadcast(Message message) {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    executor.execute(() -> onBroadcast(message, future));
+    return future;
+  }
+
+  @Override
+  public Observable<Message> listen() {
+    return subject.onBackpressureBuffer().asObservable();
+  }
+
+  // ================================================
+  // ============== Action Methods ==================
+  // ================================================
+
+  private void doLazyPush() {
+    try {
+      // Send pending announcements
+      for (Map.Entry<String, BroadcastControl> entry : lazyQueue.entrySet()) {
+        Member member = lazyPushPeers.get(entry.getKey());
+        if (member != null) {
+          transport.send(member.address(), Message.withData(entry.getValue()).qualifier(BROADCAST_IHAVE).build());
+        }
+      }
+      lazyQueue.clear();
+
+      // Sweep received messages, they are ordered by receive time so expired ones are at the head
+      long expireTime = System.currentTimeMillis() - config.getBroadcastRetention();
+      for (Iterator<Map.Entry<String, ReceivedMessage>> it = receivedMessages.entrySet().iterator(); it.hasNext(); ) {
+        Map.Entry<String, ReceivedMessage> entry = it.next();
+        if (entry.getValue().receiveTime > expireTime) {
+          break;
+        }
+        it.remove();
+        expire(entry);
+      }
+    } catch (Exception cause) {
+      LOGGER.error("Exception on lazy push: {}", cause.getMessage(), cause);
+    }
+  }
+
+  // ================================================
+  // ============== Event Listeners =================
+  // ================================================
+
+  private void onBroadcast(Message message, CompletableFuture<String> future) {
+    String localMemberId = membership.member().id();
+    BroadcastGossip gossip = new BroadcastGossip(localMemberId, sequenceCounter++, localMemberId, message);
+    retain(gossip, future);
+    eagerPush(gossip, null);
+    lazyPush(gossip, null);
+  }
+
+  private void onGossip(Message message) {
+    BroadcastGossip gossip = message.data();
+    String gossipId = gossip.gossipId();
+    Member sender = peer(gossip.from());
+    if (!receivedMessages.containsKey(gossipId)) {
+      retain(gossip, null);
+      MissingMessage missing = missingMessages.remove(gossipId);
+      if (missing != null && missing.graftTask != null) {
+        missing.graftTask.cancel(false);
+      }
+      subject.onNext(gossip.message());
+
+      BroadcastGossip forward = gossip.forwardBy(membership.member().id());
+      eagerPush(forward, gossip.from());
+      lazyPush(forward, gossip.from());
+      if (sender != null) {
+        addEagerPushPeer(sender);
+      }
+    } else if (sender != null && prunedPeers.add(sender.id())) {
+      // Redundant link, remove it from the tree. Prune is sent once per link, further copies sent by the peer before
+      // it received prune don't need another one
+      addLazyPushPeer(sender);
+      transport.send(sender.address(), buildControlMessage(new BroadcastControl(membership.member().id()),
+          BROADCAST_PRUNE));
+    }
+  }
+
+  private void onIHave(Message message) {
+    BroadcastControl ihave = message.data();
+    Member sender = peer(ihave.from());
+    if (sender == null) {
+      return;
+    }
+    for (int i = 0; i < ihave.size(); i++) {
+      String origin = ihave.origin(i);
+      long sequence = ihave.sequence(i);
+      String gossipId = BroadcastGossip.gossipId(origin, sequence);
+      if (receivedMessages.containsKey(gossipId)) {
+        continue;
+      }
+      MissingMessage missing = missingMessages.computeIfAbsent(gossipId, id -> new MissingMessage(origin, sequence));
+      missing.announcers.add(sender);
+      if (missing.graftTask == null) {
+        missing.graftTask = scheduleGraft(gossipId, config.getBroadcastGraftTimeout());
+      }
+    }
+  }
+
+  private void onGraft(Message message) {
+    BroadcastControl graft = message.data();
+    Member sender = peer(graft.from());
+    if (sender == null) {
+      return;
+    }
+    addEagerPushPeer(sender);
+    for (int i = 0; i < graft.size(); i++) {
+      ReceivedMessage received = receivedMessages.get(BroadcastGossip.gossipId(graft.origin(i), graft.sequence(i)));
+      if (received != null) {
+        BroadcastGossip gossip = received.gossip.forwardBy(membership.member().id());
+        transport.send(sender.address(), Message.withData(gossip).qualifier(BROADCAST_GOSSIP).build());
+      }
+    }
+  }
+
+  private void onPrune(Message message) {
+    BroadcastControl prune = message.data();
+    Member sender = peer(prune.from());
+    if (sender != null) {
+      addLazyPushPeer(sender);
+    }
+  }
+
+  private void onGraftTimeout(String gossipId) {
+    MissingMessage missing = missingMessages.get(gossipId);
+    if (missing == null) {
+      return;
+    }
+    Member announcer = missing.announcers.poll();
+    if (announcer == null || receivedMessages.containsKey(gossipId)) {
+      missingMessages.remove(gossipId);
+      return; // received or no more members to pull from
+    }
+
+    // Graft announcer back to the tree and pull missing message from it, try next announcer if it doesn't respond
+    addEagerPushPeer(announcer);
+    BroadcastControl graft = new BroadcastControl(membership.member().id());
+    graft.add(missing.origin, missing.sequence);
+    transport.send(announcer.address(), buildControlMessage(graft, BROADCAST_GRAFT));
+    missing.graftTask = scheduleGraft(gossipId, Math.max(1, config.getBroadcastGraftTimeout() / 2));
+  }
+
+  /**
+   * Adds new member to eager push peers while there are less than gossip fanout of them, otherwise replaces random
+   * eager push peer with the new member with probability of fanout to number of peers (so eager push peers stay
+   * uniformly random sample of members) and adds the other one to lazy push peers.
+   */
+  private void onMemberAdded(Member member) {
+    int gossipFanout = config.getGossipFanout();
+    int peers = eagerPushPeers.size() + lazyPushPeers.size() + 1;
+    if (eagerPushPeers.size() < gossipFanout) {
+      eagerPushPeers.put(member.id(), member);
+    } else if (gossipFanout > 0 && random().nextInt(peers) < gossipFanout) {
+      Member replaced = randomPeer(eagerPushPeers);
+      addLazyPushPeer(replaced);
+      eagerPushPeers.put(member.id(), member);
+    } else {
+      lazyPushPeers.put(member.id(), member);
+    }
+  }
+
+  /**
+   * Removes member from peers, promotes random lazy push peer to eager one if eager push peers fell below gossip
+   * fanout, so the tree isn't left to be repaired only by grafts.
+   */
+  private void onMemberRemoved(Member member) {
+    boolean eager = eagerPushPeers.remove(member.id()) != null;
+    lazyPushPeers.remove(member.id());
+    prunedPeers.remove(member.id());
+    if (eager && eagerPushPeers.size() < config.getGossipFanout() && !lazyPushPeers.isEmpty()) {
+      addEagerPushPeer(randomPeer(lazyPushPeers));
+    }
+    lazyQueue.remove(member.id());
+    for (MissingMessage missing : missingMessages.values()) {
+      missing.announcers.remove(member);
+    }
+  }
+
+  // ================================================
+  // ============== Helper Methods ==================
+  // ================================================
+
+  private Member peer(String memberId) {
+    Member member = eagerPushPeers.get(memberId);
+    return member != null ? member : lazyPushPeers.get(memberId);
+  }
+
+  private void addEagerPushPeer(Member member) {
+    lazyPushPeers.remove(member.id());
+    prunedPeers.remove(member.id()); // new tree link, may be pruned again
+    eagerPushPeers.put(member.id(), member);
+  }
+
+  private Member randomPeer(Map<String, Member> peers) {
+    int index = random().nextInt(peers.size());
+    Iterator<Member> it = peers.values().iterator();
+    for (int i = 0; i < index; i++) {
+      it.next();
+    }
+    return it.next();
+  }
+
+  private Random random() {
+    return config.getRandom() != null ? config.getRandom() : ThreadLocalRandom.current();
+  }
+
+  /**
+   * Retains received message to serve grafts and deduplicate copies. Oldest messages are dropped once max number of
+   * retained messages is exceeded.
+   */
+  private void retain(BroadcastGossip gossip, CompletableFuture<String> future) {
+    receivedMessages.put(gossip.gossipId(), new ReceivedMessage(gossip, future));
+    if (receivedMessages.size() > config.getBroadcastMaxRetainedMessages()) {
+      Iterator<Map.Entry<String, ReceivedMessage>> it = receivedMessages.entrySet().iterator();
+      expire(it.next());
+      it.remove();
+    }
+  }
+
+  private void expire(Map.Entry<String, ReceivedMessage> entry) {
+    if (entry.getValue().future != null) {
+      entry.getValue().future.complete(entry.getKey());
+    }
+  }
+
+  private void addLazyPushPeer(Member member) {
+    eagerPushPeers.remove(member.id());
+    lazyPushPeers.put(member.id(), member);
+  }
+
+  private void eagerPush(BroadcastGossip gossip, String excludeMemberId) {
+    Message message = Message.withData(gossip).qualifier(BROADCAST_GOSSIP).build();
+    for (Member member : eagerPushPeers.values()) {
+      if (!member.id().equals(excludeMemberId)) {
+        transport.send(member.address(), message);
+      }
+    }
+  }
+
+  private void lazyPush(BroadcastGossip gossip, String excludeMemberId) {
+    for (Member member : lazyPushPeers.values()) {
+      if (!member.id().equals(excludeMemberId)) {
+        lazyQueue.computeIfAbsent(member.id(), id -> new BroadcastControl(membership.member().id()))
+            .add(gossip.origin(), gossip.sequence());
+      }
+    }
+  }
+
+  private ScheduledFuture<?> scheduleGraft(String gossipId, long timeout) {
+    return executor.schedule(() -> onGraftTimeout(gossipId), timeout, TimeUnit.MILLISECONDS);
+  }
+
+  private Message buildControlMessage(BroadcastControl control, String qualifier) {
+    return Message.withData(control).qualifier(qualifier).build();
+  }
+
+  private static final class ReceivedMessage {
+    private final BroadcastGossip gossip;
+    private final CompletableFuture<String> future; // only for messages broadcast by local member
+    private final long receiveTime = System.currentTimeMillis();
+
+    private ReceivedMessage(BroadcastGossip gossip, CompletableFuture<String> future) {
+      this.gossip = gossip;
+      this.future = future;
+    }
+  }
+
+  private static final class MissingMessage {
+    private final String origin;
+    private final long sequence;
+    private final ArrayDeque<Member> announcers = new ArrayDeque<>();
+    private ScheduledFuture<?> graftTask;
+
+    private MissingMessage(String origin, long sequence) {
+      this.origin = origin;
+      this.sequence = sequence;
+    }
+  }
+
+}
@@ -0,0 +1,33 @@
+package io.scalecube.cluster.cell;
+
+import io.scalecube.transport.Address;
+import io.scalecube.transport.StallWatchdog;
+
+import com.google.common.base.Ticker;
+
+import java.util.List;
+import java.util.Random;
+
+public interface CellConfig {
+
+  List<Address> getSeedMembers();
+
+  String getZoneMetadataKey();
+
+  int getCellCount();
+
+  int getCellRepresentatives();
+
+  long getCellSummaryInterval();
+
+  long getCellSummaryTimeout();
+
+  int getGossipFanout();
+
+  Ticker getTicker();
+
+  Random getRandom();
+
+  StallWatchdog getStallWatchdog();
+
+}
@@ -0,0 +1,59 @@
+package io.scalecube.cluster.cell;
+
+import io.scalecube.cluster.Member;
+
+import rx.Observable;
+
+import java.util.Collection;
+
+/**
+ * Cell Protocol component of hierarchical cluster mode. Members are grouped into cells and membership, failure
+ * detection and gossips run inside the cell of local member only. A few elected representatives of each cell exchange
+ * summaries of their cells with representatives of other cells and spread summaries of other cells inside their cell,
+ * so every member keeps detailed state of its own cell and aggregate view of other cells.
+ */
+public interface CellProtocol {
+
+  /**
+   * Starts running cell protocol. After started it begins to receive and send cell summaries.
+   */
+  void start();
+
+  /**
+   * Stops running cell protocol and releases occupied resources.
+   */
+  void stop();
+
+  /**
+   * Returns id of the cell of local member.
+   */
+  String cellId();
+
+  /**
+   * Returns true if the given member belongs to the cell of local member.
+   */
+  boolean isLocalCell(Member member);
+
+  /**
+   * Returns true if cell of a member is selected by member id alone, so {@link #isLocalCell(Member)} doesn't depend
+   * on member metadata.
+   */
+  boolean isCellSelectedById();
+
+  /**
+   * Returns true if local member is currently one of representatives of its cell.
+   */
+  boolean isRepresentative();
+
+  /**
+   * Returns latest known summaries of all cells including the cell of local member.
+   */
+  Collection<CellSummary> cells();
+
+  /**
+   * Listens for newer versions of cell summaries. Summaries of local cell which differ from the known one are emitted
+   * regardless of version, since they may refer members of local cell which local member doesn't know.
+   */
+  Observable<CellSummary> listen();
+
+}
@@ -0,0 +1,477 @@
+package io.scalecube.cluster.cell;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.gossip.GossipProtocol;
+import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.membership.MembershipProtocol;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.StallWatchdog;
+import io.scalecube.transport.Transport;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.observers.Subscribers;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+import rx.subjects.Subject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link CellProtocol}. Cell of member is the value of zone metadata property if zone metadata key is
+ * set, otherwise it is selected by hash of member id. Representatives of a cell are its members with the highest
+ * rendezvous hash scores, so all members with the same view of the cell elect the same representatives.
+ *
+ * <p>Every cell summary interval each representative issues new version of its cell summary if the summary changed or
+ * is about to expire, sends all known summaries to a few random representatives of other cells (which answer with
+ * their summaries) and gossips summaries updated since previous interval inside its cell. Member which doesn't know
+ * other cells yet exchanges summaries with seed members instead, that's how member which joined cluster via seed
+ * members of other cells finds representatives of its own cell.
+ */
+public final class CellProtocolImpl implements CellProtocol {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CellProtocolImpl.class);
+
+  // Qualifiers
+
+  public static final String CELL_SYNC = "sc/cell/sync";
+  public static final String CELL_SYNC_ACK = "sc/cell/syncAck";
+  public static final String CELL_GOSSIP = "sc/cell/gossip";
+
+  /**
+   * Cell of members without zone metadata property if cells are selected by zone.
+   */
+  public static final String NO_ZONE_CELL = "none";
+
+  // Injected
+
+  private final Transport transport;
+  private final MembershipProtocol membership;
+  private final GossipProtocol gossipProtocol;
+  private final CellConfig config;
+  private final String cellId;
+
+  // Local State
+
+  private final Map<String, Member> cellMembers = new HashMap<>(); // member id -> remote member of local cell
+  private final Map<String, CellSummary> summaries = new HashMap<>(); // cell id -> latest summary
+  private final Map<String, Long> updateTimes = new HashMap<>(); // cell id -> ticker time of latest summary
+  private final Set<String> updatedCells = new HashSet<>(); // cells to gossip inside local cell
+  private volatile boolean representative;
+  private volatile Collection<CellSummary> cells = Collections.emptyList();
+
+  // Subscriptions
+
+  private Subscriber<Member> onMemberAddedEventSubscriber;
+  private Subscriber<Member> onMemberRemovedEventSubscriber;
+  private Subscriber<Member> onMemberUpdatedEventSubscriber;
+  private Subscriber<Message> onSyncSubscriber;
+  private Subscriber<Message> onSyncAckSubscriber;
+  private Subscriber<Message> onGossipSubscriber;
+
+  // Subject
+
+  private Subject<CellSummary, CellSummary> subject = PublishSubject.<CellSummary>create().toSerialized();
+
+  // Scheduled
+
+  private final String executorName;
+  private final ScheduledExecutorService executor;
+  private final boolean ownExecutor; // false if executor is shared with other components
+  private final Scheduler scheduler;
+  private ScheduledFuture<?> syncTask;
+
+  /**
+   * Creates new instance of cell protocol with given transport, membership, gossip protocol and settings.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param gossipProtocol gossip protocol
+   * @param config cell protocol settings
+   */
+  public CellProtocolImpl(Transport transport, MembershipProtocol membership, GossipProtocol gossipProtocol,
+      CellConfig config) {
+    this(transport, membership, gossipProtocol, config, null);
+  }
+
+  /**
+   * Creates new instance of cell protocol with given transport, membership, gossip protocol and settings which runs on
+   * given executor.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param gossipProtocol gossip protocol
+   * @param config cell protocol settings
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public CellProtocolImpl(Transport transport, MembershipProtocol membership, GossipProtocol gossipProtocol,
+      CellConfig config, ScheduledExecutorService executor) {
+    checkArgument(transport != null);
+    checkArgument(membership != null);
+    checkArgument(gossipProtocol != null);
+    checkArgument(config != null);
+    checkArgument(config.getZoneMetadataKey() != null || config.getCellCount() > 0);
+    checkArgument(config.getCellRepresentatives() > 0);
+    checkArgument(config.getCellSummaryInterval() > 0);
+    checkArgument(config.getCellSummaryTimeout() > config.getCellSummaryInterval());
+    this.transport = transport;
+    this.membership = membership;
+    this.gossipProtocol = gossipProtocol;
+    this.config = config;
+    this.cellId = cellId(membership.member(), config.getZoneMetadataKey(), config.getCellCount());
+    this.executorName = "sc-cell-" + Integer.toString(membership.member().address().port());
+    this.ownExecutor = executor == null;
+    this.executor = ownExecutor
+        ? Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(executorName).setDaemon(true).build())
+        : executor;
+    this.scheduler = Schedulers.from(this.executor);
+  }
+
+  /**
+   * Returns id of the cell of the given member.
+   *
+   * @param member member
+   * @param zoneMetadataKey member metadata key of zone; if null cell is selected by hash of member id
+   * @param cellCount number of cells to select from by hash of member id
+   * @return cell id
+   */
+  public static String cellId(Member member, String zoneMetadataKey, int cellCount) {
+    if (zoneMetadataKey != null) {
+      String zone = member.metadata().get(zoneMetadataKey);
+      return zone != null ? zone : NO_ZONE_CELL;
+    }
+    int hash = Hashing.murmur3_32().hashString(member.id(), StandardCharsets.UTF_8).asInt();
+    return Integer.toString(Math.floorMod(hash, cellCount));
+  }
+
+  @Override
+  public String cellId() {
+    return cellId;
+  }
+
+  @Override
+  public void start() {
+    StallWatchdog watchdog = config.getStallWatchdog();
+    if (watchdog != null && ownExecutor) {
+      watchdog.register(executorName, executor);
+    }
+
+    onMemberAddedEventSubscriber = Subscribers.create(this::onMemberAdded, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isAdded)
+        .map(MembershipEvent::member)
+        .subscribe(onMemberAddedEventSubscriber);
+
+    onMemberRemovedEventSubscriber = Subscribers.create(this::onMemberRemoved, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isRemoved)
+        .map(MembershipEvent::member)
+        .subscribe(onMemberRemovedEventSubscriber);
+
+    onMemberUpdatedEventSubscriber = Subscribers.create(this::onMemberUpdated, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isUpdated)
+        .map(MembershipEvent::member)
+        .subscribe(onMemberUpdatedEventSubscriber);
+
+    onSyncSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSync), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> CELL_SYNC.equals(message.qualifier()))
+        .subscribe(onSyncSubscriber);
+
+    onSyncAckSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSyncAck), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> CELL_SYNC_ACK.equals(message.qualifier()))
+        .subscribe(onSyncAckSubscriber);
+
+    onGossipSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGossip), this::onError);
+    gossipProtocol.listen().observeOn(scheduler)
+        .filter(message -> CELL_GOSSIP.equals(message.qualifier()))
+        .subscribe(onGossipSubscriber);
+
+    syncTask = executor.scheduleWithFixedDelay(this::doSync,
+        config.getCellSummaryInterval(), config.getCellSummaryInterval(), TimeUnit.MILLISECONDS);
+  }
+
+  private void onError(Throwable throwable) {
+    LOGGER.error("Received unexpected error: ", throwable);
+  }
+
+  @Override
+  public void stop() {
+    // Stop accepting cell summaries
+    unsubscribe(onMemberAddedEventSubscriber);
+    unsubscribe(onMemberRemovedEventSubscriber);
+    unsubscribe(onMemberUpdatedEventSubscriber);
+    unsubscribe(onSyncSubscriber);
+    unsubscribe(onSyncAckSubscriber);
+    unsubscribe(onGossipSubscriber);
+
+    // Stop sending cell summaries
+    if (syncTask != null) {
+      syncTask.cancel(true);
+    }
+
+    // Shutdown executor unless it is shared
+    if (ownExecutor) {
+      if (config.getStallWatchdog() != null) {
+        config.getStallWatchdog().unregister(executorName);
+      }
+      executor.shutdown();
+    }
+
+    // Stop publishing events
+    subject.onCompleted();
+  }
+
+  private void unsubscribe(Subscriber<?> subscriber) {
+    if (subscriber != null) {
+      subscriber.unsubscribe();
+    }
+  }
+
+  @Override
+  public boolean isLocalCell(Member member) {
+    return cellId.equals(cellId(member, config.getZoneMetadataKey(), config.getCellCount()));
+  }
+
+  @Override
+  public boolean isCellSelectedById() {
+    return config.getZoneMetadataKey() == null;
+  }
+
+  @Override
+  public boolean isRepresentative() {
+    return representative;
+  }
+
+  @Override
+  public Collection<CellSummary> cells() {
+    return cells;
+  }
+
+  @Override
+  public Observable<CellSummary> listen() {
+    return subject.onBackpressureBuffer().asObservable();
+  }
+
+  // ================================================
+  // ============== Action Methods ==================
+  // ================================================
+
+  private void doSync() {
+    try {
+      long now = config.getTicker().read();
+      expireSummaries(now);
+      List<Address> representatives = electRepresentatives();
+      representative = representatives.contains(membership.member().address());
+      if (representative) {
+        issueSummary(representatives, now);
+        sendSummaries();
+        spreadUpdatedSummaries();
+      } else {
+        updatedCells.clear(); // gossiped by representatives
+      }
+      updateCells();
+    } catch (Exception cause) {
+      LOGGER.error("Exception on cell summary sync: {}", cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * Issues next version of local cell summary if it has changed or if it wasn't refreshed for a third of timeout.
+   */
+  private void issueSummary(List<Address> representatives, long now) {
+    CellSummary current = summaries.get(cellId);
+    long version = current != null ? current.version() + 1 : 1;
+    CellSummary summary = new CellSummary(cellId, version, cellMembers.size() + 1, representatives);
+    long refreshTime = TimeUnit.MILLISECONDS.toNanos(config.getCellSummaryTimeout()) / 3;
+    if (!summary.isSameContent(current) || now - updateTimes.get(cellId) >= refreshTime) {
+      if (merge(summary, now)) {
+        updatedCells.add(cellId);
+      }
+    }
+  }
+
+  /**
+   * Sends all known summaries to random representatives of other cells, or to seed members outside of local cell if
+   * no other cells are known yet.
+   */
+  private void sendSummaries() {
+    List<Address> targets = new ArrayList<>();
+    for (CellSummary summary : summaries.values()) {
+      if (!summary.cellId().equals(cellId)) {
+        targets.addAll(summary.representatives());
+      }
+    }
+    if (targets.isEmpty()) {
+      Set<Address> cellAddresses = cellMembers.values().stream().map(Member::address).collect(Collectors.toSet());
+      for (Address address : config.getSeedMembers()) {
+        if (!address.equals(membership.member().address()) && !cellAddresses.contains(address)) {
+          targets.add(address);
+        }
+      }
+    }
+    if (targets.isEmpty()) {
+      return;
+    }
+    Collections.shuffle(targets, random());
+    Message message = syncMessage(CELL_SYNC, new ArrayList<>(summaries.values()));
+    for (Address address : targets.subList(0, Math.min(config.getGossipFanout(), targets.size()))) {
+      transport.send(address, message);
+    }
+  }
+
+  private void spreadUpdatedSummaries() {
+    List<CellSummary> updated = updatedCells.stream()
+        .map(summaries::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+    updatedCells.clear();
+    if (!updated.isEmpty() && !cellMembers.isEmpty()) {
+      gossipProtocol.spread(syncMessage(CELL_GOSSIP, updated));
+    }
+  }
+
+  private void expireSummaries(long now) {
+    long timeout = TimeUnit.MILLISECONDS.toNanos(config.getCellSummaryTimeout());
+    for (Iterator<Map.Entry<String, Long>> it = updateTimes.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<String, Long> entry = it.next();
+      if (!entry.getKey().equals(cellId) && now - entry.getValue() > timeout) {
+        LOGGER.debug("Cell summary expired: {}", summaries.get(entry.getKey()));
+        it.remove();
+        summaries.remove(entry.getKey());
+      }
+    }
+  }
+
+  // ================================================
+  // ============== Event Listeners =================
+  // ================================================
+
+  private void onMemberAdded(Member member) {
+    if (isLocalCell(member)) {
+      cellMembers.put(member.id(), member);
+    }
+  }
+
+  private void onMemberRemoved(Member member) {
+    cellMembers.remove(member.id());
+  }
+
+  private void onMemberUpdated(Member member) {
+    cellMembers.remove(member.id());
+    onMemberAdded(member);
+  }
+
+  /**
+   * Merges summaries received from representative of other cell and answers with known summaries.
+   */
+  private void onSync(Message message) {
+    CellSync sync = message.data();
+    LOGGER.debug("Received CellSync from {}: {}", message.sender(), sync);
+    mergeAll(sync, true);
+    transport.send(message.sender(), syncMessage(CELL_SYNC_ACK, new ArrayList<>(summaries.values())));
+  }
+
+  private void onSyncAck(Message message) {
+    CellSync sync = message.data();
+    LOGGER.debug("Received CellSyncAck from {}: {}", message.sender(), sync);
+    mergeAll(sync, true);
+  }
+
+  private void onGossip(Message message) {
+    mergeAll(message.data(), false);
+  }
+
+  // ================================================
+  // ============== Helper Methods ==================
+  // ================================================
+
+  /**
+   * Merges newer summaries, summaries received from other cells are gossiped inside local cell if local member is
+   * representative.
+   */
+  private void mergeAll(CellSync sync, boolean fromOtherCell) {
+    long now = config.getTicker().read();
+    for (CellSummary summary : sync.summaries()) {
+      if (merge(summary, now) && fromOtherCell) {
+        updatedCells.add(summary.cellId());
+      }
+    }
+    updateCells();
+  }
+
+  private boolean merge(CellSummary summary, long now) {
+    CellSummary current = summaries.get(summary.cellId());
+    if (current != null && current.version() >= summary.version()) {
+      if (summary.cellId().equals(cellId) && !summary.isSameContent(current)) {
+        subject.onNext(summary); // may list members of local cell which local member doesn't know
+      }
+      return false;
+    }
+    summaries.put(summary.cellId(), summary);
+    updateTimes.put(summary.cellId(), now);
+    subject.onNext(summary);
+    return true;
+  }
+
+  private void updateCells() {
+    cells = Collections.unmodifiableList(new ArrayList<>(summaries.values()));
+  }
+
+  /**
+   * Returns addresses of representatives of local cell in order of their rendezvous hash scores.
+   */
+  private List<Address> electRepresentatives() {
+    List<Member> candidates = new ArrayList<>(cellMembers.values());
+    candidates.add(membership.member());
+    candidates.sort(Comparator.comparingInt(this::representativeScore).reversed());
+    return candidates.stream()
+        .limit(config.getCellRepresentatives())
+        .map(Member::address)
+        .collect(Collectors.toList());
+  }
+
+  private int representativeScore(Member member) {
+    return Hashing.murmur3_32().hashString(member.id() + '/' + cellId, StandardCharsets.UTF_8).asInt();
+  }
+
+  private Message syncMessage(String qualifier, List<CellSummary> summaries) {
+    return Message.withData(new CellSync(summaries)).qualifier(qualifier).build();
+  }
+
+  private Random random() {
+    return config.getRandom() != null ? config.getRandom() : ThreadLocalRandom.current();
+  }
+}
@@ -0,0 +1,77 @@
+package io.scalecube.cluster.cell;
+
+import io.scalecube.transport.Address;
+
+import io.protostuff.Tag;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregate view of a cell: number of its members and addresses of its representatives. Summary is issued by
+ * representatives of the cell with increasing version, newer version replaces older one.
+ */
+public final class CellSummary {
+  @Tag(1)
+  private final String cellId;
+
+  @Tag(2)
+  private final long version;
+
+  @Tag(3)
+  private final int memberCount;
+
+  @Tag(4)
+  private final List<Address> representatives;
+
+  /**
+   * Creates cell summary.
+   *
+   * @param cellId cell id
+   * @param version version of summary
+   * @param memberCount number of cell members
+   * @param representatives addresses of cell representatives
+   */
+  public CellSummary(String cellId, long version, int memberCount, List<Address> representatives) {
+    this.cellId = cellId;
+    this.version = version;
+    this.memberCount = memberCount;
+    this.representatives = representatives;
+  }
+
+  public String cellId() {
+    return cellId;
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public int memberCount() {
+    return memberCount;
+  }
+
+  public List<Address> representatives() {
+    return representatives != null ? representatives : Collections.emptyList(); // empty list is not serialized
+  }
+
+  /**
+   * Returns true if this summary describes the same cell as the given one with the same member count and
+   * representatives, regardless of version.
+   */
+  boolean isSameContent(CellSummary summary) {
+    return summary != null
+        && cellId.equals(summary.cellId)
+        && memberCount == summary.memberCount
+        && representatives().equals(summary.representatives());
+  }
+
+  @Override
+  public String toString() {
+    return "CellSummary{cellId=" + cellId
+        + ", version=" + version
+        + ", memberCount=" + memberCount
+        + ", representatives=" + representatives()
+        + '}';
+  }
+}
@@ -0,0 +1,27 @@
+package io.scalecube.cluster.cell;
+
+import io.protostuff.Tag;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cell summaries exchanged between cell representatives and gossiped inside cell.
+ */
+final class CellSync {
+  @Tag(1)
+  private final List<CellSummary> summaries;
+
+  CellSync(List<CellSummary> summaries) {
+    this.summaries = summaries;
+  }
+
+  List<CellSummary> summaries() {
+    return summaries != null ? summaries : Collections.emptyList(); // empty list is not serialized
+  }
+
+  @Override
+  public String toString() {
+    return "CellSync{summaries=" + summaries() + '}';
+  }
+}
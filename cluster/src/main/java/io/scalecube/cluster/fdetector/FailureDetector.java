@@ -2,6 +2,9 @@ package io.scalecube.cluster.fdetector;
 
 import rx.Observable;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Failure Detector component responsible for monitoring availability of other members in the cluster. This interface is
  * supposed to be used internally as part cluster membership protocol. It doesn't specify that particular node is
@@ -27,4 +30,18 @@ public interface FailureDetector {
    */
   Observable<FailureDetectorEvent> listen();
 
+  /**
+   * Notifies failure detector that local member refuted suspicion of other members about it. Failure detector may
+   * consider it as a sign of degraded local health.
+   */
+  default void onSuspicionRefuted() {}
+
+  /**
+   * Returns suspicion level phi of the last direct ping outcome per member id, empty if phi accrual is disabled. Phi of
+   * 1 means about 10% chance that member was mistakenly considered slow, phi of 2 about 1% and so on.
+   */
+  default Map<String, Double> phi() {
+    return Collections.emptyMap();
+  }
+
 }
@@ -1,5 +1,11 @@
 package io.scalecube.cluster.fdetector;
 
+import io.scalecube.transport.StallWatchdog;
+
+import com.google.common.base.Ticker;
+
+import java.util.Random;
+
 public interface FailureDetectorConfig {
 
   int getPingInterval();
@@ -8,4 +14,32 @@ public interface FailureDetectorConfig {
 
   int getPingReqMembers();
 
+  boolean isLifeguardEnabled();
+
+  int getLifeguardMaxHealthMult();
+
+  boolean isPhiAccrualEnabled();
+
+  double getPhiThreshold();
+
+  int getPhiWindowSize();
+
+  int getPhiMinSamples();
+
+  int getPhiMinPingTimeout();
+
+  boolean isNetworkCoordinatesEnabled();
+
+  Ticker getTicker();
+
+  Random getRandom();
+
+  String getZoneMetadataKey();
+
+  int getCrossZonePingPercent();
+
+  boolean isFlightRecorderEnabled();
+
+  StallWatchdog getStallWatchdog();
+
 }
@@ -2,13 +2,16 @@ package io.scalecube.cluster.fdetector;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import io.scalecube.cluster.ClusterFlightRecorder;
 import io.scalecube.cluster.Member;
 import io.scalecube.cluster.membership.MembershipProtocol;
 import io.scalecube.cluster.membership.MemberStatus;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.transport.Transport;
 import io.scalecube.transport.Message;
+import io.scalecube.transport.StallWatchdog;
 
+import com.google.common.base.Ticker;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
@@ -24,7 +27,11 @@ import rx.subjects.Subject;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -41,17 +48,37 @@ public final class FailureDetectorImpl implements FailureDetector {
   public static final String PING_REQ = "sc/fdetector/pingReq";
   public static final String PING_ACK = "sc/fdetector/pingAck";
 
+  /**
+   * Number of preallocated probe slots, power of two. Probe lasts at most one ping interval, so only couple of slots
+   * are in use at any moment.
+   */
+  private static final int PROBE_SLOTS = 8;
+
   // Injected
 
   private final Transport transport;
   private final MembershipProtocol membership;
   private final FailureDetectorConfig config;
+  private final PingTimeoutStrategy pingTimeoutStrategy;
+  private final Ticker ticker;
+  private volatile PiggybackBuffer piggybackBuffer; // null if piggybacking is disabled
+  private volatile SuspicionTracker suspicionTracker; // null if not set by membership
 
   // State
 
   private long period = 0;
-  private List<Member> pingMembers = new ArrayList<>();
+  private long nextPingTime; // ticker time of next probe
+  private final String cidPrefix; // correlation id of probe is prefix followed by period
+  private final Probe[] probes = new Probe[PROBE_SLOTS]; // probe of period is kept in slot period % PROBE_SLOTS
+  private List<Member> pingMembers = new ArrayList<>(); // members of local zone, all members unless zone aware
   private int pingMemberIndex = 0; // index for sequential ping member selection
+  private final List<Member> crossZonePingMembers = new ArrayList<>(); // members of other zones if zone aware
+  private int crossZonePingMemberIndex = 0;
+  private final List<Member> pingReqMembers = new ArrayList<>(); // reused between probes
+  private final Map<String, PingData> pingPayloads = new HashMap<>(); // member id -> last ping without piggyback
+  private volatile int healthScore = 0; // Lifeguard local health score, from 0 to max health multiplier - 1
+  private final NetworkCoordinates networkCoordinates; // null unless network coordinates are enabled
+  private final ClusterFlightRecorder flightRecorder; // null unless flight recorder is enabled and available
 
   // Subscriptions
 
@@ -59,8 +86,10 @@ public final class FailureDetectorImpl implements FailureDetector {
   private Subscriber<Member> onMemberRemovedSubscriber;
   private Subscriber<MembershipEvent> onMemberUpdatedSubscriber;
   private Subscriber<Message> onPingRequestSubscriber;
+  private Subscriber<Message> onPingAckSubscriber;
   private Subscriber<Message> onAskToPingRequestSubscriber;
   private Subscriber<Message> onTransitPingAckRequestSubscriber;
+  private Subscriber<Message> onPiggybackSubscriber;
 
   // Subject
 
@@ -69,9 +98,12 @@ public final class FailureDetectorImpl implements FailureDetector {
 
   // Scheduled
 
+  private final String executorName;
   private final ScheduledExecutorService executor;
+  private final boolean ownExecutor; // false if executor is shared with other components
   private final Scheduler scheduler;
-  private ScheduledFuture<?> pingTask;
+  private volatile ScheduledFuture<?> timerTask; // fires at next probe start or probe timeout, whichever is earlier
+  private volatile boolean stopped; // guards tasks submitted to shared executor which isn't shut down on stop
 
   /**
    * Creates new instance of failure detector with given transport and settings.
@@ -81,16 +113,93 @@ public final class FailureDetectorImpl implements FailureDetector {
    * @param config failure detector settings
    */
   public FailureDetectorImpl(Transport transport, MembershipProtocol membership, FailureDetectorConfig config) {
+    this(transport, membership, config, pingTimeoutStrategy(config), null);
+  }
+
+  /**
+   * Creates new instance of failure detector with given transport and settings which runs on given executor.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config failure detector settings
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public FailureDetectorImpl(Transport transport, MembershipProtocol membership, FailureDetectorConfig config,
+      ScheduledExecutorService executor) {
+    this(transport, membership, config, pingTimeoutStrategy(config), executor);
+  }
+
+  /**
+   * Creates new instance of failure detector with given transport, settings and ping timeout strategy.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config failure detector settings
+   * @param pingTimeoutStrategy strategy of direct ping timeouts
+   */
+  public FailureDetectorImpl(Transport transport, MembershipProtocol membership, FailureDetectorConfig config,
+      PingTimeoutStrategy pingTimeoutStrategy) {
+    this(transport, membership, config, pingTimeoutStrategy, null);
+  }
+
+  /**
+   * Creates new instance of failure detector with given transport, settings and ping timeout strategy which runs on
+   * given executor.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config failure detector settings
+   * @param pingTimeoutStrategy strategy of direct ping timeouts
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public FailureDetectorImpl(Transport transport, MembershipProtocol membership, FailureDetectorConfig config,
+      PingTimeoutStrategy pingTimeoutStrategy, ScheduledExecutorService executor) {
     checkArgument(transport != null);
     checkArgument(membership != null);
     checkArgument(config != null);
+    checkArgument(pingTimeoutStrategy != null);
+    checkArgument(config.getCrossZonePingPercent() >= 0 && config.getCrossZonePingPercent() <= 100);
     this.transport = transport;
     this.membership = membership;
     this.config = config;
-    String nameFormat = "sc-fdetector-" + Integer.toString(membership.member().address().port());
-    this.executor = Executors.newSingleThreadScheduledExecutor(
-        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
-    this.scheduler = Schedulers.from(executor);
+    this.flightRecorder = config.isFlightRecorderEnabled() ? ClusterFlightRecorder.newInstance() : null;
+    this.pingTimeoutStrategy = pingTimeoutStrategy;
+    this.ticker = config.getTicker();
+    this.cidPrefix = membership.member().id() + "-";
+    this.networkCoordinates = config.isNetworkCoordinatesEnabled() ? new NetworkCoordinates(config.getRandom()) : null;
+    for (int i = 0; i < PROBE_SLOTS; i++) {
+      probes[i] = new Probe();
+    }
+    this.executorName = "sc-fdetector-" + Integer.toString(membership.member().address().port());
+    this.ownExecutor = executor == null;
+    this.executor = ownExecutor
+        ? Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(executorName).setDaemon(true).build())
+        : executor;
+    this.scheduler = Schedulers.from(this.executor);
+  }
+
+  private static PingTimeoutStrategy pingTimeoutStrategy(FailureDetectorConfig config) {
+    checkArgument(config != null);
+    return config.isPhiAccrualEnabled()
+        ? new PhiAccrualPingTimeoutStrategy(config)
+        : new FixedPingTimeoutStrategy(config.getPingTimeout());
+  }
+
+  /**
+   * Sets buffer of messages to piggyback on ping, ping request and ack messages and to consume piggybacked messages.
+   */
+  public void setPiggybackBuffer(PiggybackBuffer piggybackBuffer) {
+    this.piggybackBuffer = piggybackBuffer;
+  }
+
+  /**
+   * Sets tracker of member suspicions known to membership, used by Lifeguard buddy system.
+   */
+  public void setSuspicionTracker(SuspicionTracker suspicionTracker) {
+    this.suspicionTracker = suspicionTracker;
   }
 
   /**
@@ -102,6 +211,11 @@ public final class FailureDetectorImpl implements FailureDetector {
 
   @Override
   public void start() {
+    StallWatchdog watchdog = config.getStallWatchdog();
+    if (watchdog != null && ownExecutor) {
+      watchdog.register(executorName, executor);
+    }
+
     onMemberAddedSubscriber = Subscribers.create(this::onMemberAdded, this::onError);
     membership.listen().observeOn(scheduler)
         .filter(MembershipEvent::isAdded)
@@ -119,27 +233,40 @@ public final class FailureDetectorImpl implements FailureDetector {
         .filter(MembershipEvent::isUpdated)
         .subscribe(onMemberUpdatedSubscriber);
 
-    onPingRequestSubscriber = Subscribers.create(this::onPing, this::onError);
+    onPingRequestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onPing), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(this::isPing)
         .subscribe(onPingRequestSubscriber);
 
-    onAskToPingRequestSubscriber = Subscribers.create(this::onPingReq, this::onError);
+    onPingAckSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onPingAck), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(this::isPingAck)
+        .subscribe(onPingAckSubscriber);
+
+    onAskToPingRequestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onPingReq), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(this::isPingReq)
         .subscribe(onAskToPingRequestSubscriber);
 
-    onTransitPingAckRequestSubscriber = Subscribers.create(this::onTransitPingAck, this::onError);
+    onTransitPingAckRequestSubscriber =
+        Subscribers.create(StallWatchdog.tracked(watchdog, this::onTransitPingAck), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(this::isTransitPingAck)
         .subscribe(onTransitPingAckRequestSubscriber);
 
-    pingTask = executor.scheduleWithFixedDelay(
-        this::doPing, config.getPingInterval(), config.getPingInterval(), TimeUnit.MILLISECONDS);
+    onPiggybackSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onPiggyback), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(this::hasPiggyback)
+        .subscribe(onPiggybackSubscriber);
+
+    nextPingTime = ticker.read() + TimeUnit.MILLISECONDS.toNanos(config.getPingInterval());
+    scheduleTimer(nextPingTime);
   }
 
   @Override
   public void stop() {
+    stopped = true;
+
     // Stop accepting requests
     if (onMemberAddedSubscriber != null) {
       onMemberAddedSubscriber.unsubscribe();
@@ -153,20 +280,31 @@ public final class FailureDetectorImpl implements FailureDetector {
     if (onPingRequestSubscriber != null) {
       onPingRequestSubscriber.unsubscribe();
     }
+    if (onPingAckSubscriber != null) {
+      onPingAckSubscriber.unsubscribe();
+    }
     if (onAskToPingRequestSubscriber != null) {
       onAskToPingRequestSubscriber.unsubscribe();
     }
     if (onTransitPingAckRequestSubscriber != null) {
       onTransitPingAckRequestSubscriber.unsubscribe();
     }
+    if (onPiggybackSubscriber != null) {
+      onPiggybackSubscriber.unsubscribe();
+    }
 
     // Stop sending pings
-    if (pingTask != null) {
-      pingTask.cancel(true);
+    if (timerTask != null) {
+      timerTask.cancel(true);
     }
 
-    // Shutdown executor
-    executor.shutdown();
+    // Shutdown executor unless it is shared
+    if (ownExecutor) {
+      if (config.getStallWatchdog() != null) {
+        config.getStallWatchdog().unregister(executorName);
+      }
+      executor.shutdown();
+    }
 
     // Stop publishing events
     subject.onCompleted();
@@ -177,10 +315,88 @@ public final class FailureDetectorImpl implements FailureDetector {
     return subject.onBackpressureDrop().asObservable();
   }
 
+  @Override
+  public void onSuspicionRefuted() {
+    if (config.isLifeguardEnabled() && !stopped) {
+      executor.execute(() -> {
+        if (!stopped) {
+          updateHealthScore(1);
+        }
+      });
+    }
+  }
+
+  @Override
+  public Map<String, Double> phi() {
+    return pingTimeoutStrategy.phi();
+  }
+
+  /**
+   * Returns Vivaldi network coordinates of local and remote members computed from round trip times of direct pings, or
+   * null if network coordinates are disabled.
+   */
+  public NetworkCoordinates networkCoordinates() {
+    return networkCoordinates;
+  }
+
+  /**
+   * <b>NOTE:</b> this method is for testing purpose only.
+   */
+  int getHealthScore() {
+    return healthScore;
+  }
+
   // ================================================
   // ============== Action Methods ==================
   // ================================================
 
+  /**
+   * Runs on each timer tick, expires timeouts of probes in progress and starts next probe once ping interval stretched
+   * by local health multiplier elapsed. Single timer serves all probes. It isn't periodic, next tick is scheduled at
+   * the earliest of next probe start and deadlines of probes in flight, so idle failure detector wakes up only a few
+   * times per ping interval.
+   */
+  private void onTimerTick() {
+    try {
+      long now = ticker.read();
+      for (Probe probe : probes) {
+        if (probe.phase != Probe.IDLE && now - probe.deadline >= 0) {
+          onProbeTimeout(probe);
+        }
+      }
+      if (now - nextPingTime >= 0) {
+        nextPingTime = now + TimeUnit.MILLISECONDS.toNanos((long) config.getPingInterval() * healthMult());
+        doPing();
+      }
+    } catch (Exception cause) {
+      LOGGER.error("Exception on failure detector timer tick: {}", cause.getMessage(), cause);
+    } finally {
+      scheduleTimer(nextTimerTime());
+    }
+  }
+
+  /**
+   * Returns ticker time of the next timer tick: the earliest of next probe start and deadlines of probes in flight.
+   * Probes and their phases are started only by timer tick, so the tick scheduled after them sees all deadlines.
+   */
+  private long nextTimerTime() {
+    long time = nextPingTime;
+    for (Probe probe : probes) {
+      if (probe.phase != Probe.IDLE && probe.deadline - time < 0) {
+        time = probe.deadline;
+      }
+    }
+    return time;
+  }
+
+  private void scheduleTimer(long time) {
+    if (stopped) {
+      return;
+    }
+    long delay = Math.max(time - ticker.read(), 0);
+    timerTask = executor.schedule(this::onTimerTick, delay, TimeUnit.NANOSECONDS);
+  }
+
   private void doPing() {
     // Increment period counter
     period++;
@@ -193,95 +409,130 @@ public final class FailureDetectorImpl implements FailureDetector {
 
     // Send ping
     Member localMember = membership.member();
-    String cid = localMember.id() + "-" + Long.toString(period);
-    PingData pingData = new PingData(localMember, pingMember);
+    String cid = cidPrefix + period;
+    SuspicionTracker tracker = suspicionTracker;
+    boolean suspected = config.isLifeguardEnabled() && tracker != null && tracker.isSuspected(pingMember.id());
+    PingData pingData = pingPayload(localMember, pingMember, suspected);
     Message pingMsg = Message.withData(pingData).qualifier(PING).correlationId(cid).build();
+    int directTimeout = pingTimeoutStrategy.pingTimeout(pingMember);
+    Probe probe = probes[(int) (period & (PROBE_SLOTS - 1))];
+    probe.start(pingMember, period, cid, directTimeout, directTimeout * healthMult(), ticker.read());
     try {
       LOGGER.trace("Send Ping[{}] to {}", period, pingMember);
-      transport.listen().observeOn(scheduler)
-          .filter(this::isPingAck)
-          .filter(message -> cid.equals(message.correlationId()))
-          .take(1)
-          .timeout(config.getPingTimeout(), TimeUnit.MILLISECONDS, scheduler)
-          .subscribe(
-              message -> {
-                LOGGER.trace("Received PingAck[{}] from {}", period, pingMember);
-                publishPingResult(pingMember, MemberStatus.ALIVE);
-              },
-              throwable -> {
-                LOGGER.trace("Timeout getting PingAck[{}] from {} within {} ms",
-                    period, pingMember, config.getPingTimeout());
-                doPingReq(pingMember, cid);
-              });
       transport.send(pingMember.address(), pingMsg);
     } catch (Exception cause) {
       LOGGER.error("Exception on sending Ping[{}] to {}: {}", period, pingMember, cause.getMessage(), cause);
     }
   }
 
-  private void doPingReq(final Member pingMember, String cid) {
-    final int timeout = config.getPingInterval() - config.getPingTimeout();
+  private void doPingReq(Probe probe) {
+    final int timeout = (config.getPingInterval() - probe.directTimeout) * healthMult();
     if (timeout <= 0) {
       LOGGER.trace("No PingReq[{}] occurred, because no time left (pingInterval={}, pingTimeout={})",
-          period, config.getPingInterval(), config.getPingTimeout());
-      publishPingResult(pingMember, MemberStatus.SUSPECT);
+          probe.period, config.getPingInterval(), probe.directTimeout);
+      completeProbe(probe, MemberStatus.SUSPECT);
       return;
     }
 
-    final List<Member> pingReqMembers = selectPingReqMembers(pingMember);
+    selectPingReqMembers(probe.member);
     if (pingReqMembers.isEmpty()) {
-      LOGGER.trace("No PingReq[{}] occurred, because member selection is empty", period);
-      publishPingResult(pingMember, MemberStatus.SUSPECT);
+      LOGGER.trace("No PingReq[{}] occurred, because member selection is empty", probe.period);
+      completeProbe(probe, MemberStatus.SUSPECT);
       return;
     }
 
-    Member localMember = membership.member();
-    transport.listen().observeOn(scheduler)
-        .filter(this::isPingAck)
-        .filter(message -> cid.equals(message.correlationId()))
-        .take(1)
-        .timeout(timeout, TimeUnit.MILLISECONDS, scheduler)
-        .subscribe(
-            message -> {
-              LOGGER.trace("Received transit PingAck[{}] from {} to {}", period, message.sender(), pingMember);
-              publishPingResult(pingMember, MemberStatus.ALIVE);
-            },
-            throwable -> {
-              LOGGER.trace("Timeout getting transit PingAck[{}] from {} to {} within {} ms",
-                  period, pingReqMembers, pingMember, timeout);
-              publishPingResult(pingMember, MemberStatus.SUSPECT);
-            });
-
-    PingData pingReqData = new PingData(localMember, pingMember);
-    Message pingReqMsg = Message.withData(pingReqData).qualifier(PING_REQ).correlationId(cid).build();
-    LOGGER.trace("Send PingReq[{}] to {} for {}", period, pingReqMembers, pingMember);
-    for (Member pingReqMember : pingReqMembers) {
-      transport.send(pingReqMember.address(), pingReqMsg);
+    probe.startIndirect(timeout, ticker.read());
+    PingData pingReqData = new PingData(membership.member(), probe.member, null, selectPiggyback());
+    Message pingReqMsg = Message.withData(pingReqData).qualifier(PING_REQ).correlationId(probe.cid).build();
+    LOGGER.trace("Send PingReq[{}] to {} for {}", probe.period, pingReqMembers, probe.member);
+    for (int i = 0; i < pingReqMembers.size(); i++) {
+      transport.send(pingReqMembers.get(i).address(), pingReqMsg);
+    }
+  }
+
+  private void onProbeTimeout(Probe probe) {
+    if (probe.phase == Probe.DIRECT) {
+      LOGGER.trace("Timeout getting PingAck[{}] from {} within {} ms", probe.period, probe.member, probe.timeout);
+      doPingReq(probe);
+    } else {
+      LOGGER.trace("Timeout getting transit PingAck[{}] to {} within {} ms", probe.period, probe.member, probe.timeout);
+      completeProbe(probe, MemberStatus.SUSPECT);
     }
   }
 
+  private void completeProbe(Probe probe, MemberStatus status) {
+    Member member = probe.member;
+    if (status == MemberStatus.SUSPECT) {
+      pingTimeoutStrategy.onPingTimeout(member, probe.directTimeout);
+    }
+    boolean indirect = probe.phase == Probe.INDIRECT;
+    long startTime = probe.startTime;
+    probe.clear();
+    publishPingResult(member, status, indirect, startTime);
+  }
+
   // ================================================
   // ============== Event Listeners =================
   // ================================================
 
   private void onMemberAdded(Member member) {
     // insert member into random positions
-    int size = pingMembers.size();
-    int index = size > 0 ? ThreadLocalRandom.current().nextInt(size) : 0;
-    pingMembers.add(index, member);
+    List<Member> members = isCrossZone(member) ? crossZonePingMembers : pingMembers;
+    int size = members.size();
+    int index = size > 0 ? random().nextInt(size) : 0;
+    members.add(index, member);
   }
 
   private void onMemberRemoved(Member member) {
-    pingMembers.remove(member);
+    if (!pingMembers.remove(member)) {
+      crossZonePingMembers.remove(member);
+    }
+    pingTimeoutStrategy.onMemberRemoved(member);
+    pingPayloads.remove(member.id());
+    if (networkCoordinates != null) {
+      networkCoordinates.onMemberRemoved(member.id());
+    }
   }
 
   private void onMemberUpdated(MembershipEvent membershipEvent) {
-    int index = pingMembers.indexOf(membershipEvent.oldMember());
-    if (index != -1) { // except local
-      pingMembers.set(index, membershipEvent.newMember());
+    Member newMember = membershipEvent.newMember();
+    List<Member> members = isCrossZone(newMember) ? crossZonePingMembers : pingMembers;
+    int index = members.indexOf(membershipEvent.oldMember());
+    if (index != -1) {
+      members.set(index, newMember);
+    } else if (pingMembers.remove(membershipEvent.oldMember())
+        || crossZonePingMembers.remove(membershipEvent.oldMember())) {
+      onMemberAdded(newMember); // zone of member changed
     }
   }
 
+  /**
+   * Listens to ACK on own probe, either direct or transit one, and completes probe found by correlation id. Round trip
+   * time of direct ack is passed to ping timeout strategy even if the ack arrives after direct ping timeout, so the
+   * strategy sees the whole distribution of round trip times rather than only the ones below current timeout.
+   */
+  private void onPingAck(Message message) {
+    Probe probe = findProbe(message.correlationId());
+    if (probe == null) {
+      LOGGER.trace("Received PingAck for completed probe: {}", message);
+      return;
+    }
+    if (probe.phase == Probe.DIRECT || probe.member.address().equals(message.sender())) {
+      LOGGER.trace("Received PingAck[{}] from {}", probe.period, probe.member);
+      long rtt = ticker.read() - probe.startTime;
+      pingTimeoutStrategy.onPingAck(probe.member, rtt);
+      if (networkCoordinates != null) {
+        PingData data = message.data();
+        double rttMillis = rtt / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        networkCoordinates.onRtt(probe.member.id(), data.getCoordinate(), rttMillis);
+      }
+    } else {
+      LOGGER.trace("Received transit PingAck[{}] from {} to {}", probe.period, message.sender(), probe.member);
+      pingTimeoutStrategy.onPingTimeout(probe.member, probe.directTimeout);
+    }
+    completeProbe(probe, MemberStatus.ALIVE);
+  }
+
   /**
    * Listens to PING message and answers with ACK.
    */
@@ -293,8 +544,19 @@ public final class FailureDetectorImpl implements FailureDetector {
       LOGGER.warn("Received Ping to {}, but local member is {}", data.getTo(), localMember);
       return;
     }
+    SuspicionTracker tracker = suspicionTracker;
+    if (data.isSuspected() && tracker != null) {
+      // Sender suspects local member, let membership refute it (see Lifeguard buddy system)
+      LOGGER.debug("Received Ping from {} which suspects local member", data.getFrom());
+      tracker.onLocalMemberSuspected(data.getFrom());
+    }
+    if (networkCoordinates != null && data.getOriginalIssuer() == null) {
+      networkCoordinates.onCoordinate(data.getFrom().id(), data.getCoordinate());
+    }
     String correlationId = message.correlationId();
-    Message ackMessage = Message.withData(data).qualifier(PING_ACK).correlationId(correlationId).build();
+    PingData ackData = new PingData(data.getFrom(), data.getTo(), data.getOriginalIssuer(), selectPiggyback(), false,
+        data.getOriginalIssuer() == null ? localCoordinate() : null);
+    Message ackMessage = Message.withData(ackData).qualifier(PING_ACK).correlationId(correlationId).build();
     LOGGER.trace("Send PingAck to {}", data.getFrom().address());
     transport.send(data.getFrom().address(), ackMessage);
   }
@@ -308,7 +570,7 @@ public final class FailureDetectorImpl implements FailureDetector {
     Member target = data.getTo();
     Member originalIssuer = data.getFrom();
     String correlationId = message.correlationId();
-    PingData pingReqData = new PingData(membership.member(), target, originalIssuer);
+    PingData pingReqData = new PingData(membership.member(), target, originalIssuer, selectPiggyback());
     Message pingMessage = Message.withData(pingReqData).qualifier(PING).correlationId(correlationId).build();
     LOGGER.trace("Send transit Ping to {}", target.address());
     transport.send(target.address(), pingMessage);
@@ -323,7 +585,7 @@ public final class FailureDetectorImpl implements FailureDetector {
     PingData data = message.data();
     Member target = data.getOriginalIssuer();
     String correlationId = message.correlationId();
-    PingData originalAckData = new PingData(target, data.getTo());
+    PingData originalAckData = new PingData(target, data.getTo(), null, selectPiggyback());
     Message originalAckMessage = Message.withData(originalAckData)
         .qualifier(PING_ACK)
         .correlationId(correlationId)
@@ -332,6 +594,16 @@ public final class FailureDetectorImpl implements FailureDetector {
     transport.send(target.address(), originalAckMessage);
   }
 
+  /**
+   * Listens to PING, PING_REQ and PING_ACK messages with piggybacked messages and passes them to piggyback buffer.
+   */
+  private void onPiggyback(Message message) {
+    PiggybackBuffer buffer = piggybackBuffer;
+    if (buffer != null) {
+      buffer.consume(message.<PingData>data().getPiggyback());
+    }
+  }
+
   private void onError(Throwable throwable) {
     LOGGER.error("Received unexpected error: ", throwable);
   }
@@ -340,36 +612,158 @@ public final class FailureDetectorImpl implements FailureDetector {
   // ============== Helper Methods ==================
   // ================================================
 
+  /**
+   * Returns payload of ping to the given member. Payload is immutable, so the last one sent to the member is reused
+   * while nothing in it changes and there is nothing to piggyback, which is the steady state of the cluster.
+   */
+  private PingData pingPayload(Member localMember, Member pingMember, boolean suspected) {
+    List<Message> piggyback = selectPiggyback();
+    NetworkCoordinate coordinate = localCoordinate();
+    boolean noPiggyback = piggyback == null || piggyback.isEmpty();
+    PingData pingData = pingPayloads.get(pingMember.id());
+    if (noPiggyback && pingData != null && pingData.getFrom() == localMember && pingData.getTo() == pingMember
+        && pingData.isSuspected() == suspected && pingData.getCoordinate() == coordinate) {
+      return pingData;
+    }
+    pingData = new PingData(localMember, pingMember, null, piggyback, suspected, coordinate);
+    if (noPiggyback) {
+      pingPayloads.put(pingMember.id(), pingData);
+    }
+    return pingData;
+  }
+
+  private List<Message> selectPiggyback() {
+    PiggybackBuffer buffer = piggybackBuffer;
+    return buffer != null ? buffer.select() : null;
+  }
+
+  private NetworkCoordinate localCoordinate() {
+    return networkCoordinates != null ? networkCoordinates.coordinate() : null;
+  }
+
+  private Random random() {
+    return config.getRandom() != null ? config.getRandom() : ThreadLocalRandom.current();
+  }
+
+  /**
+   * Returns true if zone awareness is enabled and the given member is in another zone than local member.
+   */
+  private boolean isCrossZone(Member member) {
+    String zoneMetadataKey = config.getZoneMetadataKey();
+    return zoneMetadataKey != null
+        && !Objects.equals(member.metadata().get(zoneMetadataKey), membership.member().metadata().get(zoneMetadataKey));
+  }
+
   private Member selectPingMember() {
+    if (!crossZonePingMembers.isEmpty()
+        && (pingMembers.isEmpty() || random().nextInt(100) < config.getCrossZonePingPercent())) {
+      if (crossZonePingMemberIndex >= crossZonePingMembers.size()) {
+        crossZonePingMemberIndex = 0;
+        Collections.shuffle(crossZonePingMembers, random());
+      }
+      return crossZonePingMembers.get(crossZonePingMemberIndex++);
+    }
     if (pingMembers.isEmpty()) {
       return null;
     }
     if (pingMemberIndex >= pingMembers.size()) {
       pingMemberIndex = 0;
-      Collections.shuffle(pingMembers);
+      Collections.shuffle(pingMembers, random());
     }
     return pingMembers.get(pingMemberIndex++);
   }
 
-  private List<Member> selectPingReqMembers(Member pingMember) {
-    if (config.getPingReqMembers() <= 0) {
-      return Collections.emptyList();
+  /**
+   * Selects random ping request members other than pinged one into {@link #pingReqMembers} by reservoir sampling, so
+   * member lists aren't copied. Members of all zones are candidates, so indirect probe doesn't depend on size of local
+   * zone.
+   */
+  private void selectPingReqMembers(Member pingMember) {
+    pingReqMembers.clear();
+    int limit = config.getPingReqMembers();
+    if (limit <= 0) {
+      return;
+    }
+    Random random = random();
+    int candidates = samplePingReqMembers(pingMembers, pingMember, limit, 0, random);
+    samplePingReqMembers(crossZonePingMembers, pingMember, limit, candidates, random);
+  }
+
+  private int samplePingReqMembers(List<Member> members, Member pingMember, int limit, int candidates,
+      Random random) {
+    for (int i = 0; i < members.size(); i++) {
+      Member member = members.get(i);
+      if (member.id().equals(pingMember.id())) {
+        continue;
+      }
+      if (candidates < limit) {
+        pingReqMembers.add(member);
+      } else {
+        int index = random.nextInt(candidates + 1);
+        if (index < limit) {
+          pingReqMembers.set(index, member);
+        }
+      }
+      candidates++;
+    }
+    return candidates;
+  }
+
+  /**
+   * Finds probe in progress by correlation id of its messages without allocation.
+   */
+  private Probe findProbe(String cid) {
+    if (cid == null || !cid.startsWith(cidPrefix) || cid.length() == cidPrefix.length()) {
+      return null;
     }
-    List<Member> candidates = new ArrayList<>(pingMembers);
-    candidates.remove(pingMember);
-    if (candidates.isEmpty()) {
-      return Collections.emptyList();
+    long probePeriod = 0;
+    for (int i = cidPrefix.length(); i < cid.length(); i++) {
+      char ch = cid.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return null;
+      }
+      probePeriod = probePeriod * 10 + (ch - '0');
     }
-    Collections.shuffle(candidates);
-    boolean selectAll = candidates.size() < config.getPingReqMembers();
-    return selectAll ? candidates : candidates.subList(0, config.getPingReqMembers());
+    Probe probe = probes[(int) (probePeriod & (PROBE_SLOTS - 1))];
+    return probe.phase != Probe.IDLE && probe.period == probePeriod ? probe : null;
   }
 
-  private void publishPingResult(Member member, MemberStatus status) {
+  /**
+   * Returns multiplier of ping interval and timeouts. If Lifeguard is enabled it grows with local health score,
+   * otherwise it is always 1.
+   */
+  private int healthMult() {
+    return config.isLifeguardEnabled() ? healthScore + 1 : 1;
+  }
+
+  private void updateHealthScore(int delta) {
+    int maxScore = Math.max(config.getLifeguardMaxHealthMult() - 1, 0);
+    int newScore = Math.min(Math.max(healthScore + delta, 0), maxScore);
+    if (newScore != healthScore) {
+      LOGGER.debug("Local health score changed from {} to {}", healthScore, newScore);
+      healthScore = newScore;
+    }
+  }
+
+  private void publishPingResult(Member member, MemberStatus status, boolean indirect, long pingStartTime) {
     LOGGER.debug("Member {} detected as {}", member, status);
+    if (config.isLifeguardEnabled()) {
+      // Successful probe is a sign of good local health, failed one either of failed member or of degraded local health
+      updateHealthScore(status == MemberStatus.ALIVE ? -1 : 1);
+    }
+    if (flightRecorder != null) {
+      double phi = pingTimeoutStrategy.phi().getOrDefault(member.id(), 0.0);
+      flightRecorder.onPing(membership.member().id(), member, status, indirect, ticker.read() - pingStartTime, phi);
+    }
     subject.onNext(new FailureDetectorEvent(member, status));
   }
 
+  private boolean hasPiggyback(Message message) {
+    return (PING.equals(message.qualifier()) || PING_ACK.equals(message.qualifier())
+        || PING_REQ.equals(message.qualifier()))
+        && !message.<PingData>data().getPiggyback().isEmpty();
+  }
+
   private boolean isPing(Message message) {
     return PING.equals(message.qualifier());
   }
@@ -385,4 +779,45 @@ public final class FailureDetectorImpl implements FailureDetector {
   private boolean isTransitPingAck(Message message) {
     return PING_ACK.equals(message.qualifier()) && message.<PingData>data().getOriginalIssuer() != null;
   }
+
+  /**
+   * Preallocated state of single probe, reused for each period mapped to its slot.
+   */
+  private static final class Probe {
+    private static final int IDLE = 0;
+    private static final int DIRECT = 1; // waiting for ack on ping
+    private static final int INDIRECT = 2; // waiting for transit ack through ping request members
+
+    private int phase = IDLE;
+    private Member member;
+    private long period;
+    private String cid;
+    private int directTimeout; // direct ping timeout given by ping timeout strategy
+    private int timeout; // timeout of current phase
+    private long startTime;
+    private long deadline;
+
+    private void start(Member member, long period, String cid, int directTimeout, int timeout, long now) {
+      this.phase = DIRECT;
+      this.member = member;
+      this.period = period;
+      this.cid = cid;
+      this.directTimeout = directTimeout;
+      this.timeout = timeout;
+      this.startTime = now;
+      this.deadline = startTime + TimeUnit.MILLISECONDS.toNanos(timeout);
+    }
+
+    private void startIndirect(int timeout, long now) {
+      this.phase = INDIRECT;
+      this.timeout = timeout;
+      this.deadline = now + TimeUnit.MILLISECONDS.toNanos(timeout);
+    }
+
+    private void clear() {
+      phase = IDLE;
+      member = null;
+      cid = null;
+    }
+  }
 }
@@ -0,0 +1,35 @@
+package io.scalecube.cluster.fdetector;
+
+import io.scalecube.cluster.Member;
+
+/**
+ * Ping timeout strategy which applies configured ping timeout to all members.
+ */
+final class FixedPingTimeoutStrategy implements PingTimeoutStrategy {
+
+  private final int pingTimeout;
+
+  FixedPingTimeoutStrategy(int pingTimeout) {
+    this.pingTimeout = pingTimeout;
+  }
+
+  @Override
+  public int pingTimeout(Member member) {
+    return pingTimeout;
+  }
+
+  @Override
+  public void onPingAck(Member member, long rtt) {
+    // do nothing
+  }
+
+  @Override
+  public void onPingTimeout(Member member, int timeout) {
+    // do nothing
+  }
+
+  @Override
+  public void onMemberRemoved(Member member) {
+    // do nothing
+  }
+}
@@ -0,0 +1,81 @@
+package io.scalecube.cluster.fdetector;
+
+import io.protostuff.Tag;
+
+import java.util.Arrays;
+
+/**
+ * Vivaldi network coordinate of a member: point in euclidean space plus height which models latency of the access link,
+ * and estimated relative error of the coordinate. Distances are measured in milliseconds of round trip time.
+ */
+public final class NetworkCoordinate {
+  @Tag(1)
+  private final double[] vector;
+
+  @Tag(2)
+  private final double height;
+
+  @Tag(3)
+  private final double error;
+
+  /**
+   * Creates network coordinate.
+   *
+   * @param vector position in euclidean space
+   * @param height height above the space
+   * @param error estimated relative error
+   */
+  public NetworkCoordinate(double[] vector, double height, double error) {
+    this.vector = vector;
+    this.height = height;
+    this.error = error;
+  }
+
+  double[] vector() {
+    return vector;
+  }
+
+  public double height() {
+    return height;
+  }
+
+  public double error() {
+    return error;
+  }
+
+  /**
+   * Returns estimated round trip time in milliseconds between members with this and the given coordinates.
+   */
+  public double distanceTo(NetworkCoordinate other) {
+    double sum = 0;
+    for (int i = 0; i < vector.length; i++) {
+      double diff = vector[i] - other.vector[i];
+      sum += diff * diff;
+    }
+    return Math.sqrt(sum) + height + other.height;
+  }
+
+  /**
+   * Returns true if the given coordinate, possibly received from remote member, has the same dimensions as this one
+   * and all its components are finite.
+   */
+  boolean isCompatible(NetworkCoordinate other) {
+    if (other == null || other.vector == null || other.vector.length != vector.length) {
+      return false;
+    }
+    for (double component : other.vector) {
+      if (!Double.isFinite(component)) {
+        return false;
+      }
+    }
+    return Double.isFinite(other.height) && Double.isFinite(other.error);
+  }
+
+  @Override
+  public String toString() {
+    return "NetworkCoordinate{vector=" + Arrays.toString(vector)
+        + ", height=" + height
+        + ", error=" + error
+        + '}';
+  }
+}
@@ -0,0 +1,149 @@
+package io.scalecube.cluster.fdetector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Vivaldi network coordinates (see "Vivaldi: A Decentralized Network Coordinate System" by Dabek, Cox, Kaashoek and
+ * Morris) of local member and latest known coordinates of remote members. Local coordinate is moved by each round trip
+ * time sample towards the position where distance to the sampled member matches the sample, the move is weighted by
+ * errors of both coordinates. Samples are passed through median filter of a few latest samples per member to cut off
+ * spikes. Updated on failure detector thread, read from any thread.
+ */
+public final class NetworkCoordinates {
+
+  static final int DIMENSIONS = 8;
+
+  private static final double MAX_ERROR = 1.5;
+  private static final double ERROR_GAIN = 0.25; // cc in the paper
+  private static final double POSITION_GAIN = 0.25; // ce in the paper
+  private static final double MIN_HEIGHT = 0.01; // ms
+  private static final double MAX_RTT = 10_000; // ms, larger samples are considered bogus
+  private static final double ZERO_THRESHOLD = 1.0e-6;
+  private static final int LATENCY_FILTER_SIZE = 3;
+
+  private final Random random; // null to use thread local random
+  private volatile NetworkCoordinate coordinate = new NetworkCoordinate(new double[DIMENSIONS], MIN_HEIGHT, MAX_ERROR);
+  private final ConcurrentMap<String, NetworkCoordinate> coordinates = new ConcurrentHashMap<>(); // member id -> coord
+  private final Map<String, double[]> latencySamples = new HashMap<>(); // member id -> latest samples, newest last
+
+  /**
+   * Creates network coordinates of local member placed at origin.
+   *
+   * @param random random used to separate members at the same position; null to use thread local random
+   */
+  public NetworkCoordinates(Random random) {
+    this.random = random;
+  }
+
+  /**
+   * Returns coordinate of local member.
+   */
+  public NetworkCoordinate coordinate() {
+    return coordinate;
+  }
+
+  /**
+   * Returns latest known coordinate of the given member or null if it isn't known.
+   */
+  public NetworkCoordinate coordinate(String memberId) {
+    return coordinates.get(memberId);
+  }
+
+  /**
+   * Returns estimated round trip time in milliseconds to the given member, empty if its coordinate isn't known.
+   */
+  public OptionalDouble estimatedRtt(String memberId) {
+    NetworkCoordinate remote = coordinates.get(memberId);
+    return remote != null ? OptionalDouble.of(coordinate.distanceTo(remote)) : OptionalDouble.empty();
+  }
+
+  /**
+   * Remembers coordinate of the given member received without round trip time sample.
+   */
+  void onCoordinate(String memberId, NetworkCoordinate remote) {
+    if (coordinate.isCompatible(remote)) {
+      coordinates.put(memberId, remote);
+    }
+  }
+
+  /**
+   * Remembers coordinate of the given member and updates local coordinate with round trip time sample to it.
+   *
+   * @param memberId id of pinged member
+   * @param remote coordinate of pinged member
+   * @param rtt round trip time in milliseconds
+   */
+  void onRtt(String memberId, NetworkCoordinate remote, double rtt) {
+    if (!coordinate.isCompatible(remote) || !(rtt > 0 && rtt < MAX_RTT)) {
+      return;
+    }
+    coordinates.put(memberId, remote);
+    coordinate = update(coordinate, remote, filterLatency(memberId, rtt));
+  }
+
+  void onMemberRemoved(String memberId) {
+    coordinates.remove(memberId);
+    latencySamples.remove(memberId);
+  }
+
+  /**
+   * Adds sample to latest samples of the given member and returns their median.
+   */
+  private double filterLatency(String memberId, double rtt) {
+    double[] samples = latencySamples.get(memberId);
+    if (samples == null) {
+      samples = new double[0];
+    }
+    int size = Math.min(samples.length + 1, LATENCY_FILTER_SIZE);
+    double[] latest = new double[size];
+    System.arraycopy(samples, samples.length - (size - 1), latest, 0, size - 1);
+    latest[size - 1] = rtt;
+    latencySamples.put(memberId, latest);
+    double[] sorted = Arrays.copyOf(latest, size);
+    Arrays.sort(sorted);
+    return sorted[size / 2];
+  }
+
+  private NetworkCoordinate update(NetworkCoordinate local, NetworkCoordinate remote, double rtt) {
+    double distance = local.distanceTo(remote);
+    double weight = local.error() / Math.max(local.error() + remote.error(), ZERO_THRESHOLD);
+    double force = POSITION_GAIN * weight * (rtt - distance);
+
+    // Move along unit vector from remote to local coordinate, or random one if they are at the same position
+    double[] localVector = local.vector();
+    double[] direction = new double[localVector.length];
+    double magnitude = 0;
+    for (int i = 0; i < direction.length; i++) {
+      direction[i] = localVector[i] - remote.vector()[i];
+      magnitude += direction[i] * direction[i];
+    }
+    magnitude = Math.sqrt(magnitude);
+    boolean samePosition = magnitude <= ZERO_THRESHOLD;
+    if (samePosition) {
+      Random random = this.random != null ? this.random : ThreadLocalRandom.current();
+      magnitude = 0;
+      for (int i = 0; i < direction.length; i++) {
+        direction[i] = random.nextDouble() - 0.5;
+        magnitude += direction[i] * direction[i];
+      }
+      magnitude = Math.sqrt(magnitude);
+    }
+    double[] vector = new double[localVector.length];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = localVector[i] + direction[i] / magnitude * force;
+    }
+    double height = samePosition
+        ? local.height()
+        : Math.max((local.height() + remote.height()) * force / magnitude + local.height(), MIN_HEIGHT);
+    double relativeError = Math.abs(distance - rtt) / rtt;
+    double error = ERROR_GAIN * weight * relativeError + local.error() * (1 - ERROR_GAIN * weight);
+    return new NetworkCoordinate(vector, height, Math.min(error, MAX_ERROR));
+  }
+}
@@ -0,0 +1,157 @@
+package io.scalecube.cluster.fdetector;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.scalecube.cluster.Member;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ping timeout strategy based on phi accrual failure detector (see "The Phi Accrual Failure Detector"). It keeps window
+ * of recent ping round trip times per member and waits for ack until suspicion level phi, computed over normal
+ * distribution of round trip times, reaches configured threshold. So ping timeout of the member in the same rack is
+ * much shorter than of the member in remote region. Computed timeout is bounded by configured min ping timeout and
+ * regular ping timeout, which is also applied until enough round trip times are collected.
+ *
+ * <p>Round trip times of acks received after timeout are sampled as well. Ping without ack is sampled as censored
+ * round trip time equal to the applied timeout, since actual round trip time is at least that long. Otherwise window
+ * would hold only round trips shorter than current timeout and computed timeout would drift down to the min one.
+ *
+ * <p>Phi of ping without ack is computed at the applied timeout. So it stays below threshold when computed timeout is
+ * capped by regular ping timeout, i.e. suspected member doesn't necessarily have phi above threshold.
+ */
+final class PhiAccrualPingTimeoutStrategy implements PingTimeoutStrategy {
+
+  /**
+   * Min standard deviation relative to mean round trip time, protects from zero timeout margin on steady round trips.
+   */
+  private static final double MIN_STD_DEVIATION_RATIO = 0.1;
+
+  private final FailureDetectorConfig config;
+  private final double thresholdDeviations; // number of standard deviations above mean at which phi reaches threshold
+  private final Map<String, RttWindow> windows = new HashMap<>(); // member id -> round trip times
+  private final Map<String, Double> phi = new ConcurrentHashMap<>(); // member id -> phi of last ping outcome
+
+  PhiAccrualPingTimeoutStrategy(FailureDetectorConfig config) {
+    checkArgument(config.getPhiThreshold() > 0);
+    checkArgument(config.getPhiWindowSize() > 0);
+    checkArgument(config.getPhiMinSamples() > 0 && config.getPhiMinSamples() <= config.getPhiWindowSize());
+    this.config = config;
+    this.thresholdDeviations = deviations(config.getPhiThreshold());
+  }
+
+  @Override
+  public int pingTimeout(Member member) {
+    RttWindow window = windows.get(member.id());
+    if (window == null || window.size() < config.getPhiMinSamples()) {
+      return config.getPingTimeout();
+    }
+    long timeout = (long) Math.ceil(window.mean() + thresholdDeviations * stdDeviation(window));
+    return (int) Math.max(Math.min(timeout, config.getPingTimeout()), config.getPhiMinPingTimeout());
+  }
+
+  @Override
+  public void onPingAck(Member member, long rtt) {
+    double rttMillis = rtt / 1_000_000.0;
+    RttWindow window = windows.computeIfAbsent(member.id(), id -> new RttWindow(config.getPhiWindowSize()));
+    if (window.size() >= config.getPhiMinSamples()) {
+      phi.put(member.id(), phi(rttMillis, window.mean(), stdDeviation(window)));
+    }
+    window.add(rttMillis);
+  }
+
+  @Override
+  public void onPingTimeout(Member member, int timeout) {
+    RttWindow window = windows.computeIfAbsent(member.id(), id -> new RttWindow(config.getPhiWindowSize()));
+    if (window.size() >= config.getPhiMinSamples()) {
+      phi.put(member.id(), phi(timeout, window.mean(), stdDeviation(window)));
+    }
+    window.add(timeout); // censored sample, actual round trip time is unknown but not shorter
+  }
+
+  @Override
+  public void onMemberRemoved(Member member) {
+    windows.remove(member.id());
+    phi.remove(member.id());
+  }
+
+  @Override
+  public Map<String, Double> phi() {
+    return Collections.unmodifiableMap(phi);
+  }
+
+  /**
+   * Computes phi of the given elapsed time using logistic approximation of cumulative normal distribution.
+   */
+  static double phi(double elapsed, double mean, double stdDeviation) {
+    double deviation = (elapsed - mean) / stdDeviation;
+    double exp = Math.exp(-deviation * (1.5976 + 0.070566 * deviation * deviation));
+    return elapsed > mean ? -Math.log10(exp / (1.0 + exp)) : -Math.log10(1.0 - 1.0 / (1.0 + exp));
+  }
+
+  private static double stdDeviation(RttWindow window) {
+    return Math.max(window.stdDeviation(), window.mean() * MIN_STD_DEVIATION_RATIO);
+  }
+
+  /**
+   * Finds number of standard deviations above mean at which phi reaches the given threshold.
+   */
+  static double deviations(double threshold) {
+    double low = 0;
+    double high = 64;
+    for (int i = 0; i < 64; i++) {
+      double mid = (low + high) / 2;
+      if (phi(mid, 0, 1) < threshold) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    return high;
+  }
+
+  /**
+   * Ring buffer of round trip times in milliseconds with running sums.
+   */
+  private static final class RttWindow {
+    private final double[] samples;
+    private int size;
+    private int next;
+    private double sum;
+    private double sumSquares;
+
+    private RttWindow(int capacity) {
+      this.samples = new double[capacity];
+    }
+
+    private void add(double sample) {
+      if (size == samples.length) {
+        double evicted = samples[next];
+        sum -= evicted;
+        sumSquares -= evicted * evicted;
+      } else {
+        size++;
+      }
+      samples[next] = sample;
+      next = (next + 1) % samples.length;
+      sum += sample;
+      sumSquares += sample * sample;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private double mean() {
+      return sum / size;
+    }
+
+    private double stdDeviation() {
+      double mean = mean();
+      return Math.sqrt(Math.max(sumSquares / size - mean * mean, 0));
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package io.scalecube.cluster.fdetector;
+
+import io.scalecube.transport.Message;
+
+import java.util.List;
+
+/**
+ * Buffer of messages piggybacked on failure detector ping and ack messages. Used by membership protocol to disseminate
+ * membership updates along with failure detector traffic without sending separate messages. Implementations must be
+ * thread safe since it is accessed from failure detector thread.
+ */
+public interface PiggybackBuffer {
+
+  /**
+   * Selects messages to piggyback on outgoing ping or ack message.
+   *
+   * @return messages to piggyback, empty list if nothing to piggyback
+   */
+  List<Message> select();
+
+  /**
+   * Consumes messages piggybacked on incoming ping or ack message.
+   *
+   * @param messages piggybacked messages
+   */
+  void consume(List<Message> messages);
+
+}
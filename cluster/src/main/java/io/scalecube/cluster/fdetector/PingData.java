@@ -1,9 +1,13 @@
 package io.scalecube.cluster.fdetector;
 
 import io.scalecube.cluster.Member;
+import io.scalecube.transport.Message;
 
 import io.protostuff.Tag;
 
+import java.util.Collections;
+import java.util.List;
+
 /** DTO class. Supports FailureDetector messages (Ping, Ack, PingReq). */
 final class PingData {
   /** Message's source address. */
@@ -15,17 +19,50 @@ final class PingData {
   /** Address of member, who originally initiated ping sequence. */
   @Tag(3)
   private final Member originalIssuer;
+  /** Messages piggybacked on this message, see {@link PiggybackBuffer}. */
+  @Tag(4)
+  private final List<Message> piggyback;
+  /** Whether sender suspects destination member, so it should refute suspicion. */
+  @Tag(5)
+  private final boolean suspected;
+  /** Network coordinate of sender, null unless network coordinates are enabled. */
+  @Tag(6)
+  private final NetworkCoordinate coordinate;
 
   public PingData(Member from, Member to) {
-    this.from = from;
-    this.to = to;
-    this.originalIssuer = null;
+    this(from, to, null, null);
   }
 
   public PingData(Member from, Member to, Member originalIssuer) {
+    this(from, to, originalIssuer, null);
+  }
+
+  /**
+   * Creates ping data with given messages piggybacked.
+   */
+  public PingData(Member from, Member to, Member originalIssuer, List<Message> piggyback) {
+    this(from, to, originalIssuer, piggyback, false);
+  }
+
+  /**
+   * Creates ping data with given messages piggybacked and flag whether sender suspects destination member.
+   */
+  public PingData(Member from, Member to, Member originalIssuer, List<Message> piggyback, boolean suspected) {
+    this(from, to, originalIssuer, piggyback, suspected, null);
+  }
+
+  /**
+   * Creates ping data with given messages piggybacked, flag whether sender suspects destination member and network
+   * coordinate of sender.
+   */
+  public PingData(Member from, Member to, Member originalIssuer, List<Message> piggyback, boolean suspected,
+      NetworkCoordinate coordinate) {
     this.from = from;
     this.to = to;
     this.originalIssuer = originalIssuer;
+    this.piggyback = piggyback != null && !piggyback.isEmpty() ? piggyback : null;
+    this.suspected = suspected;
+    this.coordinate = coordinate;
   }
 
   public Member getFrom() {
@@ -40,11 +77,26 @@ final class PingData {
     return originalIssuer;
   }
 
+  public List<Message> getPiggyback() {
+    return piggyback != null ? piggyback : Collections.emptyList();
+  }
+
+  public boolean isSuspected() {
+    return suspected;
+  }
+
+  public NetworkCoordinate getCoordinate() {
+    return coordinate;
+  }
+
   @Override
   public String toString() {
     return "PingData{from=" + from
         + ", to=" + to
         + (originalIssuer != null ? ", originalIssuer=" + originalIssuer : "")
+        + (piggyback != null ? ", piggyback=" + piggyback.size() : "")
+        + (suspected ? ", suspected=true" : "")
+        + (coordinate != null ? ", coordinate=" + coordinate : "")
         + '}';
   }
 }
@@ -0,0 +1,51 @@
+package io.scalecube.cluster.fdetector;
+
+import io.scalecube.cluster.Member;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Strategy which defines how long failure detector waits for ack on direct ping to the given member before it asks
+ * other members to ping it. All methods except {@link #phi()} are called from failure detector thread only.
+ */
+public interface PingTimeoutStrategy {
+
+  /**
+   * Returns timeout of direct ping to the given member.
+   *
+   * @param member member to ping
+   * @return ping timeout in milliseconds
+   */
+  int pingTimeout(Member member);
+
+  /**
+   * Notifies strategy that ack on direct ping was received from the given member.
+   *
+   * @param member pinged member
+   * @param rtt round trip time in nanoseconds
+   */
+  void onPingAck(Member member, long rtt);
+
+  /**
+   * Notifies strategy that ack on direct ping wasn't received from the given member at all, neither within timeout nor
+   * later while the member was probed indirectly. Acks received late are passed to {@link #onPingAck(Member, long)}.
+   *
+   * @param member pinged member
+   * @param timeout applied ping timeout in milliseconds
+   */
+  void onPingTimeout(Member member, int timeout);
+
+  /**
+   * Notifies strategy that member left the cluster, so its history can be released.
+   */
+  void onMemberRemoved(Member member);
+
+  /**
+   * Returns suspicion level phi of the last ping outcome per member id. Empty if strategy doesn't compute phi.
+   */
+  default Map<String, Double> phi() {
+    return Collections.emptyMap();
+  }
+
+}
@@ -0,0 +1,28 @@
+package io.scalecube.cluster.fdetector;
+
+import io.scalecube.cluster.Member;
+
+/**
+ * Suspicions of members as known to membership protocol, used by failure detector for Lifeguard buddy system (see
+ * "Lifeguard: Local Health Awareness for More Accurate Failure Detection"). Member is suspected once membership has its
+ * SUSPECT record, whether it was detected locally or learned from other members. Implementations must be thread safe
+ * since it is accessed from failure detector thread.
+ */
+public interface SuspicionTracker {
+
+  /**
+   * Returns true if the given member is currently suspected, so ping to it should tell it about the suspicion.
+   *
+   * @param memberId id of pinged member
+   */
+  boolean isSuspected(String memberId);
+
+  /**
+   * Notifies membership that ping from the given member tells that it suspects local member, so membership should
+   * refute the suspicion.
+   *
+   * @param reporter member which suspects local member
+   */
+  void onLocalMemberSuspected(Member reporter);
+
+}
@@ -6,29 +6,63 @@ import io.scalecube.transport.Message;
 
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
 /**
- * Data model for gossip, include gossip id, qualifier and object need to disseminate.
+ * Data model for gossip, include gossip id, qualifier and object need to disseminate. Gossip is identified by id of
+ * the origin member and sequence number of gossip at the origin member. Gossip may be scoped to a topic, such gossip
+ * is spread only among members interested in the topic and topic relays.
  */
 final class Gossip {
 
-  private final String gossipId;
+  private final String origin;
+  private final long sequence;
   private final Message message;
+  private final String topic; // null if gossip is not scoped to a topic
+
+  public Gossip(String origin, long sequence, Message message) {
+    this(origin, sequence, message, null);
+  }
 
-  public Gossip(String gossipId, Message message) {
-    checkArgument(gossipId != null);
+  /**
+   * Creates gossip with given origin, sequence and message scoped to the given topic.
+   */
+  public Gossip(String origin, long sequence, Message message, @Nullable String topic) {
+    checkArgument(origin != null);
     checkArgument(message != null);
-    this.gossipId = gossipId;
+    this.origin = origin;
+    this.sequence = sequence;
     this.message = message;
+    this.topic = topic;
+  }
+
+  /**
+   * Returns id of the member which originally spread this gossip.
+   */
+  public String origin() {
+    return origin;
+  }
+
+  /**
+   * Returns sequence number of this gossip at the origin member.
+   */
+  public long sequence() {
+    return sequence;
   }
 
   public String gossipId() {
-    return gossipId;
+    return origin + "-" + sequence;
   }
 
   public Message message() {
     return message;
   }
 
+  @Nullable
+  public String topic() {
+    return topic;
+  }
+
   @Override
   public boolean equals(Object that) {
     if (this == that) {
@@ -38,17 +72,21 @@ final class Gossip {
       return false;
     }
     Gossip gossip = (Gossip) that;
-    return Objects.equals(gossipId, gossip.gossipId)
-        && Objects.equals(message, gossip.message);
+    return sequence == gossip.sequence
+        && Objects.equals(origin, gossip.origin)
+        && Objects.equals(message, gossip.message)
+        && Objects.equals(topic, gossip.topic);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(gossipId, message);
+    return Objects.hash(origin, sequence, message, topic);
   }
 
   @Override
   public String toString() {
-    return "Gossip{gossipId=" + gossipId + ", message=" + message + '}';
+    return "Gossip{gossipId=" + gossipId()
+        + (topic != null ? ", topic=" + topic : "")
+        + ", message=" + message + '}';
   }
 }
@@ -1,5 +1,9 @@
 package io.scalecube.cluster.gossip;
 
+import io.scalecube.transport.StallWatchdog;
+
+import java.util.Random;
+
 public interface GossipConfig {
 
   int getGossipFanout();
@@ -8,4 +12,24 @@ public interface GossipConfig {
 
   int getGossipRepeatMult();
 
+  int getGossipMaxRequestGossips();
+
+  int getGossipMaxRequestSize();
+
+  long getGossipMinInterval();
+
+  int getGossipPushPullThreshold();
+
+  int getGossipTopicRelays();
+
+  Random getRandom();
+
+  String getZoneMetadataKey();
+
+  int getCrossZoneGossipFanout();
+
+  boolean isFlightRecorderEnabled();
+
+  StallWatchdog getStallWatchdog();
+
 }
@@ -0,0 +1,54 @@
+package io.scalecube.cluster.gossip;
+
+import io.protostuff.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact digest of gossip ids used by push-pull gossip mode. Sent as announcement of gossips known by member and as a
+ * reply containing ids of announced gossips which are missing at the receiver. Gossip ids are stored as two parallel
+ * lists of origins and sequences.
+ */
+final class GossipDigest {
+  @Tag(1)
+  private final List<String> origins;
+
+  @Tag(2)
+  private final List<Long> sequences;
+
+  @Tag(3)
+  private final String from;
+
+  public GossipDigest(String from) {
+    this.origins = new ArrayList<>();
+    this.sequences = new ArrayList<>();
+    this.from = from;
+  }
+
+  public void add(String origin, long sequence) {
+    origins.add(origin);
+    sequences.add(sequence);
+  }
+
+  public int size() {
+    return origins != null ? origins.size() : 0; // empty lists are not serialized
+  }
+
+  public String origin(int index) {
+    return origins.get(index);
+  }
+
+  public long sequence(int index) {
+    return sequences.get(index);
+  }
+
+  public String from() {
+    return from;
+  }
+
+  @Override
+  public String toString() {
+    return "GossipDigest{size=" + size() + ", from=" + from + '}';
+  }
+}
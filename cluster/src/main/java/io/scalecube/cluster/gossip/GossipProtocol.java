@@ -32,8 +32,21 @@ public interface GossipProtocol {
   CompletableFuture<String> spread(Message message);
 
   /**
-   * Listens for gossips from other cluster members.
+   * Spreads given message between cluster members interested in the given topic.
+   *
+   * @return future result with gossip id once gossip fully spread.
+   */
+  CompletableFuture<String> spread(String topic, Message message);
+
+  /**
+   * Listens for gossips from other cluster members. Gossips scoped to a topic are not emitted.
    */
   Observable<Message> listen();
 
+  /**
+   * Listens for gossips of the given topic from other cluster members. Interest in the topic is advertised to other
+   * members via member metadata while there are subscribers.
+   */
+  Observable<Message> listen(String topic);
+
 }
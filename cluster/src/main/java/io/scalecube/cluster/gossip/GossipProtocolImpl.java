@@ -2,14 +2,17 @@ package io.scalecube.cluster.gossip;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import io.scalecube.cluster.ClusterFlightRecorder;
 import io.scalecube.cluster.ClusterMath;
 import io.scalecube.cluster.Member;
 import io.scalecube.cluster.membership.MembershipProtocol;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.transport.Transport;
 import io.scalecube.transport.Message;
+import io.scalecube.transport.StallWatchdog;
 
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
@@ -23,57 +26,102 @@ import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 import rx.subjects.Subject;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public final class GossipProtocolImpl implements GossipProtocol {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GossipProtocolImpl.class);
 
+  /** Least spread gossips first, then newest gossips first. */
+  private static final Comparator<GossipState> GOSSIP_PRIORITY =
+      Comparator.comparingInt(GossipState::sentCount)
+          .thenComparing(Comparator.comparingLong(GossipState::infectionPeriod).reversed());
+
   // Qualifiers
 
   public static final String GOSSIP_REQ = "sc/gossip/req";
+  public static final String GOSSIP_DIGEST = "sc/gossip/digest";
+  public static final String GOSSIP_PULL = "sc/gossip/pull";
+
+  // Metadata
+
+  /** Member metadata key under which comma separated topics member is interested in are advertised. */
+  public static final String TOPICS_METADATA_KEY = "sc/gossip/topics";
+  private static final String TOPICS_SEPARATOR = ",";
 
   // Injected
 
   private final Transport transport;
   private final MembershipProtocol membership;
   private final GossipConfig config;
+  private final ClusterFlightRecorder flightRecorder; // null unless flight recorder is enabled and available
 
   // Local State
 
   private long period = 0;
   private long gossipCounter = 0;
-  private Map<String, GossipState> gossips = Maps.newHashMap();
-  private Map<String, CompletableFuture<String>> futures = Maps.newHashMap();
+  private final MemberIndex memberIndex = new MemberIndex();
+  private final int localMemberIndex;
+  private Map<Long, GossipState> gossips = Maps.newHashMap();
+  private ArrayDeque<GossipState> gossipQueue = new ArrayDeque<>(); // ordered by infection period
+  private Map<Long, CompletableFuture<String>> futures = Maps.newHashMap();
+  private Map<String, Long> unknownMembers = new LinkedHashMap<>(); // indexed non member id -> period of last use
+  private Map<String, List<Long>> pendingDigests = Maps.newHashMap(); // member id -> gossip keys of last digest
 
   private List<Member> remoteMembers = new ArrayList<>();
   private int remoteMembersIndex = -1;
+  private List<Member> sameZoneMembers = new ArrayList<>(); // used only if zone aware
+  private int sameZoneMembersIndex = -1;
+  private List<Member> crossZoneMembers = new ArrayList<>(); // used only if zone aware
+  private int crossZoneMembersIndex = -1;
+  private Map<String, Set<String>> memberTopics = Maps.newHashMap(); // member id -> advertised topics
+  private Map<String, Integer> localTopics = new TreeMap<>(); // topic -> number of local subscribers
+
+  private long spreadInterval; // current gossip interval, shortened while gossips are deferred
+  private int gossipsDeferred; // number of gossips deferred in current period
 
   // Subscriptions
 
   private Subscriber<Member> onMemberAddedEventSubscriber;
   private Subscriber<Member> onMemberRemovedEventSubscriber;
+  private Subscriber<Member> onMemberUpdatedEventSubscriber;
   private Subscriber<Message> onGossipRequestSubscriber;
+  private Subscriber<Message> onGossipDigestSubscriber;
+  private Subscriber<Message> onGossipPullSubscriber;
 
   // Subject
 
   private Subject<Message, Message> subject = PublishSubject.<Message>create().toSerialized();
+  private Subject<Gossip, Gossip> topicSubject = PublishSubject.<Gossip>create().toSerialized();
 
   // Scheduled
 
+  private final String executorName;
   private final ScheduledExecutorService executor;
+  private final boolean ownExecutor; // false if executor is shared with other components
   private final Scheduler scheduler;
   private ScheduledFuture<?> spreadGossipTask;
+  private volatile boolean stopped; // guards tasks submitted to shared executor which isn't shut down on stop
 
   /**
    * Creates new instance of gossip protocol with given memberId, transport and settings.
@@ -83,16 +131,36 @@ public final class GossipProtocolImpl implements GossipProtocol {
    * @param config gossip protocol settings
    */
   public GossipProtocolImpl(Transport transport, MembershipProtocol membership, GossipConfig config) {
+    this(transport, membership, config, null);
+  }
+
+  /**
+   * Creates new instance of gossip protocol with given memberId, transport and settings which runs on given executor.
+   *
+   * @param transport transport
+   * @param membership membership protocol
+   * @param config gossip protocol settings
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public GossipProtocolImpl(Transport transport, MembershipProtocol membership, GossipConfig config,
+      ScheduledExecutorService executor) {
     checkArgument(transport != null);
     checkArgument(membership != null);
     checkArgument(config != null);
+    checkArgument(config.getCrossZoneGossipFanout() >= 0);
     this.transport = transport;
     this.membership = membership;
     this.config = config;
-    String nameFormat = "sc-gossip-" + Integer.toString(membership.member().address().port());
-    this.executor = Executors.newSingleThreadScheduledExecutor(
-        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
-    this.scheduler = Schedulers.from(executor);
+    this.flightRecorder = config.isFlightRecorderEnabled() ? ClusterFlightRecorder.newInstance() : null;
+    this.executorName = "sc-gossip-" + Integer.toString(membership.member().address().port());
+    this.ownExecutor = executor == null;
+    this.executor = ownExecutor
+        ? Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(executorName).setDaemon(true).build())
+        : executor;
+    this.scheduler = Schedulers.from(this.executor);
+    this.localMemberIndex = memberIndex.getOrAssign(membership.member().id());
   }
 
   /**
@@ -111,25 +179,69 @@ public final class GossipProtocolImpl implements GossipProtocol {
 
   @Override
   public void start() {
-    onMemberAddedEventSubscriber = Subscribers.create(remoteMembers::add, this::onError);
+    StallWatchdog watchdog = config.getStallWatchdog();
+    if (watchdog != null && ownExecutor) {
+      watchdog.register(executorName, executor);
+    }
+
+    onMemberAddedEventSubscriber = Subscribers.create(this::onMemberAdded, this::onError);
     membership.listen().observeOn(scheduler)
         .filter(MembershipEvent::isAdded)
         .map(MembershipEvent::member)
         .subscribe(onMemberAddedEventSubscriber);
 
-    onMemberRemovedEventSubscriber = Subscribers.create(remoteMembers::remove, this::onError);
+    onMemberRemovedEventSubscriber = Subscribers.create(this::onMemberRemoved, this::onError);
     membership.listen().observeOn(scheduler)
         .filter(MembershipEvent::isRemoved)
         .map(MembershipEvent::member)
         .subscribe(onMemberRemovedEventSubscriber);
 
-    onGossipRequestSubscriber = Subscribers.create(this::onGossipReq, this::onError);
+    onMemberUpdatedEventSubscriber = Subscribers.create(this::onMemberUpdated, this::onError);
+    membership.listen().observeOn(scheduler)
+        .filter(MembershipEvent::isUpdated)
+        .map(MembershipEvent::newMember)
+        .subscribe(onMemberUpdatedEventSubscriber);
+
+    onGossipRequestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGossipReq), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(this::isGossipReq)
         .subscribe(onGossipRequestSubscriber);
 
-    spreadGossipTask = executor.scheduleWithFixedDelay(this::doSpreadGossip,
-        config.getGossipInterval(), config.getGossipInterval(), TimeUnit.MILLISECONDS);
+    onGossipDigestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGossipDigest), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> GOSSIP_DIGEST.equals(message.qualifier()))
+        .subscribe(onGossipDigestSubscriber);
+
+    onGossipPullSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onGossipPull), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(message -> GOSSIP_PULL.equals(message.qualifier()))
+        .subscribe(onGossipPullSubscriber);
+
+    spreadInterval = config.getGossipInterval();
+    scheduleSpreadGossip();
+  }
+
+  private void scheduleSpreadGossip() {
+    if (stopped) {
+      return;
+    }
+    spreadGossipTask = executor.schedule(() -> {
+      doSpreadGossip();
+      spreadInterval = nextSpreadInterval();
+      scheduleSpreadGossip();
+    }, spreadInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Halves gossip interval (down to configured min interval) while gossips are deferred due to gossip request budget
+   * and restores the regular gossip interval once backlog is drained.
+   */
+  private long nextSpreadInterval() {
+    long minInterval = config.getGossipMinInterval();
+    if (gossipsDeferred > 0 && minInterval > 0) {
+      return Math.max(minInterval, spreadInterval / 2);
+    }
+    return config.getGossipInterval();
   }
 
   private void onError(Throwable throwable) {
@@ -138,6 +250,8 @@ public final class GossipProtocolImpl implements GossipProtocol {
 
   @Override
   public void stop() {
+    stopped = true;
+
     // Stop accepting gossip requests
     if (onMemberAddedEventSubscriber != null) {
       onMemberAddedEventSubscriber.unsubscribe();
@@ -145,27 +259,50 @@ public final class GossipProtocolImpl implements GossipProtocol {
     if (onMemberRemovedEventSubscriber != null) {
       onMemberRemovedEventSubscriber.unsubscribe();
     }
+    if (onMemberUpdatedEventSubscriber != null) {
+      onMemberUpdatedEventSubscriber.unsubscribe();
+    }
     if (onGossipRequestSubscriber != null) {
       onGossipRequestSubscriber.unsubscribe();
     }
+    if (onGossipDigestSubscriber != null) {
+      onGossipDigestSubscriber.unsubscribe();
+    }
+    if (onGossipPullSubscriber != null) {
+      onGossipPullSubscriber.unsubscribe();
+    }
 
     // Stop spreading gossips
     if (spreadGossipTask != null) {
       spreadGossipTask.cancel(true);
     }
 
-    // Shutdown executor
+    // Shutdown executor unless it is shared
     // TODO AK: Consider to await termination ?!
-    executor.shutdown();
+    if (ownExecutor) {
+      if (config.getStallWatchdog() != null) {
+        config.getStallWatchdog().unregister(executorName);
+      }
+      executor.shutdown();
+    }
 
     // Stop publishing events
     subject.onCompleted();
+    topicSubject.onCompleted();
   }
 
   @Override
   public CompletableFuture<String> spread(Message message) {
     CompletableFuture<String> future = new CompletableFuture<>();
-    executor.execute(() -> futures.put(onSpreadGossip(message), future));
+    executor.execute(() -> futures.put(onSpreadGossip(message, null), future));
+    return future;
+  }
+
+  @Override
+  public CompletableFuture<String> spread(String topic, Message message) {
+    checkTopic(topic);
+    CompletableFuture<String> future = new CompletableFuture<>();
+    executor.execute(() -> futures.put(onSpreadGossip(message, topic), future));
     return future;
   }
 
@@ -174,6 +311,32 @@ public final class GossipProtocolImpl implements GossipProtocol {
     return subject.onBackpressureBuffer().asObservable();
   }
 
+  @Override
+  public Observable<Message> listen(String topic) {
+    checkTopic(topic);
+    return topicSubject.onBackpressureBuffer()
+        .filter(gossip -> topic.equals(gossip.topic()))
+        .map(Gossip::message)
+        .doOnSubscribe(() -> executeIfRunning(() -> onTopicSubscribed(topic)))
+        .doOnUnsubscribe(() -> executeIfRunning(() -> onTopicUnsubscribed(topic)));
+  }
+
+  private void checkTopic(String topic) {
+    checkArgument(topic != null && !topic.isEmpty() && !topic.contains(TOPICS_SEPARATOR),
+        "Topic must be non empty string without '%s': %s", TOPICS_SEPARATOR, topic);
+  }
+
+  private void executeIfRunning(Runnable task) {
+    if (stopped) {
+      return;
+    }
+    executor.execute(() -> {
+      if (!stopped) { // task may be queued on shared executor before stop
+        task.run();
+      }
+    });
+  }
+
   // ================================================
   // ============== Action Methods ==================
   // ================================================
@@ -181,15 +344,27 @@ public final class GossipProtocolImpl implements GossipProtocol {
   private void doSpreadGossip() {
     // Increment period
     period++;
+    gossipsDeferred = 0;
 
     // Check any gossips exists
     if (gossips.isEmpty()) {
+      sweepGossips(); // release removed members
       return; // nothing to spread
     }
 
     try {
       // Spread gossips to randomly selected member(s)
-      selectGossipMembers().forEach(this::spreadGossipsTo);
+      int periodsToSpread =
+          ClusterMath.gossipPeriodsToSpread(config.getGossipRepeatMult(), remoteMembers.size() + 1);
+      Map<Member, Set<String>> gossipTargets = selectGossipTargets(periodsToSpread);
+      int gossipsSent = 0;
+      for (Map.Entry<Member, Set<String>> target : gossipTargets.entrySet()) {
+        gossipsSent += spreadGossipsTo(target.getKey(), target.getValue(), periodsToSpread);
+      }
+      if (flightRecorder != null) {
+        flightRecorder.onGossipRound(membership.member().id(), period, gossips.size(), gossipsSent,
+            gossipTargets.size(), gossipsDeferred);
+      }
 
       // Sweep gossips
       sweepGossips();
@@ -202,23 +377,156 @@ public final class GossipProtocolImpl implements GossipProtocol {
   // ============== Event Listeners =================
   // ================================================
 
-  private String onSpreadGossip(Message message) {
-    Gossip gossip = new Gossip(generateGossipId(), message);
-    GossipState gossipState = new GossipState(gossip, period);
-    gossips.put(gossip.gossipId(), gossipState);
-    return gossip.gossipId();
+  private long onSpreadGossip(Message message, String topic) {
+    long sequence = gossipCounter++;
+    memberIndex.window(localMemberIndex).markSeen(sequence);
+    Gossip gossip = new Gossip(membership.member().id(), sequence, message, topic);
+    return addGossipState(gossip, MemberIndex.gossipKey(localMemberIndex, sequence)).gossipKey();
   }
 
   private void onGossipReq(Message message) {
     GossipRequest gossipRequest = message.data();
+    int fromIndex = memberIndex.indexOf(gossipRequest.from()); // infection is tracked only for members
     for (Gossip gossip : gossipRequest.gossips()) {
-      GossipState gossipState = gossips.get(gossip.gossipId());
-      if (gossipState == null) { // new gossip
-        gossipState = new GossipState(gossip, period);
-        gossips.put(gossip.gossipId(), gossipState);
-        subject.onNext(gossip.message());
+      int originIndex = originIndex(gossip.origin());
+      long gossipKey = MemberIndex.gossipKey(originIndex, gossip.sequence());
+      GossipState gossipState = gossips.get(gossipKey);
+      if (gossipState == null) {
+        if (!memberIndex.window(originIndex).markSeen(gossip.sequence())) {
+          continue; // already received and swept
+        }
+        // new gossip
+        gossipState = addGossipState(gossip, gossipKey);
+        if (gossip.topic() == null) {
+          subject.onNext(gossip.message());
+        } else if (localTopics.containsKey(gossip.topic())) {
+          topicSubject.onNext(gossip); // otherwise local member only relays gossip
+        }
+      }
+      if (fromIndex >= 0) {
+        gossipState.addToInfected(fromIndex);
+      }
+    }
+  }
+
+  /**
+   * Handles digest of gossips announced by another member in push-pull mode. Gossips known locally are marked as
+   * infected by the announcing member, ids of unknown gossips are replied back to pull their payloads.
+   */
+  private void onGossipDigest(Message message) {
+    GossipDigest digest = message.data();
+    int fromIndex = memberIndex.indexOf(digest.from());
+    GossipDigest missing = new GossipDigest(membership.member().id());
+    for (int i = 0; i < digest.size(); i++) {
+      int originIndex = memberIndex.indexOf(digest.origin(i));
+      long sequence = digest.sequence(i);
+      if (originIndex < 0) {
+        missing.add(digest.origin(i), sequence); // nothing received from origin yet
+        continue;
+      }
+      GossipState gossipState = gossips.get(MemberIndex.gossipKey(originIndex, sequence));
+      if (gossipState != null) {
+        if (fromIndex >= 0) {
+          gossipState.addToInfected(fromIndex);
+        }
+      } else if (!memberIndex.window(originIndex).isSeen(sequence)) {
+        missing.add(digest.origin(i), sequence);
+      }
+    }
+    // Reply even if nothing is missing, so announcing member learns which gossips are already known here
+    transport.send(message.sender(), Message.withData(missing).qualifier(GOSSIP_PULL).build());
+  }
+
+  /**
+   * Handles reply to the digest sent to the given member. Gossips which were announced but not requested are already
+   * known by the member, requested gossips are sent with full payload.
+   */
+  private void onGossipPull(Message message) {
+    GossipDigest missing = message.data();
+    List<Long> announcedKeys = pendingDigests.remove(missing.from());
+    int fromIndex = memberIndex.indexOf(missing.from());
+    if (announcedKeys == null || fromIndex < 0) {
+      return; // digest is outdated or member is gone
+    }
+
+    Set<Long> missingKeys = new HashSet<>();
+    for (int i = 0; i < missing.size(); i++) {
+      int originIndex = memberIndex.indexOf(missing.origin(i));
+      if (originIndex >= 0) {
+        missingKeys.add(MemberIndex.gossipKey(originIndex, missing.sequence(i)));
+      }
+    }
+
+    List<Gossip> gossipsToSend = new ArrayList<>(missingKeys.size());
+    for (Long gossipKey : announcedKeys) {
+      GossipState gossipState = gossips.get(gossipKey);
+      if (gossipState == null) {
+        continue; // already swept
+      }
+      if (missingKeys.contains(gossipKey)) {
+        gossipState.incrementSentCount();
+        gossipsToSend.add(gossipState.gossip());
+      } else {
+        gossipState.addToInfected(fromIndex);
       }
-      gossipState.addToInfected(gossipRequest.from());
+    }
+    if (!gossipsToSend.isEmpty()) {
+      transport.send(message.sender(), buildGossipRequestMessage(gossipsToSend));
+    }
+  }
+
+  private void onMemberAdded(Member member) {
+    remoteMembers.add(member);
+    if (config.getZoneMetadataKey() != null) {
+      (isCrossZone(member) ? crossZoneMembers : sameZoneMembers).add(member);
+    }
+    unknownMembers.remove(member.id());
+    memberIndex.getOrAssign(member.id());
+    memberTopics.put(member.id(), parseTopics(member));
+  }
+
+  private void onMemberRemoved(Member member) {
+    remoteMembers.removeIf(remoteMember -> remoteMember.id().equals(member.id()));
+    sameZoneMembers.removeIf(remoteMember -> remoteMember.id().equals(member.id()));
+    crossZoneMembers.removeIf(remoteMember -> remoteMember.id().equals(member.id()));
+    pendingDigests.remove(member.id());
+    memberTopics.remove(member.id());
+    // Keep member index until all gossips which may reference it are swept
+    unknownMembers.put(member.id(), period);
+  }
+
+  private void onMemberUpdated(Member member) {
+    for (int i = 0; i < remoteMembers.size(); i++) {
+      if (remoteMembers.get(i).id().equals(member.id())) {
+        remoteMembers.set(i, member);
+        memberTopics.put(member.id(), parseTopics(member));
+        if (config.getZoneMetadataKey() != null) { // zone of member may change
+          sameZoneMembers.removeIf(remoteMember -> remoteMember.id().equals(member.id()));
+          crossZoneMembers.removeIf(remoteMember -> remoteMember.id().equals(member.id()));
+          (isCrossZone(member) ? crossZoneMembers : sameZoneMembers).add(member);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true if zone awareness is enabled and the given member is in another zone than local member.
+   */
+  private boolean isCrossZone(Member member) {
+    String zoneMetadataKey = config.getZoneMetadataKey();
+    return zoneMetadataKey != null
+        && !Objects.equals(member.metadata().get(zoneMetadataKey), membership.member().metadata().get(zoneMetadataKey));
+  }
+
+  private void onTopicSubscribed(String topic) {
+    if (localTopics.merge(topic, 1, Integer::sum) == 1) {
+      advertiseTopics();
+    }
+  }
+
+  private void onTopicUnsubscribed(String topic) {
+    if (localTopics.computeIfPresent(topic, (key, count) -> count > 1 ? count - 1 : null) == null) {
+      advertiseTopics();
     }
   }
 
@@ -230,40 +538,257 @@ public final class GossipProtocolImpl implements GossipProtocol {
     return GOSSIP_REQ.equals(message.qualifier());
   }
 
-  private String generateGossipId() {
-    return membership.member().id() + "-" + gossipCounter++;
+  private void advertiseTopics() {
+    membership.updateMetadataProperty(TOPICS_METADATA_KEY, String.join(TOPICS_SEPARATOR, localTopics.keySet()));
+  }
+
+  private static Set<String> parseTopics(Member member) {
+    String topics = member.metadata().get(TOPICS_METADATA_KEY);
+    if (topics == null || topics.isEmpty()) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(Arrays.asList(topics.split(TOPICS_SEPARATOR)));
+  }
+
+  /**
+   * Returns index of the given gossip origin. Origin which isn't known member (e.g. gossip outran membership event or
+   * origin is already removed) is indexed as unknown member, such index is released once unused for sweep period.
+   */
+  private int originIndex(String origin) {
+    int index = memberIndex.getOrAssign(origin);
+    if (index != localMemberIndex && !memberTopics.containsKey(origin)) { // topics are tracked for each member
+      unknownMembers.remove(origin); // keep map ordered by period of last use
+      unknownMembers.put(origin, period);
+    }
+    return index;
+  }
+
+  private GossipState addGossipState(Gossip gossip, long gossipKey) {
+    GossipState gossipState = new GossipState(gossip, gossipKey, period);
+    gossips.put(gossipKey, gossipState);
+    gossipQueue.add(gossipState);
+    memberIndex.onGossipAdded(gossipKey);
+    return gossipState;
   }
 
-  private void spreadGossipsTo(Member member) {
+  /**
+   * Sends gossips of given topics not yet known to the given member. In push-pull mode large gossips are announced by
+   * digest instead.
+   *
+   * @return number of gossips sent
+   */
+  private int spreadGossipsTo(Member member, Set<String> topics, int periodsToSpread) {
     // Select gossips to send
-    List<Gossip> gossipsToSend = selectGossipsToSend(member);
-    if (gossipsToSend.isEmpty()) {
-      return; // nothing to spread
+    List<GossipState> candidates = selectGossipsToSend(member, topics, periodsToSpread);
+    if (candidates.isEmpty()) {
+      return 0; // nothing to spread
+    }
+
+    // Announce large gossips by digest
+    int pushPullThreshold = config.getGossipPushPullThreshold();
+    if (pushPullThreshold > 0) {
+      GossipDigest digest = new GossipDigest(membership.member().id());
+      List<Long> announcedKeys = new ArrayList<>();
+      for (Iterator<GossipState> it = candidates.iterator(); it.hasNext(); ) {
+        GossipState gossipState = it.next();
+        if (gossipState.estimatedSize() >= pushPullThreshold) {
+          digest.add(gossipState.gossip().origin(), gossipState.gossip().sequence());
+          announcedKeys.add(gossipState.gossipKey());
+          it.remove();
+        }
+      }
+      if (digest.size() > 0) {
+        pendingDigests.put(member.id(), announcedKeys);
+        transport.send(member.address(), Message.withData(digest).qualifier(GOSSIP_DIGEST).build());
+      }
     }
 
     // Send gossip request
+    List<Gossip> gossipsToSend = packGossips(candidates, periodsToSpread);
+    if (gossipsToSend.isEmpty()) {
+      return 0;
+    }
     Message gossipReqMsg = buildGossipRequestMessage(gossipsToSend);
     transport.send(member.address(), gossipReqMsg);
+    return gossipsToSend.size();
+  }
+
+  private List<GossipState> selectGossipsToSend(Member member, Set<String> topics, int periodsToSpread) {
+    int index = memberIndex.indexOf(member.id());
+    List<GossipState> candidates = new ArrayList<>();
+    // Gossip queue is ordered by infection period, so walk from the newest gossips till max rounds reached
+    for (Iterator<GossipState> it = gossipQueue.descendingIterator(); it.hasNext(); ) {
+      GossipState gossipState = it.next();
+      if (isSpreadWindowPassed(gossipState, periodsToSpread)) {
+        break;
+      }
+      if (!isSpreading(gossipState, periodsToSpread)) {
+        continue;
+      }
+      if (!topics.contains(gossipState.gossip().topic())) {
+        continue; // member is not target for this topic in current period
+      }
+      if (index < 0 || !gossipState.isInfected(index)) { // already infected
+        candidates.add(gossipState);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns true if gossip is still spread in current period: for periodsToSpread periods after infection prolonged by
+   * one period per each period it was deferred in due to gossip request budget.
+   */
+  private boolean isSpreading(GossipState gossipState, int periodsToSpread) {
+    return gossipState.infectionPeriod() + periodsToSpread + gossipState.deferredPeriods() >= period;
+  }
+
+  /**
+   * Returns true if gossip and all gossips infected before it aren't spread anymore. Gossip is deferred at most
+   * periodsToSpread periods (see {@link GossipState#defer(long, int)}), so max spread window is twice periodsToSpread,
+   * which is still less than sweep period.
+   */
+  private boolean isSpreadWindowPassed(GossipState gossipState, int periodsToSpread) {
+    return gossipState.infectionPeriod() + 2 * periodsToSpread < period;
+  }
+
+  /**
+   * Packs given gossips into gossip request within configured count and size budget. If budget is exceeded gossips
+   * are packed by priority (see {@link #GOSSIP_PRIORITY}) and the rest are deferred to next periods. At least one
+   * gossip is always packed.
+   */
+  private List<Gossip> packGossips(List<GossipState> candidates, int periodsToSpread) {
+    int maxGossips = config.getGossipMaxRequestGossips();
+    int maxSize = config.getGossipMaxRequestSize();
+    boolean limitCount = maxGossips > 0 && candidates.size() > maxGossips;
+    if (!limitCount && maxSize <= 0) {
+      List<Gossip> gossipsToSend = new ArrayList<>(candidates.size());
+      for (GossipState gossipState : candidates) {
+        gossipState.incrementSentCount();
+        gossipsToSend.add(gossipState.gossip());
+      }
+      return gossipsToSend;
+    }
+
+    candidates.sort(GOSSIP_PRIORITY);
+    List<Gossip> gossipsToSend = new ArrayList<>();
+    int size = 0;
+    for (GossipState gossipState : candidates) {
+      boolean fits = (maxGossips <= 0 || gossipsToSend.size() < maxGossips)
+          && (maxSize <= 0 || gossipsToSend.isEmpty() || size + gossipState.estimatedSize() <= maxSize);
+      if (fits) {
+        if (maxSize > 0) {
+          size += gossipState.estimatedSize();
+        }
+        gossipState.incrementSentCount();
+        gossipsToSend.add(gossipState.gossip());
+      } else {
+        gossipState.defer(period, periodsToSpread);
+        gossipsDeferred++;
+      }
+    }
+    return gossipsToSend;
+  }
+
+  /**
+   * Selects members to spread gossips to in current period together with topics of gossips to send to each of them.
+   * Gossips without topic (denoted by null topic) are spread to randomly selected members, gossips of each topic are
+   * spread to randomly selected members which are interested in the topic or relay it.
+   */
+  private Map<Member, Set<String>> selectGossipTargets(int periodsToSpread) {
+    boolean noTopicGossips = false;
+    Set<String> topics = new HashSet<>();
+    for (Iterator<GossipState> it = gossipQueue.descendingIterator(); it.hasNext(); ) {
+      GossipState gossipState = it.next();
+      if (isSpreadWindowPassed(gossipState, periodsToSpread)) {
+        break;
+      }
+      if (!isSpreading(gossipState, periodsToSpread)) {
+        continue;
+      }
+      String topic = gossipState.gossip().topic();
+      if (topic == null) {
+        noTopicGossips = true;
+      } else {
+        topics.add(topic);
+      }
+    }
+
+    Map<Member, Set<String>> gossipTargets = new LinkedHashMap<>();
+    if (noTopicGossips) {
+      for (Member member : selectGossipMembers()) {
+        gossipTargets.computeIfAbsent(member, key -> new HashSet<>()).add(null);
+      }
+    }
+    for (String topic : topics) {
+      for (Member member : selectTopicMembers(topic)) {
+        gossipTargets.computeIfAbsent(member, key -> new HashSet<>()).add(topic);
+      }
+    }
+    return gossipTargets;
+  }
+
+  private List<Member> selectTopicMembers(String topic) {
+    Set<String> relays = selectTopicRelays(topic);
+    List<Member> topicMembers = new ArrayList<>();
+    for (Member member : remoteMembers) {
+      if (relays.contains(member.id()) || isInterested(member.id(), topic)) {
+        topicMembers.add(member);
+      }
+    }
+    int gossipFanout = config.getGossipFanout();
+    if (topicMembers.size() <= gossipFanout) {
+      return topicMembers;
+    }
+    Collections.shuffle(topicMembers, random());
+    return topicMembers.subList(0, gossipFanout);
+  }
+
+  /**
+   * Selects ids of members (including local one) not interested in the given topic which relay its gossips. Relays
+   * are selected by rendezvous hashing so all members with the same view select the same relays.
+   */
+  private Set<String> selectTopicRelays(String topic) {
+    int topicRelays = config.getGossipTopicRelays();
+    if (topicRelays <= 0) {
+      return Collections.emptySet();
+    }
+    List<String> candidates = new ArrayList<>();
+    if (!localTopics.containsKey(topic)) {
+      candidates.add(membership.member().id());
+    }
+    for (Member member : remoteMembers) {
+      if (!isInterested(member.id(), topic)) {
+        candidates.add(member.id());
+      }
+    }
+    candidates.sort(Comparator.comparingInt((String memberId) -> relayScore(memberId, topic)).reversed());
+    return new HashSet<>(candidates.subList(0, Math.min(topicRelays, candidates.size())));
   }
 
-  private List<Gossip> selectGossipsToSend(Member member) {
-    int periodsToSpread =
-        ClusterMath.gossipPeriodsToSpread(config.getGossipRepeatMult(), remoteMembers.size() + 1);
-    return gossips.values().stream()
-        .filter(gossipState -> gossipState.infectionPeriod() + periodsToSpread >= period) // max rounds
-        .filter(gossipState -> !gossipState.isInfected(member.id())) // already infected
-        .map(GossipState::gossip)
-        .collect(Collectors.toList());
+  private boolean isInterested(String memberId, String topic) {
+    return memberTopics.getOrDefault(memberId, Collections.emptySet()).contains(topic);
+  }
+
+  private static int relayScore(String memberId, String topic) {
+    return Hashing.murmur3_32().hashString(memberId + TOPICS_SEPARATOR + topic, StandardCharsets.UTF_8).asInt();
+  }
+
+  private Random random() {
+    return config.getRandom() != null ? config.getRandom() : ThreadLocalRandom.current();
   }
 
   private List<Member> selectGossipMembers() {
+    if (config.getZoneMetadataKey() != null) {
+      return selectZoneGossipMembers();
+    }
     int gossipFanout = config.getGossipFanout();
     if (remoteMembers.size() < gossipFanout) { // select all
       return remoteMembers;
     } else { // select random members
       // Shuffle members initially and once reached top bound
       if (remoteMembersIndex < 0 || remoteMembersIndex + gossipFanout > remoteMembers.size()) {
-        Collections.shuffle(remoteMembers);
+        Collections.shuffle(remoteMembers, random());
         remoteMembersIndex = 0;
       }
 
@@ -278,30 +803,75 @@ public final class GossipProtocolImpl implements GossipProtocol {
     }
   }
 
+  /**
+   * Selects members of local zone except for the cross zone gossip fanout which is given to members of other zones, so
+   * gossips reach other zones every period while most of traffic stays in local zone. Fanout isn't reduced if there
+   * are too few members in either of zones.
+   */
+  private List<Member> selectZoneGossipMembers() {
+    int gossipFanout = config.getGossipFanout();
+    int crossZoneCount = Math.min(Math.min(config.getCrossZoneGossipFanout(), gossipFanout), crossZoneMembers.size());
+    int sameZoneCount = Math.min(gossipFanout - crossZoneCount, sameZoneMembers.size());
+    crossZoneCount = Math.min(gossipFanout - sameZoneCount, crossZoneMembers.size());
+    List<Member> selectedMembers = new ArrayList<>(sameZoneCount + crossZoneCount);
+    sameZoneMembersIndex = selectMembers(sameZoneMembers, sameZoneMembersIndex, sameZoneCount, selectedMembers);
+    crossZoneMembersIndex = selectMembers(crossZoneMembers, crossZoneMembersIndex, crossZoneCount, selectedMembers);
+    return selectedMembers;
+  }
+
+  /**
+   * Adds given number of members following the index to selected members, shuffles members initially and once reached
+   * top bound. Returns new index.
+   */
+  private int selectMembers(List<Member> members, int index, int count, List<Member> selectedMembers) {
+    if (count <= 0) {
+      return index;
+    }
+    if (index < 0 || index + count > members.size()) {
+      Collections.shuffle(members, random());
+      index = 0;
+    }
+    selectedMembers.addAll(members.subList(index, index + count));
+    return index + count;
+  }
+
   private Message buildGossipRequestMessage(List<Gossip> gossipsToSend) {
     GossipRequest gossipReqData = new GossipRequest(gossipsToSend, membership.member().id());
     return Message.withData(gossipReqData).qualifier(GOSSIP_REQ).build();
   }
 
   private void sweepGossips() {
-    // Select gossips to sweep
+    // Sweep gossips, gossip queue is ordered by infection period so expired gossips are at its head
     int periodsToSweep = ClusterMath.gossipPeriodsToSweep(config.getGossipRepeatMult(), remoteMembers.size() + 1);
-    Set<GossipState> gossipsToRemove = gossips.values().stream()
-        .filter(gossipState -> period > gossipState.infectionPeriod() + periodsToSweep)
-        .collect(Collectors.toSet());
+    while (!gossipQueue.isEmpty() && period > gossipQueue.peek().infectionPeriod() + periodsToSweep) {
+      GossipState gossipState = gossipQueue.poll();
+      LOGGER.debug("Sweep gossip: {}", gossipState);
+      gossips.remove(gossipState.gossipKey());
+      CompletableFuture<String> future = futures.remove(gossipState.gossipKey());
+      if (future != null) {
+        future.complete(gossipState.gossip().gossipId());
+      }
+      onIndexFreed(memberIndex.onGossipSwept(gossipState.gossipKey()));
+    }
 
-    // Check if anything selected
-    if (gossipsToRemove.isEmpty()) {
-      return; // nothing to sweep
+    // Release indexes of removed and unknown members once their gossips are swept
+    for (Iterator<Map.Entry<String, Long>> it = unknownMembers.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<String, Long> entry = it.next();
+      if (period <= entry.getValue() + periodsToSweep) {
+        break;
+      }
+      it.remove();
+      onIndexFreed(memberIndex.release(entry.getKey()));
     }
+  }
 
-    // Sweep gossips
-    LOGGER.debug("Sweep gossips: {}", gossipsToRemove);
-    for (GossipState gossipState : gossipsToRemove) {
-      gossips.remove(gossipState.gossip().gossipId());
-      CompletableFuture<String> future = futures.remove(gossipState.gossip().gossipId());
-      if (future != null) {
-        future.complete(gossipState.gossip().gossipId());
+  /**
+   * Clears infection by member with the given freed index (if any) from live gossips, so the index can be reused.
+   */
+  private void onIndexFreed(int index) {
+    if (index >= 0) {
+      for (GossipState gossipState : gossipQueue) {
+        gossipState.removeFromInfected(index);
       }
     }
   }
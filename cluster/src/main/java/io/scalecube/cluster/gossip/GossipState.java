@@ -1,9 +1,13 @@
 package io.scalecube.cluster.gossip;
 
+import io.scalecube.transport.MessageCodec;
+
 import com.google.common.base.Preconditions;
 
-import java.util.HashSet;
-import java.util.Set;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.BitSet;
 
 /** Data related to gossip, maintained locally on each node. */
 final class GossipState {
@@ -11,15 +15,29 @@ final class GossipState {
   /** Target gossip. */
   private final Gossip gossip;
 
+  /** Compact gossip key, see {@link MemberIndex#gossipKey(int, long)}. */
+  private final long gossipKey;
+
   /** Local gossip period when gossip was received for the first time. */
   private final long infectionPeriod;
 
-  /** Set of member IDs this gossip was received from. */
-  private final Set<String> infected = new HashSet<>();
+  /** Set of dense member indexes (see {@link MemberIndex}) this gossip was received from. */
+  private final BitSet infected = new BitSet();
+
+  /** Number of gossip requests this gossip was sent in. */
+  private int sentCount;
+
+  /** Number of periods this gossip was deferred due to gossip request budget. */
+  private int deferredPeriods;
+  private long lastDeferredPeriod = -1;
 
-  GossipState(Gossip gossip, long infectionPeriod) {
+  /** Estimated serialized size of gossip, -1 if not computed yet. */
+  private int estimatedSize = -1;
+
+  GossipState(Gossip gossip, long gossipKey, long infectionPeriod) {
     Preconditions.checkArgument(gossip != null);
     this.gossip = gossip;
+    this.gossipKey = gossipKey;
     this.infectionPeriod = infectionPeriod;
   }
 
@@ -27,16 +45,64 @@ final class GossipState {
     return gossip;
   }
 
+  public long gossipKey() {
+    return gossipKey;
+  }
+
   public long infectionPeriod() {
     return infectionPeriod;
   }
 
-  public void addToInfected(String memberId) {
-    infected.add(memberId);
+  public void addToInfected(int memberIndex) {
+    infected.set(memberIndex);
+  }
+
+  public void removeFromInfected(int memberIndex) {
+    infected.clear(memberIndex);
+  }
+
+  public boolean isInfected(int memberIndex) {
+    return infected.get(memberIndex);
+  }
+
+  public int sentCount() {
+    return sentCount;
+  }
+
+  public void incrementSentCount() {
+    sentCount++;
+  }
+
+  public int deferredPeriods() {
+    return deferredPeriods;
+  }
+
+  /**
+   * Marks gossip as deferred in the given period. Gossip spreading is prolonged by one period per each period it was
+   * deferred in, but not longer than given max.
+   */
+  public void defer(long period, int maxDeferredPeriods) {
+    if (lastDeferredPeriod != period && deferredPeriods < maxDeferredPeriods) {
+      deferredPeriods++;
+    }
+    lastDeferredPeriod = period;
   }
 
-  public boolean isInfected(String memberId) {
-    return infected.contains(memberId);
+  /**
+   * Returns estimated size of the gossip in serialized gossip request. Computed once on first call.
+   */
+  public int estimatedSize() {
+    if (estimatedSize < 0) {
+      ByteBuf bb = ByteBufAllocator.DEFAULT.buffer();
+      try {
+        MessageCodec.serialize(gossip.message(), bb);
+        // message plus origin, sequence and field tags
+        estimatedSize = bb.readableBytes() + gossip.origin().length() + 16;
+      } finally {
+        bb.release();
+      }
+    }
+    return estimatedSize;
   }
 
   @Override
@@ -44,6 +110,8 @@ final class GossipState {
     return "GossipState{gossip=" + gossip
         + ", infectionPeriod=" + infectionPeriod
         + ", infected=" + infected
+        + ", sentCount=" + sentCount
+        + ", deferredPeriods=" + deferredPeriods
         + '}';
   }
 }
@@ -0,0 +1,138 @@
+package io.scalecube.cluster.gossip;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense local index of member ids. Each known member (either gossip origin or gossip peer) is assigned small integer
+ * index which is used as bit position in infection bitsets and as origin part of compact gossip keys. Index of
+ * released member is reused only after all live gossips keyed by it are swept, since new origin starts its sequences
+ * from zero and its gossips would otherwise collide with keys of old origin. Not thread safe, accessed only from
+ * gossip protocol executor.
+ */
+final class MemberIndex {
+
+  private static final int SEQUENCE_BITS = 44;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private final List<String> memberIds = new ArrayList<>();
+  private final List<SequenceWindow> windows = new ArrayList<>();
+  private final ArrayDeque<Integer> freeIndexes = new ArrayDeque<>();
+  private int[] liveGossips = new int[16]; // index -> number of live gossips whose key carries the index
+
+  /**
+   * Returns compact key of gossip with given origin index and sequence.
+   */
+  static long gossipKey(int originIndex, long sequence) {
+    return ((long) originIndex << SEQUENCE_BITS) | (sequence & SEQUENCE_MASK);
+  }
+
+  /**
+   * Returns origin index of the given compact gossip key.
+   */
+  static int originIndex(long gossipKey) {
+    return (int) (gossipKey >>> SEQUENCE_BITS);
+  }
+
+  /**
+   * Returns index of given member or -1 if member is not indexed.
+   */
+  int indexOf(String memberId) {
+    Integer index = indexes.get(memberId);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * Returns index of given member, assigns new index if member is not indexed yet.
+   */
+  int getOrAssign(String memberId) {
+    Integer index = indexes.get(memberId);
+    if (index != null) {
+      return index;
+    }
+    if (freeIndexes.isEmpty()) {
+      index = memberIds.size();
+      memberIds.add(memberId);
+      windows.add(new SequenceWindow());
+      if (index == liveGossips.length) {
+        liveGossips = Arrays.copyOf(liveGossips, index * 2);
+      }
+    } else {
+      index = freeIndexes.poll();
+      memberIds.set(index, memberId);
+      windows.set(index, new SequenceWindow());
+    }
+    indexes.put(memberId, index);
+    return index;
+  }
+
+  /**
+   * Returns id of member with given index or null if index is not assigned.
+   */
+  String memberId(int index) {
+    return memberIds.get(index);
+  }
+
+  /**
+   * Returns sliding window of gossip sequences received from origin with given index.
+   */
+  SequenceWindow window(int index) {
+    return windows.get(index);
+  }
+
+  /**
+   * Counts live gossip with the given key, index of its origin isn't reused until the gossip is swept.
+   */
+  void onGossipAdded(long gossipKey) {
+    liveGossips[originIndex(gossipKey)]++;
+  }
+
+  /**
+   * Counts swept gossip with the given key and frees index of its origin if it was released and this was the last
+   * live gossip keyed by it.
+   *
+   * @return index freed for reuse or -1 if no index was freed
+   */
+  int onGossipSwept(long gossipKey) {
+    int index = originIndex(gossipKey);
+    if (--liveGossips[index] == 0 && memberIds.get(index) == null) {
+      freeIndexes.add(index);
+      return index;
+    }
+    return -1;
+  }
+
+  /**
+   * Releases index of the given member. Index is freed for reuse by another member right away if no live gossips are
+   * keyed by it, otherwise once the last of them is swept (see {@link #onGossipSwept(long)}).
+   *
+   * @return index freed for reuse or -1 if member was not indexed or its index is still in use by live gossips
+   */
+  int release(String memberId) {
+    Integer index = indexes.remove(memberId);
+    if (index == null) {
+      return -1;
+    }
+    memberIds.set(index, null);
+    windows.set(index, null);
+    if (liveGossips[index] > 0) {
+      return -1;
+    }
+    freeIndexes.add(index);
+    return index;
+  }
+
+  int size() {
+    return indexes.size();
+  }
+
+  @Override
+  public String toString() {
+    return "MemberIndex{" + indexes + '}';
+  }
+}
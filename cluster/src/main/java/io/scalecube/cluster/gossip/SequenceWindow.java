@@ -0,0 +1,65 @@
+package io.scalecube.cluster.gossip;
+
+import java.util.BitSet;
+
+/**
+ * Sliding window of gossip sequence numbers received from single origin. Used to deduplicate gossips even after they
+ * were swept from local gossip state. Sequences older than the window are considered as already seen.
+ */
+final class SequenceWindow {
+
+  static final int SIZE = 1024;
+
+  private final BitSet seen = new BitSet(SIZE);
+  private long base = -1; // lowest tracked sequence, -1 if nothing seen yet
+
+  /**
+   * Marks given sequence as seen.
+   *
+   * @param sequence gossip sequence
+   * @return true if sequence was not seen before, false if it is duplicate or too old
+   */
+  boolean markSeen(long sequence) {
+    if (base < 0) {
+      base = Math.max(0, sequence - SIZE + 1);
+    }
+    if (sequence < base) {
+      return false;
+    }
+    if (sequence >= base + SIZE) {
+      long newBase = sequence - SIZE + 1;
+      if (newBase - base >= SIZE) {
+        seen.clear();
+      } else {
+        for (long s = base; s < newBase; s++) {
+          seen.clear((int) (s % SIZE));
+        }
+      }
+      base = newBase;
+    }
+    int bit = (int) (sequence % SIZE);
+    if (seen.get(bit)) {
+      return false;
+    }
+    seen.set(bit);
+    return true;
+  }
+
+  /**
+   * Checks whether given sequence was seen without marking it.
+   *
+   * @param sequence gossip sequence
+   * @return true if sequence was seen before or it is too old
+   */
+  boolean isSeen(long sequence) {
+    if (base < 0 || sequence >= base + SIZE) {
+      return false;
+    }
+    return sequence < base || seen.get((int) (sequence % SIZE));
+  }
+
+  @Override
+  public String toString() {
+    return "SequenceWindow{base=" + base + ", seen=" + seen.cardinality() + '}';
+  }
+}
@@ -0,0 +1,52 @@
+package io.scalecube.cluster.membership;
+
+import io.protostuff.Tag;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Request or response of member metadata of the given version. Request doesn't contain metadata.
+ */
+@Immutable
+final class MemberMetadata {
+
+  @Tag(1)
+  private final String memberId;
+
+  @Tag(2)
+  private final long version;
+
+  @Tag(3)
+  private final Map<String, String> metadata;
+
+  public MemberMetadata(String memberId, long version) {
+    this(memberId, version, null);
+  }
+
+  public MemberMetadata(String memberId, long version, Map<String, String> metadata) {
+    this.memberId = memberId;
+    this.version = version;
+    this.metadata = metadata != null && !metadata.isEmpty() ? new HashMap<>(metadata) : null;
+  }
+
+  public String memberId() {
+    return memberId;
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public Map<String, String> metadata() {
+    return metadata != null ? Collections.unmodifiableMap(metadata) : Collections.emptyMap();
+  }
+
+  @Override
+  public String toString() {
+    return "MemberMetadata{memberId=" + memberId + ", version=" + version + ", metadata=" + metadata + '}';
+  }
+}
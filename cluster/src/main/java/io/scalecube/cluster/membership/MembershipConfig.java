@@ -1,9 +1,13 @@
 package io.scalecube.cluster.membership;
 
 import io.scalecube.transport.Address;
+import io.scalecube.transport.StallWatchdog;
+
+import com.google.common.base.Ticker;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 public interface MembershipConfig {
 
@@ -15,14 +19,40 @@ public interface MembershipConfig {
 
   int getSyncTimeout();
 
+  int getSyncPageSize();
+
+  int getSyncMaxConcurrentJoins();
+
   String getSyncGroup();
 
+  boolean isSyncDeltaEnabled();
+
+  boolean isMetadataFetchEnabled();
+
+  int getMetadataFetchTimeout();
+
   int getPingInterval();
 
   int getSuspicionMult();
 
+  int getSuspicionMaxTimeoutMult();
+
+  boolean isLifeguardEnabled();
+
+  int getGossipRepeatMult();
+
+  int getPiggybackMaxSize();
+
   String getMemberHost();
 
   Integer getMemberPort();
 
+  Ticker getTicker();
+
+  Random getRandom();
+
+  boolean isFlightRecorderEnabled();
+
+  StallWatchdog getStallWatchdog();
+
 }
@@ -4,6 +4,14 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import io.scalecube.cluster.Member;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -41,6 +49,43 @@ public final class MembershipEvent {
     return new MembershipEvent(Type.UPDATED, oldMember, newMember);
   }
 
+  /**
+   * Coalesces the given events into net change per member id, ordered by the first event of each member. Member added
+   * and removed within the events is dropped, added and updated one is reported as added with its latest state,
+   * updated and removed one is reported as removed with its state before the events, and updated several times one is
+   * reported as single update from its state before to its state after the events, or dropped if they are equal.
+   *
+   * @param events membership events in order of emission
+   * @return net membership events
+   */
+  public static List<MembershipEvent> coalesce(List<MembershipEvent> events) {
+    checkArgument(events != null);
+    if (events.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<String, Member> before = new LinkedHashMap<>(); // member id -> state before events, null if wasn't a member
+    Map<String, Member> after = new HashMap<>(); // member id -> state after events, null if isn't a member
+    for (MembershipEvent event : events) {
+      String id = event.member().id();
+      if (!before.containsKey(id)) {
+        before.put(id, event.oldMember());
+      }
+      after.put(id, event.newMember());
+    }
+    List<MembershipEvent> result = new ArrayList<>(before.size());
+    before.forEach((id, oldMember) -> {
+      Member newMember = after.get(id);
+      if (oldMember == null && newMember != null) {
+        result.add(createAdded(newMember));
+      } else if (oldMember != null && newMember == null) {
+        result.add(createRemoved(oldMember));
+      } else if (oldMember != null && !Objects.equals(oldMember, newMember)) {
+        result.add(createUpdated(oldMember, newMember));
+      }
+    });
+    return result;
+  }
+
   public Type type() {
     return type;
   }
@@ -0,0 +1,127 @@
+package io.scalecube.cluster.membership;
+
+import io.scalecube.cluster.fdetector.PiggybackBuffer;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.MessageCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Buffer of membership records piggybacked on failure detector messages (see SWIM: "Scalable Weakly-consistent
+ * Infection-style Process Group Membership Protocol"). Only the latest record per member is kept. Records are selected
+ * least disseminated first within size budget and dropped once piggybacked given number of times.
+ */
+final class MembershipPiggybackBuffer implements PiggybackBuffer {
+
+  private static final Comparator<Entry> ENTRY_PRIORITY =
+      Comparator.comparingInt((Entry entry) -> entry.transmissions)
+          .thenComparing(Comparator.comparingLong((Entry entry) -> entry.sequence).reversed());
+
+  private final int maxSize;
+  private final Consumer<Message> consumer;
+  private final Map<String, Entry> entries = new LinkedHashMap<>(); // member id -> entry
+  private long sequenceCounter = 0;
+
+  /**
+   * Creates piggyback buffer.
+   *
+   * @param maxSize max size in bytes of records piggybacked on single message
+   * @param consumer consumer of piggybacked membership messages received from other members
+   */
+  MembershipPiggybackBuffer(int maxSize, Consumer<Message> consumer) {
+    this.maxSize = maxSize;
+    this.consumer = consumer;
+  }
+
+  /**
+   * Adds record to disseminate, replaces record of the same member if any.
+   *
+   * @param record membership record
+   * @param maxTransmissions number of times record should be piggybacked
+   */
+  void add(MembershipRecord record, int maxTransmissions) {
+    add(Message.withData(record).qualifier(MembershipProtocolImpl.MEMBERSHIP_GOSSIP).build(), maxTransmissions);
+  }
+
+  /**
+   * Adds membership message to disseminate, replaces message with record of the same member if any.
+   *
+   * @param message membership message with membership record as data
+   * @param maxTransmissions number of times message should be piggybacked
+   */
+  synchronized void add(Message message, int maxTransmissions) {
+    MembershipRecord record = message.data();
+    entries.put(record.id(), new Entry(record, message, maxTransmissions, sequenceCounter++));
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public synchronized List<Message> select() {
+    if (entries.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Entry> candidates = new ArrayList<>(entries.values());
+    candidates.sort(ENTRY_PRIORITY);
+    List<Message> messages = new ArrayList<>();
+    int size = 0;
+    for (Entry entry : candidates) {
+      if (size + entry.size > maxSize) {
+        continue; // smaller record may still fit
+      }
+      size += entry.size;
+      messages.add(entry.message);
+      if (++entry.transmissions >= entry.maxTransmissions) {
+        entries.remove(entry.record.id());
+      }
+    }
+    return messages;
+  }
+
+  @Override
+  public void consume(List<Message> messages) {
+    for (Message message : messages) {
+      if (message.data() instanceof MembershipRecord) {
+        consumer.accept(message);
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final MembershipRecord record;
+    private final Message message;
+    private final int size;
+    private final int maxTransmissions;
+    private final long sequence;
+    private int transmissions;
+
+    private Entry(MembershipRecord record, Message message, int maxTransmissions, long sequence) {
+      this.record = record;
+      this.message = message;
+      this.size = serializedSize(message);
+      this.maxTransmissions = maxTransmissions;
+      this.sequence = sequence;
+    }
+
+    private static int serializedSize(Message message) {
+      ByteBuf bb = ByteBufAllocator.DEFAULT.buffer();
+      try {
+        MessageCodec.serialize(message, bb);
+        return bb.readableBytes();
+      } finally {
+        bb.release();
+      }
+    }
+  }
+}
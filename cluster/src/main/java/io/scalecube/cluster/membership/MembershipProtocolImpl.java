@@ -2,17 +2,26 @@ package io.scalecube.cluster.membership;
 
 import static io.scalecube.cluster.membership.MemberStatus.ALIVE;
 import static io.scalecube.cluster.membership.MemberStatus.DEAD;
+import static io.scalecube.cluster.membership.MemberStatus.SUSPECT;
 
+import io.scalecube.cluster.ClusterFlightRecorder;
 import io.scalecube.cluster.ClusterMath;
 import io.scalecube.cluster.Member;
+import io.scalecube.cluster.cell.CellProtocol;
+import io.scalecube.cluster.cell.CellSummary;
 import io.scalecube.cluster.fdetector.FailureDetectorEvent;
 import io.scalecube.cluster.fdetector.FailureDetector;
+import io.scalecube.cluster.fdetector.PiggybackBuffer;
+import io.scalecube.cluster.fdetector.SuspicionTracker;
 import io.scalecube.cluster.gossip.GossipProtocol;
 import io.scalecube.transport.Address;
 import io.scalecube.transport.Message;
+import io.scalecube.transport.StallWatchdog;
 import io.scalecube.transport.Transport;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
@@ -22,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Scheduler;
 import rx.Subscriber;
+import rx.Subscription;
 import rx.observers.Subscribers;
 import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
@@ -32,16 +42,21 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 public final class MembershipProtocolImpl implements MembershipProtocol {
 
@@ -52,27 +67,68 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     MEMBERSHIP_GOSSIP,
     SYNC,
     INITIAL_SYNC,
-    SUSPICION_TIMEOUT
+    SUSPICION_TIMEOUT,
+    PIGGYBACK
   }
 
+  private static final int METADATA_CACHE_SIZE = 1024;
+  private static final int METADATA_FETCH_ATTEMPTS = 2;
+
   // Qualifiers
 
   public static final String SYNC = "sc/membership/sync";
   public static final String SYNC_ACK = "sc/membership/syncAck";
+  public static final String SYNC_DIGEST = "sc/membership/syncDigest";
+  public static final String SYNC_DELTA = "sc/membership/syncDelta";
+  public static final String SYNC_PAGE = "sc/membership/syncPage";
+  public static final String GET_METADATA_REQ = "sc/membership/getMetadataReq";
+  public static final String GET_METADATA_RESP = "sc/membership/getMetadataResp";
   public static final String MEMBERSHIP_GOSSIP = "sc/membership/gossip";
 
+  // Headers
+
+  /** Header of membership gossip with id of member which suspected member of gossiped SUSPECT record. */
+  public static final String SUSPICION_REPORTER_HEADER = "sc/suspicionReporter";
+
+  // Metadata
+
+  /** Prefix of metadata properties maintained by cluster components, they are kept on application metadata update. */
+  public static final String SYSTEM_METADATA_PREFIX = "sc/";
+
   // Injected
 
   private final AtomicReference<Member> memberRef;
   private final Transport transport;
   private final MembershipConfig config;
+  private final ClusterFlightRecorder flightRecorder; // null unless flight recorder is enabled and available
   private final List<Address> seedMembers;
   private FailureDetector failureDetector;
   private GossipProtocol gossipProtocol;
+  private CellProtocol cellProtocol; // null unless hierarchical mode is enabled
+  private final MembershipPiggybackBuffer piggybackBuffer; // null if piggybacking is disabled
+  private final SuspicionTracker suspicionTracker = new SuspicionTracker() {
+    @Override
+    public boolean isSuspected(String memberId) {
+      return suspectedMembers.contains(memberId);
+    }
+
+    @Override
+    public void onLocalMemberSuspected(Member reporter) {
+      onSuspectedByPing(reporter);
+    }
+  };
 
   // State
 
   private final Map<String, MembershipRecord> membershipTable = new HashMap<>();
+  private final Set<String> suspectedMembers = ConcurrentHashMap.newKeySet(); // updated on membership thread only
+  private final Cache<String, Map<String, String>> metadataCache = // member id and version -> metadata
+      CacheBuilder.newBuilder().maximumSize(METADATA_CACHE_SIZE).build();
+  private final Map<String, MetadataFetch> metadataFetches = new HashMap<>(); // member id -> fetch in progress
+  private final Map<String, JoinSync> joinSyncs = new HashMap<>(); // joining member cid -> paged initial sync
+  private final List<Address> syncAddresses = new ArrayList<>(); // shuffled sync targets of current round
+  private int syncAddressIndex;
+  private final SyncMetrics syncMetrics = new SyncMetrics();
 
   // Subject
 
@@ -83,15 +139,28 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
 
   private Subscriber<Message> onSyncRequestSubscriber;
   private Subscriber<Message> onSyncAckResponseSubscriber;
+  private Subscriber<Message> onSyncDigestSubscriber;
+  private Subscriber<Message> onSyncDeltaSubscriber;
+  private Subscriber<Message> onSyncPageSubscriber;
+  private Subscriber<Message> onGetMetadataRequestSubscriber;
+  private Subscriber<Message> onGetMetadataResponseSubscriber;
   private Subscriber<FailureDetectorEvent> onFdEventSubscriber;
   private Subscriber<Message> onGossipRequestSubscriber;
+  private Subscriber<CellSummary> onCellSummarySubscriber;
 
   // Scheduled
 
   private final Scheduler scheduler;
+  private final String executorName;
   private final ScheduledExecutorService executor;
+  private final boolean ownExecutor; // false if executor is shared with other components
   private final Map<String, ScheduledFuture<?>> suspicionTimeoutTasks = new HashMap<>();
+  private final Map<String, Suspicion> suspicions = new HashMap<>(); // member id -> suspicion, if Lifeguard enabled
   private ScheduledFuture<?> syncTask;
+  private volatile CompletableFuture<Void> initialSyncFuture;
+  private volatile Subscription initialSyncSubscription;
+  private volatile ScheduledFuture<?> initialSyncTimeoutTask;
+  private volatile boolean stopped; // guards tasks submitted to shared executor which isn't shut down on stop
 
   /**
    * Creates new instantiates of cluster membership protocol with given transport and config.
@@ -100,19 +169,42 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
    * @param config membership config parameters
    */
   public MembershipProtocolImpl(Transport transport, MembershipConfig config) {
+    this(transport, config, null);
+  }
+
+  /**
+   * Creates new instantiates of cluster membership protocol with given transport and config which runs on given
+   * executor.
+   *
+   * @param transport transport
+   * @param config membership config parameters
+   * @param executor single threaded executor shared with other components, it isn't shut down on stop; null to run
+   *        on own thread
+   */
+  public MembershipProtocolImpl(Transport transport, MembershipConfig config, ScheduledExecutorService executor) {
     this.transport = transport;
     this.config = config;
+    this.flightRecorder = config.isFlightRecorderEnabled() ? ClusterFlightRecorder.newInstance() : null;
 
     Address address = memberAddress(transport, config);
-    Member member = new Member(IdGenerator.generateId(), address, config.getMetadata());
+    String memberId = config.getRandom() != null
+        ? IdGenerator.generateId(IdGenerator.DEFAULT_SIZE, config.getRandom())
+        : IdGenerator.generateId();
+    Member member = new Member(memberId, address, config.getMetadata());
     this.memberRef = new AtomicReference<>(member);
 
-    String nameFormat = "sc-membership-" + Integer.toString(address.port());
-    this.executor = Executors.newSingleThreadScheduledExecutor(
-        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+    this.executorName = "sc-membership-" + Integer.toString(address.port());
+    this.ownExecutor = executor == null;
+    this.executor = ownExecutor
+        ? Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(executorName).setDaemon(true).build())
+        : executor;
 
-    this.scheduler = Schedulers.from(executor);
+    this.scheduler = Schedulers.from(this.executor);
     this.seedMembers = cleanUpSeedMembers(config.getSeedMembers());
+    this.piggybackBuffer = config.getPiggybackMaxSize() > 0
+        ? new MembershipPiggybackBuffer(config.getPiggybackMaxSize(), this::onPiggybackRecord)
+        : null;
   }
 
   /**
@@ -146,6 +238,29 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     this.gossipProtocol = gossipProtocol;
   }
 
+  /**
+   * Sets cell protocol of hierarchical mode, membership keeps only members of local cell then.
+   */
+  public void setCellProtocol(CellProtocol cellProtocol) {
+    this.cellProtocol = cellProtocol;
+  }
+
+  /**
+   * Returns buffer of membership updates to piggyback on failure detector messages or null if piggybacking is
+   * disabled.
+   */
+  public PiggybackBuffer getPiggybackBuffer() {
+    return piggybackBuffer;
+  }
+
+  /**
+   * Returns tracker of member suspicions for failure detector, which tells pinged members that they are suspected and
+   * lets membership refute suspicion of local member reported by ping.
+   */
+  public SuspicionTracker getSuspicionTracker() {
+    return suspicionTracker;
+  }
+
   /**
    * <b>NOTE:</b> this method is for testing purpose only.
    */
@@ -167,6 +282,13 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     return transport;
   }
 
+  /**
+   * Returns counters of periodic membership syncs.
+   */
+  public SyncMetrics getSyncMetrics() {
+    return syncMetrics;
+  }
+
   /**
    * <b>NOTE:</b> this method is for testing purpose only.
    */
@@ -184,9 +306,14 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     return memberRef.get();
   }
 
+  /**
+   * Replaces application metadata of local member with the given one. Properties with {@link #SYSTEM_METADATA_PREFIX}
+   * maintained by cluster components, like topics of gossip protocol, are carried over to the new metadata unless the
+   * given metadata has the same key.
+   */
   @Override
   public void updateMetadata(Map<String, String> metadata) {
-    executor.execute(() -> onUpdateMetadata(metadata));
+    executor.execute(() -> onUpdateMetadata(withSystemMetadata(metadata)));
   }
 
   @Override
@@ -217,32 +344,77 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     MembershipRecord localMemberRecord = new MembershipRecord(member, ALIVE, 0);
     membershipTable.put(member.id(), localMemberRecord);
 
+    StallWatchdog watchdog = config.getStallWatchdog();
+    if (watchdog != null && ownExecutor) {
+      watchdog.register(executorName, executor);
+    }
+
     // Listen to incoming SYNC requests from other members
-    onSyncRequestSubscriber = Subscribers.create(this::onSync, this::onError);
+    onSyncRequestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSync), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(msg -> SYNC.equals(msg.qualifier()))
         .filter(this::checkSyncGroup)
         .subscribe(onSyncRequestSubscriber);
 
     // Listen to incoming SYNC ACK responses from other members
-    onSyncAckResponseSubscriber = Subscribers.create(this::onSyncAck, this::onError);
+    onSyncAckResponseSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSyncAck), this::onError);
     transport.listen().observeOn(scheduler)
         .filter(msg -> SYNC_ACK.equals(msg.qualifier()))
         .filter(msg -> msg.correlationId() == null) // filter out initial sync
         .filter(this::checkSyncGroup)
         .subscribe(onSyncAckResponseSubscriber);
 
+    // Listen to incoming SYNC DIGEST and SYNC DELTA messages of delta sync from other members
+    onSyncDigestSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSyncDigest), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(msg -> SYNC_DIGEST.equals(msg.qualifier()))
+        .filter(this::checkSyncGroup)
+        .subscribe(onSyncDigestSubscriber);
+    onSyncDeltaSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSyncDelta), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(msg -> SYNC_DELTA.equals(msg.qualifier()))
+        .filter(this::checkSyncGroup)
+        .subscribe(onSyncDeltaSubscriber);
+
+    // Listen to next page requests of paged initial sync
+    onSyncPageSubscriber = Subscribers.create(StallWatchdog.tracked(watchdog, this::onSyncPage), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(msg -> SYNC_PAGE.equals(msg.qualifier()))
+        .filter(this::checkSyncGroup)
+        .subscribe(onSyncPageSubscriber);
+
+    // Listen to metadata requests and responses from other members
+    onGetMetadataRequestSubscriber =
+        Subscribers.create(StallWatchdog.tracked(watchdog, this::onGetMetadataRequest), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(msg -> GET_METADATA_REQ.equals(msg.qualifier()))
+        .subscribe(onGetMetadataRequestSubscriber);
+    onGetMetadataResponseSubscriber =
+        Subscribers.create(StallWatchdog.tracked(watchdog, this::onGetMetadataResponse), this::onError);
+    transport.listen().observeOn(scheduler)
+        .filter(msg -> GET_METADATA_RESP.equals(msg.qualifier()))
+        .subscribe(onGetMetadataResponseSubscriber);
+
     // Listen to events from failure detector
     onFdEventSubscriber = Subscribers.create(this::onFailureDetectorEvent, this::onError);
     failureDetector.listen().observeOn(scheduler)
         .subscribe(onFdEventSubscriber);
 
     // Listen to membership gossips
-    onGossipRequestSubscriber = Subscribers.create(this::onMembershipGossip, this::onError);
+    onGossipRequestSubscriber =
+        Subscribers.create(StallWatchdog.tracked(watchdog, this::onMembershipGossip), this::onError);
     gossipProtocol.listen().observeOn(scheduler)
         .filter(msg -> MEMBERSHIP_GOSSIP.equals(msg.qualifier()))
         .subscribe(onGossipRequestSubscriber);
 
+    // Listen to summaries of local cell in hierarchical mode
+    if (cellProtocol != null) {
+      onCellSummarySubscriber = Subscribers.create(this::onLocalCellSummary, this::onError);
+      cellProtocol.listen().observeOn(scheduler)
+          .filter(summary -> summary.cellId().equals(cellProtocol.cellId()))
+          .subscribe(onCellSummarySubscriber);
+    }
+
     // Make initial sync with all seed members
     return doInitialSync();
   }
@@ -255,6 +427,8 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
    * Stops running cluster membership protocol and releases occupied resources.
    */
   public void stop() {
+    stopped = true;
+
     // Stop accepting requests and events
     if (onSyncRequestSubscriber != null) {
       onSyncRequestSubscriber.unsubscribe();
@@ -268,12 +442,41 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     if (onSyncAckResponseSubscriber != null) {
       onSyncAckResponseSubscriber.unsubscribe();
     }
+    if (onSyncDigestSubscriber != null) {
+      onSyncDigestSubscriber.unsubscribe();
+    }
+    if (onSyncDeltaSubscriber != null) {
+      onSyncDeltaSubscriber.unsubscribe();
+    }
+    if (onSyncPageSubscriber != null) {
+      onSyncPageSubscriber.unsubscribe();
+    }
+    if (onGetMetadataRequestSubscriber != null) {
+      onGetMetadataRequestSubscriber.unsubscribe();
+    }
+    if (onGetMetadataResponseSubscriber != null) {
+      onGetMetadataResponseSubscriber.unsubscribe();
+    }
+    if (onCellSummarySubscriber != null) {
+      onCellSummarySubscriber.unsubscribe();
+    }
 
     // Stop sending sync
     if (syncTask != null) {
       syncTask.cancel(true);
     }
 
+    // Cancel initial sync
+    if (initialSyncSubscription != null) {
+      initialSyncSubscription.unsubscribe();
+    }
+    if (initialSyncTimeoutTask != null) {
+      initialSyncTimeoutTask.cancel(true);
+    }
+    if (initialSyncFuture != null) {
+      initialSyncFuture.complete(null);
+    }
+
     // Cancel remove members tasks
     for (String memberId : suspicionTimeoutTasks.keySet()) {
       ScheduledFuture<?> future = suspicionTimeoutTasks.get(memberId);
@@ -282,9 +485,23 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
       }
     }
     suspicionTimeoutTasks.clear();
+    suspicions.clear();
 
-    // Shutdown executor
-    executor.shutdown();
+    // Cancel metadata fetches
+    metadataFetches.values().forEach(fetch -> fetch.timeoutTask.cancel(true));
+    metadataFetches.clear();
+
+    // Cancel paged initial syncs
+    joinSyncs.values().forEach(joinSync -> joinSync.expirationTask.cancel(true));
+    joinSyncs.clear();
+
+    // Shutdown executor unless it is shared
+    if (ownExecutor) {
+      if (config.getStallWatchdog() != null) {
+        config.getStallWatchdog().unregister(executorName);
+      }
+      executor.shutdown();
+    }
 
     // Stop publishing events
     subject.onCompleted();
@@ -302,28 +519,49 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     }
 
     CompletableFuture<Void> syncResponseFuture = new CompletableFuture<>();
+    initialSyncFuture = syncResponseFuture;
+
+    // Timeout is scheduled on protocol executor rather than by rx timeout operator, so it follows configured ticker.
+    // Subscription and timeout are kept in fields, so stop can cancel them while initial sync is in progress.
+    Runnable onTimeout = () -> {
+      initialSyncSubscription.unsubscribe();
+      LOGGER.info("Timeout getting initial SyncAck from seed members: {}", seedMembers);
+      schedulePeriodicSync();
+      syncResponseFuture.complete(null);
+    };
 
-    // Listen initial Sync Ack
+    // Listen initial Sync Ack, all pages of paged Sync Ack are taken from the first responded seed member
     String cid = memberRef.get().id();
-    transport.listen().observeOn(scheduler)
+    AtomicReference<Address> syncSeed = new AtomicReference<>();
+    initialSyncSubscription = transport.listen().observeOn(scheduler)
         .filter(msg -> SYNC_ACK.equals(msg.qualifier()))
         .filter(msg -> cid.equals(msg.correlationId()))
         .filter(this::checkSyncGroup)
-        .take(1)
-        .timeout(config.getSyncTimeout(), TimeUnit.MILLISECONDS, scheduler)
+        .filter(msg -> syncSeed.compareAndSet(null, msg.sender()) || msg.sender().equals(syncSeed.get()))
+        .takeUntil(msg -> !((SyncData) msg.data()).hasMorePages())
         .subscribe(
             message -> {
+              initialSyncTimeoutTask.cancel(false);
               SyncData syncData = message.data();
-              LOGGER.info("Joined cluster '{}': {}", syncData.getSyncGroup(), syncData.getMembership());
               onSyncAck(message, true);
-              schedulePeriodicSync();
-              syncResponseFuture.complete(null);
+              if (syncData.hasMorePages()) {
+                SyncData pageRequest =
+                    new SyncData(Collections.emptyList(), config.getSyncGroup(), syncData.getPage() + 1, false);
+                transport.send(message.sender(),
+                    Message.withData(pageRequest).qualifier(SYNC_PAGE).correlationId(cid).build());
+                initialSyncTimeoutTask =
+                    executor.schedule(onTimeout, config.getSyncTimeout(), TimeUnit.MILLISECONDS);
+              } else {
+                LOGGER.info("Joined cluster '{}': {}", syncData.getSyncGroup(), membershipTable.values());
+              }
             },
-            throwable -> {
-              LOGGER.info("Timeout getting initial SyncAck from seed members: {}", seedMembers);
+            this::onError,
+            () -> {
+              initialSyncTimeoutTask.cancel(false);
               schedulePeriodicSync();
               syncResponseFuture.complete(null);
             });
+    initialSyncTimeoutTask = executor.schedule(onTimeout, config.getSyncTimeout(), TimeUnit.MILLISECONDS);
 
     Message syncMsg = prepareSyncDataMsg(SYNC, cid);
     seedMembers.forEach(address -> transport.send(address, syncMsg));
@@ -337,9 +575,14 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
       if (syncMember == null) {
         return;
       }
-      Message syncMsg = prepareSyncDataMsg(SYNC, null);
+      Message syncMsg = preparePeriodicSyncMsg();
       transport.send(syncMember, syncMsg);
+      syncMetrics.onRequestSent();
       LOGGER.debug("Send Sync to {}: {}", syncMember, syncMsg);
+      if (flightRecorder != null) {
+        flightRecorder.onSync(memberRef.get().id(), syncMember, false, syncMsg.qualifier(),
+            syncMetrics.requestsReceived());
+      }
     } catch (Exception cause) {
       LOGGER.error("Unhandled exception: {}", cause, cause);
     }
@@ -357,6 +600,16 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     onUpdateMetadata(metadata);
   }
 
+  private Map<String, String> withSystemMetadata(Map<String, String> metadata) {
+    Map<String, String> result = new HashMap<>(metadata);
+    for (Map.Entry<String, String> entry : memberRef.get().metadata().entrySet()) {
+      if (entry.getKey().startsWith(SYSTEM_METADATA_PREFIX)) {
+        result.putIfAbsent(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
   private void onUpdateMetadata(Map<String, String> metadata) {
     // Update local member reference
     Member curMember = memberRef.get();
@@ -390,11 +643,121 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
    */
   private void onSync(Message syncMsg) {
     LOGGER.debug("Received Sync: {}", syncMsg);
+    onSyncRequestReceived(syncMsg);
     syncMembership(syncMsg.data(), false);
+    if (syncMsg.correlationId() != null && config.getSyncPageSize() > 0) {
+      startJoinSync(syncMsg);
+      return;
+    }
     Message syncAckMsg = prepareSyncDataMsg(SYNC_ACK, syncMsg.correlationId());
     transport.send(syncMsg.sender(), syncAckMsg);
   }
 
+  /**
+   * Compares incoming SYNC DIGEST with local membership table and sends back with SYNC DELTA membership records which
+   * are newer or missing at sender together with ids of records which are newer or missing locally.
+   */
+  private void onSyncDigest(Message digestMsg) {
+    SyncDigest digest = digestMsg.data();
+    LOGGER.debug("Received SyncDigest: {}", digest);
+    onSyncRequestReceived(digestMsg);
+    Map<String, MembershipRecord> records = new HashMap<>(membershipTable);
+    List<String> requested = new ArrayList<>();
+    for (int i = 0; i < digest.size(); i++) {
+      String id = digest.id(i);
+      MembershipRecord r0 = records.remove(id);
+      if (r0 == null) {
+        if (digest.status(i) == ALIVE) {
+          requested.add(id);
+        }
+      } else if (MembershipRecord.isOverrides(digest.status(i), digest.incarnation(i), r0.status(), r0.incarnation())) {
+        requested.add(id);
+      } else if (r0.status() != digest.status(i) || r0.incarnation() != digest.incarnation(i)) {
+        records.put(id, r0); // local record is newer
+      }
+    }
+    // Remaining records are either newer locally or missing at sender
+    if (!records.isEmpty() || !requested.isEmpty()) {
+      List<MembershipRecord> deltaRecords =
+          records.values().stream().map(this::outgoingRecord).collect(Collectors.toList());
+      SyncData delta = new SyncData(deltaRecords, config.getSyncGroup(), requested);
+      transport.send(digestMsg.sender(), Message.withData(delta).qualifier(SYNC_DELTA).build());
+      LOGGER.debug("Send SyncDelta to {}: {}", digestMsg.sender(), delta);
+    }
+  }
+
+  /**
+   * Merges incoming SYNC DELTA and sends back membership records requested by it if any.
+   */
+  private void onSyncDelta(Message deltaMsg) {
+    SyncData delta = deltaMsg.data();
+    LOGGER.debug("Received SyncDelta: {}", delta);
+    syncMembership(delta, false);
+    if (!delta.getRequested().isEmpty()) {
+      List<MembershipRecord> records = delta.getRequested().stream()
+          .map(membershipTable::get)
+          .filter(Objects::nonNull)
+          .map(this::outgoingRecord)
+          .collect(Collectors.toList());
+      if (!records.isEmpty()) {
+        SyncData response = new SyncData(records, config.getSyncGroup());
+        transport.send(deltaMsg.sender(), Message.withData(response).qualifier(SYNC_DELTA).build());
+      }
+    }
+  }
+
+  /**
+   * Starts paged initial sync with joining member. Membership table snapshot is sent page by page, each next page only
+   * on request of joining member.
+   */
+  private void startJoinSync(Message syncMsg) {
+    String cid = syncMsg.correlationId();
+    JoinSync prevJoinSync = joinSyncs.remove(cid);
+    if (prevJoinSync != null) {
+      prevJoinSync.expirationTask.cancel(false);
+    }
+    int maxConcurrentJoins = config.getSyncMaxConcurrentJoins();
+    if (maxConcurrentJoins > 0 && joinSyncs.size() >= maxConcurrentJoins) {
+      LOGGER.warn("Ignored initial Sync from {}, too many concurrent join syncs: {}",
+          syncMsg.sender(), joinSyncs.size());
+      return;
+    }
+    JoinSync joinSync = new JoinSync(syncMsg.sender(), new ArrayList<>(membershipTable.values()));
+    joinSyncs.put(cid, joinSync);
+    sendSyncPage(cid, joinSync, 0);
+  }
+
+  private void onSyncPage(Message pageMsg) {
+    String cid = pageMsg.correlationId();
+    JoinSync joinSync = cid != null ? joinSyncs.get(cid) : null;
+    if (joinSync == null) {
+      LOGGER.debug("Received next page request of unknown or expired join sync: {}", pageMsg);
+      return;
+    }
+    SyncData pageRequest = pageMsg.data();
+    sendSyncPage(cid, joinSync, pageRequest.getPage());
+  }
+
+  private void sendSyncPage(String cid, JoinSync joinSync, int page) {
+    int pageSize = config.getSyncPageSize();
+    int from = Math.min(page * pageSize, joinSync.records.size());
+    int to = Math.min(from + pageSize, joinSync.records.size());
+    boolean hasMorePages = to < joinSync.records.size();
+    SyncData syncData = new SyncData(joinSync.records.subList(from, to), config.getSyncGroup(), page, hasMorePages);
+    transport.send(joinSync.address, Message.withData(syncData).qualifier(SYNC_ACK).correlationId(cid).build());
+    LOGGER.debug("Send SyncAck page {} to {}", page, joinSync.address);
+
+    if (joinSync.expirationTask != null) {
+      joinSync.expirationTask.cancel(false);
+    }
+    if (hasMorePages) {
+      joinSync.expirationTask = executor.schedule(() -> joinSyncs.remove(cid, joinSync),
+          config.getSyncTimeout(), TimeUnit.MILLISECONDS);
+    } else {
+      joinSyncs.remove(cid);
+    }
+  }
+
   /**
    * Merges FD updates and processes them.
    */
@@ -404,17 +767,23 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
       return;
     }
     if (r0.status() == fdEvent.status()) { // status not changed
+      if (r0.isSuspect() && confirmSuspicion(r0, member().id())) {
+        // Member is already suspected by others, spread independent accusation of local member
+        LOGGER.debug("Confirmed suspicion of member {} on failure detector event", r0.id());
+        disseminateMembershipRecord(r0, member().id());
+      }
       return;
     }
     LOGGER.debug("Received status change on failure detector event: {}", fdEvent);
     if (fdEvent.status() == ALIVE) {
       // TODO: Consider to make more elegant solution
       // Alive won't override SUSPECT so issue instead extra sync with member to force it spread alive with inc + 1
-      Message syncMsg = prepareSyncDataMsg(SYNC, null);
+      Message syncMsg = preparePeriodicSyncMsg();
       transport.send(fdEvent.member().address(), syncMsg);
     } else {
       MembershipRecord r1 = new MembershipRecord(r0.member(), fdEvent.status(), r0.incarnation());
       updateMembership(r1, MembershipUpdateReason.FAILURE_DETECTOR_EVENT);
+      confirmSuspicion(r1, member().id());
     }
   }
 
@@ -424,51 +793,163 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
   private void onMembershipGossip(Message message) {
     MembershipRecord record = message.data();
     LOGGER.debug("Received membership gossip: {}", record);
-    updateMembership(record, MembershipUpdateReason.MEMBERSHIP_GOSSIP);
+    String reporter = message.header(SUSPICION_REPORTER_HEADER);
+    updateMembership(record, MembershipUpdateReason.MEMBERSHIP_GOSSIP, reporter);
+    confirmSuspicion(record, reporter);
+  }
+
+  /**
+   * Called from failure detector thread on membership record piggybacked on ping or ack message.
+   */
+  private void onPiggybackRecord(Message message) {
+    if (stopped) {
+      return;
+    }
+    executor.execute(() -> {
+      if (stopped) {
+        return; // task was queued on shared executor before stop
+      }
+      MembershipRecord record = message.data();
+      LOGGER.trace("Received piggybacked membership record: {}", record);
+      String reporter = message.header(SUSPICION_REPORTER_HEADER);
+      updateMembership(record, MembershipUpdateReason.PIGGYBACK, reporter);
+      confirmSuspicion(record, reporter);
+    });
+  }
+
+  /**
+   * Called from failure detector thread on ping from member which suspects local member.
+   */
+  private void onSuspectedByPing(Member reporter) {
+    if (stopped) {
+      return;
+    }
+    executor.execute(() -> {
+      if (stopped) {
+        return; // task was queued on shared executor before stop
+      }
+      MembershipRecord r0 = membershipTable.get(member().id());
+      LOGGER.debug("Member {} suspects local member, refute suspicion of {}", reporter, r0);
+      updateMembership(new MembershipRecord(r0.member(), SUSPECT, r0.incarnation()),
+          MembershipUpdateReason.FAILURE_DETECTOR_EVENT);
+    });
+  }
+
+  /**
+   * Syncs with representatives of local cell which aren't known members, so member which joined cluster via seed
+   * members of other cells joins its own cell and partitions of the cell merge.
+   */
+  private void onLocalCellSummary(CellSummary summary) {
+    Set<Address> knownAddresses = membershipTable.values().stream()
+        .map(MembershipRecord::address)
+        .collect(Collectors.toSet());
+    for (Address address : summary.representatives()) {
+      if (!knownAddresses.contains(address)) {
+        LOGGER.debug("Send Sync to representative of local cell {}: {}", summary.cellId(), address);
+        transport.send(address, preparePeriodicSyncMsg());
+      }
+    }
   }
 
   // ================================================
   // ============== Helper Methods ==================
   // ================================================
 
+  /**
+   * Selects sync target in randomized round-robin manner among alive members and seed members which aren't known
+   * members (so partition with seed members heals). Each round visits every target once in random order, so periodic
+   * sync load is spread evenly instead of landing on seed members only.
+   */
   private Address selectSyncAddress() {
-    // TODO [AK]: During running phase it should send to both seed or not seed members (issue #38)
-    return !seedMembers.isEmpty() ? seedMembers.get(ThreadLocalRandom.current().nextInt(seedMembers.size())) : null;
+    if (syncAddressIndex >= syncAddresses.size()) {
+      Set<Address> addresses = new LinkedHashSet<>();
+      String localMemberId = member().id();
+      for (MembershipRecord record : membershipTable.values()) {
+        if (record.isAlive() && !record.id().equals(localMemberId)) {
+          addresses.add(record.address());
+        }
+      }
+      addresses.addAll(seedMembers);
+      syncAddresses.clear();
+      syncAddresses.addAll(addresses);
+      Collections.shuffle(syncAddresses, random());
+      syncAddressIndex = 0;
+    }
+    return !syncAddresses.isEmpty() ? syncAddresses.get(syncAddressIndex++) : null;
+  }
+
+  private void onSyncRequestReceived(Message syncMsg) {
+    if (syncMsg.correlationId() != null) {
+      return; // initial sync
+    }
+    syncMetrics.onRequestReceived();
+    if (flightRecorder != null) {
+      flightRecorder.onSync(memberRef.get().id(), syncMsg.sender(), true, syncMsg.qualifier(),
+          syncMetrics.requestsReceived());
+    }
   }
 
   private boolean checkSyncGroup(Message message) {
-    SyncData data = message.data();
-    return config.getSyncGroup().equals(data.getSyncGroup());
+    Object data = message.data();
+    String syncGroup = data instanceof SyncDigest
+        ? ((SyncDigest) data).getSyncGroup()
+        : ((SyncData) data).getSyncGroup();
+    return config.getSyncGroup().equals(syncGroup);
   }
 
   private void schedulePeriodicSync() {
+    if (stopped) {
+      return; // initial sync completed after stop
+    }
     int syncInterval = config.getSyncInterval();
     syncTask = executor.scheduleWithFixedDelay(this::doSync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
   }
 
   private Message prepareSyncDataMsg(String qualifier, String cid) {
     List<MembershipRecord> membershipRecords = new ArrayList<>(membershipTable.values());
+    boolean initialSyncAck = SYNC_ACK.equals(qualifier) && cid != null; // initial sync transfers full metadata
+    if (!initialSyncAck) {
+      membershipRecords.replaceAll(this::outgoingRecord);
+    }
     SyncData syncData = new SyncData(membershipRecords, config.getSyncGroup());
     return Message.withData(syncData).qualifier(qualifier).correlationId(cid).build();
   }
 
+  private Message preparePeriodicSyncMsg() {
+    if (!config.isSyncDeltaEnabled()) {
+      return prepareSyncDataMsg(SYNC, null);
+    }
+    SyncDigest digest = new SyncDigest(config.getSyncGroup());
+    membershipTable.values().forEach(digest::add);
+    return Message.withData(digest).qualifier(SYNC_DIGEST).build();
+  }
+
   private void syncMembership(SyncData syncData, boolean initial) {
     for (MembershipRecord r1 : syncData.getMembership()) {
       MembershipRecord r0 = membershipTable.get(r1.id());
       if (!r1.equals(r0)) {
+        if (!initial && r1.isOverrides(r0)) {
+          syncMetrics.onRecordUpdated();
+        }
         MembershipUpdateReason reason = initial ? MembershipUpdateReason.INITIAL_SYNC : MembershipUpdateReason.SYNC;
         updateMembership(r1, reason);
       }
     }
   }
 
+  private void updateMembership(MembershipRecord r1, MembershipUpdateReason reason) {
+    updateMembership(r1, reason, null);
+  }
+
   /**
    * Try to update membership table with the given record.
    *
    * @param r1 new membership record which compares with existing r0 record
    * @param reason indicating the reason for updating membership table
+   * @param suspicionReporter id of member which suspected member of received SUSPECT record, kept when the record is
+   *        disseminated further; null if unknown
    */
-  private void updateMembership(MembershipRecord r1, MembershipUpdateReason reason) {
+  private void updateMembership(MembershipRecord r1, MembershipUpdateReason reason, String suspicionReporter) {
     Preconditions.checkArgument(r1 != null, "Membership record can't be null");
 
     // Get current record
@@ -487,14 +968,51 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
       membershipTable.put(localMember.id(), r2);
       LOGGER.debug("Local membership record r0={}, but received r1={}, spread r2={}", r0, r1, r2);
       spreadMembershipGossip(r2);
+      if (r1.isSuspect()) {
+        failureDetector.onSuspicionRefuted();
+      }
+      return;
+    }
+
+    // Keep only members of local cell in hierarchical mode, don't fetch metadata of others if cell is known by id
+    if (cellProtocol != null && cellProtocol.isCellSelectedById() && !cellProtocol.isLocalCell(r1.member())) {
+      return;
+    }
+
+    // Resolve metadata referred by version
+    if (!r1.hasMetadata()) {
+      r1 = resolveMetadata(r1, r0, reason, suspicionReporter);
+      if (r1 == null) {
+        return; // metadata is being fetched
+      }
+    }
+
+    // Keep only members of local cell in hierarchical mode, forget known member which moved to another cell
+    if (cellProtocol != null && !cellProtocol.isLocalCell(r1.member())) {
+      if (r0 != null) {
+        LOGGER.debug("Member {} moved out of local cell, r0={}, r1={}", r1.id(), r0, r1);
+        removeMember(r0.id());
+        cancelSuspicionTimeoutTask(r0.id());
+        subject.onNext(MembershipEvent.createRemoved(r0.member()));
+      }
       return;
     }
 
     // Update membership
     if (r1.isDead()) {
-      membershipTable.remove(r1.id());
+      removeMember(r1.id());
     } else {
       membershipTable.put(r1.id(), r1);
+      if (r1.isSuspect()) {
+        suspectedMembers.add(r1.id());
+      } else {
+        suspectedMembers.remove(r1.id());
+      }
+    }
+
+    if (flightRecorder != null && (r0 == null || r0.status() != r1.status())) {
+      flightRecorder.onMemberStatusChange(memberRef.get().id(), r1.member(), r0 != null ? r0.status() : null,
+          r1.status(), r1.incarnation(), reason.name());
     }
 
     // Schedule/cancel suspicion timeout task
@@ -516,11 +1034,23 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
 
     // Spread gossip (unless already gossiped)
     if (reason != MembershipUpdateReason.MEMBERSHIP_GOSSIP && reason != MembershipUpdateReason.INITIAL_SYNC) {
-      spreadMembershipGossip(r1);
+      boolean suspectedLocally = reason == MembershipUpdateReason.FAILURE_DETECTOR_EVENT && r1.isSuspect();
+      String reporter = suspectedLocally ? localMember.id() : r1.isSuspect() ? suspicionReporter : null;
+      disseminateMembershipRecord(r1, reporter);
+    }
+  }
+
+  private void removeMember(String memberId) {
+    membershipTable.remove(memberId);
+    suspectedMembers.remove(memberId);
+    MetadataFetch fetch = metadataFetches.remove(memberId);
+    if (fetch != null) {
+      fetch.timeoutTask.cancel(false);
     }
   }
 
   private void cancelSuspicionTimeoutTask(String memberId) {
+    suspicions.remove(memberId);
     ScheduledFuture<?> future = suspicionTimeoutTasks.remove(memberId);
     if (future != null) {
       future.cancel(true);
@@ -530,12 +1060,54 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
   private void scheduleSuspicionTimeoutTask(MembershipRecord record) {
     long suspicionTimeout =
         ClusterMath.suspicionTimeout(config.getSuspicionMult(), membershipTable.size(), config.getPingInterval());
+    if (config.isLifeguardEnabled() && !suspicionTimeoutTasks.containsKey(record.id())) {
+      // Suspicion timeout starts at max and shrinks as independent confirmations arrive
+      Suspicion suspicion = new Suspicion(record.incarnation(), nowMillis(), suspicionTimeout,
+          suspicionTimeout * config.getSuspicionMaxTimeoutMult(), expectedSuspicionConfirmations());
+      suspicions.put(record.id(), suspicion);
+      suspicionTimeout = suspicion.timeout();
+    }
+    long timeout = suspicionTimeout;
     suspicionTimeoutTasks.computeIfAbsent(record.id(),
-        id -> executor.schedule(() -> onSuspicionTimeout(id), suspicionTimeout, TimeUnit.MILLISECONDS));
+        id -> executor.schedule(() -> onSuspicionTimeout(id), timeout, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Returns number of independent suspicion confirmations after which suspicion timeout drops to regular one. If there
+   * are not enough members to confirm suspicion returns 0, so regular suspicion timeout is applied straight away.
+   */
+  private int expectedSuspicionConfirmations() {
+    int expected = Math.max(config.getSuspicionMult() - 2, 0);
+    return membershipTable.size() - 2 < expected ? 0 : expected;
+  }
+
+  /**
+   * Counts suspicion of given member reported by given member and shortens suspicion timeout accordingly.
+   *
+   * @return true if reporter is counted for the first time for current suspicion
+   */
+  private boolean confirmSuspicion(MembershipRecord record, String reporter) {
+    Suspicion suspicion = suspicions.get(record.id());
+    if (suspicion == null || reporter == null || !record.isSuspect() || record.incarnation() != suspicion.incarnation) {
+      return false;
+    }
+    if (!suspicion.reporters.add(reporter)) {
+      return false; // not independent confirmation
+    }
+    long remaining = suspicion.startTime + suspicion.timeout() - nowMillis();
+    LOGGER.debug("Suspicion of member {} confirmed by {}, remaining timeout {} ms", record.id(), reporter, remaining);
+    ScheduledFuture<?> future = suspicionTimeoutTasks.remove(record.id());
+    if (future != null) {
+      future.cancel(false);
+    }
+    suspicionTimeoutTasks.put(record.id(), executor.schedule(
+        () -> onSuspicionTimeout(record.id()), Math.max(remaining, 0), TimeUnit.MILLISECONDS));
+    return true;
   }
 
   private void onSuspicionTimeout(String memberId) {
     suspicionTimeoutTasks.remove(memberId);
+    suspicions.remove(memberId);
     MembershipRecord record = membershipTable.get(memberId);
     if (record != null) {
       LOGGER.debug("Declare SUSPECTED member as DEAD by timeout: {}", record);
@@ -553,9 +1125,209 @@ public final class MembershipProtocolImpl implements MembershipProtocol {
     return spreadMembershipGossip(newRecord);
   }
 
+  /**
+   * Disseminates record of remote member. If piggybacking is enabled record is only piggybacked on failure detector
+   * messages, otherwise it is gossiped.
+   */
+  private void disseminateMembershipRecord(MembershipRecord record, String suspicionReporter) {
+    if (piggybackBuffer != null) {
+      piggybackBuffer.add(membershipMessage(record, suspicionReporter), maxPiggybackTransmissions());
+    } else {
+      spreadMembershipGossip(record, suspicionReporter);
+    }
+  }
+
+  private int maxPiggybackTransmissions() {
+    return ClusterMath.gossipPeriodsToSpread(config.getGossipRepeatMult(), membershipTable.size());
+  }
+
   private CompletableFuture<String> spreadMembershipGossip(MembershipRecord record) {
-    Message membershipMsg = Message.withData(record).qualifier(MEMBERSHIP_GOSSIP).build();
+    return spreadMembershipGossip(record, null);
+  }
+
+  private CompletableFuture<String> spreadMembershipGossip(MembershipRecord record, String suspicionReporter) {
+    Message membershipMsg = membershipMessage(record, suspicionReporter);
+    if (piggybackBuffer != null) {
+      piggybackBuffer.add(membershipMsg, maxPiggybackTransmissions());
+    }
     return gossipProtocol.spread(membershipMsg);
   }
 
+  /**
+   * Creates membership message with given record. If record is suspicion reported by local member message is marked
+   * with reporter header, so receivers can count independent confirmations of suspicion.
+   */
+  private Message membershipMessage(MembershipRecord record, String suspicionReporter) {
+    Message.Builder builder = Message.withData(outgoingRecord(record)).qualifier(MEMBERSHIP_GOSSIP);
+    if (suspicionReporter != null) {
+      builder.header(SUSPICION_REPORTER_HEADER, suspicionReporter);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns record to send to other members. If metadata fetch is enabled member metadata is replaced with its
+   * version, so it is transferred only to members which don't have it yet.
+   */
+  private MembershipRecord outgoingRecord(MembershipRecord record) {
+    return config.isMetadataFetchEnabled() ? record.withoutMetadata() : record;
+  }
+
+  // ================================================
+  // ============== Metadata Fetch ==================
+  // ================================================
+
+  /**
+   * Resolves metadata of the given record which refers metadata by version. Returns record with metadata embedded if
+   * metadata of this version is known locally, otherwise starts fetching metadata and returns null. Fetched record is
+   * applied to membership table on response.
+   */
+  private MembershipRecord resolveMetadata(MembershipRecord r1, MembershipRecord r0, MembershipUpdateReason reason,
+      String suspicionReporter) {
+    boolean sameMetadata =
+        r0 != null && MembershipRecord.versionOf(r0.member().metadata()) == r1.metadataVersion();
+    if (r0 != null && (r1.isDead() || sameMetadata)) {
+      return r1.withMetadata(r0.member().metadata()); // metadata isn't needed for dead member or not changed
+    }
+    Map<String, String> metadata = metadataCache.getIfPresent(metadataKey(r1.id(), r1.metadataVersion()));
+    if (metadata != null) {
+      return r1.withMetadata(metadata);
+    }
+    MetadataFetch fetch = metadataFetches.get(r1.id());
+    if (fetch != null && fetch.record.metadataVersion() == r1.metadataVersion()) {
+      fetch.record = r1; // fetch in progress, apply latest record on response
+      fetch.reason = reason;
+      fetch.suspicionReporter = suspicionReporter;
+      return null;
+    }
+    if (fetch != null) {
+      fetch.timeoutTask.cancel(false);
+    }
+    metadataFetches.put(r1.id(), new MetadataFetch(r1, reason, suspicionReporter));
+    sendGetMetadata(r1.address(), r1, 1);
+    return null;
+  }
+
+  private void sendGetMetadata(Address address, MembershipRecord record, int attempt) {
+    MemberMetadata request = new MemberMetadata(record.id(), record.metadataVersion());
+    transport.send(address, Message.withData(request).qualifier(GET_METADATA_REQ).build());
+    LOGGER.debug("Send GetMetadata to {} (attempt {}): {}", address, attempt, request);
+    MetadataFetch fetch = metadataFetches.get(record.id());
+    fetch.timeoutTask = executor.schedule(() -> onGetMetadataTimeout(record.id(), record.metadataVersion(), attempt),
+        config.getMetadataFetchTimeout(), TimeUnit.MILLISECONDS);
+  }
+
+  private void onGetMetadataTimeout(String memberId, long version, int attempt) {
+    MetadataFetch fetch = metadataFetches.get(memberId);
+    if (fetch == null || fetch.record.metadataVersion() != version) {
+      return;
+    }
+    // Owner didn't respond, ask random member which may have metadata of this version
+    List<Address> addresses = membershipTable.values().stream()
+        .filter(record -> !record.id().equals(memberId) && !record.id().equals(member().id()))
+        .map(MembershipRecord::address)
+        .collect(Collectors.toList());
+    if (attempt >= METADATA_FETCH_ATTEMPTS || addresses.isEmpty()) {
+      LOGGER.debug("Failed to fetch metadata of member {} version {}", memberId, version);
+      metadataFetches.remove(memberId);
+      return; // record will be received again on next sync
+    }
+    Address address = addresses.get(random().nextInt(addresses.size()));
+    sendGetMetadata(address, fetch.record, attempt + 1);
+  }
+
+  private void onGetMetadataRequest(Message message) {
+    MemberMetadata request = message.data();
+    Map<String, String> metadata = metadataCache.getIfPresent(metadataKey(request.memberId(), request.version()));
+    if (metadata == null) {
+      MembershipRecord record = membershipTable.get(request.memberId());
+      if (record == null || MembershipRecord.versionOf(record.member().metadata()) != request.version()) {
+        return; // unknown metadata version
+      }
+      metadata = record.member().metadata();
+    }
+    MemberMetadata response = new MemberMetadata(request.memberId(), request.version(), metadata);
+    transport.send(message.sender(), Message.withData(response).qualifier(GET_METADATA_RESP).build());
+  }
+
+  private void onGetMetadataResponse(Message message) {
+    MemberMetadata response = message.data();
+    LOGGER.debug("Received GetMetadata response: {}", response);
+    metadataCache.put(metadataKey(response.memberId(), response.version()), response.metadata());
+    MetadataFetch fetch = metadataFetches.get(response.memberId());
+    if (fetch != null && fetch.record.metadataVersion() == response.version()) {
+      metadataFetches.remove(response.memberId());
+      fetch.timeoutTask.cancel(false);
+      updateMembership(fetch.record.withMetadata(response.metadata()), fetch.reason, fetch.suspicionReporter);
+    }
+  }
+
+  private long nowMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(config.getTicker().read());
+  }
+
+  private Random random() {
+    return config.getRandom() != null ? config.getRandom() : ThreadLocalRandom.current();
+  }
+
+  private static String metadataKey(String memberId, long version) {
+    return memberId + '/' + version;
+  }
+
+  /**
+   * Suspicion of member with timeout which shrinks as independent confirmations arrive (see Lifeguard).
+   */
+  private static final class Suspicion {
+    private final int incarnation;
+    private final long minTimeout;
+    private final long maxTimeout;
+    private final int expectedConfirmations;
+    private final long startTime;
+    private final Set<String> reporters = new HashSet<>();
+
+    private Suspicion(int incarnation, long startTime, long minTimeout, long maxTimeout, int expectedConfirmations) {
+      this.incarnation = incarnation;
+      this.startTime = startTime;
+      this.minTimeout = minTimeout;
+      this.maxTimeout = maxTimeout;
+      this.expectedConfirmations = expectedConfirmations;
+    }
+
+    private long timeout() {
+      // First reporter is accuser, others are confirmations
+      int confirmations = Math.max(reporters.size() - 1, 0);
+      return ClusterMath.suspicionTimeout(minTimeout, maxTimeout, confirmations, expectedConfirmations);
+    }
+  }
+
+  /**
+   * Paged initial sync with joining member.
+   */
+  private static final class JoinSync {
+    private final Address address;
+    private final List<MembershipRecord> records; // membership table snapshot
+    private ScheduledFuture<?> expirationTask;
+
+    private JoinSync(Address address, List<MembershipRecord> records) {
+      this.address = address;
+      this.records = records;
+    }
+  }
+
+  /**
+   * Membership record waiting for its metadata to be fetched.
+   */
+  private static final class MetadataFetch {
+    private MembershipRecord record;
+    private MembershipUpdateReason reason;
+    private String suspicionReporter;
+    private ScheduledFuture<?> timeoutTask;
+
+    private MetadataFetch(MembershipRecord record, MembershipUpdateReason reason, String suspicionReporter) {
+      this.record = record;
+      this.reason = reason;
+      this.suspicionReporter = suspicionReporter;
+    }
+  }
+
 }
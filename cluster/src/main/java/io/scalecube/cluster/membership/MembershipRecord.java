@@ -8,13 +8,20 @@ import static io.scalecube.cluster.membership.MemberStatus.SUSPECT;
 import io.scalecube.cluster.Member;
 import io.scalecube.transport.Address;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 
 /**
- * Cluster membership record which represents member, status, and incarnation.
+ * Cluster membership record which represents member, status, and incarnation. Record sent to other members may refer
+ * member metadata by its version instead of embedding it, see {@link #withoutMetadata()}.
  */
 @Immutable
 final class MembershipRecord {
@@ -23,15 +30,25 @@ final class MembershipRecord {
   private final MemberStatus status;
   private final int incarnation;
 
+  /**
+   * Version of member metadata which isn't embedded into this record; 0 if metadata is embedded.
+   */
+  private final long metadataVersion;
+
   /**
    * Instantiates new instance of membership record with given member, status and incarnation.
    */
   public MembershipRecord(Member member, MemberStatus status, int incarnation) {
+    this(member, status, incarnation, 0);
+  }
+
+  private MembershipRecord(Member member, MemberStatus status, int incarnation, long metadataVersion) {
     checkArgument(member != null);
     checkArgument(status != null);
     this.member = member;
     this.status = status;
     this.incarnation = incarnation;
+    this.metadataVersion = metadataVersion;
   }
 
   @Nonnull
@@ -70,6 +87,50 @@ final class MembershipRecord {
     return incarnation;
   }
 
+  /**
+   * Returns version of member metadata which isn't embedded into this record or 0 if metadata is embedded.
+   */
+  public long metadataVersion() {
+    return metadataVersion;
+  }
+
+  public boolean hasMetadata() {
+    return metadataVersion == 0;
+  }
+
+  /**
+   * Returns copy of this record where member metadata is replaced with its version. Records with empty metadata are
+   * returned as is.
+   */
+  MembershipRecord withoutMetadata() {
+    if (!hasMetadata() || member.metadata().isEmpty()) {
+      return this;
+    }
+    Member strippedMember = new Member(member.id(), member.address());
+    return new MembershipRecord(strippedMember, status, incarnation, versionOf(member.metadata()));
+  }
+
+  /**
+   * Returns copy of this record with given member metadata embedded.
+   */
+  MembershipRecord withMetadata(Map<String, String> metadata) {
+    return new MembershipRecord(new Member(member.id(), member.address(), metadata), status, incarnation);
+  }
+
+  /**
+   * Computes version of given metadata as a hash of its content, so any member having metadata of the same version can
+   * provide it. Never returns 0.
+   */
+  static long versionOf(Map<String, String> metadata) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (Map.Entry<String, String> entry : new TreeMap<>(metadata).entrySet()) {
+      hasher.putInt(entry.getKey().length()).putString(entry.getKey(), StandardCharsets.UTF_8);
+      hasher.putInt(entry.getValue().length()).putString(entry.getValue(), StandardCharsets.UTF_8);
+    }
+    long version = hasher.hash().asLong();
+    return version != 0 ? version : 1;
+  }
+
   /**
    * Checks either this record overrides given record.
    *
@@ -81,16 +142,30 @@ final class MembershipRecord {
       return isAlive();
     }
     checkArgument(this.member.id().equals(r0.member.id()), "Can't compare records for different members");
-    if (r0.status == DEAD) {
+    return isOverrides(status, incarnation, r0.status, r0.incarnation);
+  }
+
+  /**
+   * Checks either record state (status and incarnation) overrides existing record state. Used to compare records with
+   * their digests.
+   *
+   * @param status1 status of new record
+   * @param incarnation1 incarnation of new record
+   * @param status0 status of existing record
+   * @param incarnation0 incarnation of existing record
+   * @return true if new record state overrides existing; false otherwise
+   */
+  static boolean isOverrides(MemberStatus status1, int incarnation1, MemberStatus status0, int incarnation0) {
+    if (status0 == DEAD) {
       return false;
     }
-    if (status == DEAD) {
+    if (status1 == DEAD) {
       return true;
     }
-    if (incarnation == r0.incarnation) {
-      return (status != r0.status) && (status == SUSPECT);
+    if (incarnation1 == incarnation0) {
+      return (status1 != status0) && (status1 == SUSPECT);
     } else {
-      return incarnation > r0.incarnation;
+      return incarnation1 > incarnation0;
     }
   }
 
@@ -104,17 +179,19 @@ final class MembershipRecord {
     }
     MembershipRecord record = (MembershipRecord) that;
     return incarnation == record.incarnation
+        && metadataVersion == record.metadataVersion
         && Objects.equals(member, record.member)
         && status == record.status;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(member, status, incarnation);
+    return Objects.hash(member, status, incarnation, metadataVersion);
   }
 
   @Override
   public String toString() {
-    return "{m: " + member + ", s: " + status + ", inc: " + incarnation + '}';
+    return "{m: " + member + ", s: " + status + ", inc: " + incarnation
+        + (hasMetadata() ? "" : ", mv: " + metadataVersion) + '}';
   }
 }
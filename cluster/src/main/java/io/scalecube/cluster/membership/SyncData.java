@@ -4,12 +4,15 @@ import io.protostuff.Tag;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.concurrent.Immutable;
 
 /**
  * A class containing full membership table from specific member and used full synchronization between cluster members.
+ * In delta sync it contains only membership records which differ and ids of records requested back from receiver. In
+ * paged initial sync it contains single page of membership table or request of the next page.
  *
  * @author Anton Kharenko
  */
@@ -28,22 +31,84 @@ final class SyncData {
   @Tag(2)
   private final String syncGroup;
 
+  /**
+   * Ids of membership records requested from receiver in delta sync.
+   */
+  @Tag(3)
+  private final List<String> requested;
+
+  /**
+   * Page number in paged initial sync.
+   */
+  @Tag(4)
+  private final int page;
+
+  /**
+   * Whether more pages follow in paged initial sync.
+   */
+  @Tag(5)
+  private final boolean hasMorePages;
+
   public SyncData(Collection<MembershipRecord> membership, String syncGroup) {
+    this(membership, syncGroup, Collections.emptyList());
+  }
+
+  /**
+   * Creates sync data of delta sync.
+   *
+   * @param membership membership records which differ at receiver
+   * @param syncGroup sync group
+   * @param requested ids of membership records requested from receiver
+   */
+  public SyncData(Collection<MembershipRecord> membership, String syncGroup, Collection<String> requested) {
+    this(membership, syncGroup, requested, 0, false);
+  }
+
+  /**
+   * Creates sync data of paged initial sync.
+   *
+   * @param membership membership records of the page
+   * @param syncGroup sync group
+   * @param page page number
+   * @param hasMorePages whether more pages follow
+   */
+  public SyncData(Collection<MembershipRecord> membership, String syncGroup, int page, boolean hasMorePages) {
+    this(membership, syncGroup, Collections.emptyList(), page, hasMorePages);
+  }
+
+  private SyncData(Collection<MembershipRecord> membership, String syncGroup, Collection<String> requested, int page,
+      boolean hasMorePages) {
     this.membership = new ArrayList<>(membership);
     this.syncGroup = syncGroup;
+    this.requested = !requested.isEmpty() ? new ArrayList<>(requested) : null;
+    this.page = page;
+    this.hasMorePages = hasMorePages;
   }
 
   public Collection<MembershipRecord> getMembership() {
-    return new ArrayList<>(membership);
+    return membership != null ? new ArrayList<>(membership) : Collections.emptyList(); // empty list isn't serialized
+  }
+
+  public Collection<String> getRequested() {
+    return requested != null ? requested : Collections.emptyList();
   }
 
   public String getSyncGroup() {
     return syncGroup;
   }
 
+  public int getPage() {
+    return page;
+  }
+
+  public boolean hasMorePages() {
+    return hasMorePages;
+  }
+
   @Override
   public String toString() {
-    return "SyncData{membership=" + membership + ", syncGroup=" + syncGroup + '}';
+    return "SyncData{membership=" + membership + ", syncGroup=" + syncGroup + ", requested=" + requested
+        + ", page=" + page + ", hasMorePages=" + hasMorePages + '}';
   }
 
 }
@@ -0,0 +1,67 @@
+package io.scalecube.cluster.membership;
+
+import io.protostuff.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact digest of membership table used by delta anti-entropy sync. Contains (member id, incarnation, status) of each
+ * membership record stored as parallel lists, so members can find out which records differ without transferring
+ * member addresses and metadata.
+ */
+final class SyncDigest {
+
+  @Tag(1)
+  private final List<String> ids;
+
+  @Tag(2)
+  private final List<Integer> incarnations;
+
+  @Tag(3)
+  private final List<MemberStatus> statuses;
+
+  /**
+   * Sort of cluster identifier. Only members in the same sync group allowed to join into cluster.
+   */
+  @Tag(4)
+  private final String syncGroup;
+
+  public SyncDigest(String syncGroup) {
+    this.ids = new ArrayList<>();
+    this.incarnations = new ArrayList<>();
+    this.statuses = new ArrayList<>();
+    this.syncGroup = syncGroup;
+  }
+
+  public void add(MembershipRecord record) {
+    ids.add(record.id());
+    incarnations.add(record.incarnation());
+    statuses.add(record.status());
+  }
+
+  public int size() {
+    return ids != null ? ids.size() : 0; // empty lists are not serialized
+  }
+
+  public String id(int index) {
+    return ids.get(index);
+  }
+
+  public int incarnation(int index) {
+    return incarnations.get(index);
+  }
+
+  public MemberStatus status(int index) {
+    return statuses.get(index);
+  }
+
+  public String getSyncGroup() {
+    return syncGroup;
+  }
+
+  @Override
+  public String toString() {
+    return "SyncDigest{size=" + size() + ", syncGroup=" + syncGroup + '}';
+  }
+}
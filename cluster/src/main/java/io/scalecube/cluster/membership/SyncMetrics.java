@@ -0,0 +1,73 @@
+package io.scalecube.cluster.membership;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts periodic membership sync requests (full SYNC or SYNC_DIGEST) which local member sends and receives, so sync
+ * load of members can be compared. Initial syncs of joining members aren't counted.
+ */
+public final class SyncMetrics {
+
+  private final LongAdder requestsSent = new LongAdder();
+  private final LongAdder requestsReceived = new LongAdder();
+  private final LongAdder recordsUpdated = new LongAdder();
+
+  SyncMetrics() {}
+
+  void onRequestSent() {
+    requestsSent.increment();
+  }
+
+  void onRequestReceived() {
+    requestsReceived.increment();
+  }
+
+  void onRecordUpdated() {
+    recordsUpdated.increment();
+  }
+
+  /**
+   * Returns number of periodic sync requests sent to other members.
+   */
+  public long requestsSent() {
+    return requestsSent.sum();
+  }
+
+  /**
+   * Returns number of periodic sync requests received from other members.
+   */
+  public long requestsReceived() {
+    return requestsReceived.sum();
+  }
+
+  /**
+   * Returns number of membership records received by periodic sync which override local ones, i.e. updates which
+   * gossips didn't deliver.
+   */
+  public long recordsUpdated() {
+    return recordsUpdated.sum();
+  }
+
+  /**
+   * Registers gauges {@code requests.out|in} and {@code records.updated} in the given registry under the given prefix.
+   *
+   * @param registry metric registry
+   * @param prefix metric names prefix
+   */
+  public void register(MetricRegistry registry, String prefix) {
+    registry.register(MetricRegistry.name(prefix, "requests", "out"), (Gauge<Long>) this::requestsSent);
+    registry.register(MetricRegistry.name(prefix, "requests", "in"), (Gauge<Long>) this::requestsReceived);
+    registry.register(MetricRegistry.name(prefix, "records", "updated"), (Gauge<Long>) this::recordsUpdated);
+  }
+
+  @Override
+  public String toString() {
+    return "SyncMetrics{requestsSent=" + requestsSent()
+        + ", requestsReceived=" + requestsReceived()
+        + ", recordsUpdated=" + recordsUpdated()
+        + '}';
+  }
+}
@@ -3,11 +3,16 @@ package io.scalecube.cluster;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import io.scalecube.cluster.gossip.GossipProtocolImpl;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.Transport;
 
 import com.google.common.collect.ImmutableMap;
 
+import io.netty.channel.EventLoopGroup;
+
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -16,8 +21,13 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class ClusterTest extends BaseTest {
 
@@ -191,6 +201,116 @@ public class ClusterTest extends BaseTest {
     node3.shutdown();
   }
 
+  @Test
+  public void testTopicGossips() throws Exception {
+    Cluster seedNode = Cluster.joinAwait();
+    Cluster interestedNode = Cluster.joinAwait(seedNode.address());
+    Cluster otherNode = Cluster.joinAwait(seedNode.address());
+    try {
+      CountDownLatch topicLatch = new CountDownLatch(1);
+      interestedNode.listenGossips("topic").subscribe(message -> topicLatch.countDown());
+      List<Message> otherGossips = new CopyOnWriteArrayList<>();
+      otherNode.listenGossips().subscribe(otherGossips::add);
+
+      // Await interest is advertised to seed node
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (!seedNode.member(interestedNode.member().id())
+          .map(member -> member.metadata().containsKey(GossipProtocolImpl.TOPICS_METADATA_KEY))
+          .orElse(false)) {
+        assertTrue("Topic interest wasn't advertised", System.currentTimeMillis() < deadline);
+        Thread.sleep(100);
+      }
+
+      seedNode.spreadGossip("topic", Message.fromData("topic-gossip"));
+      assertTrue("Topic gossip not received", topicLatch.await(10, TimeUnit.SECONDS));
+      assertTrue("Topic gossip emitted as regular gossip", otherGossips.isEmpty());
+    } finally {
+      shutdown(seedNode, interestedNode, otherNode);
+    }
+  }
+
+  @Test
+  public void testUpdateMetadataWithMetadataFetch() throws Exception {
+    ClusterConfig.Builder config = ClusterConfig.builder().metadataFetchEnabled(true);
+    Cluster seedNode = Cluster.joinAwait(config.build());
+    Cluster metadataNode = Cluster.joinAwait(config.seedMembers(seedNode.address())
+        .metadata(ImmutableMap.of("key1", "value1")).build());
+    Cluster otherNode = Cluster.joinAwait(config.metadata(ImmutableMap.of()).build());
+    try {
+      CountDownLatch updateLatch = new CountDownLatch(2);
+      seedNode.listenMembership().filter(MembershipEvent::isUpdated).subscribe(event -> updateLatch.countDown());
+      otherNode.listenMembership().filter(MembershipEvent::isUpdated).subscribe(event -> updateLatch.countDown());
+
+      // Updated metadata is gossiped by version and fetched from metadata node
+      Map<String, String> updatedMetadata = ImmutableMap.of("key1", "value2");
+      metadataNode.updateMetadata(updatedMetadata);
+      assertTrue("Metadata update not received", updateLatch.await(10, TimeUnit.SECONDS));
+
+      for (Cluster node : Arrays.asList(seedNode, otherNode)) {
+        Optional<Member> mNodeOpt = node.member(metadataNode.member().id());
+        assertTrue(mNodeOpt.isPresent());
+        assertEquals(updatedMetadata, mNodeOpt.get().metadata());
+      }
+    } finally {
+      shutdown(seedNode, metadataNode, otherNode);
+    }
+  }
+
+  @Test
+  public void testClustersShareTransportEventLoops() throws Exception {
+    EventLoopGroup eventLoopGroup = Transport.createEventLoopGroup(2);
+    ClusterConfig.Builder config = ClusterConfig.builder()
+        .eventLoopGroup(eventLoopGroup)
+        .transportEventLoopEnabled(true);
+    try {
+      assertClusterWorks(config);
+    } finally {
+      eventLoopGroup.shutdownGracefully();
+    }
+  }
+
+  @Test
+  public void testClustersShareProtocolExecutor() throws Exception {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      assertClusterWorks(ClusterConfig.builder().protocolExecutor(executor));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void assertClusterWorks(ClusterConfig.Builder config) throws Exception {
+    Cluster seedNode = Cluster.joinAwait(config.build());
+    int membersNum = 5;
+    List<Cluster> otherNodes = new ArrayList<>(membersNum);
+    try {
+      for (int i = 0; i < membersNum; i++) {
+        otherNodes.add(Cluster.joinAwait(config.seedMembers(seedNode.address()).build()));
+      }
+      assertEquals(membersNum + 1, seedNode.members().size());
+
+      // No thread per protocol is started
+      Set<String> threadNames = Thread.getAllStackTraces().keySet().stream()
+          .map(Thread::getName)
+          .collect(Collectors.toSet());
+      for (Cluster node : otherNodes) {
+        for (String prefix : Arrays.asList("sc-fdetector-", "sc-gossip-", "sc-membership-")) {
+          String threadName = prefix + node.address().port();
+          assertTrue("Unexpected thread " + threadName, !threadNames.contains(threadName));
+        }
+      }
+
+      // Gossips are delivered
+      CountDownLatch gossipLatch = new CountDownLatch(membersNum);
+      otherNodes.forEach(node -> node.listenGossips().subscribe(message -> gossipLatch.countDown()));
+      seedNode.spreadGossip(Message.fromData("gossip"));
+      assertTrue("Gossip not received", gossipLatch.await(10, TimeUnit.SECONDS));
+    } finally {
+      shutdown(seedNode);
+      shutdown(otherNodes);
+    }
+  }
+
   private void shutdown(Cluster... nodes) {
     shutdown(Arrays.asList(nodes));
   }
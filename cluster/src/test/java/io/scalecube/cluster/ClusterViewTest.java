@@ -0,0 +1,76 @@
+package io.scalecube.cluster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ClusterViewTest extends BaseTest {
+
+  private final Member local = new Member("b", Address.from("localhost:4801"), ImmutableMap.of("zone", "z1"));
+  private final Member memberA = new Member("a", Address.from("localhost:4802"), ImmutableMap.of("zone", "z2"));
+  private final Member memberC = new Member("c", Address.from("localhost:4803"), ImmutableMap.of("zone", "z1"));
+
+  @Test
+  public void testMembersOrderedById() {
+    ClusterView view = new ClusterView(local.id(), Collections.emptyList())
+        .withMember(local)
+        .withMember(memberC)
+        .withMember(memberA);
+
+    assertEquals(3, view.version());
+    assertEquals(Arrays.asList(memberA, local, memberC), view.members());
+    assertEquals(Arrays.asList(memberA, memberC), view.otherMembers());
+    assertEquals(memberC, view.member("c").get());
+    assertEquals(memberA, view.member(memberA.address()).get());
+  }
+
+  @Test
+  public void testVersionNotChangedWithoutChanges() {
+    ClusterView view = new ClusterView(local.id(), Collections.emptyList()).withMember(local).withMember(memberA);
+
+    assertSame(view, view.withMember(memberA));
+    assertSame(view, view.withoutMember(memberC));
+  }
+
+  @Test
+  public void testUpdateAndRemove() {
+    ClusterView view = new ClusterView(local.id(), Collections.singletonList("zone"))
+        .withMember(local)
+        .withMember(memberA);
+    Member updatedA = new Member("a", memberA.address(), ImmutableMap.of("zone", "z1"));
+
+    ClusterView updated = view.withMember(updatedA);
+    assertEquals(view.version() + 1, updated.version());
+    assertEquals(Arrays.asList(updatedA, local), updated.membersWith("zone", "z1"));
+    assertTrue(updated.membersWith("zone", "z2").isEmpty());
+    assertEquals(Collections.singletonList(memberA), view.membersWith("zone", "z2")); // old view stays unchanged
+
+    ClusterView removed = updated.withoutMember(updatedA);
+    assertEquals(updated.version() + 1, removed.version());
+    assertFalse(removed.member("a").isPresent());
+    assertFalse(removed.member(memberA.address()).isPresent());
+    assertEquals(Collections.singletonList(local), removed.membersWith("zone", "z1"));
+  }
+
+  @Test
+  public void testMembersWithNotIndexedKey() {
+    ClusterView view = new ClusterView(local.id(), Collections.emptyList())
+        .withMember(local)
+        .withMember(memberA)
+        .withMember(memberC);
+
+    assertEquals(Arrays.asList(local, memberC), view.membersWith("zone", "z1"));
+    assertTrue(view.membersWith("unknown", "z1").isEmpty());
+  }
+}
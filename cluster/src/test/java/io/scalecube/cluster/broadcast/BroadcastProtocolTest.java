@@ -0,0 +1,138 @@
+package io.scalecube.cluster.broadcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.cluster.membership.DummyMembershipProtocol;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.Transport;
+import io.scalecube.transport.TransportConfig;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BroadcastProtocolTest extends BaseTest {
+
+  private static final int MEMBERS_NUM = 5;
+
+  private final List<Transport> transports = new ArrayList<>();
+  private final List<BroadcastProtocolImpl> broadcasts = new ArrayList<>();
+  private final List<Map<String, AtomicInteger>> deliveries = new ArrayList<>(); // per member: data -> count
+  private final AtomicInteger gossipMessagesReceived = new AtomicInteger();
+
+  @After
+  public void tearDown() {
+    broadcasts.forEach(BroadcastProtocolImpl::stop);
+    transports.forEach(Transport::stop);
+  }
+
+  @Test
+  public void testMessagesDeliveredExactlyOnce() throws Exception {
+    initBroadcasts();
+    for (int i = 0; i < 3; i++) {
+      broadcasts.get(0).broadcast(Message.fromData("message-" + i));
+    }
+    awaitDelivered("message-0", "message-1", "message-2");
+    Thread.sleep(500);
+    for (int i = 1; i < MEMBERS_NUM; i++) {
+      for (AtomicInteger count : deliveries.get(i).values()) {
+        assertEquals("Member " + i + " received duplicate", 1, count.get());
+      }
+    }
+  }
+
+  @Test
+  public void testRedundantLinksArePruned() throws Exception {
+    initBroadcasts();
+    broadcasts.get(0).broadcast(Message.fromData("first"));
+    awaitDelivered("first");
+    Thread.sleep(500);
+    int firstMessages = gossipMessagesReceived.getAndSet(0);
+
+    broadcasts.get(0).broadcast(Message.fromData("second"));
+    awaitDelivered("second");
+    Thread.sleep(500);
+    int secondMessages = gossipMessagesReceived.get();
+    assertTrue("Expected less payload copies after pruning, first=" + firstMessages + ", second=" + secondMessages,
+        secondMessages < firstMessages);
+    assertEquals(MEMBERS_NUM - 1, secondMessages);
+  }
+
+  @Test
+  public void testEagerPushBoundedByFanout() throws Exception {
+    initBroadcasts(1);
+    broadcasts.get(0).broadcast(Message.fromData("first"));
+    awaitDelivered("first");
+    Thread.sleep(500);
+
+    // Each member eagerly pushes to at most one peer, members missed by the tree pull message by graft
+    int messages = gossipMessagesReceived.get();
+    assertTrue("Expected at most " + 2 * MEMBERS_NUM + " payload copies, but was " + messages,
+        messages <= 2 * MEMBERS_NUM);
+  }
+
+  @Test
+  public void testBrokenTreeLinkIsRepaired() throws Exception {
+    initBroadcasts();
+    broadcasts.get(0).broadcast(Message.fromData("first"));
+    awaitDelivered("first");
+    Thread.sleep(500);
+
+    // Break tree link to member 1, it should pull message from lazy peers and graft one of them
+    transports.get(0).networkEmulator().block(transports.get(1).address());
+    broadcasts.get(0).broadcast(Message.fromData("second"));
+    awaitDelivered("second");
+  }
+
+  private void initBroadcasts() {
+    initBroadcasts(ClusterConfig.DEFAULT_GOSSIP_FANOUT);
+  }
+
+  private void initBroadcasts(int gossipFanout) {
+    List<Address> addresses = new ArrayList<>();
+    for (int i = 0; i < MEMBERS_NUM; i++) {
+      Transport transport = Transport.bindAwait(TransportConfig.builder().useNetworkEmulator(true).build());
+      transports.add(transport);
+      addresses.add(transport.address());
+    }
+    ClusterConfig config = ClusterConfig.builder()
+        .broadcastLazyInterval(50)
+        .broadcastGraftTimeout(200)
+        .gossipFanout(gossipFanout)
+        .build();
+    for (Transport transport : transports) {
+      DummyMembershipProtocol membership = new DummyMembershipProtocol(transport.address(), addresses);
+      BroadcastProtocolImpl broadcast = new BroadcastProtocolImpl(transport, membership, config);
+      Map<String, AtomicInteger> delivered = new ConcurrentHashMap<>();
+      broadcast.listen().subscribe(message ->
+          delivered.computeIfAbsent(message.data(), data -> new AtomicInteger()).incrementAndGet());
+      transport.listen()
+          .filter(message -> BroadcastProtocolImpl.BROADCAST_GOSSIP.equals(message.qualifier()))
+          .subscribe(message -> gossipMessagesReceived.incrementAndGet());
+      broadcast.start();
+      broadcasts.add(broadcast);
+      deliveries.add(delivered);
+    }
+  }
+
+  private void awaitDelivered(String... data) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    for (int i = 1; i < MEMBERS_NUM; i++) {
+      for (String item : data) {
+        while (!deliveries.get(i).containsKey(item)) {
+          assertTrue("Member " + i + " didn't receive " + item, System.currentTimeMillis() < deadline);
+          Thread.sleep(10);
+        }
+      }
+    }
+  }
+}
@@ -23,10 +23,17 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class FailureDetectorTest extends BaseTest {
@@ -371,6 +378,238 @@ public class FailureDetectorTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testPingReqMembersAreSampled() throws Exception {
+    List<Transport> transports = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      transports.add(Transport.bindAwait(true));
+    }
+    List<Address> members = transports.stream().map(Transport::address).collect(Collectors.toList());
+    List<FailureDetectorImpl> fdetectors = transports.stream()
+        .map(transport -> createFD(transport, members))
+        .collect(Collectors.toList());
+
+    // Count ping requests of node A per probe
+    Transport a = transports.get(0);
+    Map<String, AtomicInteger> pingReqs = new ConcurrentHashMap<>();
+    Set<Address> pingReqMembers = ConcurrentHashMap.newKeySet();
+    for (Transport transport : transports.subList(1, transports.size())) {
+      transport.listen()
+          .filter(message -> FailureDetectorImpl.PING_REQ.equals(message.qualifier()))
+          .filter(message -> a.address().equals(message.sender()))
+          .subscribe(message -> {
+            pingReqs.computeIfAbsent(message.correlationId(), cid -> new AtomicInteger()).incrementAndGet();
+            pingReqMembers.add(transport.address());
+          });
+    }
+
+    // Traffic issue at connection A -> B, so A always pings B through ping request members
+    Address b = transports.get(1).address();
+    a.networkEmulator().block(b);
+
+    try {
+      start(fdetectors);
+      Address[] others = members.subList(1, members.size()).toArray(new Address[0]);
+      for (int i = 0; i < 6; i++) {
+        Future<List<FailureDetectorEvent>> list_a = listenNextEventFor(fdetectors.get(0), members);
+        assertStatus(a.address(), ALIVE, awaitEvents(list_a), others);
+      }
+      assertTrue("No ping requests sent", !pingReqs.isEmpty());
+      for (AtomicInteger count : pingReqs.values()) {
+        assertTrue("Too many ping request members: " + count, count.get() <= 2);
+      }
+      assertTrue("Ping request members aren't random: " + pingReqMembers, pingReqMembers.size() > 2);
+      assertTrue("Pinged member was asked to ping itself", !pingReqMembers.contains(b));
+    } finally {
+      stop(fdetectors);
+    }
+  }
+
+  @Test
+  public void testLocalHealthScoreGrowsWhenMembersUnreachable() throws Exception {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    Transport c = Transport.bindAwait(true);
+    List<Address> members = Arrays.asList(a.address(), b.address(), c.address());
+
+    FailureDetectorConfig config = ClusterConfig.builder()
+        .pingTimeout(100)
+        .pingInterval(200)
+        .lifeguardEnabled(true)
+        .lifeguardMaxHealthMult(3)
+        .build();
+    FailureDetectorImpl fd_a = createFD(a, members, config);
+    FailureDetectorImpl fd_b = createFD(b, members, config);
+    FailureDetectorImpl fd_c = createFD(c, members, config);
+    List<FailureDetectorImpl> fdetectors = Arrays.asList(fd_a, fd_b, fd_c);
+
+    // Node A can't reach anyone, so it considers itself unhealthy
+    a.networkEmulator().block(members);
+
+    try {
+      start(fdetectors);
+      awaitHealthScore(fd_a, 2);
+
+      // Successful probes recover local health
+      a.networkEmulator().unblockAll();
+      awaitHealthScore(fd_a, 0);
+    } finally {
+      stop(fdetectors);
+    }
+  }
+
+  @Test
+  public void testSuspectedMemberIsNotifiedByPing() throws Exception {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    List<Address> members = Arrays.asList(a.address(), b.address());
+
+    FailureDetectorConfig config = ClusterConfig.builder()
+        .pingTimeout(100)
+        .pingInterval(200)
+        .lifeguardEnabled(true)
+        .build();
+    FailureDetectorImpl fd_a = createFD(a, members, config);
+    FailureDetectorImpl fd_b = createFD(b, members, config);
+    List<FailureDetectorImpl> fdetectors = Arrays.asList(fd_a, fd_b);
+
+    // Node A knows suspicion of node B from membership, e.g. learned by gossip rather than by its own probes
+    Set<String> suspectedByA = ConcurrentHashMap.newKeySet();
+    fd_a.setSuspicionTracker(new SuspicionTracker() {
+      @Override
+      public boolean isSuspected(String memberId) {
+        return suspectedByA.contains(memberId);
+      }
+
+      @Override
+      public void onLocalMemberSuspected(Member reporter) {}
+    });
+
+    // Listen to suspicion of node B about itself
+    CompletableFuture<Member> selfSuspected = new CompletableFuture<>();
+    fd_b.setSuspicionTracker(new SuspicionTracker() {
+      @Override
+      public boolean isSuspected(String memberId) {
+        return false;
+      }
+
+      @Override
+      public void onLocalMemberSuspected(Member reporter) {
+        selfSuspected.complete(reporter);
+      }
+    });
+
+    try {
+      start(fdetectors);
+
+      // Next ping carries suspicion to node B, which is notified through its tracker
+      suspectedByA.add(Integer.toString(members.indexOf(b.address()))); // id given by dummy membership
+      assertEquals(a.address(), selfSuspected.get(10, TimeUnit.SECONDS).address());
+    } finally {
+      stop(fdetectors);
+    }
+  }
+
+  @Test
+  public void testPhiAccrualPingTimeout() throws Exception {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    List<Address> members = Arrays.asList(a.address(), b.address());
+
+    FailureDetectorConfig config = ClusterConfig.builder()
+        .pingTimeout(100)
+        .pingInterval(200)
+        .phiAccrualEnabled(true)
+        .phiMinSamples(3)
+        .phiMinPingTimeout(50)
+        .build();
+    FailureDetectorImpl fd_a = createFD(a, members, config);
+    FailureDetectorImpl fd_b = createFD(b, members, config);
+    List<FailureDetectorImpl> fdetectors = Arrays.asList(fd_a, fd_b);
+
+    try {
+      start(fdetectors);
+
+      // Phi is computed once enough round trip times are collected
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (fd_a.phi().isEmpty()) {
+        assertTrue("No phi computed", System.currentTimeMillis() < deadline);
+        Thread.sleep(50);
+      }
+
+      // Member with adapted ping timeout is still trusted
+      Future<List<FailureDetectorEvent>> list_a = listenNextEventFor(fd_a, members);
+      assertStatus(a.address(), ALIVE, awaitEvents(list_a), b.address());
+
+      // Member which doesn't answer within adapted ping timeout is suspected and its phi rises
+      double trustedPhi = fd_a.phi().values().iterator().next();
+      CompletableFuture<FailureDetectorEvent> suspected = new CompletableFuture<>();
+      fd_a.listen()
+          .filter(event -> event.status() == SUSPECT)
+          .subscribe(suspected::complete);
+      a.networkEmulator().block(b.address());
+      assertEquals(b.address(), suspected.get(10, TimeUnit.SECONDS).member().address());
+      double phi = fd_a.phi().values().iterator().next();
+      assertTrue("Unexpected phi " + phi + " after phi " + trustedPhi, phi > trustedPhi);
+    } finally {
+      stop(fdetectors);
+    }
+  }
+
+  @Test
+  public void testZoneAwarePingMemberSelection() throws Exception {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    Transport c = Transport.bindAwait(true);
+    Transport d = Transport.bindAwait(true);
+    List<Address> members = Arrays.asList(a.address(), b.address(), c.address(), d.address());
+    Map<Address, Map<String, String>> metadata = new HashMap<>();
+    metadata.put(a.address(), Collections.singletonMap("zone", "z1"));
+    metadata.put(b.address(), Collections.singletonMap("zone", "z1"));
+    metadata.put(c.address(), Collections.singletonMap("zone", "z2"));
+    metadata.put(d.address(), Collections.singletonMap("zone", "z2"));
+
+    // Node A probes only its own zone, node B probes only other zones
+    ClusterConfig.Builder config = ClusterConfig.builder()
+        .pingTimeout(100)
+        .pingInterval(200)
+        .zoneMetadataKey("zone");
+    FailureDetectorImpl fd_a = new FailureDetectorImpl(a,
+        new DummyMembershipProtocol(a.address(), members, metadata), config.crossZonePingPercent(0).build());
+    FailureDetectorImpl fd_b = new FailureDetectorImpl(b,
+        new DummyMembershipProtocol(b.address(), members, metadata), config.crossZonePingPercent(100).build());
+    FailureDetectorImpl fd_c = createFD(c, members);
+    FailureDetectorImpl fd_d = createFD(d, members);
+    List<FailureDetectorImpl> fdetectors = Arrays.asList(fd_a, fd_b, fd_c, fd_d);
+
+    try {
+      Future<List<FailureDetectorEvent>> events_a = fd_a.listen().take(6).toList().toBlocking().toFuture();
+      Future<List<FailureDetectorEvent>> events_b = fd_b.listen().take(6).toList().toBlocking().toFuture();
+      start(fdetectors);
+
+      Set<Address> pinged_a = awaitEvents(events_a).stream()
+          .map(event -> event.member().address())
+          .collect(Collectors.toSet());
+      assertEquals(Collections.singleton(b.address()), pinged_a);
+
+      Set<Address> pinged_b = awaitEvents(events_b).stream()
+          .map(event -> event.member().address())
+          .collect(Collectors.toSet());
+      assertEquals(new HashSet<>(Arrays.asList(c.address(), d.address())), pinged_b);
+    } finally {
+      stop(fdetectors);
+    }
+  }
+
+  private void awaitHealthScore(FailureDetectorImpl fd, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 20_000;
+    while (fd.getHealthScore() != expected) {
+      assertTrue("Health score is " + fd.getHealthScore() + ", expected " + expected,
+          System.currentTimeMillis() < deadline);
+      Thread.sleep(50);
+    }
+  }
+
   private FailureDetectorImpl createFD(Transport transport, List<Address> members) {
     FailureDetectorConfig failureDetectorConfig = ClusterConfig.builder() // faster config for local testing
         .pingTimeout(100)
@@ -0,0 +1,86 @@
+package io.scalecube.cluster.fdetector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.testlib.BaseTest;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class NetworkCoordinatesTest extends BaseTest {
+
+  @Test
+  public void testConvergesToPlaneDistances() {
+    Random random = new Random(42);
+    int count = 20;
+    double[][] positions = new double[count][];
+    NetworkCoordinates[] nodes = new NetworkCoordinates[count];
+    for (int i = 0; i < count; i++) {
+      positions[i] = new double[] {random.nextDouble() * 100, random.nextDouble() * 100};
+      nodes[i] = new NetworkCoordinates(random);
+    }
+
+    for (int round = 0; round < 20_000; round++) {
+      int from = random.nextInt(count);
+      int to = random.nextInt(count);
+      if (from != to) {
+        nodes[from].onRtt("node-" + to, nodes[to].coordinate(), rtt(positions, from, to));
+      }
+    }
+
+    double errorSum = 0;
+    int pairs = 0;
+    for (int from = 0; from < count; from++) {
+      for (int to = 0; to < count; to++) {
+        if (from != to) {
+          double actual = rtt(positions, from, to);
+          double estimated = nodes[from].coordinate().distanceTo(nodes[to].coordinate());
+          errorSum += Math.abs(estimated - actual) / actual;
+          pairs++;
+        }
+      }
+    }
+    double averageError = errorSum / pairs;
+    assertTrue("Average relative error is " + averageError, averageError < 0.1);
+  }
+
+  @Test
+  public void testEstimatedRtt() {
+    NetworkCoordinates local = new NetworkCoordinates(new Random(1));
+    NetworkCoordinates remote = new NetworkCoordinates(new Random(2));
+    assertFalse(local.estimatedRtt("remote").isPresent());
+
+    for (int i = 0; i < 100; i++) {
+      local.onRtt("remote", remote.coordinate(), 50);
+      remote.onRtt("local", local.coordinate(), 50);
+    }
+    assertEquals(50, local.estimatedRtt("remote").getAsDouble(), 10);
+
+    local.onMemberRemoved("remote");
+    assertFalse(local.estimatedRtt("remote").isPresent());
+  }
+
+  @Test
+  public void testIgnoresInvalidSamples() {
+    NetworkCoordinates local = new NetworkCoordinates(new Random(1));
+    NetworkCoordinate origin = local.coordinate();
+
+    local.onRtt("remote", null, 10);
+    local.onRtt("remote", new NetworkCoordinate(new double[2], 0, 1), 10);
+    local.onRtt("remote", new NetworkCoordinates(null).coordinate(), Double.NaN);
+    local.onRtt("remote", new NetworkCoordinates(null).coordinate(), -1);
+
+    assertSame(origin, local.coordinate());
+    assertFalse(local.estimatedRtt("remote").isPresent());
+  }
+
+  private static double rtt(double[][] positions, int from, int to) {
+    double dx = positions[from][0] - positions[to][0];
+    double dy = positions[from][1] - positions[to][1];
+    return Math.sqrt(dx * dx + dy * dy) + 1;
+  }
+}
@@ -0,0 +1,105 @@
+package io.scalecube.cluster.fdetector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.cluster.Member;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class PhiAccrualPingTimeoutStrategyTest extends BaseTest {
+
+  private static final FailureDetectorConfig CONFIG = ClusterConfig.builder()
+      .pingTimeout(500)
+      .phiAccrualEnabled(true)
+      .phiThreshold(8.0)
+      .phiWindowSize(10)
+      .phiMinSamples(5)
+      .phiMinPingTimeout(5)
+      .build();
+
+  private final Member near = new Member("near", Address.create("localhost", 4801));
+  private final Member far = new Member("far", Address.create("localhost", 4802));
+
+  @Test
+  public void testRegularTimeoutUntilEnoughSamples() {
+    PhiAccrualPingTimeoutStrategy strategy = new PhiAccrualPingTimeoutStrategy(CONFIG);
+    for (int i = 0; i < 4; i++) {
+      strategy.onPingAck(near, millis(10));
+    }
+    assertEquals(500, strategy.pingTimeout(near));
+    assertFalse(strategy.phi().containsKey(near.id()));
+  }
+
+  @Test
+  public void testTimeoutAdaptsPerMember() {
+    PhiAccrualPingTimeoutStrategy strategy = new PhiAccrualPingTimeoutStrategy(CONFIG);
+    for (int i = 0; i < 10; i++) {
+      strategy.onPingAck(near, millis(9 + i % 3));
+      strategy.onPingAck(far, millis(90 + 10 * (i % 3)));
+    }
+    int nearTimeout = strategy.pingTimeout(near);
+    int farTimeout = strategy.pingTimeout(far);
+    assertTrue("Near timeout " + nearTimeout, nearTimeout > 11 && nearTimeout < 50);
+    assertTrue("Far timeout " + farTimeout, farTimeout > 110 && farTimeout < 500);
+  }
+
+  @Test
+  public void testTimeoutIsBounded() {
+    PhiAccrualPingTimeoutStrategy strategy = new PhiAccrualPingTimeoutStrategy(CONFIG);
+    for (int i = 0; i < 10; i++) {
+      strategy.onPingAck(near, TimeUnit.MICROSECONDS.toNanos(100));
+      strategy.onPingAck(far, millis(400 + 100 * (i % 2)));
+    }
+    assertEquals(5, strategy.pingTimeout(near));
+    assertEquals(500, strategy.pingTimeout(far));
+  }
+
+  @Test
+  public void testPhiOfLastOutcome() {
+    PhiAccrualPingTimeoutStrategy strategy = new PhiAccrualPingTimeoutStrategy(CONFIG);
+    for (int i = 0; i < 10; i++) {
+      strategy.onPingAck(near, millis(9 + i % 3));
+    }
+    strategy.onPingAck(near, millis(10));
+    assertTrue(strategy.phi().get(near.id()) < 1.0);
+
+    strategy.onPingTimeout(near, strategy.pingTimeout(near));
+    assertTrue(strategy.phi().get(near.id()) >= 8.0);
+
+    strategy.onMemberRemoved(near);
+    assertFalse(strategy.phi().containsKey(near.id()));
+    assertEquals(500, strategy.pingTimeout(near));
+  }
+
+  @Test
+  public void testTimeoutsRaiseTimeout() {
+    PhiAccrualPingTimeoutStrategy strategy = new PhiAccrualPingTimeoutStrategy(CONFIG);
+    for (int i = 0; i < 10; i++) {
+      strategy.onPingAck(near, millis(9 + i % 3));
+    }
+    int timeout = strategy.pingTimeout(near);
+    for (int i = 0; i < 3; i++) {
+      strategy.onPingTimeout(near, strategy.pingTimeout(near));
+    }
+    assertTrue("Timeout " + strategy.pingTimeout(near), strategy.pingTimeout(near) > timeout);
+  }
+
+  @Test
+  public void testPhiGrowsWithElapsedTime() {
+    assertEquals(0.3, PhiAccrualPingTimeoutStrategy.phi(10, 10, 1), 0.01);
+    assertTrue(PhiAccrualPingTimeoutStrategy.phi(12, 10, 1) > PhiAccrualPingTimeoutStrategy.phi(11, 10, 1));
+    double deviations = PhiAccrualPingTimeoutStrategy.deviations(8.0);
+    assertEquals(8.0, PhiAccrualPingTimeoutStrategy.phi(10 + deviations, 10, 1), 0.01);
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
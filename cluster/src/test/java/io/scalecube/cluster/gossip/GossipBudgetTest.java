@@ -0,0 +1,145 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.cluster.membership.DummyMembershipProtocol;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.Transport;
+import io.scalecube.transport.TransportConfig;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GossipBudgetTest extends BaseTest {
+
+  private final List<Transport> transports = new ArrayList<>();
+  private final List<GossipProtocolImpl> gossipProtocols = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    gossipProtocols.forEach(GossipProtocolImpl::stop);
+    transports.forEach(Transport::stop);
+  }
+
+  @Test
+  public void testGossipsArePackedWithinCountBudget() throws Exception {
+    GossipConfig config = ClusterConfig.builder()
+        .gossipInterval(100)
+        .gossipMaxRequestGossips(2)
+        .gossipMinInterval(20)
+        .build();
+    assertAllGossipsDelivered(config, 10, 2);
+  }
+
+  @Test
+  public void testGossipsArePackedWithinSizeBudget() throws Exception {
+    GossipConfig config = ClusterConfig.builder()
+        .gossipInterval(100)
+        .gossipMaxRequestSize(1) // less than any gossip, so single gossip per request
+        .build();
+    assertAllGossipsDelivered(config, 5, 1);
+  }
+
+  @Test
+  public void testLargeGossipsArePulledOnceByDigest() throws Exception {
+    GossipConfig config = ClusterConfig.builder()
+        .gossipInterval(100)
+        .gossipPushPullThreshold(1) // every gossip is announced by digest
+        .build();
+    createGossipProtocols(config);
+    GossipProtocolImpl gossipA = gossipProtocols.get(0);
+    GossipProtocolImpl gossipB = gossipProtocols.get(1);
+
+    AtomicInteger digestsSent = new AtomicInteger();
+    Map<String, AtomicInteger> payloadsSent = new ConcurrentHashMap<>(); // gossip id -> times sent in gossip request
+    for (Transport transport : transports) {
+      transport.listen().subscribe(message -> {
+        if (GossipProtocolImpl.GOSSIP_DIGEST.equals(message.qualifier())) {
+          digestsSent.incrementAndGet();
+        } else if (GossipProtocolImpl.GOSSIP_REQ.equals(message.qualifier())) {
+          for (Gossip gossip : ((GossipRequest) message.data()).gossips()) {
+            payloadsSent.computeIfAbsent(gossip.gossipId(), id -> new AtomicInteger()).incrementAndGet();
+          }
+        }
+      });
+    }
+    int gossipsNum = 3;
+    CountDownLatch latch = listenGossips(gossipB, gossipsNum);
+    spreadGossips(gossipA, gossipsNum);
+    assertTrue("Not all gossips received", latch.await(10, TimeUnit.SECONDS));
+    Thread.sleep(10 * config.getGossipInterval()); // let both members announce gossips to each other again
+
+    assertTrue("No digests sent", digestsSent.get() > 0);
+    assertEquals(gossipsNum, payloadsSent.size());
+    payloadsSent.forEach((gossipId, count) -> assertEquals("Payload of " + gossipId + " resent", 1, count.get()));
+  }
+
+  private void assertAllGossipsDelivered(GossipConfig config, int gossipsNum, int maxGossipsPerRequest)
+      throws Exception {
+    createGossipProtocols(config);
+    GossipProtocolImpl gossipA = gossipProtocols.get(0);
+    GossipProtocolImpl gossipB = gossipProtocols.get(1);
+
+    AtomicInteger maxRequestGossips = new AtomicInteger();
+    transports.get(1).listen()
+        .filter(message -> GossipProtocolImpl.GOSSIP_REQ.equals(message.qualifier()))
+        .subscribe(message -> maxRequestGossips.accumulateAndGet(
+            ((GossipRequest) message.data()).gossips().size(), Math::max));
+    CountDownLatch latch = listenGossips(gossipB, gossipsNum);
+    spreadGossips(gossipA, gossipsNum);
+    assertTrue("Not all gossips received", latch.await(10, TimeUnit.SECONDS));
+    assertTrue("Gossip request budget exceeded: " + maxRequestGossips, maxRequestGossips.get() <= maxGossipsPerRequest);
+  }
+
+  /**
+   * Starts gossip protocols of two members which know each other.
+   */
+  private void createGossipProtocols(GossipConfig config) {
+    Transport transportA = Transport.bindAwait(TransportConfig.defaultConfig());
+    Transport transportB = Transport.bindAwait(TransportConfig.defaultConfig());
+    transports.addAll(Arrays.asList(transportA, transportB));
+    List<Address> members = Arrays.asList(transportA.address(), transportB.address());
+
+    GossipProtocolImpl gossipA =
+        new GossipProtocolImpl(transportA, new DummyMembershipProtocol(transportA.address(), members), config);
+    GossipProtocolImpl gossipB =
+        new GossipProtocolImpl(transportB, new DummyMembershipProtocol(transportB.address(), members), config);
+    gossipProtocols.addAll(Arrays.asList(gossipA, gossipB));
+    gossipA.start();
+    gossipB.start();
+  }
+
+  /**
+   * Returns latch which is counted down on each distinct gossip received by the given protocol.
+   */
+  private CountDownLatch listenGossips(GossipProtocolImpl gossipProtocol, int gossipsNum) {
+    Set<String> received = ConcurrentHashMap.newKeySet();
+    CountDownLatch latch = new CountDownLatch(gossipsNum);
+    gossipProtocol.listen().subscribe(message -> {
+      if (received.add(message.data())) {
+        latch.countDown();
+      }
+    });
+    return latch;
+  }
+
+  private void spreadGossips(GossipProtocolImpl gossipProtocol, int gossipsNum) {
+    for (int i = 0; i < gossipsNum; i++) {
+      gossipProtocol.spread(Message.fromData("gossip-" + i));
+    }
+  }
+}
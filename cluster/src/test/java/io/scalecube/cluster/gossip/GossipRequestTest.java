@@ -70,8 +70,8 @@ public class GossipRequestTest extends BaseTest {
   }
 
   private List<Gossip> getGossips() {
-    Gossip request = new Gossip("idGossip", Message.withData(testData).qualifier(testDataQualifier).build());
-    Gossip request2 = new Gossip("idGossip2", Message.withData(testData).qualifier(testDataQualifier).build());
+    Gossip request = new Gossip("idGossip", 0, Message.withData(testData).qualifier(testDataQualifier).build());
+    Gossip request2 = new Gossip("idGossip", 1, Message.withData(testData).qualifier(testDataQualifier).build());
     List<Gossip> gossips = new ArrayList<>(2);
     gossips.add(request);
     gossips.add(request2);
@@ -0,0 +1,72 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import io.scalecube.testlib.BaseTest;
+
+import org.junit.Test;
+
+public class MemberIndexTest extends BaseTest {
+
+  @Test
+  public void testReusesReleasedIndexes() {
+    MemberIndex memberIndex = new MemberIndex();
+    int a = memberIndex.getOrAssign("a");
+    int b = memberIndex.getOrAssign("b");
+    assertNotEquals(a, b);
+    assertEquals(a, memberIndex.getOrAssign("a"));
+
+    assertEquals(a, memberIndex.release("a"));
+    assertEquals(-1, memberIndex.indexOf("a"));
+    assertEquals(a, memberIndex.getOrAssign("c"));
+    assertNotEquals(MemberIndex.gossipKey(a, 1), MemberIndex.gossipKey(b, 1));
+  }
+
+  @Test
+  public void testGossipKeyCarriesOriginIndex() {
+    assertEquals(5, MemberIndex.originIndex(MemberIndex.gossipKey(5, 0)));
+    assertEquals(5, MemberIndex.originIndex(MemberIndex.gossipKey(5, 123_456_789L)));
+  }
+
+  @Test
+  public void testIndexNotReusedWhileGossipsAreLive() {
+    MemberIndex memberIndex = new MemberIndex();
+    int a = memberIndex.getOrAssign("a");
+    long key0 = MemberIndex.gossipKey(a, 0);
+    long key1 = MemberIndex.gossipKey(a, 1);
+    memberIndex.onGossipAdded(key0);
+    memberIndex.onGossipAdded(key1);
+
+    // Released index is still carried by live gossips, so new member gets another index
+    assertEquals(-1, memberIndex.release("a"));
+    int b = memberIndex.getOrAssign("b");
+    assertNotEquals(a, b);
+
+    // Index is freed once the last gossip keyed by it is swept
+    assertEquals(-1, memberIndex.onGossipSwept(key0));
+    assertEquals(a, memberIndex.onGossipSwept(key1));
+    assertEquals(a, memberIndex.getOrAssign("c"));
+  }
+
+  @Test
+  public void testSweptGossipsOfIndexedMemberDontFreeIndex() {
+    MemberIndex memberIndex = new MemberIndex();
+    int a = memberIndex.getOrAssign("a");
+    long key = MemberIndex.gossipKey(a, 0);
+    memberIndex.onGossipAdded(key);
+    assertEquals(-1, memberIndex.onGossipSwept(key));
+    assertEquals(a, memberIndex.indexOf("a"));
+    assertNotEquals(a, memberIndex.getOrAssign("b"));
+  }
+
+  @Test
+  public void testManyMembers() {
+    MemberIndex memberIndex = new MemberIndex();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, memberIndex.getOrAssign("member-" + i));
+    }
+    memberIndex.onGossipAdded(MemberIndex.gossipKey(99, 0));
+    assertEquals(100, memberIndex.size());
+  }
+}
@@ -0,0 +1,54 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.testlib.BaseTest;
+
+import org.junit.Test;
+
+public class SequenceWindowTest extends BaseTest {
+
+  @Test
+  public void testDuplicatesAreDetected() {
+    SequenceWindow window = new SequenceWindow();
+    assertTrue(window.markSeen(0));
+    assertTrue(window.markSeen(2));
+    assertFalse(window.markSeen(0));
+    assertTrue(window.markSeen(1));
+    assertFalse(window.markSeen(2));
+  }
+
+  @Test
+  public void testWindowSlides() {
+    SequenceWindow window = new SequenceWindow();
+    assertTrue(window.markSeen(5));
+    assertTrue(window.markSeen(5 + SequenceWindow.SIZE));
+    // Sequence 5 slid out of window and considered as seen
+    assertFalse(window.markSeen(5));
+    // Sequences inside window which were not seen yet are accepted
+    assertTrue(window.markSeen(10 + SequenceWindow.SIZE - 1));
+    assertTrue(window.markSeen(6 + SequenceWindow.SIZE));
+    assertFalse(window.markSeen(6 + SequenceWindow.SIZE));
+  }
+
+  @Test
+  public void testFirstSequenceStartsWindow() {
+    SequenceWindow window = new SequenceWindow();
+    assertTrue(window.markSeen(10_000));
+    assertTrue(window.markSeen(10_000 - SequenceWindow.SIZE + 1));
+    assertFalse(window.markSeen(10_000 - SequenceWindow.SIZE));
+  }
+
+  @Test
+  public void testIsSeenDoesNotMarkSequence() {
+    SequenceWindow window = new SequenceWindow();
+    assertFalse(window.isSeen(3));
+    assertTrue(window.markSeen(3));
+    assertTrue(window.isSeen(3));
+    assertFalse(window.isSeen(4));
+    assertTrue(window.markSeen(4));
+    assertTrue(window.markSeen(3 + SequenceWindow.SIZE));
+    assertTrue(window.isSeen(3)); // slid out of window
+  }
+}
@@ -1,6 +1,7 @@
 package io.scalecube.cluster.membership;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,9 +19,15 @@ public class DummyMembershipProtocol implements MembershipProtocol {
   private List<Member> remoteMembers = new ArrayList<>();
 
   public DummyMembershipProtocol(Address localAddress, List<Address> allAddresses) {
+    this(localAddress, allAddresses, Collections.emptyMap());
+  }
+
+  public DummyMembershipProtocol(Address localAddress, List<Address> allAddresses,
+      Map<Address, Map<String, String>> metadata) {
     int count = 0;
     for (Address address : allAddresses) {
-      Member member = new Member(Integer.toString(count++), address);
+      Member member =
+          new Member(Integer.toString(count++), address, metadata.getOrDefault(address, Collections.emptyMap()));
       if (address.equals(localAddress)) {
         localMember = member;
       } else {
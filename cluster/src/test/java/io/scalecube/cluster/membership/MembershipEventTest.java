@@ -0,0 +1,79 @@
+package io.scalecube.cluster.membership;
+
+import static io.scalecube.cluster.membership.MembershipEvent.createAdded;
+import static io.scalecube.cluster.membership.MembershipEvent.createRemoved;
+import static io.scalecube.cluster.membership.MembershipEvent.createUpdated;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MembershipEventTest extends BaseTest {
+
+  private final Address address = Address.from("localhost:1234");
+  private final Member a0 = new Member("a", address);
+  private final Member a1 = new Member("a", address, ImmutableMap.of("key", "1"));
+  private final Member a2 = new Member("a", address, ImmutableMap.of("key", "2"));
+  private final Member b0 = new Member("b", Address.from("localhost:4567"));
+
+  @Test
+  public void testCoalesceEmpty() {
+    assertTrue(MembershipEvent.coalesce(Collections.emptyList()).isEmpty());
+  }
+
+  @Test
+  public void testCoalesceAddedAndRemoved() {
+    assertTrue(MembershipEvent.coalesce(Arrays.asList(createAdded(a0), createRemoved(a0))).isEmpty());
+  }
+
+  @Test
+  public void testCoalesceAddedAndUpdated() {
+    List<MembershipEvent> events =
+        MembershipEvent.coalesce(Arrays.asList(createAdded(a0), createUpdated(a0, a1), createUpdated(a1, a2)));
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).isAdded());
+    assertEquals(a2, events.get(0).member());
+  }
+
+  @Test
+  public void testCoalesceUpdatedAndRemoved() {
+    List<MembershipEvent> events =
+        MembershipEvent.coalesce(Arrays.asList(createUpdated(a0, a1), createRemoved(a1)));
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).isRemoved());
+    assertEquals(a0, events.get(0).member());
+  }
+
+  @Test
+  public void testCoalesceUpdates() {
+    List<MembershipEvent> events =
+        MembershipEvent.coalesce(Arrays.asList(createUpdated(a0, a1), createUpdated(a1, a2)));
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).isUpdated());
+    assertEquals(a0, events.get(0).oldMember());
+    assertEquals(a2, events.get(0).newMember());
+
+    assertTrue(MembershipEvent.coalesce(Arrays.asList(createUpdated(a0, a1), createUpdated(a1, a0))).isEmpty());
+  }
+
+  @Test
+  public void testCoalesceKeepsOrderOfMembers() {
+    List<MembershipEvent> events =
+        MembershipEvent.coalesce(Arrays.asList(createAdded(b0), createRemoved(a0), createUpdated(b0, b0)));
+    assertEquals(2, events.size());
+    assertTrue(events.get(0).isAdded());
+    assertEquals(b0, events.get(0).member());
+    assertTrue(events.get(1).isRemoved());
+    assertEquals(a0, events.get(1).member());
+  }
+}
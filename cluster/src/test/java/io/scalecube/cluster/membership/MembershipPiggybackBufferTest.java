@@ -0,0 +1,85 @@
+package io.scalecube.cluster.membership;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.MessageCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MembershipPiggybackBufferTest extends BaseTest {
+
+  @Test
+  public void testRecordsDroppedAfterMaxTransmissions() {
+    MembershipPiggybackBuffer buffer = new MembershipPiggybackBuffer(1024, message -> { });
+    buffer.add(record("a", 0), 2);
+    assertEquals(1, buffer.select().size());
+    assertEquals(1, buffer.select().size());
+    assertTrue(buffer.select().isEmpty());
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  public void testLatestRecordOfMemberReplacesPrevious() {
+    MembershipPiggybackBuffer buffer = new MembershipPiggybackBuffer(1024, message -> { });
+    buffer.add(record("a", 0), 3);
+    buffer.add(record("a", 1), 3);
+    List<Message> messages = buffer.select();
+    assertEquals(1, messages.size());
+    assertEquals(1, messages.get(0).<MembershipRecord>data().incarnation());
+  }
+
+  @Test
+  public void testLeastDisseminatedRecordsSelectedWithinBudget() {
+    MembershipRecord recordA = record("a", 0);
+    int recordSize =
+        serializedSize(Message.withData(recordA).qualifier(MembershipProtocolImpl.MEMBERSHIP_GOSSIP).build());
+
+    // Budget fits single record only
+    MembershipPiggybackBuffer buffer = new MembershipPiggybackBuffer(recordSize + recordSize / 2, message -> { });
+    buffer.add(recordA, 10);
+    assertEquals("a", buffer.select().get(0).<MembershipRecord>data().id());
+    buffer.add(record("b", 0), 10);
+    // b wasn't sent yet so it goes first
+    List<Message> messages = buffer.select();
+    assertEquals(1, messages.size());
+    assertEquals("b", messages.get(0).<MembershipRecord>data().id());
+  }
+
+  @Test
+  public void testConsumedRecordsPassedToConsumer() {
+    List<MembershipRecord> consumed = new ArrayList<>();
+    MembershipPiggybackBuffer buffer = new MembershipPiggybackBuffer(1024, message -> consumed.add(message.data()));
+    MembershipRecord record = record("a", 0);
+    List<Message> messages = new ArrayList<>();
+    messages.add(Message.fromData(record));
+    messages.add(Message.fromData("not a record"));
+    buffer.consume(messages);
+    assertEquals(1, consumed.size());
+    assertEquals(record, consumed.get(0));
+  }
+
+  private MembershipRecord record(String id, int incarnation) {
+    return new MembershipRecord(new Member(id, Address.create("localhost", 4801)), MemberStatus.ALIVE, incarnation);
+  }
+
+  private int serializedSize(Message message) {
+    ByteBuf bb = ByteBufAllocator.DEFAULT.buffer();
+    try {
+      MessageCodec.serialize(message, bb);
+      return bb.readableBytes();
+    } finally {
+      bb.release();
+    }
+  }
+}
@@ -13,11 +13,13 @@ import io.scalecube.transport.Transport;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import org.junit.Test;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -54,6 +56,59 @@ public class MembershipProtocolTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testPagedInitialSync() {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    Transport c = Transport.bindAwait(true);
+    Transport d = Transport.bindAwait(true);
+    List<Address> seed = ImmutableList.of(a.address());
+
+    MembershipProtocolImpl cm_a = createMembership(a, testConfig(Collections.emptyList()).syncPageSize(1).build());
+    MembershipProtocolImpl cm_b = createMembership(b, seed);
+    MembershipProtocolImpl cm_c = createMembership(c, seed);
+    MembershipProtocolImpl cm_d = null;
+
+    try {
+      awaitSeconds(1);
+      assertTrusted(cm_a, a.address(), b.address(), c.address());
+
+      // Initial sync completes only when all pages are received
+      cm_d = createMembership(d, seed);
+      assertTrusted(cm_d, a.address(), b.address(), c.address(), d.address());
+    } finally {
+      stopAll(cm_a, cm_b, cm_c, cm_d);
+    }
+  }
+
+  @Test
+  public void testPeriodicSyncLoadIsSpread() {
+    List<Transport> transports = new ArrayList<>();
+    List<MembershipProtocolImpl> memberships = new ArrayList<>();
+    try {
+      for (int i = 0; i < 5; i++) {
+        Transport transport = Transport.bindAwait(true);
+        List<Address> seed = transports.isEmpty()
+            ? Collections.emptyList()
+            : Collections.singletonList(transports.get(0).address());
+        transports.add(transport);
+        memberships.add(createMembership(transport, testConfig(seed).syncInterval(100).build()));
+      }
+
+      awaitSeconds(3);
+
+      long total = memberships.stream().mapToLong(membership -> membership.getSyncMetrics().requestsReceived()).sum();
+      for (MembershipProtocolImpl membership : memberships) {
+        long received = membership.getSyncMetrics().requestsReceived();
+        assertTrue("Unbalanced sync load, received " + received + " of " + total, received * 10 >= total);
+        assertTrue("Unbalanced sync load, received " + received + " of " + total, received * 2 <= total);
+        assertTrue("No sync sent", membership.getSyncMetrics().requestsSent() > 0);
+      }
+    } finally {
+      stopAll(memberships.toArray(new MembershipProtocolImpl[0]));
+    }
+  }
+
   @Test
   public void testNetworkPartitionThenRecovery() {
     Transport a = Transport.bindAwait(true);
@@ -97,6 +152,49 @@ public class MembershipProtocolTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testNetworkPartitionThenRecoveryWithDeltaSync() {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    Transport c = Transport.bindAwait(true);
+    List<Address> members = ImmutableList.of(a.address(), b.address(), c.address());
+
+    MembershipProtocolImpl cm_a = createMembership(a, testConfig(members).syncDeltaEnabled(true).build());
+    MembershipProtocolImpl cm_b = createMembership(b, testConfig(members).syncDeltaEnabled(true).build());
+    MembershipProtocolImpl cm_c = createMembership(c, testConfig(members).syncDeltaEnabled(true).build());
+
+    // Block traffic
+    a.networkEmulator().block(members);
+    b.networkEmulator().block(members);
+    c.networkEmulator().block(members);
+
+    try {
+      awaitSeconds(6);
+
+      assertTrusted(cm_a, a.address());
+      assertNoSuspected(cm_a);
+      assertTrusted(cm_b, b.address());
+      assertNoSuspected(cm_b);
+      assertTrusted(cm_c, c.address());
+      assertNoSuspected(cm_c);
+
+      a.networkEmulator().unblockAll();
+      b.networkEmulator().unblockAll();
+      c.networkEmulator().unblockAll();
+
+      awaitSeconds(6);
+
+      assertTrusted(cm_a, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_a);
+      assertTrusted(cm_b, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_b);
+      assertTrusted(cm_c, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_c);
+    } finally {
+      stopAll(cm_a, cm_b, cm_c);
+    }
+  }
+
   @Test
   public void testMemberLostNetworkThenRecover() {
     Transport a = Transport.bindAwait(true);
@@ -333,6 +431,95 @@ public class MembershipProtocolTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testMemberFailureDisseminatedByPiggyback() {
+    Transport a = Transport.bindAwait(true);
+    Transport b = Transport.bindAwait(true);
+    Transport c = Transport.bindAwait(true);
+    Transport d = Transport.bindAwait(true);
+    List<Address> members = ImmutableList.of(a.address(), b.address(), c.address(), d.address());
+
+    // Gossips and periodic syncs are off, only a pings, so b and c can learn state of d only from piggyback of a
+    int noInterval = (int) TimeUnit.HOURS.toMillis(1);
+    ClusterConfig.Builder builder = testConfig(members).piggybackMaxSize(1024).syncInterval(noInterval)
+        .suspicionMult(2 * ClusterConfig.DEFAULT_SUSPICION_MULT);
+    ClusterConfig config = builder.build();
+    ClusterConfig noPingConfig = builder.pingInterval(noInterval).build();
+    MembershipProtocolImpl cm_a = createMembership(a, config, false);
+    MembershipProtocolImpl cm_b = createMembership(b, noPingConfig, false);
+    MembershipProtocolImpl cm_c = createMembership(c, noPingConfig, false);
+    MembershipProtocolImpl cm_d = createMembership(d, noPingConfig, false);
+
+    try {
+      awaitSeconds(1);
+
+      assertTrusted(cm_a, a.address(), b.address(), c.address(), d.address());
+      assertTrusted(cm_b, a.address(), b.address(), c.address(), d.address());
+      assertTrusted(cm_c, a.address(), b.address(), c.address(), d.address());
+
+      a.networkEmulator().block(d.address());
+      b.networkEmulator().block(d.address());
+      c.networkEmulator().block(d.address());
+      d.networkEmulator().block(members);
+
+      awaitSeconds(2);
+
+      assertSuspected(cm_a, d.address());
+      assertSuspected(cm_b, d.address());
+      assertSuspected(cm_c, d.address());
+
+      long suspicionTimeoutSec =
+          ClusterMath.suspicionTimeout(config.getSuspicionMult(), 4, TEST_PING_INTERVAL) / 1000;
+      awaitSeconds(suspicionTimeoutSec + 1); // > max suspect time
+
+      assertTrusted(cm_a, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_a);
+      assertTrusted(cm_b, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_b);
+      assertTrusted(cm_c, a.address(), b.address(), c.address());
+      assertNoSuspected(cm_c);
+    } finally {
+      stopAll(cm_a, cm_b, cm_c, cm_d);
+    }
+  }
+
+  @Test
+  public void testMemberFailureConfirmedWithLifeguard() {
+    List<Transport> transports = new ArrayList<>();
+    List<MembershipProtocolImpl> memberships = new ArrayList<>();
+    try {
+      for (int i = 0; i < 5; i++) {
+        transports.add(Transport.bindAwait(true));
+      }
+      List<Address> members = transports.stream().map(Transport::address).collect(Collectors.toList());
+      for (Transport transport : transports) {
+        memberships.add(createMembership(transport, testConfig(members).lifeguardEnabled(true).build()));
+      }
+
+      awaitSeconds(1);
+
+      // Isolate last member
+      Transport failed = transports.get(4);
+      failed.networkEmulator().block(members);
+      for (int i = 0; i < 4; i++) {
+        transports.get(i).networkEmulator().block(failed.address());
+      }
+
+      // Independent confirmations shrink suspicion timeout from max down to regular one
+      long suspicionTimeoutSec =
+          ClusterMath.suspicionTimeout(ClusterConfig.DEFAULT_SUSPICION_MULT, 5, TEST_PING_INTERVAL) / 1000;
+      awaitSeconds(suspicionTimeoutSec + 4);
+
+      Address[] alive = members.subList(0, 4).toArray(new Address[0]);
+      for (int i = 0; i < 4; i++) {
+        assertTrusted(memberships.get(i), alive);
+        assertNoSuspected(memberships.get(i));
+      }
+    } finally {
+      stopAll(memberships.toArray(new MembershipProtocolImpl[0]));
+    }
+  }
+
   @Test
   public void testRestartFailedMembers() {
     Transport a = Transport.bindAwait(true);
@@ -495,6 +682,27 @@ public class MembershipProtocolTest extends BaseTest {
     assertEquals(t.address(), address);
   }
 
+  @Test
+  public void testUpdateMetadataKeepsSystemMetadata() {
+    Transport a = Transport.bindAwait(true);
+    MembershipProtocolImpl cm_a = createMembership(a, Collections.emptyList());
+    String systemKey = MembershipProtocolImpl.SYSTEM_METADATA_PREFIX + "test/key";
+
+    try {
+      cm_a.updateMetadataProperty(systemKey, "system");
+      cm_a.updateMetadata(ImmutableMap.of("key", "value"));
+      awaitSeconds(1);
+      assertEquals(ImmutableMap.of(systemKey, "system", "key", "value"), cm_a.member().metadata());
+
+      // Application metadata wins over system metadata with the same key
+      cm_a.updateMetadata(ImmutableMap.of(systemKey, "application"));
+      awaitSeconds(1);
+      assertEquals(ImmutableMap.of(systemKey, "application"), cm_a.member().metadata());
+    } finally {
+      stopAll(cm_a);
+    }
+  }
+
   private void awaitSeconds(long seconds) {
     try {
       TimeUnit.SECONDS.sleep(seconds);
@@ -525,16 +733,24 @@ public class MembershipProtocolTest extends BaseTest {
   }
 
   private MembershipProtocolImpl createMembership(Transport transport, ClusterConfig config) {
+    return createMembership(transport, config, true);
+  }
+
+  private MembershipProtocolImpl createMembership(Transport transport, ClusterConfig config, boolean gossipEnabled) {
     // Create components
     MembershipProtocolImpl membership = new MembershipProtocolImpl(transport, config);
     FailureDetectorImpl failureDetector = new FailureDetectorImpl(transport, membership, config);
     GossipProtocolImpl gossipProtocol = new GossipProtocolImpl(transport, membership, config);
     membership.setGossipProtocol(gossipProtocol);
     membership.setFailureDetector(failureDetector);
+    failureDetector.setPiggybackBuffer(membership.getPiggybackBuffer());
+    failureDetector.setSuspicionTracker(membership.getSuspicionTracker());
 
     try {
       failureDetector.start();
-      gossipProtocol.start();
+      if (gossipEnabled) {
+        gossipProtocol.start();
+      }
       membership.start().get();
     } catch (Exception ex) {
       Throwables.propagate(ex);
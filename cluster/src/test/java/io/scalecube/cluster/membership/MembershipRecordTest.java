@@ -6,9 +6,15 @@ import io.scalecube.cluster.Member;
 import io.scalecube.testlib.BaseTest;
 import io.scalecube.transport.Address;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
 import static io.scalecube.cluster.membership.MemberStatus.ALIVE;
 import static io.scalecube.cluster.membership.MemberStatus.DEAD;
 import static io.scalecube.cluster.membership.MemberStatus.SUSPECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -103,4 +109,21 @@ public class MembershipRecordTest extends BaseTest {
     assertFalse(r0_dead_1.isOverrides(r0_dead_1));
   }
 
+  @Test
+  public void testMetadataReplacedWithVersion() {
+    Map<String, String> metadata = ImmutableMap.of("key1", "value1", "key2", "value2");
+    MembershipRecord record = new MembershipRecord(new Member("0", member.address(), metadata), ALIVE, 1);
+
+    MembershipRecord stripped = record.withoutMetadata();
+    assertFalse(stripped.hasMetadata());
+    assertTrue(stripped.member().metadata().isEmpty());
+    assertEquals(MembershipRecord.versionOf(ImmutableMap.of("key2", "value2", "key1", "value1")),
+        stripped.metadataVersion());
+    assertNotEquals(MembershipRecord.versionOf(ImmutableMap.of("key1", "value2", "key2", "value1")),
+        stripped.metadataVersion());
+
+    assertEquals(record, stripped.withMetadata(metadata));
+    assertEquals(r0_alive_1, r0_alive_1.withoutMetadata()); // empty metadata is kept embedded
+  }
+
 }
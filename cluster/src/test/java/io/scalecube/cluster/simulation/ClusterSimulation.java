@@ -0,0 +1,354 @@
+package io.scalecube.cluster.simulation;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.cell.CellProtocolImpl;
+import io.scalecube.cluster.cell.CellSummary;
+import io.scalecube.cluster.fdetector.FailureDetectorImpl;
+import io.scalecube.cluster.gossip.GossipProtocolImpl;
+import io.scalecube.cluster.membership.MemberStatus;
+import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.membership.MembershipProtocolImpl;
+import io.scalecube.testlib.VirtualTimeExecutor;
+import io.scalecube.transport.Address;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.SimulatedNetwork;
+import io.scalecube.transport.SimulatedTransport;
+
+import com.google.common.base.Ticker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic simulation of cluster running membership, gossip and failure detector protocols of many members in one
+ * thread over {@link SimulatedNetwork} with virtual time. All randomness comes from the given seed, so run with the
+ * same seed and settings is reproduced exactly. Time is measured in virtual milliseconds.
+ */
+public final class ClusterSimulation {
+
+  private static final int SEED_MEMBERS = 3;
+  private static final long CHECK_INTERVAL = 10; // ms of virtual time between checks of awaited condition
+
+  private final VirtualTimeExecutor executor = new VirtualTimeExecutor();
+  private final Random random;
+  private final SimulatedNetwork network;
+  private final UnaryOperator<ClusterConfig.Builder> config;
+  private final Ticker ticker = new Ticker() {
+    @Override
+    public long read() {
+      return executor.nanoTime();
+    }
+  };
+  private final List<Node> nodes = new ArrayList<>();
+  private final Set<String> crashed = new HashSet<>();
+  private long probes;
+  private long falseSuspicions;
+  private long falseRemovals;
+
+  /**
+   * Creates simulation.
+   *
+   * @param seed seed of all random decisions
+   * @param minLatency min one way network latency in milliseconds
+   * @param maxLatency max one way network latency in milliseconds
+   * @param lossPercent percent of lost messages
+   * @param config customizes cluster config of every member
+   */
+  public ClusterSimulation(long seed, int minLatency, int maxLatency, double lossPercent,
+      UnaryOperator<ClusterConfig.Builder> config) {
+    this.random = new Random(seed);
+    this.network = new SimulatedNetwork(executor, new Random(random.nextLong()), minLatency, maxLatency, lossPercent);
+    this.config = config;
+  }
+
+  /**
+   * Returns current virtual time in milliseconds.
+   */
+  public long time() {
+    return TimeUnit.NANOSECONDS.toMillis(executor.nanoTime());
+  }
+
+  public SimulatedNetwork network() {
+    return network;
+  }
+
+  public VirtualTimeExecutor executor() {
+    return executor;
+  }
+
+  /**
+   * Returns number of members which aren't crashed.
+   */
+  public int aliveCount() {
+    return nodes.size() - crashed.size();
+  }
+
+  /**
+   * Creates given number of members which join cluster at random times within the given window. The first members
+   * are seed members of the rest.
+   *
+   * @param count number of members to create
+   * @param joinWindow time window in milliseconds in which members join
+   */
+  public void join(int count, long joinWindow) {
+    List<Address> seedMembers = new ArrayList<>();
+    for (int i = 0; i < Math.min(SEED_MEMBERS, nodes.size()); i++) {
+      seedMembers.add(nodes.get(i).transport.address());
+    }
+    for (int i = 0; i < count; i++) {
+      Node node = new Node(new ArrayList<>(seedMembers));
+      nodes.add(node);
+      if (seedMembers.size() < SEED_MEMBERS) {
+        seedMembers.add(node.transport.address());
+      }
+      long delay = joinWindow > 0 ? (long) (random.nextDouble() * TimeUnit.MILLISECONDS.toNanos(joinWindow)) : 0;
+      executor.schedule(node::start, delay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Crashes given number of random alive members. Crashed member stops all protocols and transport without leaving
+   * cluster.
+   *
+   * @param count number of members to crash
+   * @return crashed members
+   */
+  public List<Member> crash(int count) {
+    List<Node> alive = nodes.stream().filter(node -> !node.isCrashed()).collect(Collectors.toList());
+    Collections.shuffle(alive, random);
+    List<Member> members = new ArrayList<>();
+    for (Node node : alive.subList(0, Math.min(count, alive.size()))) {
+      crashed.add(node.member().id());
+      members.add(node.member());
+      node.stop();
+    }
+    return members;
+  }
+
+  /**
+   * Runs simulation until every alive member sees all other alive members and none of crashed ones. In hierarchical
+   * mode every alive member sees all other alive members of its cell and summaries of all cells with actual number of
+   * alive members.
+   *
+   * @param timeout max time to run in milliseconds
+   * @return time to converge in milliseconds or -1 on timeout
+   */
+  public long awaitConvergence(long timeout) {
+    return await(() -> {
+      Map<String, Integer> aliveCounts = new HashMap<>(); // cell id (null unless hierarchical mode) -> alive count
+      nodes.stream().filter(node -> !node.isCrashed()).forEach(node -> aliveCounts.merge(node.cellId, 1, Integer::sum));
+      return nodes.stream().allMatch(node -> node.isConverged(aliveCounts));
+    }, timeout);
+  }
+
+  /**
+   * Returns max number of members seen by a member.
+   */
+  public int maxViewSize() {
+    return nodes.stream().mapToInt(node -> node.view.size() + 1).max().orElse(0);
+  }
+
+  /**
+   * Spreads gossip from random alive member and runs simulation until all alive members receive it.
+   *
+   * @param timeout max time to run in milliseconds
+   * @return time to disseminate in milliseconds or -1 on timeout
+   */
+  public long spreadGossip(long timeout) {
+    List<Node> alive = nodes.stream().filter(node -> !node.isCrashed()).collect(Collectors.toList());
+    Node origin = alive.get(random.nextInt(alive.size()));
+    String gossip = "gossip-" + random.nextLong();
+    alive.forEach(node -> node.receivedGossip = node == origin);
+    alive.forEach(node -> node.expectedGossip = gossip);
+    executor.execute(() -> origin.gossip.spread(Message.fromData(gossip)));
+    return await(() -> alive.stream().allMatch(node -> node.isCrashed() || node.receivedGossip), timeout);
+  }
+
+  /**
+   * Runs simulation for the given time.
+   *
+   * @param time time to run in milliseconds
+   */
+  public void run(long time) {
+    executor.advanceTime(time, TimeUnit.MILLISECONDS);
+  }
+
+  private long await(BooleanSupplier condition, long timeout) {
+    long start = time();
+    while (!condition.getAsBoolean()) {
+      if (time() - start >= timeout) {
+        return -1;
+      }
+      executor.advanceTime(CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    return time() - start;
+  }
+
+  /**
+   * Returns number of completed direct or indirect probes of alive members.
+   */
+  public long probes() {
+    return probes;
+  }
+
+  /**
+   * Returns number of probes which found alive member suspected.
+   */
+  public long falseSuspicions() {
+    return falseSuspicions;
+  }
+
+  /**
+   * Returns number of alive members removed from membership of other alive members.
+   */
+  public long falseRemovals() {
+    return falseRemovals;
+  }
+
+  /**
+   * Returns ratio of false suspicions to all probes of alive members.
+   */
+  public double falsePositiveRate() {
+    return probes > 0 ? (double) falseSuspicions / probes : 0;
+  }
+
+  /**
+   * Stops all members.
+   */
+  public void shutdown() {
+    nodes.stream().filter(node -> !node.isCrashed()).forEach(Node::stop);
+    executor.shutdownNow();
+  }
+
+  @Override
+  public String toString() {
+    return "ClusterSimulation{time=" + time() + "ms"
+        + ", members=" + nodes.size()
+        + ", crashed=" + crashed.size()
+        + ", messagesSent=" + network.sentMessages()
+        + ", messagesDropped=" + network.droppedMessages()
+        + ", probes=" + probes
+        + ", falseSuspicions=" + falseSuspicions
+        + ", falseRemovals=" + falseRemovals
+        + ", tasks=" + executor.completedTasks()
+        + '}';
+  }
+
+  private final class Node {
+    private final SimulatedTransport transport;
+    private final MembershipProtocolImpl membership;
+    private final GossipProtocolImpl gossip;
+    private final FailureDetectorImpl failureDetector;
+    private final CellProtocolImpl cells; // null unless hierarchical mode is enabled
+    private final String cellId;
+    private final Set<String> view = new HashSet<>(); // ids of members seen by this member
+    private boolean stopped;
+    private String expectedGossip;
+    private boolean receivedGossip;
+
+    private Node(List<Address> seedMembers) {
+      ClusterConfig nodeConfig = config.apply(ClusterConfig.builder())
+          .seedMembers(seedMembers)
+          .protocolExecutor(executor)
+          .ticker(ticker)
+          .random(new Random(random.nextLong()))
+          .build();
+      transport = network.createTransport();
+      membership = new MembershipProtocolImpl(transport, nodeConfig, executor);
+      gossip = new GossipProtocolImpl(transport, membership, nodeConfig, executor);
+      failureDetector = new FailureDetectorImpl(transport, membership, nodeConfig, executor);
+      membership.setFailureDetector(failureDetector);
+      membership.setGossipProtocol(gossip);
+      failureDetector.setPiggybackBuffer(membership.getPiggybackBuffer());
+      failureDetector.setSuspicionTracker(membership.getSuspicionTracker());
+      cells = nodeConfig.isCellsEnabled() ? new CellProtocolImpl(transport, membership, gossip, nodeConfig, executor)
+          : null;
+      membership.setCellProtocol(cells);
+      cellId = cells != null ? cells.cellId() : null;
+
+      membership.listen().subscribe(this::onMembershipEvent);
+      failureDetector.listen().subscribe(event -> {
+        if (!stopped && !crashed.contains(event.member().id())) {
+          probes++;
+          if (event.status() == MemberStatus.SUSPECT) {
+            falseSuspicions++;
+          }
+        }
+      });
+      gossip.listen().subscribe(message -> {
+        if (message.data().equals(expectedGossip)) {
+          receivedGossip = true;
+        }
+      });
+    }
+
+    private Member member() {
+      return membership.member();
+    }
+
+    private void start() {
+      if (!stopped) {
+        failureDetector.start();
+        gossip.start();
+        if (cells != null) {
+          cells.start();
+        }
+        membership.start();
+      }
+    }
+
+    private void stop() {
+      stopped = true;
+      membership.stop();
+      gossip.stop();
+      if (cells != null) {
+        cells.stop();
+      }
+      failureDetector.stop();
+      transport.stop();
+    }
+
+    private boolean isCrashed() {
+      return stopped;
+    }
+
+    private void onMembershipEvent(MembershipEvent event) {
+      if (event.isAdded()) {
+        view.add(event.member().id());
+      } else if (event.isRemoved()) {
+        view.remove(event.member().id());
+        if (!stopped && !crashed.contains(event.member().id())) {
+          falseRemovals++;
+        }
+      }
+    }
+
+    private boolean isConverged(Map<String, Integer> aliveCounts) {
+      if (stopped) {
+        return true;
+      }
+      if (view.size() != aliveCounts.get(cellId) - 1 || crashed.stream().anyMatch(view::contains)) {
+        return false;
+      }
+      if (cells == null) {
+        return true;
+      }
+      Map<String, Integer> memberCounts = new HashMap<>();
+      for (CellSummary summary : cells.cells()) {
+        memberCounts.put(summary.cellId(), summary.memberCount());
+      }
+      return memberCounts.equals(aliveCounts);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package io.scalecube.cluster.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.testlib.BaseTest;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks behavior of small simulated clusters. Validation of {@link io.scalecube.cluster.ClusterMath} predictions on
+ * large clusters lives in ClusterSimulationStressTest of stresstests module which runs with {@code -Pstresstests}.
+ */
+public class ClusterSimulationTest extends BaseTest {
+
+  private static final long SEED = Long.getLong("simulation.seed", 42);
+  private static final int MIN_LATENCY = 1;
+  private static final int MAX_LATENCY = 5;
+  private static final long JOIN_WINDOW = 10_000;
+
+  @BeforeClass
+  public static void setUpLogging() {
+    // Membership logs full membership table on join, which is too much for simulated clusters
+    Configurator.setLevel("io.scalecube.cluster", Level.WARN);
+  }
+
+  @AfterClass
+  public static void tearDownLogging() {
+    Configurator.setLevel("io.scalecube.cluster", Level.INFO);
+  }
+
+  @Test
+  public void testFalsePositivesWithMessageLoss() {
+    int members = 50;
+    ClusterSimulation simulation = new ClusterSimulation(SEED, MIN_LATENCY, MAX_LATENCY, 10, builder -> builder);
+    try {
+      simulation.join(members, JOIN_WINDOW);
+      simulation.run(JOIN_WINDOW);
+      assertTrue("Join didn't converge", simulation.awaitConvergence(10 * ClusterConfig.DEFAULT_SYNC_INTERVAL) >= 0);
+      simulation.run(60_000);
+      LOGGER.info("False positive rate {} of {} probes with 10% loss, {}",
+          simulation.falsePositiveRate(), simulation.probes(), simulation);
+      // Indirect probes mask most of message loss, and suspected members refute suspicion in time
+      assertTrue(simulation.falsePositiveRate() < 0.05);
+      assertEquals(0, simulation.falseRemovals());
+    } finally {
+      simulation.shutdown();
+    }
+  }
+
+  @Test
+  public void testHierarchicalCells() {
+    int members = 120;
+    ClusterSimulation simulation = new ClusterSimulation(SEED, MIN_LATENCY, MAX_LATENCY, 0, builder -> builder
+        .cellsEnabled(true)
+        .cellCount(4));
+    try {
+      simulation.join(members, JOIN_WINDOW);
+      simulation.run(JOIN_WINDOW);
+      long joinTime = simulation.awaitConvergence(10 * ClusterConfig.DEFAULT_SYNC_INTERVAL);
+      LOGGER.info("Join of {} members into cells converged in {}ms after join window, max view {}, {}",
+          members, joinTime, simulation.maxViewSize(), simulation);
+      assertTrue("Join didn't converge", joinTime >= 0);
+      // Members keep detailed state of their own cell only
+      assertTrue("Too large view " + simulation.maxViewSize(), simulation.maxViewSize() < members / 2);
+
+      // Crashed members are removed from their cells and from summaries of their cells
+      simulation.crash(3);
+      assertTrue("Crashed members weren't removed", simulation.awaitConvergence(120_000) >= 0);
+      assertEquals(0, simulation.falseRemovals());
+    } finally {
+      simulation.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameSeedGivesSameRun() {
+    String[] runs = new String[2];
+    for (int i = 0; i < runs.length; i++) {
+      ClusterSimulation simulation = new ClusterSimulation(SEED, MIN_LATENCY, MAX_LATENCY, 5, builder -> builder);
+      try {
+        simulation.join(30, JOIN_WINDOW);
+        simulation.run(JOIN_WINDOW);
+        long joinTime = simulation.awaitConvergence(10 * ClusterConfig.DEFAULT_SYNC_INTERVAL);
+        simulation.crash(1);
+        long removalTime = simulation.awaitConvergence(120_000);
+        runs[i] = "join=" + joinTime + ", removal=" + removalTime + ", " + simulation;
+      } finally {
+        simulation.shutdown();
+      }
+    }
+    assertEquals(runs[0], runs[1]);
+  }
+}
@@ -0,0 +1,134 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.scalecube.testlib.VirtualTimeExecutor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory network of {@link SimulatedTransport} instances for deterministic cluster simulation. Messages are
+ * delivered on virtual time executor after random latency or dropped with given probability, random decisions are
+ * taken from seeded random in order of sends, so the same seed gives the same run. Messages aren't serialized, each
+ * recipient gets a copy sharing the same data object.
+ */
+public final class SimulatedNetwork {
+
+  private static final int FIRST_PORT = 4801;
+
+  private final VirtualTimeExecutor executor;
+  private final Random random;
+  private final long minLatency; // nanos
+  private final long maxLatency; // nanos
+  private final double loss;
+  private final Map<Address, SimulatedTransport> transports = new HashMap<>();
+  private final Map<String, Long> sentByQualifier = new TreeMap<>();
+  private int nextPort = FIRST_PORT;
+  private long sent;
+  private long delivered;
+  private long dropped;
+
+  /**
+   * Creates network.
+   *
+   * @param executor virtual time executor which delivers messages
+   * @param random seeded random for latency and loss
+   * @param minLatency min one way latency in milliseconds
+   * @param maxLatency max one way latency in milliseconds
+   * @param lossPercent percent of lost messages
+   */
+  public SimulatedNetwork(VirtualTimeExecutor executor, Random random, int minLatency, int maxLatency,
+      double lossPercent) {
+    checkArgument(minLatency >= 0 && minLatency <= maxLatency);
+    checkArgument(lossPercent >= 0 && lossPercent < 100);
+    this.executor = executor;
+    this.random = random;
+    this.minLatency = TimeUnit.MILLISECONDS.toNanos(minLatency);
+    this.maxLatency = TimeUnit.MILLISECONDS.toNanos(maxLatency);
+    this.loss = lossPercent / 100.0;
+  }
+
+  /**
+   * Creates transport bound to the next free address of this network.
+   */
+  public SimulatedTransport createTransport() {
+    Address address = Address.create("simulation", nextPort++);
+    SimulatedTransport transport = new SimulatedTransport(this, address);
+    transports.put(address, transport);
+    return transport;
+  }
+
+  VirtualTimeExecutor executor() {
+    return executor;
+  }
+
+  void remove(Address address) {
+    transports.remove(address);
+  }
+
+  void send(Address sender, Address recipient, Message message) {
+    sent++;
+    sentByQualifier.merge(String.valueOf(message.qualifier()), 1L, Long::sum);
+    if (loss > 0 && random.nextDouble() < loss) {
+      dropped++;
+      return;
+    }
+    Message copy = Message.with(message).build();
+    copy.setSender(sender);
+    long latency = minLatency + (long) (random.nextDouble() * (maxLatency - minLatency));
+    executor.schedule(() -> deliver(recipient, copy), latency, TimeUnit.NANOSECONDS);
+  }
+
+  private void deliver(Address recipient, Message message) {
+    SimulatedTransport transport = transports.get(recipient);
+    if (transport == null) {
+      dropped++; // recipient crashed or never existed
+      return;
+    }
+    delivered++;
+    transport.onMessage(message);
+  }
+
+  /**
+   * Returns number of messages sent by all transports.
+   */
+  public long sentMessages() {
+    return sent;
+  }
+
+  /**
+   * Returns number of messages delivered to recipients.
+   */
+  public long deliveredMessages() {
+    return delivered;
+  }
+
+  /**
+   * Returns number of messages lost in network or sent to stopped transport.
+   */
+  public long droppedMessages() {
+    return dropped;
+  }
+
+  /**
+   * Returns number of sent messages per qualifier.
+   */
+  public Map<String, Long> sentMessagesByQualifier() {
+    return Collections.unmodifiableMap(sentByQualifier);
+  }
+
+  /**
+   * Resets message counters.
+   */
+  public void resetCounters() {
+    sent = 0;
+    delivered = 0;
+    dropped = 0;
+    sentByQualifier.clear();
+  }
+}
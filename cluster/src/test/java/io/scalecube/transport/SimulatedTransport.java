@@ -0,0 +1,99 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import rx.Observable;
+import rx.subjects.PublishSubject;
+import rx.subjects.Subject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * In-memory transport of {@link SimulatedNetwork}. Sends always succeed, since delivery is decided by network, and
+ * received messages are emitted on virtual time executor of the network, which is also returned as event loop. It
+ * lives in transport package to set sender of delivered messages as real transport does.
+ */
+public final class SimulatedTransport implements Transport {
+
+  private final SimulatedNetwork network;
+  private final Address address;
+  private final NetworkEmulator networkEmulator;
+  private final Subject<Message, Message> subject = PublishSubject.<Message>create().toSerialized();
+  private volatile boolean stopped;
+
+  SimulatedTransport(SimulatedNetwork network, Address address) {
+    this.network = network;
+    this.address = address;
+    this.networkEmulator = new NetworkEmulator(address, false);
+  }
+
+  @Override
+  public Address address() {
+    return address;
+  }
+
+  @Override
+  public void stop() {
+    stop(new CompletableFuture<>());
+  }
+
+  @Override
+  public void stop(@CheckForNull CompletableFuture<Void> promise) {
+    checkArgument(promise != null);
+    if (!stopped) {
+      stopped = true;
+      network.remove(address);
+      subject.onCompleted();
+    }
+    promise.complete(null);
+  }
+
+  @Override
+  public boolean isStopped() {
+    return stopped;
+  }
+
+  @Override
+  public void send(@CheckForNull Address address, @CheckForNull Message message) {
+    send(address, message, new CompletableFuture<>());
+  }
+
+  @Override
+  public void send(@CheckForNull Address address, @CheckForNull Message message,
+      @CheckForNull CompletableFuture<Void> promise) {
+    checkState(!stopped, "Transport is stopped");
+    checkArgument(address != null);
+    checkArgument(message != null);
+    checkArgument(promise != null);
+    network.send(this.address, address, message);
+    promise.complete(null);
+  }
+
+  @Nonnull
+  @Override
+  public Observable<Message> listen() {
+    checkState(!stopped, "Transport is stopped");
+    return subject.onBackpressureBuffer().asObservable();
+  }
+
+  @Nonnull
+  @Override
+  public NetworkEmulator networkEmulator() {
+    return networkEmulator;
+  }
+
+  @Nonnull
+  @Override
+  public ScheduledExecutorService eventLoop() {
+    return network.executor();
+  }
+
+  void onMessage(Message message) {
+    subject.onNext(message);
+  }
+}
@@ -0,0 +1,40 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event which is committed on each gossip period in which there was something to spread.
+ */
+@Name("io.scalecube.cluster.GossipRound")
+@Label("Gossip Round")
+@Category({"ScaleCube", "Gossip"})
+@Description("Gossip period spreading gossips to selected members")
+@StackTrace(false)
+final class GossipRoundEvent extends jdk.jfr.Event {
+
+  @Label("Local Member")
+  String localMember;
+
+  @Label("Period")
+  long period;
+
+  @Label("Gossips")
+  @Description("Number of gossips maintained locally")
+  int gossips;
+
+  @Label("Gossips Sent")
+  @Description("Total number of gossips sent to all targeted members")
+  int gossipsSent;
+
+  @Label("Members Targeted")
+  int membersTargeted;
+
+  @Label("Gossips Deferred")
+  @Description("Number of gossip deferrals to the next period due to gossip request budget")
+  int gossipsDeferred;
+
+}
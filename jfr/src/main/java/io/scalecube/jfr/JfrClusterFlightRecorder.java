@@ -0,0 +1,72 @@
+package io.scalecube.jfr;
+
+import io.scalecube.cluster.ClusterFlightRecorder;
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.membership.MemberStatus;
+import io.scalecube.transport.Address;
+
+/**
+ * Cluster flight recorder which commits Java Flight Recorder events of failure detector, membership and gossip
+ * protocols. Event fields are populated only when corresponding event type is enabled in running recording.
+ */
+public final class JfrClusterFlightRecorder implements ClusterFlightRecorder {
+
+  @Override
+  public void onPing(String localMemberId, Member member, MemberStatus status, boolean indirect, long rttNanos,
+      double phi) {
+    PingEvent event = new PingEvent();
+    if (event.isEnabled()) {
+      event.localMember = localMemberId;
+      event.member = member.toString();
+      event.status = status.name();
+      event.indirect = indirect;
+      event.rtt = rttNanos;
+      event.phi = phi;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onSync(String localMemberId, Address peer, boolean received, String qualifier,
+      long syncRequestsReceived) {
+    SyncEvent event = new SyncEvent();
+    if (event.isEnabled()) {
+      event.localMember = localMemberId;
+      event.peer = peer.toString();
+      event.received = received;
+      event.qualifier = qualifier;
+      event.syncRequestsReceived = syncRequestsReceived;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onMemberStatusChange(String localMemberId, Member member, MemberStatus oldStatus,
+      MemberStatus newStatus, int incarnation, String reason) {
+    MemberStatusChangeEvent event = new MemberStatusChangeEvent();
+    if (event.isEnabled()) {
+      event.localMember = localMemberId;
+      event.member = member.toString();
+      event.oldStatus = oldStatus != null ? oldStatus.name() : null;
+      event.newStatus = newStatus.name();
+      event.incarnation = incarnation;
+      event.reason = reason;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onGossipRound(String localMemberId, long period, int gossips, int gossipsSent, int membersTargeted,
+      int gossipsDeferred) {
+    GossipRoundEvent event = new GossipRoundEvent();
+    if (event.isEnabled()) {
+      event.localMember = localMemberId;
+      event.period = period;
+      event.gossips = gossips;
+      event.gossipsSent = gossipsSent;
+      event.membersTargeted = membersTargeted;
+      event.gossipsDeferred = gossipsDeferred;
+      event.commit();
+    }
+  }
+}
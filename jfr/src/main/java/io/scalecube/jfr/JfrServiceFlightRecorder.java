@@ -0,0 +1,34 @@
+package io.scalecube.jfr;
+
+import io.scalecube.services.ServiceFlightRecorder;
+
+/**
+ * Service flight recorder which spans Java Flight Recorder event over service call from request till response or
+ * error. Event is begun only when it is enabled in running recording.
+ */
+public final class JfrServiceFlightRecorder implements ServiceFlightRecorder {
+
+  @Override
+  public Object beginServiceCall(String service, String method, String memberId, boolean local) {
+    ServiceCallEvent event = new ServiceCallEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.service = service;
+    event.method = method;
+    event.member = memberId;
+    event.local = local;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void endServiceCall(Object call, Throwable error) {
+    ServiceCallEvent event = (ServiceCallEvent) call;
+    event.end();
+    if (event.shouldCommit()) {
+      event.error = error != null ? error.toString() : null;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package io.scalecube.jfr;
+
+import io.scalecube.transport.Address;
+import io.scalecube.transport.TransportMetrics;
+
+/**
+ * Transport metrics which commits Java Flight Recorder events on message send and receive. Event fields are populated
+ * only when corresponding event type is enabled in running recording, so without active recording cost of this
+ * listener is a single check per message.
+ */
+public final class JfrTransportMetrics implements TransportMetrics {
+
+  @Override
+  public void onMessageSent(Address peer, String qualifier, int bytes, long encodeNanos) {
+    MessageSentEvent event = new MessageSentEvent();
+    if (event.isEnabled()) {
+      event.qualifier = qualifier;
+      event.peer = peer != null ? peer.toString() : null;
+      event.size = bytes;
+      event.encodeTime = encodeNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void onMessageReceived(Address peer, String qualifier, int bytes, long decodeNanos) {
+    MessageReceivedEvent event = new MessageReceivedEvent();
+    if (event.isEnabled()) {
+      event.qualifier = qualifier;
+      event.peer = peer != null ? peer.toString() : null;
+      event.size = bytes;
+      event.decodeTime = decodeNanos;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event which is committed when status of member in local membership table changes.
+ */
+@Name("io.scalecube.cluster.MemberStatusChange")
+@Label("Member Status Change")
+@Category({"ScaleCube", "Membership"})
+@Description("Status transition of member in local membership table")
+@StackTrace(false)
+final class MemberStatusChangeEvent extends jdk.jfr.Event {
+
+  @Label("Local Member")
+  String localMember;
+
+  @Label("Member")
+  String member;
+
+  @Label("Old Status")
+  String oldStatus;
+
+  @Label("New Status")
+  String newStatus;
+
+  @Label("Incarnation")
+  int incarnation;
+
+  @Label("Reason")
+  String reason;
+
+}
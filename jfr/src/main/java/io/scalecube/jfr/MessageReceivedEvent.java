@@ -0,0 +1,35 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event which is committed when message was received and deserialized.
+ */
+@Name("io.scalecube.transport.MessageReceived")
+@Label("Message Received")
+@Category({"ScaleCube", "Transport"})
+@Description("Message received and deserialized")
+@StackTrace(false)
+final class MessageReceivedEvent extends jdk.jfr.Event {
+
+  @Label("Qualifier")
+  String qualifier;
+
+  @Label("Peer")
+  String peer;
+
+  @Label("Size")
+  @DataAmount
+  int size;
+
+  @Label("Decode Time")
+  @Timespan
+  long decodeTime;
+
+}
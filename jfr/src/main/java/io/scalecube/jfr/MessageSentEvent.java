@@ -0,0 +1,35 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event which is committed when message was serialized and written into outgoing channel.
+ */
+@Name("io.scalecube.transport.MessageSent")
+@Label("Message Sent")
+@Category({"ScaleCube", "Transport"})
+@Description("Message serialized and written into outgoing channel")
+@StackTrace(false)
+final class MessageSentEvent extends jdk.jfr.Event {
+
+  @Label("Qualifier")
+  String qualifier;
+
+  @Label("Peer")
+  String peer;
+
+  @Label("Size")
+  @DataAmount
+  int size;
+
+  @Label("Encode Time")
+  @Timespan
+  long encodeTime;
+
+}
@@ -0,0 +1,41 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event which is committed on outcome of each failure detector probe.
+ */
+@Name("io.scalecube.cluster.Ping")
+@Label("Ping")
+@Category({"ScaleCube", "Failure Detector"})
+@Description("Outcome of failure detector probe")
+@StackTrace(false)
+final class PingEvent extends jdk.jfr.Event {
+
+  @Label("Local Member")
+  String localMember;
+
+  @Label("Member")
+  String member;
+
+  @Label("Status")
+  String status;
+
+  @Label("Indirect")
+  @Description("True if outcome was obtained through PingReq members")
+  boolean indirect;
+
+  @Label("Round Trip Time")
+  @Timespan
+  long rtt;
+
+  @Label("Phi")
+  @Description("Suspicion level of direct ping outcome, zero if phi accrual is disabled or not enough history")
+  double phi;
+
+}
@@ -0,0 +1,34 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event which spans ServiceCall invocation from request till response or error.
+ */
+@Name("io.scalecube.services.ServiceCall")
+@Label("Service Call")
+@Category({"ScaleCube", "Services"})
+@Description("Service method invocation through ServiceCall")
+@StackTrace(false)
+final class ServiceCallEvent extends jdk.jfr.Event {
+
+  @Label("Service")
+  String service;
+
+  @Label("Method")
+  String method;
+
+  @Label("Member")
+  String member;
+
+  @Label("Local")
+  boolean local;
+
+  @Label("Error")
+  String error;
+
+}
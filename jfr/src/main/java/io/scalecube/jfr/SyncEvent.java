@@ -0,0 +1,37 @@
+package io.scalecube.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event which is committed on each periodic sync request sent or received by member. Aggregated by
+ * local member received events show how periodic sync load is spread over cluster members.
+ */
+@Name("io.scalecube.cluster.Sync")
+@Label("Sync")
+@Category({"ScaleCube", "Membership"})
+@Description("Periodic sync request sent or received by member")
+@StackTrace(false)
+final class SyncEvent extends jdk.jfr.Event {
+
+  @Label("Local Member")
+  String localMember;
+
+  @Label("Peer")
+  String peer;
+
+  @Label("Received")
+  @Description("True if sync request was received from peer, false if sent to peer")
+  boolean received;
+
+  @Label("Qualifier")
+  String qualifier;
+
+  @Label("Sync Requests Received")
+  @Description("Total number of sync requests received by local member")
+  long syncRequestsReceived;
+
+}
@@ -0,0 +1,152 @@
+package io.scalecube.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.Cluster;
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.testlib.BaseTest;
+import io.scalecube.transport.Message;
+import io.scalecube.transport.Transport;
+import io.scalecube.transport.TransportConfig;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that flight recorder events are committed by components with flight recorder enabled and only by them.
+ */
+public class FlightRecorderEventsTest extends BaseTest {
+
+  private static final String MESSAGE_SENT = "io.scalecube.transport.MessageSent";
+  private static final String MESSAGE_RECEIVED = "io.scalecube.transport.MessageReceived";
+  private static final String MEMBER_STATUS_CHANGE = "io.scalecube.cluster.MemberStatusChange";
+
+  private Recording recording;
+
+  // Auto-destroyed on tear down
+  private Transport enabledTransport;
+  private Transport disabledTransport;
+  private Transport server;
+  private Cluster enabledCluster;
+  private Cluster disabledCluster;
+
+  @Before
+  public void setUp() {
+    recording = new Recording();
+    recording.enable(MESSAGE_SENT);
+    recording.enable(MESSAGE_RECEIVED);
+    recording.enable(MEMBER_STATUS_CHANGE);
+    recording.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    recording.close();
+    for (Transport transport : new Transport[] {enabledTransport, disabledTransport, server}) {
+      if (transport != null) {
+        CompletableFuture<Void> close = new CompletableFuture<>();
+        transport.stop(close);
+        close.get(1, TimeUnit.SECONDS);
+      }
+    }
+    for (Cluster cluster : new Cluster[] {enabledCluster, disabledCluster}) {
+      if (cluster != null) {
+        cluster.shutdown().get(3, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  @Test
+  public void testTransportEventsAreGatedByConfig() throws Exception {
+    enabledTransport = Transport.bindAwait(TransportConfig.builder().flightRecorderEnabled(true).build());
+    disabledTransport = Transport.bindAwait(TransportConfig.builder().flightRecorderEnabled(false).build());
+    server = Transport.bindAwait(TransportConfig.builder().flightRecorderEnabled(false).build());
+
+    int count = 10;
+    CompletableFuture<Void> received = new CompletableFuture<>();
+    server.listen().skip(2 * count - 1).subscribe(message -> received.complete(null));
+
+    for (int i = 0; i < count; i++) {
+      enabledTransport.send(server.address(), Message.withData("hello" + i).qualifier("jfr/enabled").build());
+      disabledTransport.send(server.address(), Message.withData("hello" + i).qualifier("jfr/disabled").build());
+    }
+    received.get(3, TimeUnit.SECONDS);
+
+    List<RecordedEvent> events = stopRecording();
+    assertEquals(count, events.stream()
+        .filter(event -> MESSAGE_SENT.equals(event.getEventType().getName()))
+        .filter(event -> "jfr/enabled".equals(event.getString("qualifier")))
+        .peek(event -> assertEquals(server.address().toString(), event.getString("peer")))
+        .peek(event -> assertTrue(event.getInt("size") > 0))
+        .count());
+    assertFalse("Expected no events of transport with disabled flight recorder", events.stream()
+        .anyMatch(event -> "jfr/disabled".equals(event.getString("qualifier"))));
+    assertFalse("Expected no events of server with disabled flight recorder", events.stream()
+        .anyMatch(event -> MESSAGE_RECEIVED.equals(event.getEventType().getName())));
+  }
+
+  @Test
+  public void testClusterEventsAreGatedByConfig() throws Exception {
+    enabledCluster = Cluster.joinAwait(ClusterConfig.builder().flightRecorderEnabled(true).build());
+    disabledCluster = Cluster.joinAwait(ClusterConfig.builder()
+        .seedMembers(enabledCluster.address())
+        .flightRecorderEnabled(false)
+        .build());
+    awaitMembers(enabledCluster);
+    awaitMembers(disabledCluster);
+
+    String enabledId = enabledCluster.member().id();
+    String disabledId = disabledCluster.member().id();
+    List<RecordedEvent> events = stopRecording();
+    assertTrue("Expected status change of joined member", events.stream()
+        .filter(event -> MEMBER_STATUS_CHANGE.equals(event.getEventType().getName()))
+        .filter(event -> enabledId.equals(event.getString("localMember")))
+        .anyMatch(event -> event.getString("member").contains(disabledId)
+            && "ALIVE".equals(event.getString("newStatus"))));
+    assertTrue("Expected message events of cluster transport", events.stream()
+        .anyMatch(event -> MESSAGE_SENT.equals(event.getEventType().getName())
+            && disabledCluster.address().toString().equals(event.getString("peer"))));
+    assertFalse("Expected no events of cluster with disabled flight recorder", events.stream()
+        .filter(event -> MEMBER_STATUS_CHANGE.equals(event.getEventType().getName()))
+        .anyMatch(event -> disabledId.equals(event.getString("localMember"))));
+    assertFalse("Expected no events of cluster transport with disabled flight recorder", events.stream()
+        .anyMatch(event -> MESSAGE_SENT.equals(event.getEventType().getName())
+            && enabledCluster.address().toString().equals(event.getString("peer"))));
+  }
+
+  private void awaitMembers(Cluster cluster) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(3);
+    while (cluster.otherMembers().isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertFalse("Expected cluster members to see each other", cluster.otherMembers().isEmpty());
+  }
+
+  private List<RecordedEvent> stopRecording() throws Exception {
+    recording.stop();
+    Path file = Files.createTempFile("scalecube", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName().startsWith("io.scalecube."))
+          .collect(Collectors.toList());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
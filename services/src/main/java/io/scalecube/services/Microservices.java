@@ -110,13 +110,14 @@ public class Microservices {
 
   private Metrics metrics;
 
-  private Microservices(Cluster cluster, ServiceCommunicator sender, ServicesConfig services, Metrics metrics) {
+  private Microservices(Cluster cluster, ServiceCommunicator sender, ServicesConfig services, Metrics metrics,
+      boolean flightRecorderEnabled) {
     this.cluster = cluster;
     this.sender = sender;
     this.metrics = metrics;
     this.serviceRegistry = new ServiceRegistryImpl(this, services, metrics);
 
-    this.dispatcherFactory = new ServiceDispatcherFactory(serviceRegistry);
+    this.dispatcherFactory = new ServiceDispatcherFactory(serviceRegistry, flightRecorderEnabled);
     this.proxyFactory = new ServiceProxyFactory(this);
     new ServiceDispatcher(this);
 
@@ -155,6 +156,8 @@ public class Microservices {
 
     private Metrics metrics;
 
+    private boolean flightRecorderEnabled = false;
+
     /**
      * Microservices instance builder.
      *
@@ -165,17 +168,25 @@ public class Microservices {
       Cluster cluster = null;
 
       // create cluster and transport with given config.
+      TransportConfig serviceTransportConfig = TransportConfig.builder().fillFrom(transportConfig)
+              .flightRecorderEnabled(flightRecorderEnabled || transportConfig.isFlightRecorderEnabled())
+              .build();
       ServiceTransport transportSender =
-              new ServiceTransport(Transport.bindAwait(transportConfig));
+              new ServiceTransport(Transport.bindAwait(serviceTransportConfig));
 
       ClusterConfig cfg = getClusterConfig(servicesConfig, transportSender.address());
       cluster = Cluster.joinAwait(cfg);
       transportSender.cluster(cluster);
 
-      return Reflect.builder(new Microservices(cluster, transportSender, servicesConfig, this.metrics)).inject();
+      return Reflect.builder(
+              new Microservices(cluster, transportSender, servicesConfig, this.metrics, flightRecorderEnabled))
+              .inject();
     }
 
     private ClusterConfig getClusterConfig(ServicesConfig servicesConfig, Address address) {
+      if (flightRecorderEnabled) {
+        clusterConfig.flightRecorderEnabled(true);
+      }
       if (servicesConfig != null && !servicesConfig.services().isEmpty()) {
         clusterConfig.addMetadata(Microservices.metadata(servicesConfig));
         if (address != null) {
@@ -244,6 +255,18 @@ public class Microservices {
       return this;
     }
 
+    /**
+     * Enables Java Flight Recorder events for service calls, cluster protocols and transports of this instance.
+     * Requires scalecube-jfr module on classpath and JDK 11+, otherwise setting is ignored with a warning.
+     *
+     * @param flightRecorderEnabled either flight recorder events are enabled
+     * @return builder.
+     */
+    public Builder flightRecorderEnabled(boolean flightRecorderEnabled) {
+      this.flightRecorderEnabled = flightRecorderEnabled;
+      return this;
+    }
+
   }
 
   public static Builder builder() {
@@ -32,6 +32,7 @@ public class ServiceCall {
   private Router router;
   private Timer latency;
   private Metrics metrics;
+  private ServiceFlightRecorder flightRecorder; // null unless flight recorder is enabled and available
 
   /**
    * ServiceCall is a service communication pattern for async request reply and reactive streams. it communicates with
@@ -43,9 +44,24 @@ public class ServiceCall {
    * @param metrics provider to collect metrics regards service execution.
    */
   public ServiceCall(Router router, Duration timeout, Metrics metrics) {
+    this(router, timeout, metrics, null);
+  }
+
+  /**
+   * ServiceCall is a service communication pattern for async request reply and reactive streams. it communicates with
+   * local and remote services using messages and handles. it acts as proxy and middle-ware between service consumer and
+   * service provider.
+   *
+   * @param router strategy to select service instance.
+   * @param timeout waiting for response.
+   * @param metrics provider to collect metrics regards service execution.
+   * @param flightRecorder recorder of flight recorder event per invocation; null if disabled.
+   */
+  public ServiceCall(Router router, Duration timeout, Metrics metrics, ServiceFlightRecorder flightRecorder) {
     this.router = router;
     this.timeout = timeout;
     this.metrics = metrics;
+    this.flightRecorder = flightRecorder;
     this.latency = Metrics.timer(this.metrics, ServiceCall.class.getName(), "invoke");
   }
 
@@ -126,6 +142,19 @@ public class ServiceCall {
     Messages.validate().serviceRequest(request);
     serviceInstance.checkMethodExists(request.header(ServiceHeaders.METHOD));
 
+    if (flightRecorder != null) {
+      Object call = flightRecorder.beginServiceCall(request.header(ServiceHeaders.SERVICE_REQUEST),
+          request.header(ServiceHeaders.METHOD), serviceInstance.memberId(), serviceInstance.isLocal());
+      if (call != null) {
+        return invoke0(request, serviceInstance, duration)
+            .whenComplete((response, error) -> flightRecorder.endServiceCall(call, error));
+      }
+    }
+    return invoke0(request, serviceInstance, duration);
+  }
+
+  private CompletableFuture<Message> invoke0(final Message request, final ServiceInstance serviceInstance,
+      final Duration duration) {
     if (!serviceInstance.isLocal()) {
       String cid = IdGenerator.generateId();
 
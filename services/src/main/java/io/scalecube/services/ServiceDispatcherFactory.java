@@ -9,13 +9,19 @@ import java.time.Duration;
 public class ServiceDispatcherFactory {
 
   private final RouterFactory routerFactory;
+  private final ServiceFlightRecorder flightRecorder; // null unless flight recorder is enabled and available
 
   public ServiceDispatcherFactory(ServiceRegistry serviceRegistry) {
+    this(serviceRegistry, false);
+  }
+
+  public ServiceDispatcherFactory(ServiceRegistry serviceRegistry, boolean flightRecorderEnabled) {
     this.routerFactory = new RouterFactory(serviceRegistry);
+    this.flightRecorder = flightRecorderEnabled ? ServiceFlightRecorder.newInstance() : null;
   }
 
   public ServiceCall createDispatcher(Class<? extends Router> routerType, Duration timeout, Metrics metrics) {
-    return new ServiceCall(routerFactory.getRouter(routerType), timeout, metrics);
+    return new ServiceCall(routerFactory.getRouter(routerType), timeout, metrics, flightRecorder);
   }
 
 }
@@ -0,0 +1,40 @@
+package io.scalecube.services;
+
+import io.scalecube.transport.FlightRecorderSupport;
+
+/**
+ * Recorder of {@link ServiceCall} invocations into Java Flight Recorder. Implementation resides in optional
+ * scalecube-jfr module and is instantiated only when flight recorder is enabled in {@link Microservices.Builder}.
+ */
+public interface ServiceFlightRecorder {
+
+  /**
+   * Returns new recorder instance.
+   *
+   * @return recorder or null if scalecube-jfr module isn't on classpath or flight recorder isn't supported by JVM
+   */
+  static ServiceFlightRecorder newInstance() {
+    return FlightRecorderSupport.newInstance("io.scalecube.jfr.JfrServiceFlightRecorder", ServiceFlightRecorder.class);
+  }
+
+  /**
+   * Begins recording of service call.
+   *
+   * @param service service name
+   * @param method service method
+   * @param memberId id of member which hosts service instance
+   * @param local true if service instance is local
+   * @return handle of recorded call to pass into {@link #endServiceCall(Object, Throwable)}; null if event isn't
+   *         enabled in running recording
+   */
+  Object beginServiceCall(String service, String method, String memberId, boolean local);
+
+  /**
+   * Ends recording of service call on response or error.
+   *
+   * @param call handle returned by {@link #beginServiceCall(String, String, String, boolean)}
+   * @param error service call error; null if call succeeded
+   */
+  void endServiceCall(Object call, Throwable error);
+
+}
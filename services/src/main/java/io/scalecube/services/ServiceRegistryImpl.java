@@ -2,6 +2,7 @@ package io.scalecube.services;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import io.scalecube.cluster.ClusterView;
 import io.scalecube.cluster.Member;
 import io.scalecube.services.ServicesConfig.Builder.ServiceConfig;
 import io.scalecube.services.metrics.Metrics;
@@ -36,6 +37,8 @@ public class ServiceRegistryImpl implements ServiceRegistry {
 
   private Metrics metrics;
 
+  private volatile long loadedViewVersion = -1; // version of cluster view which services were loaded from
+
   /**
    * the ServiceRegistry constructor to register and lookup cluster instances.
    *
@@ -76,9 +79,14 @@ public class ServiceRegistryImpl implements ServiceRegistry {
   }
 
   private void loadClusterServices() {
-    this.microservices.cluster().otherMembers().forEach(member -> {
+    ClusterView view = this.microservices.cluster().view();
+    if (view.version() == loadedViewVersion) {
+      return; // membership didn't change since last load
+    }
+    view.otherMembers().forEach(member -> {
       loadMemberServices(DiscoveryType.DISCOVERED, member);
     });
+    loadedViewVersion = view.version();
   }
 
   private void loadMemberServices(DiscoveryType type, Member member) {
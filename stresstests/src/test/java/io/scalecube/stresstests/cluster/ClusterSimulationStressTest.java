@@ -0,0 +1,104 @@
+package io.scalecube.stresstests.cluster;
+
+import static io.scalecube.cluster.ClusterMath.gossipDisseminationTime;
+import static io.scalecube.cluster.ClusterMath.gossipTimeoutToSweep;
+import static io.scalecube.cluster.ClusterMath.maxMessagesPerGossipTotal;
+import static io.scalecube.cluster.ClusterMath.suspicionTimeout;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.cluster.ClusterConfig;
+import io.scalecube.cluster.gossip.GossipProtocolImpl;
+import io.scalecube.cluster.simulation.ClusterSimulation;
+import io.scalecube.testlib.BaseTest;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Validates {@link io.scalecube.cluster.ClusterMath} predictions on simulated cluster. Size of cluster and seed can be
+ * set by system properties, e.g. {@code -Dsimulation.members=5000 -Dsimulation.seed=7} (5000 members need a few
+ * gigabytes of heap since every member keeps full membership).
+ */
+public class ClusterSimulationStressTest extends BaseTest {
+
+  private static final int MEMBERS = Integer.getInteger("simulation.members", 200);
+  private static final long SEED = Long.getLong("simulation.seed", 42);
+  private static final int MIN_LATENCY = 1;
+  private static final int MAX_LATENCY = 5;
+  private static final long JOIN_WINDOW = 10_000;
+
+  private static final int pingInterval = ClusterConfig.DEFAULT_PING_INTERVAL;
+  private static final int suspicionMult = ClusterConfig.DEFAULT_SUSPICION_MULT;
+  private static final long gossipInterval = ClusterConfig.DEFAULT_GOSSIP_INTERVAL;
+  private static final int gossipFanout = ClusterConfig.DEFAULT_GOSSIP_FANOUT;
+  private static final int gossipRepeatMult = ClusterConfig.DEFAULT_GOSSIP_REPEAT_MULT;
+
+  @BeforeClass
+  public static void setUpLogging() {
+    // Membership logs full membership table on join, which is too much for thousands of members
+    Configurator.setLevel("io.scalecube.cluster", Level.WARN);
+  }
+
+  @AfterClass
+  public static void tearDownLogging() {
+    Configurator.setLevel("io.scalecube.cluster", Level.INFO);
+  }
+
+  @Test
+  public void testClusterMathPredictions() {
+    ClusterSimulation simulation = new ClusterSimulation(SEED, MIN_LATENCY, MAX_LATENCY, 0, builder -> builder
+        .pingInterval(pingInterval)
+        .suspicionMult(suspicionMult)
+        .gossipInterval(gossipInterval)
+        .gossipFanout(gossipFanout)
+        .gossipRepeatMult(gossipRepeatMult));
+    long wallClockStart = System.currentTimeMillis();
+    try {
+      // Join
+      simulation.join(MEMBERS, JOIN_WINDOW);
+      simulation.run(JOIN_WINDOW);
+      long joinTime = simulation.awaitConvergence(10 * ClusterConfig.DEFAULT_SYNC_INTERVAL);
+      LOGGER.info("Join of {} members converged in {}ms after join window, {}", MEMBERS, joinTime, simulation);
+      assertTrue("Join didn't converge", joinTime >= 0);
+
+      // Gossip
+      simulation.network().resetCounters();
+      long gossipTimeout = gossipTimeoutToSweep(gossipRepeatMult, MEMBERS, gossipInterval);
+      long disseminationTime = simulation.spreadGossip(2 * gossipTimeout);
+      simulation.run(gossipTimeout);
+      long gossipMessages = simulation.network().sentMessagesByQualifier()
+          .getOrDefault(GossipProtocolImpl.GOSSIP_REQ, 0L);
+      LOGGER.info("Expected dissemination time is {}ms, actual {}ms (timeout {}ms)",
+          gossipDisseminationTime(gossipRepeatMult, MEMBERS, gossipInterval), disseminationTime, gossipTimeout);
+      LOGGER.info("Max gossip messages {}, sent {} (including other gossips)",
+          maxMessagesPerGossipTotal(gossipFanout, gossipRepeatMult, MEMBERS), gossipMessages);
+      assertTrue("Gossip wasn't disseminated", disseminationTime >= 0);
+      assertTrue("Too long dissemination time " + disseminationTime, disseminationTime < gossipTimeout);
+
+      // No false positives without message loss
+      simulation.run(10 * pingInterval);
+      LOGGER.info("False positive rate {} of {} probes", simulation.falsePositiveRate(), simulation.probes());
+      assertEquals(0, simulation.falseSuspicions());
+      assertEquals(0, simulation.falseRemovals());
+
+      // Failure detection
+      int crashCount = Math.max(MEMBERS / 100, 1);
+      simulation.crash(crashCount);
+      long expectedRemovalTime = suspicionTimeout(suspicionMult, MEMBERS, pingInterval)
+          + 2 * pingInterval + gossipTimeout;
+      long removalTime = simulation.awaitConvergence(2 * expectedRemovalTime);
+      LOGGER.info("Crash of {} members detected in {}ms (expected within {}ms), {}",
+          crashCount, removalTime, expectedRemovalTime, simulation);
+      assertTrue("Crashed members weren't removed", removalTime >= 0);
+      assertTrue("Too long removal time " + removalTime, removalTime < expectedRemovalTime);
+      assertEquals(0, simulation.falseRemovals());
+    } finally {
+      simulation.shutdown();
+      LOGGER.info("Simulated {}ms in {}ms", simulation.time(), System.currentTimeMillis() - wallClockStart);
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package io.scalecube.testlib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Scheduled executor with virtual time for deterministic simulation. Tasks aren't run by any thread on their own, they
+ * are run by the caller of {@link #advanceTime(long, TimeUnit)} or {@link #runUntil(BooleanSupplier, long, TimeUnit)}
+ * in order of their scheduled time, tasks scheduled for the same time run in order of submission. Virtual clock jumps
+ * to the time of the next task, so simulated hours pass in seconds of wall clock time. Submission of tasks is thread
+ * safe, but tasks should be submitted only from tasks of this executor to keep simulation deterministic.
+ */
+public final class VirtualTimeExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+  private final PriorityQueue<VirtualTask<?>> queue = new PriorityQueue<>();
+  private long nanoTime;
+  private long sequence;
+  private long completedTasks;
+  private boolean shutdown;
+
+  /**
+   * Returns current virtual time in nanoseconds, starts at zero.
+   */
+  public synchronized long nanoTime() {
+    return nanoTime;
+  }
+
+  /**
+   * Returns number of tasks run so far.
+   */
+  public synchronized long completedTasks() {
+    return completedTasks;
+  }
+
+  /**
+   * Returns number of tasks waiting for their time, including cancelled ones not dropped yet.
+   */
+  public synchronized int pendingTasks() {
+    return queue.size();
+  }
+
+  /**
+   * Runs all tasks scheduled within the given time from now and moves virtual clock forward by the given time.
+   *
+   * @param time time to advance
+   * @param unit unit of time
+   */
+  public void advanceTime(long time, TimeUnit unit) {
+    long deadline = nanoTime() + unit.toNanos(time);
+    while (runNextTask(deadline)) {
+      // keep running
+    }
+    synchronized (this) {
+      nanoTime = Math.max(nanoTime, deadline);
+    }
+  }
+
+  /**
+   * Runs tasks until the given condition is met or the given time from now elapses. Condition is checked before each
+   * task.
+   *
+   * @param condition condition to stop at
+   * @param timeout max time to advance
+   * @param unit unit of timeout
+   * @return true if condition is met, false on timeout
+   */
+  public boolean runUntil(BooleanSupplier condition, long timeout, TimeUnit unit) {
+    long deadline = nanoTime() + unit.toNanos(timeout);
+    while (!condition.getAsBoolean()) {
+      if (!runNextTask(deadline)) {
+        synchronized (this) {
+          nanoTime = Math.max(nanoTime, deadline);
+        }
+        return condition.getAsBoolean();
+      }
+    }
+    return true;
+  }
+
+  private boolean runNextTask(long deadline) {
+    VirtualTask<?> task;
+    synchronized (this) {
+      do {
+        task = queue.peek();
+        if (task == null || task.time - deadline > 0) {
+          return false;
+        }
+        queue.poll();
+      } while (task.cancelled);
+      nanoTime = Math.max(nanoTime, task.time);
+      completedTasks++;
+    }
+    task.run();
+    return true;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    schedule(command, 0, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(Executors.callable(command), delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return enqueue(new VirtualTask<>(callable, unit.toNanos(Math.max(delay, 0)), 0));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("period: " + period);
+    }
+    return enqueue(new VirtualTask<>(Executors.callable(command), unit.toNanos(Math.max(initialDelay, 0)),
+        unit.toNanos(period)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    // Tasks take no virtual time, so fixed delay is the same as fixed rate
+    return scheduleAtFixedRate(command, initialDelay, delay, unit);
+  }
+
+  private synchronized <V> VirtualTask<V> enqueue(VirtualTask<V> task) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    task.time = nanoTime + task.delay;
+    task.sequence = sequence++;
+    queue.add(task);
+    return task;
+  }
+
+  private synchronized void reschedule(VirtualTask<?> task) {
+    if (!shutdown) {
+      task.time += task.period;
+      task.sequence = sequence++;
+      queue.add(task);
+    }
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    shutdown = true;
+  }
+
+  @Override
+  public synchronized List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> tasks = new ArrayList<>(queue);
+    queue.clear();
+    return tasks;
+  }
+
+  @Override
+  public synchronized boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public synchronized boolean isTerminated() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) {
+    return isTerminated();
+  }
+
+  private final class VirtualTask<V> implements ScheduledFuture<V>, Runnable {
+    private final Callable<V> callable;
+    private final long delay;
+    private final long period; // zero if task isn't periodic
+    private long time;
+    private long sequence;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private V result;
+    private Throwable failure;
+
+    private VirtualTask(Callable<V> callable, long delay, long period) {
+      this.callable = callable;
+      this.delay = delay;
+      this.period = period;
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        V value = callable.call();
+        if (period > 0) {
+          reschedule(this);
+          return;
+        }
+        result = value;
+      } catch (Throwable throwable) {
+        // Periodic task isn't rescheduled on failure, as with regular scheduled executor
+        failure = throwable;
+      }
+      done = true;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(time - nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      VirtualTask<?> task = (VirtualTask<?>) other;
+      int compare = Long.compare(time, task.time);
+      return compare != 0 ? compare : Long.compare(sequence, task.sequence);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (done) {
+        return false;
+      }
+      // Cancelled task is dropped from queue when its time comes
+      cancelled = true;
+      done = true;
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done;
+    }
+
+    @Override
+    public V get() throws ExecutionException {
+      if (!done) {
+        // Waiting would block virtual clock forever, since tasks are run by the caller
+        throw new IllegalStateException("Task isn't completed at virtual time " + nanoTime());
+      }
+      if (cancelled) {
+        throw new CancellationException();
+      }
+      if (failure != null) {
+        throw new ExecutionException(failure);
+      }
+      return result;
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws ExecutionException {
+      return get();
+    }
+  }
+}
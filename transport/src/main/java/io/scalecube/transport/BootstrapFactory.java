@@ -52,11 +52,31 @@ final class BootstrapFactory {
   private final TransportConfig config;
   private final EventLoopGroup bossGroup;
   private final EventLoopGroup workerGroup;
+  private final boolean sharedEventLoopGroup; // true if group is given by config and not owned by transport
 
   public BootstrapFactory(TransportConfig config) {
     this.config = config;
-    this.bossGroup = createEventLoopGroup(config.getBossThreads(), new DefaultThreadFactory("sc-boss", true));
-    this.workerGroup = createEventLoopGroup(config.getWorkerThreads(), new DefaultThreadFactory("sc-io", true));
+    EventLoopGroup eventLoopGroup = config.getEventLoopGroup();
+    this.sharedEventLoopGroup = eventLoopGroup != null;
+    if (sharedEventLoopGroup) {
+      this.bossGroup = eventLoopGroup;
+      this.workerGroup = eventLoopGroup;
+    } else {
+      boolean epoll = isEpollSupported();
+      this.bossGroup =
+          createEventLoopGroup(epoll, config.getBossThreads(), new DefaultThreadFactory("sc-boss", true));
+      this.workerGroup =
+          createEventLoopGroup(epoll, config.getWorkerThreads(), new DefaultThreadFactory("sc-io", true));
+    }
+  }
+
+  /**
+   * Creates event loop group which can be shared by several transports.
+   *
+   * @param threadNum number of threads; 0 for netty default
+   */
+  static EventLoopGroup createSharedEventLoopGroup(int threadNum) {
+    return createEventLoopGroup(envSupportEpoll, threadNum, new DefaultThreadFactory("sc-io-shared", true));
   }
 
   public ServerBootstrap serverBootstrap() {
@@ -83,31 +103,41 @@ final class BootstrapFactory {
   }
 
   /**
-   * @return {@link EpollEventLoopGroup} or {@link NioEventLoopGroup} object dep on {@link #isEpollSupported()} call.
+   * @return {@link EpollEventLoopGroup} or {@link NioEventLoopGroup} object dep on {@code epoll} flag.
    */
-  private EventLoopGroup createEventLoopGroup(int threadNum, ThreadFactory threadFactory) {
-    return isEpollSupported()
+  private static EventLoopGroup createEventLoopGroup(boolean epoll, int threadNum, ThreadFactory threadFactory) {
+    return epoll
         ? new EpollEventLoopGroup(threadNum, threadFactory)
         : new NioEventLoopGroup(threadNum, threadFactory);
   }
 
   private Class<? extends ServerSocketChannel> serverChannelClass() {
-    return isEpollSupported() ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    return isEpollGroup() ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
   }
 
   private Class<? extends SocketChannel> channelClass() {
-    return isEpollSupported() ? EpollSocketChannel.class : NioSocketChannel.class;
+    return isEpollGroup() ? EpollSocketChannel.class : NioSocketChannel.class;
   }
 
   private boolean isEpollSupported() {
     return envSupportEpoll && config.isEnableEpoll();
   }
 
+  /**
+   * Channel classes must match type of event loop group, which is chosen by the caller in case of shared group.
+   */
+  private boolean isEpollGroup() {
+    return sharedEventLoopGroup ? envSupportEpoll && workerGroup instanceof EpollEventLoopGroup : isEpollSupported();
+  }
+
   public EventLoopGroup getWorkerGroup() {
     return workerGroup;
   }
 
   public void shutdown() {
+    if (sharedEventLoopGroup) {
+      return; // shut down by the owner of the group
+    }
     this.bossGroup.shutdownGracefully();
     this.workerGroup.shutdownGracefully();
   }
@@ -0,0 +1,59 @@
+package io.scalecube.transport;
+
+/**
+ * Transport metrics which delegates each event to the pair of listeners.
+ *
+ * @see TransportMetrics#compose(TransportMetrics, TransportMetrics)
+ */
+final class CompositeTransportMetrics implements TransportMetrics {
+
+  private final TransportMetrics first;
+  private final TransportMetrics second;
+
+  CompositeTransportMetrics(TransportMetrics first, TransportMetrics second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  @Override
+  public void onMessageSent(Address peer, String qualifier, int bytes, long encodeNanos) {
+    first.onMessageSent(peer, qualifier, bytes, encodeNanos);
+    second.onMessageSent(peer, qualifier, bytes, encodeNanos);
+  }
+
+  @Override
+  public void onMessageReceived(Address peer, String qualifier, int bytes, long decodeNanos) {
+    first.onMessageReceived(peer, qualifier, bytes, decodeNanos);
+    second.onMessageReceived(peer, qualifier, bytes, decodeNanos);
+  }
+
+  @Override
+  public void onOutboundPending(Address peer, long pendingBytes) {
+    first.onOutboundPending(peer, pendingBytes);
+    second.onOutboundPending(peer, pendingBytes);
+  }
+
+  @Override
+  public void onConnected(Address peer, long connectNanos) {
+    first.onConnected(peer, connectNanos);
+    second.onConnected(peer, connectNanos);
+  }
+
+  @Override
+  public void onConnectFailed(Address peer, Throwable cause) {
+    first.onConnectFailed(peer, cause);
+    second.onConnectFailed(peer, cause);
+  }
+
+  @Override
+  public void onDisconnected(Address peer) {
+    first.onDisconnected(peer);
+    second.onDisconnected(peer);
+  }
+
+  @Override
+  public void onEventLoopSample(String eventLoop, int pendingTasks, long lagNanos) {
+    first.onEventLoopSample(eventLoop, pendingTasks, lagNanos);
+    second.onEventLoopSample(eventLoop, pendingTasks, lagNanos);
+  }
+}
@@ -0,0 +1,36 @@
+package io.scalecube.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads Java Flight Recorder integrations. Flight recorder events extend {@code jdk.jfr.Event} which isn't available
+ * on Java 8, so they are shipped in optional scalecube-jfr module built on JDK 11+ and looked up by class name only
+ * when flight recorder is enabled in configuration.
+ */
+public final class FlightRecorderSupport {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderSupport.class);
+
+  private FlightRecorderSupport() {
+    // Do not instantiate
+  }
+
+  /**
+   * Instantiates flight recorder integration of the given type by name of its implementation class.
+   *
+   * @param className name of implementation class with public no-arg constructor
+   * @param type type of integration
+   * @return new instance or null if scalecube-jfr module isn't on classpath or flight recorder isn't supported by JVM
+   */
+  public static <T> T newInstance(String className, Class<T> type) {
+    try {
+      return type.cast(Class.forName(className).getConstructor().newInstance());
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException ex) {
+      LOGGER.warn("Flight recorder is enabled, but {} is not available (scalecube-jfr module and JDK 11+ are "
+          + "required), events won't be recorded: {}", className, ex.toString());
+      return null;
+    }
+  }
+
+}
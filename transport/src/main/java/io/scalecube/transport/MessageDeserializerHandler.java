@@ -10,9 +10,28 @@ import java.util.List;
 @ChannelHandler.Sharable
 public final class MessageDeserializerHandler extends MessageToMessageDecoder<ByteBuf> {
 
+  private final TransportMetrics metrics;
+
+  public MessageDeserializerHandler() {
+    this(TransportMetrics.NO_OP);
+  }
+
+  public MessageDeserializerHandler(TransportMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   @Override
   protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception {
-    out.add(MessageCodec.deserialize(msg));
+    if (metrics == TransportMetrics.NO_OP) {
+      out.add(MessageCodec.deserialize(msg));
+      return;
+    }
+    int size = msg.readableBytes();
+    long startTime = System.nanoTime();
+    Message message = MessageCodec.deserialize(msg);
+    long decodeTime = System.nanoTime() - startTime;
+    metrics.onMessageReceived(message.sender(), message.qualifier(), size, decodeTime);
+    out.add(message);
   }
 
 }
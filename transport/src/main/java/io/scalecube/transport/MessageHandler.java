@@ -19,9 +19,15 @@ final class MessageHandler extends ChannelInboundHandlerAdapter {
   private static final Logger LOGGER = LoggerFactory.getLogger(MessageHandler.class);
 
   private final Subject<Message, Message> incomingMessagesSubject;
+  private final StallWatchdog stallWatchdog;
 
   MessageHandler(Subject<Message, Message> incomingMessagesSubject) {
+    this(incomingMessagesSubject, null);
+  }
+
+  MessageHandler(Subject<Message, Message> incomingMessagesSubject, StallWatchdog stallWatchdog) {
     this.incomingMessagesSubject = incomingMessagesSubject;
+    this.stallWatchdog = stallWatchdog;
   }
 
   /**
@@ -33,6 +39,16 @@ final class MessageHandler extends ChannelInboundHandlerAdapter {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Received: {}", message);
     }
-    incomingMessagesSubject.onNext(message);
+    if (stallWatchdog == null) {
+      incomingMessagesSubject.onNext(message);
+      return;
+    }
+    // Subscribers are invoked on this I/O thread, track message being handled in case they block it
+    stallWatchdog.enter(message.qualifier());
+    try {
+      incomingMessagesSubject.onNext(message);
+    } finally {
+      stallWatchdog.exit();
+    }
   }
 }
@@ -8,9 +8,28 @@ import io.netty.handler.codec.MessageToByteEncoder;
 @ChannelHandler.Sharable
 public final class MessageSerializerHandler extends MessageToByteEncoder<Message> {
 
+  private final TransportMetrics metrics;
+
+  public MessageSerializerHandler() {
+    this(TransportMetrics.NO_OP);
+  }
+
+  public MessageSerializerHandler(TransportMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   @Override
   protected void encode(ChannelHandlerContext ctx, Message msg, ByteBuf out) throws Exception {
+    if (metrics == TransportMetrics.NO_OP) {
+      MessageCodec.serialize(msg, out);
+      return;
+    }
+    int writerIndex = out.writerIndex();
+    long startTime = System.nanoTime();
     MessageCodec.serialize(msg, out);
+    long encodeTime = System.nanoTime() - startTime;
+    Address peer = ctx.channel().attr(TransportImpl.PEER_ADDRESS).get();
+    metrics.onMessageSent(peer, msg.qualifier(), out.writerIndex() - writerIndex, encodeTime);
   }
 
 }
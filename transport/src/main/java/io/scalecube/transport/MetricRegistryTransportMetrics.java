@@ -0,0 +1,225 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TransportMetrics} which exports transport events into Dropwizard {@link MetricRegistry}.
+ * Following metrics are registered under the given prefix:
+ * <ul>
+ * <li>{@code messages.in|out} and {@code bytes.in|out} meters in total, per peer and per qualifier</li>
+ * <li>{@code encode} and {@code decode} timers</li>
+ * <li>{@code pending.<peer>} gauge with bytes pending in outbound channel buffer</li>
+ * <li>{@code connect} timer, {@code connect.failed} and {@code disconnect} meters</li>
+ * <li>{@code eventloop.<name>.pending} gauge and {@code eventloop.<name>.lag} timer</li>
+ * </ul>
+ *
+ * <p>Per peer metrics are removed from the registry once outgoing connection to the peer is closed. Several transports
+ * may share registry and prefix, in which case they share metrics of the same name.
+ */
+public final class MetricRegistryTransportMetrics implements TransportMetrics {
+
+  public static final String DEFAULT_PREFIX = "io.scalecube.transport";
+
+  private static final String NO_QUALIFIER = "none";
+
+  private final MetricRegistry registry;
+  private final String prefix;
+
+  private final Meter messagesIn;
+  private final Meter messagesOut;
+  private final Meter bytesIn;
+  private final Meter bytesOut;
+  private final Timer encode;
+  private final Timer decode;
+  private final Timer connect;
+  private final Meter connectFailed;
+  private final Meter disconnect;
+
+  private final ConcurrentMap<String, Traffic> peerTraffic = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Traffic> qualifierTraffic = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Address, LongGauge> pendingBytes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, EventLoopStats> eventLoops = new ConcurrentHashMap<>();
+
+  public MetricRegistryTransportMetrics(MetricRegistry registry) {
+    this(registry, DEFAULT_PREFIX);
+  }
+
+  /**
+   * Creates transport metrics which registers all metrics in the given registry under the given prefix.
+   *
+   * @param registry metric registry
+   * @param prefix metric names prefix
+   */
+  public MetricRegistryTransportMetrics(MetricRegistry registry, String prefix) {
+    checkArgument(registry != null);
+    checkArgument(prefix != null);
+    this.registry = registry;
+    this.prefix = prefix;
+    this.messagesIn = registry.meter(MetricRegistry.name(prefix, "messages", "in"));
+    this.messagesOut = registry.meter(MetricRegistry.name(prefix, "messages", "out"));
+    this.bytesIn = registry.meter(MetricRegistry.name(prefix, "bytes", "in"));
+    this.bytesOut = registry.meter(MetricRegistry.name(prefix, "bytes", "out"));
+    this.encode = registry.timer(MetricRegistry.name(prefix, "encode"));
+    this.decode = registry.timer(MetricRegistry.name(prefix, "decode"));
+    this.connect = registry.timer(MetricRegistry.name(prefix, "connect"));
+    this.connectFailed = registry.meter(MetricRegistry.name(prefix, "connect", "failed"));
+    this.disconnect = registry.meter(MetricRegistry.name(prefix, "disconnect"));
+  }
+
+  @Override
+  public void onMessageSent(Address peer, String qualifier, int bytes, long encodeNanos) {
+    messagesOut.mark();
+    bytesOut.mark(bytes);
+    encode.update(encodeNanos, TimeUnit.NANOSECONDS);
+    if (peer != null) {
+      peerTraffic(peer).markOut(bytes);
+    }
+    qualifierTraffic(qualifier).markOut(bytes);
+  }
+
+  @Override
+  public void onMessageReceived(Address peer, String qualifier, int bytes, long decodeNanos) {
+    messagesIn.mark();
+    bytesIn.mark(bytes);
+    decode.update(decodeNanos, TimeUnit.NANOSECONDS);
+    if (peer != null) {
+      peerTraffic(peer).markIn(bytes);
+    }
+    qualifierTraffic(qualifier).markIn(bytes);
+  }
+
+  @Override
+  public void onOutboundPending(Address peer, long bytes) {
+    LongGauge gauge = pendingBytes.get(peer);
+    if (gauge == null) {
+      gauge = pendingBytes.computeIfAbsent(peer,
+          key -> getOrRegister(MetricRegistry.name(prefix, "pending", key.toString()), new LongGauge()));
+    }
+    gauge.value = bytes;
+  }
+
+  @Override
+  public void onConnected(Address peer, long connectNanos) {
+    connect.update(connectNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onConnectFailed(Address peer, Throwable cause) {
+    connectFailed.mark();
+  }
+
+  @Override
+  public void onDisconnected(Address peer) {
+    disconnect.mark();
+    if (pendingBytes.remove(peer) != null) {
+      registry.remove(MetricRegistry.name(prefix, "pending", peer.toString()));
+    }
+    Traffic traffic = peerTraffic.remove(peer.toString());
+    if (traffic != null) {
+      traffic.remove();
+    }
+  }
+
+  @Override
+  public void onEventLoopSample(String eventLoop, int pendingTasks, long lagNanos) {
+    EventLoopStats stats = eventLoops.get(eventLoop);
+    if (stats == null) {
+      stats = eventLoops.computeIfAbsent(eventLoop, EventLoopStats::new);
+    }
+    stats.pendingTasks.value = pendingTasks;
+    stats.lag.update(lagNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Registers the given metric or returns metric of the same type already registered under the given name, e.g. by
+   * another transport which shares registry and prefix.
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends Metric> T getOrRegister(String name, T metric) {
+    try {
+      return registry.register(name, metric);
+    } catch (IllegalArgumentException e) {
+      Metric existing = registry.getMetrics().get(name);
+      if (metric.getClass().isInstance(existing)) {
+        return (T) existing;
+      }
+      throw e;
+    }
+  }
+
+  private Traffic peerTraffic(Address peer) {
+    String key = peer.toString();
+    Traffic traffic = peerTraffic.get(key);
+    return traffic != null ? traffic : peerTraffic.computeIfAbsent(key, name -> new Traffic("peer", name));
+  }
+
+  private Traffic qualifierTraffic(String qualifier) {
+    String key = qualifier != null ? qualifier : NO_QUALIFIER;
+    Traffic traffic = qualifierTraffic.get(key);
+    return traffic != null ? traffic : qualifierTraffic.computeIfAbsent(key, name -> new Traffic("qualifier", name));
+  }
+
+  private final class Traffic {
+    private final String kind;
+    private final String name;
+    private final Meter messagesIn;
+    private final Meter messagesOut;
+    private final Meter bytesIn;
+    private final Meter bytesOut;
+
+    private Traffic(String kind, String name) {
+      this.kind = kind;
+      this.name = name;
+      this.messagesIn = registry.meter(MetricRegistry.name(prefix, "messages", "in", kind, name));
+      this.messagesOut = registry.meter(MetricRegistry.name(prefix, "messages", "out", kind, name));
+      this.bytesIn = registry.meter(MetricRegistry.name(prefix, "bytes", "in", kind, name));
+      this.bytesOut = registry.meter(MetricRegistry.name(prefix, "bytes", "out", kind, name));
+    }
+
+    private void remove() {
+      registry.remove(MetricRegistry.name(prefix, "messages", "in", kind, name));
+      registry.remove(MetricRegistry.name(prefix, "messages", "out", kind, name));
+      registry.remove(MetricRegistry.name(prefix, "bytes", "in", kind, name));
+      registry.remove(MetricRegistry.name(prefix, "bytes", "out", kind, name));
+    }
+
+    private void markIn(int bytes) {
+      messagesIn.mark();
+      bytesIn.mark(bytes);
+    }
+
+    private void markOut(int bytes) {
+      messagesOut.mark();
+      bytesOut.mark(bytes);
+    }
+  }
+
+  private final class EventLoopStats {
+    private final LongGauge pendingTasks;
+    private final Timer lag;
+
+    private EventLoopStats(String name) {
+      this.pendingTasks = getOrRegister(MetricRegistry.name(prefix, "eventloop", name, "pending"), new LongGauge());
+      this.lag = registry.timer(MetricRegistry.name(prefix, "eventloop", name, "lag"));
+    }
+  }
+
+  private static final class LongGauge implements Gauge<Long> {
+    private volatile long value;
+
+    @Override
+    public Long getValue() {
+      return value;
+    }
+  }
+}
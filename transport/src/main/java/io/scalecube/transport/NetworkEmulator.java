@@ -1,18 +1,29 @@
 package io.scalecube.transport;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Network Emulator is allowing to control link quality between endpoints in order to allow testing of message loss,
- * message delay, cluster partitions cluster recovery and other network related conditions.
+ * message delay, cluster partitions cluster recovery and other network related conditions. Outbound link settings are
+ * applied to messages sent to the given destination, inbound link settings are applied to messages received from the
+ * given source. Resolved link settings are cached per channel and re-resolved only after settings change.
  *
  * @author Anton Kharenko
  */
@@ -25,25 +36,51 @@ public final class NetworkEmulator {
 
   private volatile NetworkLinkSettings defaultLinkSettings = ALIVE_LINK_SETTINGS;
 
+  private volatile NetworkLinkSettings defaultInboundLinkSettings = ALIVE_LINK_SETTINGS;
+
   private final Map<Address, NetworkLinkSettings> customLinkSettings = new ConcurrentHashMap<>();
 
+  private final Map<Address, NetworkLinkSettings> customInboundLinkSettings = new ConcurrentHashMap<>();
+
+  private final AtomicLong settingsVersion = new AtomicLong();
+
   private final AtomicLong totalMessageSentCount = new AtomicLong();
 
   private final AtomicLong totalMessageLostCount = new AtomicLong();
 
+  private final AtomicLong totalMessageReceivedCount = new AtomicLong();
+
+  private final AtomicLong totalMessageDroppedCount = new AtomicLong();
+
+  private final AtomicLong totalMessageDuplicatedCount = new AtomicLong();
+
   private final boolean enabled;
 
   private final Address address;
 
+  private final ScheduledExecutorService scheduler;
+
   /**
-   * Creates new instance of network emulator. Should be always created internally by Transport.
+   * Creates new instance of network emulator without scheduler, so partition scenarios can't be scheduled.
    *
    * @param address local address
    * @param enabled either network emulator is enabled
    */
   NetworkEmulator(Address address, boolean enabled) {
+    this(address, enabled, null);
+  }
+
+  /**
+   * Creates new instance of network emulator. Should be always created internally by Transport.
+   *
+   * @param address local address
+   * @param enabled either network emulator is enabled
+   * @param scheduler scheduler used to run partition scenarios
+   */
+  NetworkEmulator(Address address, boolean enabled, ScheduledExecutorService scheduler) {
     this.address = address;
     this.enabled = enabled;
+    this.scheduler = scheduler;
   }
 
   /**
@@ -63,8 +100,8 @@ public final class NetworkEmulator {
    * @return network settings
    */
   public NetworkLinkSettings getLinkSettings(InetSocketAddress address) {
-    // Check hostname:port
-    Address address1 = Address.create(address.getHostName(), address.getPort());
+    // Check hostname:port (without reverse DNS lookup)
+    Address address1 = Address.create(address.getHostString(), address.getPort());
     if (customLinkSettings.containsKey(address1)) {
       return customLinkSettings.get(address1);
     }
@@ -87,15 +124,71 @@ public final class NetworkEmulator {
    * @param meanDelay mean delay
    */
   public void setLinkSettings(Address destination, int lossPercent, int meanDelay) {
+    setLinkSettings(destination, new NetworkLinkSettings(lossPercent, meanDelay));
+  }
+
+  /**
+   * Sets given network emulator settings for specific link. If network emulator is disabled do nothing.
+   *
+   * @param destination address of target endpoint
+   * @param settings link settings
+   */
+  public void setLinkSettings(Address destination, NetworkLinkSettings settings) {
     if (!enabled) {
-      LOGGER.warn("Can't set network settings (loss={}%, mean={}ms) from {} to {} since network emulator is disabled",
-          lossPercent, meanDelay, address, destination);
+      LOGGER.warn("Can't set network settings {} from {} to {} since network emulator is disabled",
+          settings, address, destination);
       return;
     }
-    NetworkLinkSettings settings = new NetworkLinkSettings(lossPercent, meanDelay);
     customLinkSettings.put(destination, settings);
-    LOGGER.info("Set network settings (loss={}%, mean={}ms) from {} to {}",
-        lossPercent, meanDelay, address, destination);
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Set network settings {} from {} to {}", settings, address, destination);
+  }
+
+  /**
+   * Returns link settings applied to messages received from the given source.
+   *
+   * @param source address of source endpoint
+   * @return network settings
+   */
+  public NetworkLinkSettings getInboundLinkSettings(Address source) {
+    if (source == null) {
+      return defaultInboundLinkSettings;
+    }
+    return customInboundLinkSettings.getOrDefault(source, defaultInboundLinkSettings);
+  }
+
+  /**
+   * Sets given network emulator settings for messages received from the given source. If network emulator is disabled
+   * do nothing.
+   *
+   * @param source address of source endpoint
+   * @param settings link settings
+   */
+  public void setInboundLinkSettings(Address source, NetworkLinkSettings settings) {
+    if (!enabled) {
+      LOGGER.warn("Can't set inbound network settings {} from {} to {} since network emulator is disabled",
+          settings, source, address);
+      return;
+    }
+    customInboundLinkSettings.put(source, settings);
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Set inbound network settings {} from {} to {}", settings, source, address);
+  }
+
+  /**
+   * Sets default network emulator settings for received messages. If network emulator is disabled do nothing.
+   *
+   * @param settings link settings
+   */
+  public void setDefaultInboundLinkSettings(NetworkLinkSettings settings) {
+    if (!enabled) {
+      LOGGER.warn("Can't set default inbound network settings {} for {} since network emulator is disabled",
+          settings, address);
+      return;
+    }
+    defaultInboundLinkSettings = settings;
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Set default inbound network settings {} for {}", settings, address);
   }
 
   /**
@@ -105,13 +198,23 @@ public final class NetworkEmulator {
    * @param meanDelay mean delay
    */
   public void setDefaultLinkSettings(int lossPercent, int meanDelay) {
+    setDefaultLinkSettings(new NetworkLinkSettings(lossPercent, meanDelay));
+  }
+
+  /**
+   * Sets default network emulator settings. If network emulator is disabled do nothing.
+   *
+   * @param settings link settings
+   */
+  public void setDefaultLinkSettings(NetworkLinkSettings settings) {
     if (!enabled) {
-      LOGGER.warn("Can't set default network settings (loss={}%, mean={}ms) for {} since network emulator is disabled",
-          lossPercent, meanDelay, address);
+      LOGGER.warn("Can't set default network settings {} for {} since network emulator is disabled",
+          settings, address);
       return;
     }
-    defaultLinkSettings = new NetworkLinkSettings(lossPercent, meanDelay);
-    LOGGER.info("Set default network settings (loss={}%, mean={}ms) for {}", lossPercent, meanDelay, address);
+    defaultLinkSettings = settings;
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Set default network settings {} for {}", settings, address);
   }
 
   /**
@@ -130,15 +233,87 @@ public final class NetworkEmulator {
    */
   public void block(Collection<Address> destinations) {
     if (!enabled) {
-      LOGGER.warn("Can't block network from {} to {} since network emulator is disabled");
+      LOGGER.warn("Can't block network from {} to {} since network emulator is disabled", address, destinations);
       return;
     }
     for (Address destination : destinations) {
       customLinkSettings.put(destination, DEAD_LINK_SETTINGS);
     }
+    settingsVersion.incrementAndGet();
     LOGGER.info("Blocked network from {} to {}", address, destinations);
   }
 
+  /**
+   * Blocks messages received from the given sources. If network emulator is disabled do nothing.
+   *
+   * @param sources collection of source endpoints where to apply
+   */
+  public void blockInbound(Collection<Address> sources) {
+    if (!enabled) {
+      LOGGER.warn("Can't block network from {} to {} since network emulator is disabled", sources, address);
+      return;
+    }
+    for (Address source : sources) {
+      customInboundLinkSettings.put(source, DEAD_LINK_SETTINGS);
+    }
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Blocked network from {} to {}", sources, address);
+  }
+
+  /**
+   * Unblocks messages received from the given sources. If network emulator is disabled do nothing.
+   *
+   * @param sources collection of source endpoints where to apply
+   */
+  public void unblockInbound(Collection<Address> sources) {
+    if (!enabled) {
+      LOGGER.warn("Can't unblock network from {} to {} since network emulator is disabled", sources, address);
+      return;
+    }
+    for (Address source : sources) {
+      customInboundLinkSettings.remove(source);
+    }
+    settingsVersion.incrementAndGet();
+    LOGGER.info("Unblocked network from {} to {}", sources, address);
+  }
+
+  /**
+   * Schedules partition scenario: after the given delay messages both to and from the given endpoints are blocked and
+   * after the given duration they are unblocked again. If network emulator is disabled do nothing.
+   *
+   * @param endpoints collection of endpoints to be partitioned from this endpoint
+   * @param delay delay before partition starts
+   * @param duration duration of the partition
+   * @param timeUnit time unit of delay and duration
+   * @return future completed when partition is healed
+   */
+  public CompletableFuture<Void> schedulePartition(Collection<Address> endpoints, long delay, long duration,
+      TimeUnit timeUnit) {
+    checkArgument(delay >= 0 && duration >= 0);
+    checkState(scheduler != null, "Partition scenarios are not supported without scheduler");
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    if (!enabled) {
+      LOGGER.warn("Can't schedule partition of {} from {} since network emulator is disabled", endpoints, address);
+      result.complete(null);
+      return result;
+    }
+    List<Address> partitioned = new ArrayList<>(endpoints);
+    try {
+      scheduler.schedule(() -> {
+        block(partitioned);
+        blockInbound(partitioned);
+      }, timeUnit.toMillis(delay), TimeUnit.MILLISECONDS);
+      scheduler.schedule(() -> {
+        unblock(partitioned);
+        unblockInbound(partitioned);
+        result.complete(null);
+      }, timeUnit.toMillis(delay + duration), TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
   /**
    * Unblocks messages to given destinations. If network emulator is disabled do nothing.
    * 
@@ -161,6 +336,7 @@ public final class NetworkEmulator {
     for (Address destination : destinations) {
       customLinkSettings.remove(destination);
     }
+    settingsVersion.incrementAndGet();
     LOGGER.info("Unblocked network from {} to {}", address, destinations);
   }
 
@@ -173,6 +349,8 @@ public final class NetworkEmulator {
       return;
     }
     customLinkSettings.clear();
+    customInboundLinkSettings.clear();
+    settingsVersion.incrementAndGet();
     LOGGER.info("Unblocked all network from {}", address);
   }
 
@@ -202,6 +380,56 @@ public final class NetworkEmulator {
     return totalMessageLostCount.get();
   }
 
+  /**
+   * Returns total count of messages received and passed to the inbound emulation. If network emulator is disabled
+   * returns zero.
+   *
+   * @return total message received
+   */
+  public long totalMessageReceivedCount() {
+    return totalMessageReceivedCount.get();
+  }
+
+  /**
+   * Returns total count of received messages dropped by inbound emulation. If network emulator is disabled returns
+   * zero.
+   *
+   * @return total message dropped
+   */
+  public long totalMessageDroppedCount() {
+    return totalMessageDroppedCount.get();
+  }
+
+  /**
+   * Returns total count of duplicates produced by network emulator in both directions. If network emulator is disabled
+   * returns zero.
+   *
+   * @return total message duplicated
+   */
+  public long totalMessageDuplicatedCount() {
+    return totalMessageDuplicatedCount.get();
+  }
+
+  // For internal use
+  long settingsVersion() {
+    return settingsVersion.get();
+  }
+
+  // For internal use
+  void incrementMessageReceivedCount() {
+    totalMessageReceivedCount.incrementAndGet();
+  }
+
+  // For internal use
+  void incrementMessageDroppedCount() {
+    totalMessageDroppedCount.incrementAndGet();
+  }
+
+  // For internal use
+  void incrementMessageDuplicatedCount() {
+    totalMessageDuplicatedCount.incrementAndGet();
+  }
+
   // For internal use
   void incrementMessageSentCount() {
     if (!enabled) {
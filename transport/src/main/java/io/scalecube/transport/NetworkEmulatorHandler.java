@@ -1,24 +1,32 @@
 package io.scalecube.transport;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
-import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Emulates outbound link quality. Handler is placed after message serializer, so it operates on serialized frames and
+ * bandwidth limit accounts actual frame size.
+ */
 @ChannelHandler.Sharable
 final class NetworkEmulatorHandler extends ChannelOutboundHandlerAdapter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NetworkEmulatorHandler.class);
 
+  private static final AttributeKey<NetworkLinkState> LINK_STATE = AttributeKey.valueOf("scalecube.outboundLink");
+
   private final NetworkEmulator networkEmulator;
 
   public NetworkEmulatorHandler(NetworkEmulator networkEmulator) {
@@ -27,42 +35,71 @@ final class NetworkEmulatorHandler extends ChannelOutboundHandlerAdapter {
 
   @Override
   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
-    NetworkLinkSettings networkSettings = resolveNetworkSettings(ctx.channel());
+    NetworkLinkState linkState = resolveLinkState(ctx.channel());
+    NetworkLinkSettings networkSettings =
+        linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getLinkSettings);
     networkEmulator.incrementMessageSentCount();
 
     // Emulate message loss
     boolean isLost = networkSettings.evaluateLoss();
     if (isLost) {
       networkEmulator.incrementMessageLostCount();
+      String failure = "NETWORK_BREAK detected, not sent " + msg;
+      ReferenceCountUtil.release(msg);
       if (promise != null) {
-        promise.setFailure(new NetworkEmulatorException("NETWORK_BREAK detected, not sent " + msg));
+        promise.setFailure(new NetworkEmulatorException(failure));
       }
       return;
     }
 
-    // Emulate message delay
-    int delay = (int) networkSettings.evaluateDelay();
-    if (delay > 0) {
-      try {
-        ctx.channel().eventLoop().schedule((Callable<Void>) () -> {
-          ctx.writeAndFlush(msg, promise);
-          return null;
-        }, delay, TimeUnit.MILLISECONDS);
-      } catch (RejectedExecutionException e) {
-        String warn = "Rejected " + msg + " on " + ctx.channel();
-        LOGGER.warn(warn, e);
-        if (promise != null) {
-          promise.setFailure(new NetworkEmulatorException(warn));
-        }
-      }
-      return;
+    // Emulate bandwidth and message delay
+    long delay = networkSettings.evaluateDelay();
+    if (msg instanceof ByteBuf) {
+      delay += linkState.acquire(((ByteBuf) msg).readableBytes());
+    }
+    if (networkSettings.evaluateReorder()) {
+      delay += networkSettings.reorderDelay();
     }
 
-    super.write(ctx, msg, promise);
+    // Emulate message duplication
+    if (networkSettings.evaluateDuplicate() && msg instanceof ByteBuf) {
+      networkEmulator.incrementMessageDuplicatedCount();
+      write(ctx, ((ByteBuf) msg).retainedDuplicate(), ctx.voidPromise(), delay + networkSettings.evaluateDelay());
+    }
+
+    write(ctx, msg, promise, delay);
   }
 
-  private NetworkLinkSettings resolveNetworkSettings(Channel channel) {
-    InetSocketAddress remoteSocketAddress = (InetSocketAddress) channel.remoteAddress();
-    return networkEmulator.getLinkSettings(remoteSocketAddress);
+  private void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise, long delay) throws Exception {
+    if (delay <= 0) {
+      super.write(ctx, msg, promise);
+      return;
+    }
+    try {
+      ctx.channel().eventLoop().schedule(() -> {
+        ctx.writeAndFlush(msg, promise);
+      }, delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      String warn = "Rejected " + msg + " on " + ctx.channel();
+      LOGGER.warn(warn, e);
+      ReferenceCountUtil.release(msg);
+      if (promise != null) {
+        promise.setFailure(new NetworkEmulatorException(warn));
+      }
+    }
+  }
+
+  private NetworkLinkState resolveLinkState(Channel channel) {
+    NetworkLinkState linkState = channel.attr(LINK_STATE).get();
+    if (linkState == null) {
+      Address peer = channel.attr(TransportImpl.PEER_ADDRESS).get();
+      if (peer == null) {
+        InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+        peer = Address.create(remoteAddress.getHostString(), remoteAddress.getPort());
+      }
+      linkState = new NetworkLinkState(peer);
+      channel.attr(LINK_STATE).set(linkState);
+    }
+    return linkState;
   }
 }
@@ -0,0 +1,92 @@
+package io.scalecube.transport;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emulates inbound link quality. Handler is placed right after frame decoder. Incoming channel is always opened by
+ * single remote transport, so its address is taken once from the sender of the first frame and cached on the channel
+ * together with resolved link settings.
+ */
+@ChannelHandler.Sharable
+final class NetworkEmulatorInboundHandler extends ChannelInboundHandlerAdapter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NetworkEmulatorInboundHandler.class);
+
+  private static final AttributeKey<NetworkLinkState> LINK_STATE = AttributeKey.valueOf("scalecube.inboundLink");
+
+  private final NetworkEmulator networkEmulator;
+
+  NetworkEmulatorInboundHandler(NetworkEmulator networkEmulator) {
+    this.networkEmulator = networkEmulator;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (!(msg instanceof ByteBuf)) {
+      super.channelRead(ctx, msg);
+      return;
+    }
+    ByteBuf frame = (ByteBuf) msg;
+    NetworkLinkState linkState = resolveLinkState(ctx, frame);
+    NetworkLinkSettings networkSettings =
+        linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getInboundLinkSettings);
+    networkEmulator.incrementMessageReceivedCount();
+
+    // Emulate message loss
+    if (networkSettings.evaluateLoss()) {
+      networkEmulator.incrementMessageDroppedCount();
+      ReferenceCountUtil.release(frame);
+      return;
+    }
+
+    // Emulate bandwidth and message delay
+    long delay = networkSettings.evaluateDelay() + linkState.acquire(frame.readableBytes());
+    if (networkSettings.evaluateReorder()) {
+      delay += networkSettings.reorderDelay();
+    }
+
+    // Emulate message duplication
+    if (networkSettings.evaluateDuplicate()) {
+      networkEmulator.incrementMessageDuplicatedCount();
+      fireChannelRead(ctx, frame.retainedDuplicate(), delay + networkSettings.evaluateDelay());
+    }
+
+    fireChannelRead(ctx, frame, delay);
+  }
+
+  private void fireChannelRead(ChannelHandlerContext ctx, ByteBuf frame, long delay) {
+    if (delay <= 0) {
+      ctx.fireChannelRead(frame);
+      return;
+    }
+    try {
+      ctx.channel().eventLoop().schedule(() -> {
+        ctx.fireChannelRead(frame);
+      }, delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Rejected incoming frame on {}", ctx.channel(), e);
+      ReferenceCountUtil.release(frame);
+    }
+  }
+
+  private NetworkLinkState resolveLinkState(ChannelHandlerContext ctx, ByteBuf frame) {
+    NetworkLinkState linkState = ctx.channel().attr(LINK_STATE).get();
+    if (linkState == null) {
+      Address sender = MessageCodec.deserialize(frame.duplicate()).sender();
+      linkState = new NetworkLinkState(sender);
+      ctx.channel().attr(LINK_STATE).set(linkState);
+    }
+    return linkState;
+  }
+}
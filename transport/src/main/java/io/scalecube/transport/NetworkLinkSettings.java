@@ -1,5 +1,7 @@
 package io.scalecube.transport;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -7,30 +9,82 @@ import java.util.concurrent.ThreadLocalRandom;
  * Following parameters is present:
  * <ul>
  * <li>Percent of losing messages</li>
- * <li>Mean network delays in milliseconds. Delays are emulated using exponential distribution of probabilities</li>
+ * <li>Mean network delays in milliseconds and jitter. Delays are emulated using given {@link DelayDistribution}, by
+ * default exponential distribution of probabilities</li>
+ * <li>Bandwidth in bytes per second and burst size in bytes. Bandwidth is emulated by token bucket, messages exceeding
+ * available tokens are queued for the time needed to transfer them</li>
+ * <li>Percent of reordered messages and extra delay in milliseconds applied to reordered message</li>
+ * <li>Percent of duplicated messages</li>
  * </ul>
- * 
+ *
  * @author Anton Kharenko
  */
 public final class NetworkLinkSettings {
 
+  /**
+   * Distribution of probabilities used to emulate network delays.
+   */
+  public enum DelayDistribution {
+    /**
+     * Delay is always equal to mean delay, jitter is ignored.
+     */
+    CONSTANT,
+
+    /**
+     * Delay is uniformly distributed in range [mean - jitter, mean + jitter].
+     */
+    UNIFORM,
+
+    /**
+     * Delay is normally distributed with given mean and jitter as standard deviation.
+     */
+    NORMAL,
+
+    /**
+     * Delay is exponentially distributed with given mean, jitter is ignored.
+     */
+    EXPONENTIAL
+  }
+
   private final int lossPercent;
   private final int meanDelay;
+  private final int jitter;
+  private final DelayDistribution delayDistribution;
+  private final long bandwidth;
+  private final int burstSize;
+  private final int reorderPercent;
+  private final int reorderDelay;
+  private final int duplicatePercent;
 
   /**
    * Constructor for link settings.
-   * 
+   *
    * @param lossPercent loss in percent
    * @param mean mean dealy
    */
   public NetworkLinkSettings(int lossPercent, int mean) {
-    this.lossPercent = lossPercent;
-    this.meanDelay = mean;
+    this(builder().lossPercent(lossPercent).meanDelay(mean));
+  }
+
+  private NetworkLinkSettings(Builder builder) {
+    this.lossPercent = builder.lossPercent;
+    this.meanDelay = builder.meanDelay;
+    this.jitter = builder.jitter;
+    this.delayDistribution = builder.delayDistribution;
+    this.bandwidth = builder.bandwidth;
+    this.burstSize = builder.burstSize;
+    this.reorderPercent = builder.reorderPercent;
+    this.reorderDelay = builder.reorderDelay;
+    this.duplicatePercent = builder.duplicatePercent;
+  }
+
+  public static Builder builder() {
+    return new Builder();
   }
 
   /**
    * Returns probability of message loss in percents.
-   * 
+   *
    * @return loss in percents
    */
   public int lossPercent() {
@@ -39,40 +93,228 @@ public final class NetworkLinkSettings {
 
   /**
    * Returns mean network delay for message in milliseconds.
-   * 
+   *
    * @return mean delay
    */
   public int meanDelay() {
     return meanDelay;
   }
 
+  /**
+   * Returns network delay variation in milliseconds.
+   *
+   * @return jitter
+   */
+  public int jitter() {
+    return jitter;
+  }
+
+  public DelayDistribution delayDistribution() {
+    return delayDistribution;
+  }
+
+  /**
+   * Returns link bandwidth in bytes per second. Zero means unlimited bandwidth.
+   *
+   * @return bandwidth
+   */
+  public long bandwidth() {
+    return bandwidth;
+  }
+
+  /**
+   * Returns max amount of bytes which can be sent at once without being throttled by bandwidth limit.
+   *
+   * @return burst size
+   */
+  public int burstSize() {
+    return burstSize;
+  }
+
+  public int reorderPercent() {
+    return reorderPercent;
+  }
+
+  /**
+   * Returns extra delay in milliseconds applied to reordered messages.
+   *
+   * @return reorder delay
+   */
+  public int reorderDelay() {
+    return reorderDelay;
+  }
+
+  public int duplicatePercent() {
+    return duplicatePercent;
+  }
+
   /**
    * Indicator function telling is loss enabled.
    *
    * @return boolean indicating would loss occur
    */
   public boolean evaluateLoss() {
-    return lossPercent > 0 && (lossPercent >= 100 || ThreadLocalRandom.current().nextInt(100) < lossPercent);
+    return evaluatePercent(lossPercent);
+  }
+
+  /**
+   * Indicator function telling is message should be reordered.
+   *
+   * @return boolean indicating would reordering occur
+   */
+  public boolean evaluateReorder() {
+    return evaluatePercent(reorderPercent);
   }
 
   /**
-   * Evaluates network delay according to exponential distribution of probabilities.
-   * 
+   * Indicator function telling is message should be duplicated.
+   *
+   * @return boolean indicating would duplication occur
+   */
+  public boolean evaluateDuplicate() {
+    return evaluatePercent(duplicatePercent);
+  }
+
+  /**
+   * Evaluates network delay according to configured distribution of probabilities.
+   *
    * @return delay
    */
   public long evaluateDelay() {
-    if (meanDelay > 0) {
-      // Network delays (network delays). Delays should be emulated using exponential distribution of probabilities.
-      // log(1-x)/(1/mean)
-      Double x0 = ThreadLocalRandom.current().nextDouble();
-      Double y0 = -Math.log(1 - x0) * meanDelay;
-      return y0.longValue();
+    if (meanDelay <= 0 && (jitter <= 0 || delayDistribution == DelayDistribution.EXPONENTIAL)) {
+      return 0;
     }
-    return 0;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double delay;
+    switch (delayDistribution) {
+      case CONSTANT:
+        delay = meanDelay;
+        break;
+      case UNIFORM:
+        delay = meanDelay - jitter + random.nextDouble() * 2 * jitter;
+        break;
+      case NORMAL:
+        delay = meanDelay + random.nextGaussian() * jitter;
+        break;
+      default:
+        // Network delays (network delays). Delays should be emulated using exponential distribution of probabilities.
+        // log(1-x)/(1/mean)
+        delay = -Math.log(1 - random.nextDouble()) * meanDelay;
+        break;
+    }
+    return Math.max(0, (long) delay);
+  }
+
+  private static boolean evaluatePercent(int percent) {
+    return percent > 0 && (percent >= 100 || ThreadLocalRandom.current().nextInt(100) < percent);
   }
 
   @Override
   public String toString() {
-    return "NetworkLinkSettings{lossPercent=" + lossPercent + ", meanDelay=" + meanDelay + '}';
+    return "NetworkLinkSettings{lossPercent=" + lossPercent
+        + ", meanDelay=" + meanDelay
+        + ", jitter=" + jitter
+        + ", delayDistribution=" + delayDistribution
+        + ", bandwidth=" + bandwidth
+        + ", burstSize=" + burstSize
+        + ", reorderPercent=" + reorderPercent
+        + ", reorderDelay=" + reorderDelay
+        + ", duplicatePercent=" + duplicatePercent
+        + '}';
+  }
+
+  public static final class Builder {
+
+    private int lossPercent;
+    private int meanDelay;
+    private int jitter;
+    private DelayDistribution delayDistribution = DelayDistribution.EXPONENTIAL;
+    private long bandwidth;
+    private int burstSize;
+    private int reorderPercent;
+    private int reorderDelay;
+    private int duplicatePercent;
+
+    private Builder() {}
+
+    /**
+     * Fills settings with values equal to provided settings.
+     *
+     * @param settings link settings
+     */
+    public Builder fillFrom(NetworkLinkSettings settings) {
+      this.lossPercent = settings.lossPercent;
+      this.meanDelay = settings.meanDelay;
+      this.jitter = settings.jitter;
+      this.delayDistribution = settings.delayDistribution;
+      this.bandwidth = settings.bandwidth;
+      this.burstSize = settings.burstSize;
+      this.reorderPercent = settings.reorderPercent;
+      this.reorderDelay = settings.reorderDelay;
+      this.duplicatePercent = settings.duplicatePercent;
+      return this;
+    }
+
+    public Builder lossPercent(int lossPercent) {
+      this.lossPercent = lossPercent;
+      return this;
+    }
+
+    public Builder meanDelay(int meanDelay) {
+      this.meanDelay = meanDelay;
+      return this;
+    }
+
+    public Builder jitter(int jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    public Builder delayDistribution(DelayDistribution delayDistribution) {
+      this.delayDistribution = delayDistribution;
+      return this;
+    }
+
+    /**
+     * Sets bandwidth limit of the link.
+     *
+     * @param bandwidth bandwidth in bytes per second; zero means unlimited
+     * @param burstSize max amount of bytes which can be sent at once without throttling
+     */
+    public Builder bandwidth(long bandwidth, int burstSize) {
+      this.bandwidth = bandwidth;
+      this.burstSize = burstSize;
+      return this;
+    }
+
+    /**
+     * Sets reordering of messages. Reordered message is held back for the given extra delay so that subsequent
+     * messages overtake it.
+     *
+     * @param reorderPercent percent of reordered messages
+     * @param reorderDelay extra delay in milliseconds of reordered message
+     */
+    public Builder reorder(int reorderPercent, int reorderDelay) {
+      this.reorderPercent = reorderPercent;
+      this.reorderDelay = reorderDelay;
+      return this;
+    }
+
+    public Builder duplicatePercent(int duplicatePercent) {
+      this.duplicatePercent = duplicatePercent;
+      return this;
+    }
+
+    /**
+     * Builds link settings.
+     *
+     * @return link settings
+     */
+    public NetworkLinkSettings build() {
+      checkArgument(meanDelay >= 0 && jitter >= 0 && reorderDelay >= 0);
+      checkArgument(bandwidth >= 0 && burstSize >= 0);
+      checkArgument(delayDistribution != null);
+      return new NetworkLinkSettings(this);
+    }
   }
 }
@@ -0,0 +1,62 @@
+package io.scalecube.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * State of the single emulated link cached on the channel. Holds resolved link settings along with version of network
+ * emulator settings they were resolved at, and token bucket used to emulate bandwidth limit. Accessed only from the
+ * channel event loop thread.
+ */
+final class NetworkLinkState {
+
+  private final Address peer;
+
+  private long settingsVersion = -1;
+  private NetworkLinkSettings settings;
+
+  private double tokens;
+  private long lastRefillTime = System.nanoTime();
+
+  NetworkLinkState(Address peer) {
+    this.peer = peer;
+  }
+
+  Address peer() {
+    return peer;
+  }
+
+  /**
+   * Returns cached settings if they are actual, otherwise resolves them with the given resolver.
+   */
+  NetworkLinkSettings settings(long currentVersion, Function<Address, NetworkLinkSettings> resolver) {
+    if (settingsVersion != currentVersion) {
+      NetworkLinkSettings resolved = resolver.apply(peer);
+      if (settings == null || settings.bandwidth() != resolved.bandwidth()) {
+        tokens = resolved.burstSize();
+        lastRefillTime = System.nanoTime();
+      }
+      settings = resolved;
+      settingsVersion = currentVersion;
+    }
+    return settings;
+  }
+
+  /**
+   * Takes given amount of bytes from the token bucket and returns time in milliseconds needed until these bytes can be
+   * transferred through the link. If tokens are not available bucket goes into debt, so following messages are queued
+   * behind this one.
+   */
+  long acquire(int bytes) {
+    long bandwidth = settings.bandwidth();
+    if (bandwidth <= 0) {
+      return 0;
+    }
+    long now = System.nanoTime();
+    double refill = (now - lastRefillTime) * bandwidth / (double) TimeUnit.SECONDS.toNanos(1);
+    tokens = Math.min(tokens + refill, settings.burstSize());
+    lastRefillTime = now;
+    tokens -= bytes;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1000 / bandwidth);
+  }
+}
@@ -0,0 +1,295 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rx.functions.Action1;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Watchdog which detects stalls of single threaded event loops such as netty I/O threads and cluster protocol
+ * executors. Each registered event loop is periodically probed with no-op task; if probe is not executed within the
+ * threshold the event loop is considered stalled and stall is reported along with the stack trace of the event loop
+ * thread and qualifier of the message being handled at that moment (see {@link #enter(String)}).
+ *
+ * <p>Stall counters are available via {@link #stallCount()} and optionally exported into Dropwizard
+ * {@link MetricRegistry} as {@code io.scalecube.watchdog.stalls} meter and {@code io.scalecube.watchdog.stalls.<name>}
+ * counters. Single watchdog may be shared by several transports and clusters. Watchdog is not closed by transport.
+ */
+public final class StallWatchdog implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StallWatchdog.class);
+
+  public static final long DEFAULT_THRESHOLD = 100;
+  public static final long DEFAULT_SAMPLE_INTERVAL = 20;
+  public static final String DEFAULT_METRICS_PREFIX = "io.scalecube.watchdog";
+
+  private final long thresholdNanos;
+  private final MetricRegistry registry;
+  private final String metricsPrefix;
+  private final Meter stallsMeter;
+
+  private final Map<String, LoopMonitor> monitors = new ConcurrentHashMap<>();
+  private final ThreadLocal<LoopMonitor> currentMonitor = new ThreadLocal<>();
+  private final AtomicLong stallCount = new AtomicLong();
+  private final ScheduledExecutorService timer;
+
+  private StallWatchdog(Builder builder) {
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(builder.threshold);
+    this.registry = builder.registry;
+    this.metricsPrefix = builder.metricsPrefix;
+    this.stallsMeter = registry != null ? registry.meter(MetricRegistry.name(metricsPrefix, "stalls")) : null;
+    this.timer = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("sc-watchdog").setDaemon(true).build());
+    timer.scheduleAtFixedRate(this::sample, builder.sampleInterval, builder.sampleInterval, TimeUnit.MILLISECONDS);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Registers single threaded event loop to be watched.
+   *
+   * @param name unique event loop name
+   * @param executor event loop
+   */
+  public void register(String name, Executor executor) {
+    checkArgument(name != null);
+    checkArgument(executor != null);
+    monitors.put(name, new LoopMonitor(name, executor));
+  }
+
+  /**
+   * Stops watching event loop with given name.
+   *
+   * @param name event loop name
+   */
+  public void unregister(String name) {
+    monitors.remove(name);
+  }
+
+  /**
+   * Marks that current thread starts handling message with given qualifier. Qualifier is reported in case stall is
+   * detected on this thread. Does nothing if current thread is not a registered event loop.
+   *
+   * @param qualifier message qualifier
+   */
+  public void enter(String qualifier) {
+    LoopMonitor monitor = currentMonitor.get();
+    if (monitor != null) {
+      monitor.qualifier = qualifier;
+    }
+  }
+
+  /**
+   * Marks that current thread finished handling of message.
+   */
+  public void exit() {
+    LoopMonitor monitor = currentMonitor.get();
+    if (monitor != null) {
+      monitor.qualifier = null;
+    }
+  }
+
+  /**
+   * Returns action which invokes given message handler between {@link #enter(String)} and {@link #exit()} calls of the
+   * given watchdog. If watchdog is null then handler is returned as is.
+   *
+   * @param watchdog stall watchdog; can be null
+   * @param action message handler
+   * @return tracked message handler
+   */
+  public static Action1<Message> tracked(@Nullable StallWatchdog watchdog, Action1<Message> action) {
+    if (watchdog == null) {
+      return action;
+    }
+    return message -> {
+      watchdog.enter(message.qualifier());
+      try {
+        action.call(message);
+      } finally {
+        watchdog.exit();
+      }
+    };
+  }
+
+  /**
+   * Returns total number of stalls detected.
+   *
+   * @return stall count
+   */
+  public long stallCount() {
+    return stallCount.get();
+  }
+
+  /**
+   * Returns number of stalls detected on the given event loop.
+   *
+   * @param name event loop name
+   * @return stall count
+   */
+  public long stallCount(String name) {
+    LoopMonitor monitor = monitors.get(name);
+    return monitor != null ? monitor.stallCount.get() : 0;
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+    monitors.clear();
+  }
+
+  private void sample() {
+    long now = System.nanoTime();
+    for (LoopMonitor monitor : monitors.values()) {
+      try {
+        monitor.sample(now);
+      } catch (Exception e) {
+        LOGGER.warn("Failed to sample event loop {}: {}", monitor.name, e.toString());
+      }
+    }
+  }
+
+  private final class LoopMonitor implements Runnable {
+    private final String name;
+    private final Executor executor;
+    private final AtomicLong stallCount = new AtomicLong();
+    private final Counter stallCounter;
+
+    private volatile Thread thread;
+    private volatile String qualifier;
+    private volatile long probeTime; // zero if no probe pending
+    private volatile boolean stalled;
+
+    private LoopMonitor(String name, Executor executor) {
+      this.name = name;
+      this.executor = executor;
+      this.stallCounter =
+          registry != null ? registry.counter(MetricRegistry.name(metricsPrefix, "stalls", name)) : null;
+    }
+
+    private void sample(long now) {
+      long submitTime = probeTime;
+      if (submitTime == 0) {
+        probeTime = now;
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          unregister(name); // event loop is shutting down
+        }
+      } else if (!stalled && now - submitTime > thresholdNanos) {
+        stalled = true;
+        onStall(now - submitTime);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (thread == null) {
+        thread = Thread.currentThread();
+        currentMonitor.set(this);
+      }
+      if (stalled) {
+        LOGGER.warn("Event loop {} recovered from stall after {} ms",
+            name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeTime));
+        stalled = false;
+      }
+      probeTime = 0;
+    }
+
+    private void onStall(long durationNanos) {
+      stallCount.incrementAndGet();
+      StallWatchdog.this.stallCount.incrementAndGet();
+      if (stallCounter != null) {
+        stallCounter.inc();
+        stallsMeter.mark();
+      }
+      StringBuilder stackTrace = new StringBuilder();
+      Thread stalledThread = thread;
+      if (stalledThread != null) {
+        for (StackTraceElement element : stalledThread.getStackTrace()) {
+          stackTrace.append("\n\tat ").append(element);
+        }
+      }
+      LOGGER.warn("Event loop {} is stalled for {} ms (threshold: {} ms), handling message: {}{}",
+          name, TimeUnit.NANOSECONDS.toMillis(durationNanos), TimeUnit.NANOSECONDS.toMillis(thresholdNanos),
+          qualifier, stackTrace);
+    }
+  }
+
+  public static final class Builder {
+
+    private long threshold = DEFAULT_THRESHOLD;
+    private long sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+    private MetricRegistry registry;
+    private String metricsPrefix = DEFAULT_METRICS_PREFIX;
+
+    private Builder() {}
+
+    /**
+     * Sets time in milliseconds after which not responding event loop is considered stalled.
+     *
+     * @param threshold stall threshold
+     */
+    public Builder threshold(long threshold) {
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Sets interval in milliseconds on which event loops are probed.
+     *
+     * @param sampleInterval sample interval
+     */
+    public Builder sampleInterval(long sampleInterval) {
+      this.sampleInterval = sampleInterval;
+      return this;
+    }
+
+    /**
+     * Sets metric registry where stall counters are exported.
+     *
+     * @param registry metric registry
+     */
+    public Builder metricRegistry(MetricRegistry registry) {
+      this.registry = registry;
+      return this;
+    }
+
+    public Builder metricsPrefix(String metricsPrefix) {
+      this.metricsPrefix = metricsPrefix;
+      return this;
+    }
+
+    /**
+     * Creates and starts stall watchdog.
+     *
+     * @return stall watchdog
+     */
+    public StallWatchdog build() {
+      checkArgument(threshold > 0);
+      checkArgument(sampleInterval > 0);
+      checkArgument(metricsPrefix != null);
+      return new StallWatchdog(this);
+    }
+  }
+}
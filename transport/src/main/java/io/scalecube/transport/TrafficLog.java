@@ -0,0 +1,100 @@
+package io.scalecube.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Layout of traffic capture files written by {@link TrafficRecorder}. Capture consists of numbered segment files.
+ * Each segment starts with header (magic, epoch millis and nano time at segment creation) followed by records:
+ * <ul>
+ * <li>int record length (excluding this field); zero marks end of segment</li>
+ * <li>byte direction</li>
+ * <li>long timestamp in nanoseconds</li>
+ * <li>short peer length and peer UTF-8 bytes</li>
+ * <li>frame bytes till the end of record</li>
+ * </ul>
+ */
+final class TrafficLog {
+
+  static final int MAGIC = 0x5CC0_7F01;
+  static final int SEGMENT_HEADER_SIZE = 4 + 8 + 8;
+  static final int RECORD_HEADER_SIZE = 4 + 1 + 8 + 2;
+
+  private static final String SEGMENT_PREFIX = "traffic-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final Pattern SEGMENT_PATTERN = Pattern.compile("traffic-(\\d+)\\.log");
+
+  private TrafficLog() {
+    // Do not instantiate
+  }
+
+  static Path segmentPath(Path directory, long index) {
+    return directory.resolve(SEGMENT_PREFIX + String.format("%08d", index) + SEGMENT_SUFFIX);
+  }
+
+  static long segmentIndex(Path segment) {
+    Matcher matcher = SEGMENT_PATTERN.matcher(segment.getFileName().toString());
+    return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+  }
+
+  static List<Path> segments(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return new ArrayList<>();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> segmentIndex(path) >= 0)
+          .sorted(Comparator.comparingLong(TrafficLog::segmentIndex))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Reads all records of the capture in given directory in the order they were written.
+   *
+   * @param directory capture directory
+   * @param consumer records consumer
+   */
+  static void read(Path directory, Consumer<TrafficRecord> consumer) throws IOException {
+    for (Path segment : segments(directory)) {
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        readSegment(buffer, consumer);
+      }
+    }
+  }
+
+  private static void readSegment(ByteBuffer buffer, Consumer<TrafficRecord> consumer) {
+    if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != MAGIC) {
+      return;
+    }
+    buffer.position(SEGMENT_HEADER_SIZE);
+    TrafficRecord.Direction[] directions = TrafficRecord.Direction.values();
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int length = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining()) {
+        return; // end of segment
+      }
+      TrafficRecord.Direction direction = directions[buffer.get()];
+      long timestamp = buffer.getLong();
+      byte[] peer = new byte[buffer.getShort()];
+      buffer.get(peer);
+      byte[] frame = new byte[length - (RECORD_HEADER_SIZE - 4) - peer.length];
+      buffer.get(frame);
+      consumer.accept(new TrafficRecord(direction, timestamp, new String(peer, StandardCharsets.UTF_8), frame));
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package io.scalecube.transport;
+
+import io.netty.buffer.Unpooled;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Single frame captured by {@link TrafficRecorder}.
+ */
+@Immutable
+public final class TrafficRecord {
+
+  public enum Direction {
+    IN, OUT
+  }
+
+  private final Direction direction;
+  private final long timestamp;
+  private final String peer;
+  private final byte[] frame;
+
+  TrafficRecord(Direction direction, long timestamp, String peer, byte[] frame) {
+    this.direction = direction;
+    this.timestamp = timestamp;
+    this.peer = peer;
+    this.frame = frame;
+  }
+
+  public Direction direction() {
+    return direction;
+  }
+
+  /**
+   * Returns time in nanoseconds when frame passed transport pipeline. Timestamps are comparable only within single
+   * capture.
+   *
+   * @return timestamp in nanoseconds
+   */
+  public long timestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Returns remote endpoint of the channel on which frame was captured in format host:port.
+   *
+   * @return peer address
+   */
+  public String peer() {
+    return peer;
+  }
+
+  /**
+   * Returns serialized message as it was captured (without length prefix).
+   *
+   * @return frame bytes
+   */
+  public byte[] frame() {
+    return frame;
+  }
+
+  /**
+   * Deserializes captured frame.
+   *
+   * @return message
+   */
+  public Message message() {
+    return MessageCodec.deserialize(Unpooled.wrappedBuffer(frame));
+  }
+
+  @Override
+  public String toString() {
+    return "TrafficRecord{direction=" + direction
+        + ", timestamp=" + timestamp
+        + ", peer=" + peer
+        + ", size=" + frame.length
+        + '}';
+  }
+}
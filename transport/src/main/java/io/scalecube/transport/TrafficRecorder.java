@@ -0,0 +1,290 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Traffic recorder appends every frame passing transport pipeline into memory-mapped rolling log. Each record contains
+ * direction, nanosecond timestamp, peer address and serialized message. Once current segment is full recorder rolls
+ * over to the next segment file and deletes oldest segments exceeding {@code maxSegments}. Captured traffic can be read
+ * with {@link #read(Path, Consumer)} or replayed into transport with {@link TrafficReplayer}.
+ *
+ * <p>Transport I/O threads only copy frame into a record and put it to a queue, so recording doesn't serialize event
+ * loops on log writes. Records are written to the log by a single writer thread. If writer falls behind by more than
+ * {@code maxQueuedBytes}, new records are dropped; dropped records are logged and counted in
+ * {@link #droppedRecords()}.
+ *
+ * <p>Recorder is enabled on transport by {@link TransportConfig.Builder#trafficRecorder(TrafficRecorder)}. Single
+ * recorder may be shared by several transports. Recorder is not closed by transport.
+ */
+public final class TrafficRecorder implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrafficRecorder.class);
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+  public static final int DEFAULT_MAX_SEGMENTS = 16;
+  public static final long DEFAULT_MAX_QUEUED_BYTES = 64 * 1024 * 1024;
+
+  private static final Entry CLOSE = new Entry(null, 0, null, new byte[0]);
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final long maxQueuedBytes;
+
+  // Shared between I/O threads and writer thread
+  private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+  private final AtomicLong queuedBytes = new AtomicLong();
+  private final AtomicLong droppedRecords = new AtomicLong();
+  private final Thread writer;
+  private volatile boolean closed;
+
+  // Owned by writer thread, by creating thread until writer is started
+  private long segmentIndex;
+  private MappedByteBuffer segment;
+  private boolean failed;
+
+  private TrafficRecorder(Path directory, int segmentSize, int maxSegments, long maxQueuedBytes) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+    this.maxQueuedBytes = maxQueuedBytes;
+    this.writer = new Thread(this::writeLoop, "sc-traffic-recorder");
+    this.writer.setDaemon(true);
+  }
+
+  /**
+   * Creates recorder with default segment size and count in the given directory.
+   *
+   * @param directory capture directory; created if not exists
+   * @return traffic recorder
+   */
+  public static TrafficRecorder create(Path directory) {
+    return create(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+  }
+
+  /**
+   * Creates recorder in the given directory. Recording continues after the last existing segment in this directory.
+   *
+   * @param directory capture directory; created if not exists
+   * @param segmentSize size of each segment file in bytes
+   * @param maxSegments max number of segment files to keep
+   * @return traffic recorder
+   */
+  public static TrafficRecorder create(Path directory, int segmentSize, int maxSegments) {
+    return create(directory, segmentSize, maxSegments, DEFAULT_MAX_QUEUED_BYTES);
+  }
+
+  /**
+   * Creates recorder in the given directory. Recording continues after the last existing segment in this directory.
+   *
+   * @param directory capture directory; created if not exists
+   * @param segmentSize size of each segment file in bytes
+   * @param maxSegments max number of segment files to keep
+   * @param maxQueuedBytes max size in bytes of frames queued for writer thread, frames above it are dropped
+   * @return traffic recorder
+   */
+  public static TrafficRecorder create(Path directory, int segmentSize, int maxSegments, long maxQueuedBytes) {
+    checkArgument(directory != null);
+    checkArgument(segmentSize > TrafficLog.SEGMENT_HEADER_SIZE + TrafficLog.RECORD_HEADER_SIZE);
+    checkArgument(maxSegments > 0);
+    checkArgument(maxQueuedBytes > 0);
+    TrafficRecorder recorder = new TrafficRecorder(directory, segmentSize, maxSegments, maxQueuedBytes);
+    try {
+      Files.createDirectories(directory);
+      List<Path> segments = TrafficLog.segments(directory);
+      long lastIndex = segments.isEmpty() ? -1 : TrafficLog.segmentIndex(segments.get(segments.size() - 1));
+      recorder.openSegment(lastIndex + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    recorder.writer.start();
+    return recorder;
+  }
+
+  /**
+   * Reads all records captured in the given directory in the order they were written.
+   *
+   * @param directory capture directory
+   * @param consumer records consumer
+   */
+  public static void read(Path directory, Consumer<TrafficRecord> consumer) throws IOException {
+    TrafficLog.read(directory, consumer);
+  }
+
+  public Path directory() {
+    return directory;
+  }
+
+  /**
+   * Returns number of records dropped because writer thread fell behind or frame didn't fit into a segment.
+   */
+  public long droppedRecords() {
+    return droppedRecords.get();
+  }
+
+  /**
+   * Queues frame to be appended to the log. Frame reader index is not modified.
+   *
+   * @param direction direction of the frame
+   * @param peer remote endpoint address
+   * @param frame serialized message
+   */
+  void record(TrafficRecord.Direction direction, String peer, ByteBuf frame) {
+    if (closed) {
+      return;
+    }
+    long timestamp = System.nanoTime();
+    int frameLength = frame.readableBytes();
+    if (queuedBytes.addAndGet(frameLength) > maxQueuedBytes) {
+      queuedBytes.addAndGet(-frameLength);
+      if (droppedRecords.getAndIncrement() == 0) {
+        LOGGER.warn("Traffic recorder {} fell behind by {} bytes, dropping records", directory, maxQueuedBytes);
+      }
+      return;
+    }
+    byte[] frameBytes = new byte[frameLength];
+    frame.getBytes(frame.readerIndex(), frameBytes);
+    queue.offer(new Entry(direction, timestamp, peer, frameBytes));
+  }
+
+  /**
+   * Stops recording, writes queued records and releases mapped segment.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    queue.offer(CLOSE);
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    LOGGER.info("Closed traffic recorder {}", directory);
+  }
+
+  private void writeLoop() {
+    try {
+      Entry entry;
+      while ((entry = queue.take()) != CLOSE) {
+        queuedBytes.addAndGet(-entry.frame.length);
+        write(entry);
+      }
+    } catch (InterruptedException e) {
+      LOGGER.warn("Traffic recorder {} writer interrupted, recording stopped", directory);
+    }
+    releaseSegment();
+  }
+
+  private void write(Entry entry) {
+    if (failed) {
+      return;
+    }
+    byte[] peerBytes = entry.peer != null ? entry.peer.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    int recordSize = TrafficLog.RECORD_HEADER_SIZE + peerBytes.length + entry.frame.length;
+    if (recordSize > segmentSize - TrafficLog.SEGMENT_HEADER_SIZE) {
+      LOGGER.warn("Frame of {} bytes exceeds traffic log segment size {}, skipped", entry.frame.length, segmentSize);
+      droppedRecords.incrementAndGet();
+      return;
+    }
+    try {
+      if (recordSize > segment.remaining()) {
+        rollSegment();
+      }
+      segment.putInt(recordSize - 4);
+      segment.put((byte) entry.direction.ordinal());
+      segment.putLong(entry.timestamp);
+      segment.putShort((short) peerBytes.length);
+      segment.put(peerBytes);
+      segment.put(entry.frame);
+    } catch (IOException e) {
+      LOGGER.error("Failed to roll traffic log segment in {}, recording stopped", directory, e);
+      failed = true;
+    }
+  }
+
+  private void releaseSegment() {
+    if (segment != null) {
+      segment.force();
+      // Unmap eagerly instead of waiting for GC to collect the buffer
+      PlatformDependent.freeDirectBuffer(segment);
+      segment = null;
+    }
+  }
+
+  private void rollSegment() throws IOException {
+    releaseSegment();
+    openSegment(segmentIndex + 1);
+    long oldestIndex = segmentIndex - maxSegments;
+    for (Path path : TrafficLog.segments(directory)) {
+      if (TrafficLog.segmentIndex(path) <= oldestIndex) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private void openSegment(long index) throws IOException {
+    Path path = TrafficLog.segmentPath(directory, index);
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+    segment.putInt(TrafficLog.MAGIC);
+    segment.putLong(System.currentTimeMillis());
+    segment.putLong(System.nanoTime());
+    segmentIndex = index;
+    LOGGER.debug("Opened traffic log segment {}", path);
+  }
+
+  @Override
+  public String toString() {
+    return "TrafficRecorder{directory=" + directory
+        + ", segmentSize=" + segmentSize
+        + ", maxSegments=" + maxSegments
+        + ", maxQueuedBytes=" + maxQueuedBytes
+        + '}';
+  }
+
+  private static final class Entry {
+    private final TrafficRecord.Direction direction;
+    private final long timestamp;
+    private final String peer;
+    private final byte[] frame;
+
+    private Entry(TrafficRecord.Direction direction, long timestamp, String peer, byte[] frame) {
+      this.direction = direction;
+      this.timestamp = timestamp;
+      this.peer = peer;
+      this.frame = frame;
+    }
+  }
+}
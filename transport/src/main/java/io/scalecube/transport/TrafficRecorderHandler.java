@@ -0,0 +1,55 @@
+package io.scalecube.transport;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * Channel handler which passes serialized frames to {@link TrafficRecorder}. Incoming frames are recorded right after
+ * frame decoder, outgoing frames right before length field prepender, so recorded frames contain serialized message
+ * without length prefix.
+ */
+@ChannelHandler.Sharable
+final class TrafficRecorderHandler extends ChannelDuplexHandler {
+
+  private final TrafficRecorder recorder;
+
+  TrafficRecorderHandler(TrafficRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof ByteBuf) {
+      recorder.record(TrafficRecord.Direction.IN, peer(ctx), (ByteBuf) msg);
+    }
+    super.channelRead(ctx, msg);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+    if (msg instanceof ByteBuf) {
+      recorder.record(TrafficRecord.Direction.OUT, peer(ctx), (ByteBuf) msg);
+    }
+    super.write(ctx, msg, promise);
+  }
+
+  private static String peer(ChannelHandlerContext ctx) {
+    Address address = ctx.channel().attr(TransportImpl.PEER_ADDRESS).get();
+    if (address != null) {
+      return address.toString();
+    }
+    SocketAddress remoteAddress = ctx.channel().remoteAddress();
+    if (remoteAddress instanceof InetSocketAddress) {
+      // Avoid reverse DNS lookup
+      InetSocketAddress socketAddress = (InetSocketAddress) remoteAddress;
+      return socketAddress.getHostString() + ":" + socketAddress.getPort();
+    }
+    return String.valueOf(remoteAddress);
+  }
+}
@@ -0,0 +1,138 @@
+package io.scalecube.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays incoming frames captured by {@link TrafficRecorder} into transport listening on the given address. Frames are
+ * written as is over a plain connection, so replayed messages keep their original sender and headers. Original
+ * inter-arrival timing is reproduced and can be scaled by speed factor. Replayer respects channel writability: when
+ * outbound buffer of the connection exceeds its high water mark, replay waits until written frames are flushed, so
+ * replaying large capture into slow transport doesn't buffer the whole capture in memory.
+ */
+public final class TrafficReplayer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrafficReplayer.class);
+
+  private final Path directory;
+
+  /**
+   * Creates replayer of the capture in given directory.
+   *
+   * @param directory capture directory
+   */
+  public TrafficReplayer(Path directory) {
+    checkArgument(directory != null);
+    this.directory = directory;
+  }
+
+  /**
+   * Replays captured incoming frames into the given transport with original timing.
+   *
+   * @param transport target transport
+   * @return future with number of replayed frames
+   */
+  public CompletableFuture<Long> replay(Transport transport) {
+    return replay(transport.address(), 1.0);
+  }
+
+  /**
+   * Replays captured incoming frames into transport listening on the given address.
+   *
+   * @param target address of the target transport
+   * @param speed speed factor applied to the original timing, e.g. 2.0 replays twice as fast; zero or negative value
+   *        replays frames without delays
+   * @return future with number of replayed frames
+   */
+  public CompletableFuture<Long> replay(Address target, double speed) {
+    checkArgument(target != null);
+    CompletableFuture<Long> result = new CompletableFuture<>();
+    List<TrafficRecord> records = new ArrayList<>();
+    try {
+      TrafficLog.read(directory, record -> {
+        if (record.direction() == TrafficRecord.Direction.IN) {
+          records.add(record);
+        }
+      });
+    } catch (IOException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+
+    BootstrapFactory bootstrapFactory = new BootstrapFactory(TransportConfig.defaultConfig());
+    ChannelFuture connectFuture = bootstrapFactory.clientBootstrap()
+        .handler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel channel) throws Exception {
+            channel.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+          }
+        })
+        .connect(new InetSocketAddress(target.host(), target.port()));
+
+    connectFuture.addListener(future -> {
+      if (!future.isSuccess()) {
+        bootstrapFactory.shutdown();
+        result.completeExceptionally(future.cause());
+        return;
+      }
+      Thread thread = new Thread(() -> {
+        try {
+          result.complete(replay(connectFuture.channel(), records, speed));
+        } catch (Exception e) {
+          result.completeExceptionally(e);
+        } finally {
+          connectFuture.channel().close().syncUninterruptibly();
+          bootstrapFactory.shutdown();
+        }
+      }, "sc-replay-" + target.port());
+      thread.setDaemon(true);
+      thread.start();
+    });
+    return result;
+  }
+
+  private long replay(Channel channel, List<TrafficRecord> records, double speed) throws Exception {
+    long startTime = System.nanoTime();
+    long firstTimestamp = records.isEmpty() ? 0 : records.get(0).timestamp();
+    long count = 0;
+    ChannelFuture lastWrite = null;
+    for (TrafficRecord record : records) {
+      if (speed > 0) {
+        long dueTime = startTime + (long) ((record.timestamp() - firstTimestamp) / speed);
+        for (long delay = dueTime - System.nanoTime(); delay > 0; delay = dueTime - System.nanoTime()) {
+          LockSupport.parkNanos(delay);
+        }
+      }
+      if (lastWrite != null && !channel.isWritable()) {
+        // Frames are flushed in order, so outbound buffer is drained once the last written frame is flushed
+        lastWrite.sync();
+      }
+      lastWrite = channel.writeAndFlush(Unpooled.wrappedBuffer(record.frame()));
+      count++;
+    }
+    channel.writeAndFlush(Unpooled.EMPTY_BUFFER).sync();
+    LOGGER.debug("Replayed {} frames from {} to {}", count, directory, channel.remoteAddress());
+    return count;
+  }
+
+  @Override
+  public String toString() {
+    return "TrafficReplayer{directory=" + directory + '}';
+  }
+}
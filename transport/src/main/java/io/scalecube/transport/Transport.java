@@ -2,9 +2,12 @@ package io.scalecube.transport;
 
 import com.google.common.base.Throwables;
 
+import io.netty.channel.EventLoopGroup;
+
 import rx.Observable;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -66,6 +69,18 @@ public interface Transport {
     return new TransportImpl(config).bind0();
   }
 
+  /**
+   * Creates event loop group which can be shared by several transports in the same JVM (see
+   * {@link TransportConfig.Builder#eventLoopGroup(EventLoopGroup)}). It is up to the caller to shut it down once all
+   * transports are stopped.
+   *
+   * @param threads number of event loop threads; 0 for netty default
+   * @return event loop group
+   */
+  static EventLoopGroup createEventLoopGroup(int threads) {
+    return BootstrapFactory.createSharedEventLoopGroup(threads);
+  }
+
   /**
    * Returns local {@link Address} on which current instance of transport listens for incoming messages.
    *
@@ -143,4 +158,13 @@ public interface Transport {
   @Nonnull
   NetworkEmulator networkEmulator();
 
+  /**
+   * Returns single threaded event loop of this transport. It can be used to run tasks of components built on top of
+   * transport without creating threads of their own. Tasks must not block since the same thread is doing I/O.
+   *
+   * @return event loop
+   */
+  @Nonnull
+  ScheduledExecutorService eventLoop();
+
 }
@@ -1,5 +1,7 @@
 package io.scalecube.transport;
 
+import io.netty.channel.EventLoopGroup;
+
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -21,6 +23,12 @@ public final class TransportConfig {
   public static final boolean DEFAULT_ENABLE_EPOLL = true;
   public static final int DEFAULT_BOSS_THREADS = 2;
   public static final int DEFAULT_WORKER_THREADS = 0;
+  public static final TransportMetrics DEFAULT_METRICS = TransportMetrics.NO_OP;
+  public static final int DEFAULT_METRICS_SAMPLE_INTERVAL = 1_000;
+  public static final boolean DEFAULT_FLIGHT_RECORDER_ENABLED = false;
+  public static final TrafficRecorder DEFAULT_TRAFFIC_RECORDER = null;
+  public static final StallWatchdog DEFAULT_STALL_WATCHDOG = null;
+  public static final EventLoopGroup DEFAULT_EVENT_LOOP_GROUP = null;
 
   private final String listenAddress;
   private final String listenInterface;
@@ -33,6 +41,12 @@ public final class TransportConfig {
   private final boolean enableEpoll;
   private final int bossThreads;
   private final int workerThreads;
+  private final TransportMetrics metrics;
+  private final int metricsSampleInterval;
+  private final boolean flightRecorderEnabled;
+  private final TrafficRecorder trafficRecorder;
+  private final StallWatchdog stallWatchdog;
+  private final EventLoopGroup eventLoopGroup;
 
   private TransportConfig(Builder builder) {
     this.listenAddress = builder.listenAddress;
@@ -46,6 +60,12 @@ public final class TransportConfig {
     this.enableEpoll = builder.enableEpoll;
     this.bossThreads = builder.bossThreads;
     this.workerThreads = builder.workerThreads;
+    this.metrics = builder.metrics;
+    this.metricsSampleInterval = builder.metricsSampleInterval;
+    this.flightRecorderEnabled = builder.flightRecorderEnabled;
+    this.trafficRecorder = builder.trafficRecorder;
+    this.stallWatchdog = builder.stallWatchdog;
+    this.eventLoopGroup = builder.eventLoopGroup;
   }
 
   public static TransportConfig defaultConfig() {
@@ -100,6 +120,30 @@ public final class TransportConfig {
     return workerThreads;
   }
 
+  public TransportMetrics getMetrics() {
+    return metrics;
+  }
+
+  public int getMetricsSampleInterval() {
+    return metricsSampleInterval;
+  }
+
+  public boolean isFlightRecorderEnabled() {
+    return flightRecorderEnabled;
+  }
+
+  public TrafficRecorder getTrafficRecorder() {
+    return trafficRecorder;
+  }
+
+  public StallWatchdog getStallWatchdog() {
+    return stallWatchdog;
+  }
+
+  public EventLoopGroup getEventLoopGroup() {
+    return eventLoopGroup;
+  }
+
   @Override
   public String toString() {
     return "TransportConfig{listenAddress=" + listenAddress
@@ -113,6 +157,12 @@ public final class TransportConfig {
         + ", enableEpoll=" + enableEpoll
         + ", bossThreads=" + bossThreads
         + ", workerThreads=" + workerThreads
+        + ", metrics=" + metrics
+        + ", metricsSampleInterval=" + metricsSampleInterval
+        + ", flightRecorderEnabled=" + flightRecorderEnabled
+        + ", trafficRecorder=" + trafficRecorder
+        + ", stallWatchdog=" + stallWatchdog
+        + ", eventLoopGroup=" + eventLoopGroup
         + '}';
   }
 
@@ -129,6 +179,12 @@ public final class TransportConfig {
     private boolean enableEpoll = DEFAULT_ENABLE_EPOLL;
     private int bossThreads = DEFAULT_BOSS_THREADS;
     private int workerThreads = DEFAULT_WORKER_THREADS;
+    private TransportMetrics metrics = DEFAULT_METRICS;
+    private int metricsSampleInterval = DEFAULT_METRICS_SAMPLE_INTERVAL;
+    private boolean flightRecorderEnabled = DEFAULT_FLIGHT_RECORDER_ENABLED;
+    private TrafficRecorder trafficRecorder = DEFAULT_TRAFFIC_RECORDER;
+    private StallWatchdog stallWatchdog = DEFAULT_STALL_WATCHDOG;
+    private EventLoopGroup eventLoopGroup = DEFAULT_EVENT_LOOP_GROUP;
 
     private Builder() {}
 
@@ -149,6 +205,12 @@ public final class TransportConfig {
       this.enableEpoll = config.enableEpoll;
       this.bossThreads = config.bossThreads;
       this.workerThreads = config.workerThreads;
+      this.metrics = config.metrics;
+      this.metricsSampleInterval = config.metricsSampleInterval;
+      this.flightRecorderEnabled = config.flightRecorderEnabled;
+      this.trafficRecorder = config.trafficRecorder;
+      this.stallWatchdog = config.stallWatchdog;
+      this.eventLoopGroup = config.eventLoopGroup;
       return this;
     }
 
@@ -207,6 +269,76 @@ public final class TransportConfig {
       return this;
     }
 
+    /**
+     * Sets listener of transport instrumentation events.
+     *
+     * @param metrics transport metrics listener
+     * @see MetricRegistryTransportMetrics
+     */
+    public Builder metrics(TransportMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Sets interval in milliseconds on which outbound channel buffers and event loops are sampled. Sampling is
+     * performed only when transport metrics is set.
+     *
+     * @param metricsSampleInterval sample interval
+     */
+    public Builder metricsSampleInterval(int metricsSampleInterval) {
+      this.metricsSampleInterval = metricsSampleInterval;
+      return this;
+    }
+
+    /**
+     * Enables emitting of Java Flight Recorder events on message send and receive. Events are recorded only when flight
+     * recording with these events enabled is running. Requires scalecube-jfr module on classpath and JDK 11+,
+     * otherwise setting is ignored with a warning.
+     *
+     * @param flightRecorderEnabled either flight recorder events are enabled
+     */
+    public Builder flightRecorderEnabled(boolean flightRecorderEnabled) {
+      this.flightRecorderEnabled = flightRecorderEnabled;
+      return this;
+    }
+
+    /**
+     * Sets recorder which captures all incoming and outgoing frames of transport. Recorder is not closed when transport
+     * is stopped, it is up to the caller to close it.
+     *
+     * @param trafficRecorder traffic recorder; null disables capturing
+     * @see TrafficReplayer
+     */
+    public Builder trafficRecorder(TrafficRecorder trafficRecorder) {
+      this.trafficRecorder = trafficRecorder;
+      return this;
+    }
+
+    /**
+     * Sets watchdog which detects stalls of transport I/O threads. Watchdog is not closed when transport is stopped, it
+     * is up to the caller to close it.
+     *
+     * @param stallWatchdog stall watchdog; null disables stall detection
+     */
+    public Builder stallWatchdog(StallWatchdog stallWatchdog) {
+      this.stallWatchdog = stallWatchdog;
+      return this;
+    }
+
+    /**
+     * Sets event loop group which is shared by several transports in the same JVM, it is used both to accept
+     * connections and for I/O instead of creating boss and worker groups per transport. Group is not shut down when
+     * transport is stopped, it is up to the caller to shut it down.
+     *
+     * @param eventLoopGroup shared event loop group; null creates own groups of boss and worker threads
+     * @see Transport#createEventLoopGroup(int)
+     */
+    public Builder eventLoopGroup(EventLoopGroup eventLoopGroup) {
+      this.eventLoopGroup = eventLoopGroup;
+      return this;
+    }
+
     public TransportConfig build() {
       return new TransportConfig(this);
     }
@@ -15,12 +15,18 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.ServerChannel;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +42,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -44,6 +53,12 @@ final class TransportImpl implements Transport {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TransportImpl.class);
   private static final CompletableFuture<Void> COMPLETED_PROMISE = CompletableFuture.completedFuture(null);
+  private static final String FLIGHT_RECORDER_METRICS_CLASS = "io.scalecube.jfr.JfrTransportMetrics";
+
+  /**
+   * Address of remote transport, set on outgoing channels.
+   */
+  static final AttributeKey<Address> PEER_ADDRESS = AttributeKey.valueOf("scalecube.peerAddress");
 
   private final TransportConfig config;
 
@@ -53,15 +68,22 @@ final class TransportImpl implements Transport {
 
   // Pipeline
   private final BootstrapFactory bootstrapFactory;
+  private final EventLoop eventLoop;
   private final IncomingChannelInitializer incomingChannelInitializer = new IncomingChannelInitializer();
   private final ExceptionHandler exceptionHandler = new ExceptionHandler();
   private final MessageToByteEncoder<Message> serializerHandler;
   private final MessageToMessageDecoder<ByteBuf> deserializerHandler;
   private final MessageHandler messageHandler;
+  private final TrafficRecorderHandler trafficRecorderHandler;
+
+  // Metrics
+  private final TransportMetrics metrics;
+  private ScheduledFuture<?> metricsSampleTask;
 
   // Network emulator
   private NetworkEmulator networkEmulator;
   private NetworkEmulatorHandler networkEmulatorHandler;
+  private NetworkEmulatorInboundHandler networkEmulatorInboundHandler;
 
   private Address address;
   private ServerChannel serverChannel;
@@ -71,10 +93,22 @@ final class TransportImpl implements Transport {
   public TransportImpl(TransportConfig config) {
     checkArgument(config != null);
     this.config = config;
-    this.serializerHandler = new MessageSerializerHandler();
-    this.deserializerHandler = new MessageDeserializerHandler();
-    this.messageHandler = new MessageHandler(incomingMessagesSubject);
+    TransportMetrics metrics = config.getMetrics() != null ? config.getMetrics() : TransportMetrics.NO_OP;
+    if (config.isFlightRecorderEnabled()) {
+      TransportMetrics flightRecorderMetrics =
+          FlightRecorderSupport.newInstance(FLIGHT_RECORDER_METRICS_CLASS, TransportMetrics.class);
+      if (flightRecorderMetrics != null) {
+        metrics = TransportMetrics.compose(metrics, flightRecorderMetrics);
+      }
+    }
+    this.metrics = metrics;
+    this.serializerHandler = new MessageSerializerHandler(metrics);
+    this.deserializerHandler = new MessageDeserializerHandler(metrics);
+    this.messageHandler = new MessageHandler(incomingMessagesSubject, config.getStallWatchdog());
+    this.trafficRecorderHandler =
+        config.getTrafficRecorder() != null ? new TrafficRecorderHandler(config.getTrafficRecorder()) : null;
     this.bootstrapFactory = new BootstrapFactory(config);
+    this.eventLoop = bootstrapFactory.getWorkerGroup().next();
   }
 
   /**
@@ -127,8 +161,14 @@ final class TransportImpl implements Transport {
     bindFuture.addListener((ChannelFutureListener) channelFuture -> {
       if (channelFuture.isSuccess()) {
         serverChannel = (ServerChannel) channelFuture.channel();
-        networkEmulator = new NetworkEmulator(address, config.isUseNetworkEmulator());
-        networkEmulatorHandler = config.isUseNetworkEmulator() ? new NetworkEmulatorHandler(networkEmulator) : null;
+        networkEmulator =
+            new NetworkEmulator(address, config.isUseNetworkEmulator(), bootstrapFactory.getWorkerGroup());
+        if (config.isUseNetworkEmulator()) {
+          networkEmulatorHandler = new NetworkEmulatorHandler(networkEmulator);
+          networkEmulatorInboundHandler = new NetworkEmulatorInboundHandler(networkEmulator);
+        }
+        scheduleMetricsSampling();
+        registerStallWatchdog();
         LOGGER.info("Bound to: {}", address);
         result.complete(TransportImpl.this);
       } else {
@@ -167,6 +207,12 @@ final class TransportImpl implements Transport {
     return networkEmulator;
   }
 
+  @Nonnull
+  @Override
+  public ScheduledExecutorService eventLoop() {
+    return eventLoop;
+  }
+
   @Override
   public final void stop() {
     stop(COMPLETED_PROMISE);
@@ -184,6 +230,20 @@ final class TransportImpl implements Transport {
       // ignore
     }
 
+    // Stop sampling metrics
+    if (metricsSampleTask != null) {
+      metricsSampleTask.cancel(false);
+    }
+
+    // Stop watching event loops
+    StallWatchdog stallWatchdog = config.getStallWatchdog();
+    if (stallWatchdog != null && serverChannel != null) {
+      int index = 0;
+      for (EventExecutor ignore : bootstrapFactory.getWorkerGroup()) {
+        stallWatchdog.unregister(eventLoopName(index++));
+      }
+    }
+
     // close connected channels
     for (Address address : outgoingChannels.keySet()) {
       ChannelFuture channelFuture = outgoingChannels.get(address);
@@ -269,27 +329,96 @@ final class TransportImpl implements Transport {
   private ChannelFuture connect(Address address) {
     OutgoingChannelInitializer channelInitializer = new OutgoingChannelInitializer(address);
     Bootstrap client = bootstrapFactory.clientBootstrap().handler(channelInitializer);
+    long connectStartTime = System.nanoTime();
     ChannelFuture connectFuture = client.connect(address.host(), address.port());
 
     // Register logger and cleanup listener
     connectFuture.addListener((ChannelFutureListener) channelFuture -> {
       if (channelFuture.isSuccess()) {
         LOGGER.debug("Connected from {} to {}: {}", TransportImpl.this.address, address, channelFuture.channel());
+        metrics.onConnected(address, System.nanoTime() - connectStartTime);
       } else {
         LOGGER.warn("Failed to connect from {} to {}", TransportImpl.this.address, address);
         outgoingChannels.remove(address);
+        metrics.onConnectFailed(address, channelFuture.cause());
       }
     });
 
     return connectFuture;
   }
 
+  private void registerStallWatchdog() {
+    StallWatchdog stallWatchdog = config.getStallWatchdog();
+    if (stallWatchdog == null) {
+      return;
+    }
+    int index = 0;
+    for (EventExecutor eventLoop : bootstrapFactory.getWorkerGroup()) {
+      stallWatchdog.register(eventLoopName(index++), eventLoop);
+    }
+  }
+
+  private String eventLoopName(int index) {
+    return "sc-io-" + address.port() + "-" + index;
+  }
+
+  private void scheduleMetricsSampling() {
+    if (metrics == TransportMetrics.NO_OP || config.getMetricsSampleInterval() <= 0) {
+      return;
+    }
+    int interval = config.getMetricsSampleInterval();
+    metricsSampleTask = bootstrapFactory.getWorkerGroup().next()
+        .scheduleAtFixedRate(this::sampleMetrics, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Samples outbound channel buffers and submits probe task to each worker event loop in order to measure its
+   * scheduling lag. Failure is logged rather than thrown, since exception would cancel periodic sampling.
+   */
+  private void sampleMetrics() {
+    try {
+      doSampleMetrics();
+    } catch (Exception cause) {
+      LOGGER.error("Exception on sampling transport metrics: {}", cause.getMessage(), cause);
+    }
+  }
+
+  private void doSampleMetrics() {
+    for (Map.Entry<Address, ChannelFuture> entry : outgoingChannels.entrySet()) {
+      ChannelFuture channelFuture = entry.getValue();
+      if (channelFuture.isSuccess()) {
+        ChannelOutboundBuffer outboundBuffer = channelFuture.channel().unsafe().outboundBuffer();
+        metrics.onOutboundPending(entry.getKey(), outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0);
+      }
+    }
+
+    int index = 0;
+    for (EventExecutor eventLoop : bootstrapFactory.getWorkerGroup()) {
+      String name = eventLoopName(index++);
+      int pendingTasks = eventLoop instanceof SingleThreadEventExecutor
+          ? ((SingleThreadEventExecutor) eventLoop).pendingTasks()
+          : -1;
+      long submitTime = System.nanoTime();
+      try {
+        eventLoop.execute(() -> metrics.onEventLoopSample(name, pendingTasks, System.nanoTime() - submitTime));
+      } catch (RejectedExecutionException ignore) {
+        // event loop is shutting down
+      }
+    }
+  }
+
   @ChannelHandler.Sharable
   private final class IncomingChannelInitializer extends ChannelInitializer {
     @Override
     protected void initChannel(Channel channel) throws Exception {
       ChannelPipeline pipeline = channel.pipeline();
       pipeline.addLast(new ProtobufVarint32FrameDecoder());
+      if (networkEmulatorInboundHandler != null) {
+        pipeline.addLast(networkEmulatorInboundHandler);
+      }
+      if (trafficRecorderHandler != null) {
+        pipeline.addLast(trafficRecorderHandler);
+      }
       pipeline.addLast(deserializerHandler);
       pipeline.addLast(messageHandler);
       pipeline.addLast(exceptionHandler);
@@ -306,20 +435,25 @@ final class TransportImpl implements Transport {
 
     @Override
     protected void initChannel(Channel channel) throws Exception {
+      channel.attr(PEER_ADDRESS).set(address);
       ChannelPipeline pipeline = channel.pipeline();
       pipeline.addLast(new ChannelDuplexHandler() {
         @Override
         public void channelInactive(ChannelHandlerContext ctx) throws Exception {
           LOGGER.debug("Disconnected from: {} {}", address, ctx.channel());
           outgoingChannels.remove(address);
+          metrics.onDisconnected(address);
           super.channelInactive(ctx);
         }
       });
       pipeline.addLast(new ProtobufVarint32LengthFieldPrepender());
-      pipeline.addLast(serializerHandler);
       if (networkEmulatorHandler != null) {
         pipeline.addLast(networkEmulatorHandler);
       }
+      if (trafficRecorderHandler != null) {
+        pipeline.addLast(trafficRecorderHandler);
+      }
+      pipeline.addLast(serializerHandler);
       pipeline.addLast(exceptionHandler);
     }
   }
@@ -0,0 +1,96 @@
+package io.scalecube.transport;
+
+/**
+ * Listener for transport level instrumentation events. All callbacks are invoked directly on the netty event loop
+ * threads (or on the caller thread of {@link Transport#send(Address, Message)}) so implementations must be thread safe
+ * and must not block. All methods have empty default implementation so it is possible to override only events which
+ * are of interest.
+ *
+ * @see MetricRegistryTransportMetrics
+ */
+public interface TransportMetrics {
+
+  /**
+   * Instance which ignores all events. Used by default.
+   */
+  TransportMetrics NO_OP = new TransportMetrics() {};
+
+  /**
+   * Returns transport metrics which delivers each event to both given listeners, first to {@code first} and then to
+   * {@code second}. If one of listeners is {@link #NO_OP} then another is returned as is.
+   *
+   * @param first first listener
+   * @param second second listener
+   * @return composite transport metrics
+   */
+  static TransportMetrics compose(TransportMetrics first, TransportMetrics second) {
+    if (first == NO_OP) {
+      return second;
+    }
+    if (second == NO_OP) {
+      return first;
+    }
+    return new CompositeTransportMetrics(first, second);
+  }
+
+  /**
+   * Invoked once message was serialized and written into outbound channel buffer.
+   *
+   * @param peer address of the remote endpoint
+   * @param qualifier message qualifier; can be null
+   * @param bytes size of the serialized message
+   * @param encodeNanos time spent on serialization
+   */
+  default void onMessageSent(Address peer, String qualifier, int bytes, long encodeNanos) {}
+
+  /**
+   * Invoked once message was received and deserialized.
+   *
+   * @param peer address of the sender
+   * @param qualifier message qualifier; can be null
+   * @param bytes size of the serialized message
+   * @param decodeNanos time spent on deserialization
+   */
+  default void onMessageReceived(Address peer, String qualifier, int bytes, long decodeNanos) {}
+
+  /**
+   * Invoked periodically with the amount of bytes pending to be written into outgoing channel.
+   *
+   * @param peer address of the remote endpoint
+   * @param pendingBytes bytes queued in channel outbound buffer
+   */
+  default void onOutboundPending(Address peer, long pendingBytes) {}
+
+  /**
+   * Invoked when outgoing connection was established.
+   *
+   * @param peer address of the remote endpoint
+   * @param connectNanos time elapsed since connect was issued
+   */
+  default void onConnected(Address peer, long connectNanos) {}
+
+  /**
+   * Invoked when outgoing connection failed to establish.
+   *
+   * @param peer address of the remote endpoint
+   * @param cause failure cause
+   */
+  default void onConnectFailed(Address peer, Throwable cause) {}
+
+  /**
+   * Invoked when outgoing connection was closed.
+   *
+   * @param peer address of the remote endpoint
+   */
+  default void onDisconnected(Address peer) {}
+
+  /**
+   * Invoked periodically for each transport event loop.
+   *
+   * @param eventLoop event loop name
+   * @param pendingTasks number of tasks waiting in event loop queue
+   * @param lagNanos delay between submitting probe task and its actual execution
+   */
+  default void onEventLoopSample(String eventLoop, int pendingTasks, long lagNanos) {}
+
+}
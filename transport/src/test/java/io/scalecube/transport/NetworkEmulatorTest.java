@@ -41,4 +41,63 @@ public class NetworkEmulatorTest {
     Assert.assertEquals(2, link3.meanDelay());
   }
 
+  @Test
+  public void testDelayDistributions() {
+    NetworkLinkSettings constant = NetworkLinkSettings.builder()
+        .meanDelay(50).jitter(10).delayDistribution(NetworkLinkSettings.DelayDistribution.CONSTANT).build();
+    NetworkLinkSettings uniform = NetworkLinkSettings.builder()
+        .meanDelay(50).jitter(10).delayDistribution(NetworkLinkSettings.DelayDistribution.UNIFORM).build();
+    NetworkLinkSettings normal = NetworkLinkSettings.builder()
+        .meanDelay(50).jitter(10).delayDistribution(NetworkLinkSettings.DelayDistribution.NORMAL).build();
+
+    long normalSum = 0;
+    int count = 10000;
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(50, constant.evaluateDelay());
+      long uniformDelay = uniform.evaluateDelay();
+      Assert.assertTrue("Unexpected delay " + uniformDelay, uniformDelay >= 40 && uniformDelay <= 60);
+      long normalDelay = normal.evaluateDelay();
+      Assert.assertTrue("Unexpected delay " + normalDelay, normalDelay >= 0);
+      normalSum += normalDelay;
+    }
+    double normalMean = (double) normalSum / count;
+    Assert.assertTrue("Unexpected mean " + normalMean, normalMean > 45 && normalMean < 55);
+  }
+
+  @Test
+  public void testBandwidthTokenBucket() {
+    Address peer = Address.from("localhost:5678");
+    NetworkEmulator networkEmulator = new NetworkEmulator(Address.from("localhost:1234"), true);
+    // 10 KB per second with 1 KB burst
+    networkEmulator.setLinkSettings(peer, NetworkLinkSettings.builder().bandwidth(10 * 1024, 1024).build());
+
+    NetworkLinkState linkState = new NetworkLinkState(peer);
+    linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getLinkSettings);
+
+    // Burst is passed without delay
+    Assert.assertEquals(0, linkState.acquire(1024));
+    // Next 10 KB are queued for about a second
+    long delay = linkState.acquire(10 * 1024);
+    Assert.assertTrue("Unexpected delay " + delay, delay > 900 && delay <= 1000);
+  }
+
+  @Test
+  public void testLinkStateIsResolvedOnSettingsChange() {
+    Address peer = Address.from("localhost:5678");
+    NetworkEmulator networkEmulator = new NetworkEmulator(Address.from("localhost:1234"), true);
+    NetworkLinkState linkState = new NetworkLinkState(peer);
+
+    NetworkLinkSettings settings =
+        linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getLinkSettings);
+    Assert.assertSame(NetworkEmulator.ALIVE_LINK_SETTINGS, settings);
+
+    networkEmulator.block(peer);
+    settings = linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getLinkSettings);
+    Assert.assertSame(NetworkEmulator.DEAD_LINK_SETTINGS, settings);
+
+    networkEmulator.unblockAll();
+    settings = linkState.settings(networkEmulator.settingsVersion(), networkEmulator::getLinkSettings);
+    Assert.assertSame(NetworkEmulator.ALIVE_LINK_SETTINGS, settings);
+  }
+
 }
@@ -0,0 +1,98 @@
+package io.scalecube.transport;
+
+import static io.scalecube.transport.TransportTestUtils.destroyTransport;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.testlib.BaseTest;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class StallWatchdogTest extends BaseTest {
+
+  // Auto-destroyed on tear down
+  private StallWatchdog watchdog;
+  private ExecutorService executor;
+  private Transport client;
+  private Transport server;
+
+  @After
+  public void tearDown() throws Exception {
+    destroyTransport(client);
+    destroyTransport(server);
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    if (watchdog != null) {
+      watchdog.close();
+    }
+  }
+
+  @Test
+  public void testStallOfExecutorIsDetected() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    watchdog = StallWatchdog.builder().threshold(100).sampleInterval(10).metricRegistry(registry).build();
+    executor = Executors.newSingleThreadExecutor();
+    watchdog.register("test-executor", executor);
+
+    // Let watchdog capture executor thread
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertEquals(0, watchdog.stallCount());
+
+    executor.submit(() -> {
+      watchdog.enter("test/blocking");
+      try {
+        TimeUnit.MILLISECONDS.sleep(500);
+      } finally {
+        watchdog.exit();
+      }
+      return null;
+    }).get(3, TimeUnit.SECONDS);
+
+    assertEquals(1, watchdog.stallCount());
+    assertEquals(1, watchdog.stallCount("test-executor"));
+    assertEquals(1, registry.counter(
+        MetricRegistry.name(StallWatchdog.DEFAULT_METRICS_PREFIX, "stalls", "test-executor")).getCount());
+    assertEquals(1, registry.meter(MetricRegistry.name(StallWatchdog.DEFAULT_METRICS_PREFIX, "stalls")).getCount());
+  }
+
+  @Test
+  public void testStallOfTransportEventLoopIsDetected() throws Exception {
+    watchdog = StallWatchdog.builder().threshold(100).sampleInterval(10).build();
+    client = createTransport(null);
+    server = createTransport(watchdog);
+    TimeUnit.MILLISECONDS.sleep(100);
+
+    CompletableFuture<Void> handled = new CompletableFuture<>();
+    server.listen().subscribe(message -> {
+      try {
+        // Blocking call on I/O thread
+        TimeUnit.MILLISECONDS.sleep(500);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+      handled.complete(null);
+    });
+    client.send(server.address(), Message.fromQualifier("test/blocking"));
+    handled.get(3, TimeUnit.SECONDS);
+
+    assertTrue("Expected stall to be detected", watchdog.stallCount() > 0);
+  }
+
+  private Transport createTransport(StallWatchdog watchdog) {
+    TransportConfig config = TransportConfig.builder()
+        .connectTimeout(TransportTestUtils.CONNECT_TIMEOUT)
+        .port(TransportTestUtils.DEFAULT_PORT)
+        .stallWatchdog(watchdog)
+        .build();
+    return Transport.bindAwait(config);
+  }
+}
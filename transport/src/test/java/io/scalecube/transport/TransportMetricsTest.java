@@ -0,0 +1,134 @@
+package io.scalecube.transport;
+
+import static io.scalecube.transport.TransportTestUtils.destroyTransport;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scalecube.testlib.BaseTest;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class TransportMetricsTest extends BaseTest {
+
+  private static final String QUALIFIER = "metrics/test";
+
+  // Auto-destroyed on tear down
+  private Transport client;
+  private Transport client2;
+  private Transport server;
+
+  @After
+  public void tearDown() throws Exception {
+    destroyTransport(client);
+    destroyTransport(client2);
+    destroyTransport(server);
+  }
+
+  @Test
+  public void testMessagesAndBytesAreCounted() throws Exception {
+    MetricRegistry clientRegistry = new MetricRegistry();
+    MetricRegistry serverRegistry = new MetricRegistry();
+    client = createTransport(clientRegistry);
+    server = createTransport(serverRegistry);
+
+    int count = 10;
+    CompletableFuture<Void> received = new CompletableFuture<>();
+    server.listen().filter(message -> QUALIFIER.equals(message.qualifier())).skip(count - 1)
+        .subscribe(message -> received.complete(null));
+
+    for (int i = 0; i < count; i++) {
+      client.send(server.address(), Message.withData("hello" + i).qualifier(QUALIFIER).build());
+    }
+    received.get(3, TimeUnit.SECONDS);
+
+    String prefix = MetricRegistryTransportMetrics.DEFAULT_PREFIX;
+    assertEquals(count, clientRegistry.meter(MetricRegistry.name(prefix, "messages", "out")).getCount());
+    assertEquals(count,
+        clientRegistry.meter(MetricRegistry.name(prefix, "messages", "out", "qualifier", QUALIFIER)).getCount());
+    assertEquals(count,
+        clientRegistry.meter(MetricRegistry.name(prefix, "messages", "out", "peer", server.address().toString()))
+            .getCount());
+    assertEquals(count, clientRegistry.timer(MetricRegistry.name(prefix, "encode")).getCount());
+    assertEquals(1, clientRegistry.timer(MetricRegistry.name(prefix, "connect")).getCount());
+
+    assertEquals(count, serverRegistry.meter(MetricRegistry.name(prefix, "messages", "in")).getCount());
+    assertEquals(count,
+        serverRegistry.meter(MetricRegistry.name(prefix, "messages", "in", "peer", client.address().toString()))
+            .getCount());
+    assertEquals(count, serverRegistry.timer(MetricRegistry.name(prefix, "decode")).getCount());
+
+    long bytesOut = clientRegistry.meter(MetricRegistry.name(prefix, "bytes", "out")).getCount();
+    long bytesIn = serverRegistry.meter(MetricRegistry.name(prefix, "bytes", "in")).getCount();
+    assertTrue("Expected positive bytes out, but was " + bytesOut, bytesOut > 0);
+    assertEquals(bytesOut, bytesIn);
+  }
+
+  @Test
+  public void testEventLoopAndPendingBytesAreSampled() throws Exception {
+    MetricRegistry clientRegistry = new MetricRegistry();
+    client = createTransport(clientRegistry);
+    server = createTransport(new MetricRegistry());
+
+    CompletableFuture<Void> sent = new CompletableFuture<>();
+    client.send(server.address(), Message.withData("hello").qualifier(QUALIFIER).build(), sent);
+    sent.get(3, TimeUnit.SECONDS);
+
+    TimeUnit.MILLISECONDS.sleep(500);
+
+    String prefix = MetricRegistryTransportMetrics.DEFAULT_PREFIX;
+    assertTrue(clientRegistry.getGauges().containsKey(MetricRegistry.name(prefix, "pending",
+        server.address().toString())));
+    assertTrue(clientRegistry.getTimers().keySet().stream()
+        .anyMatch(name -> name.startsWith(MetricRegistry.name(prefix, "eventloop"))));
+  }
+
+  @Test
+  public void testSharedRegistryAndPeerMetricsRemoval() throws Exception {
+    MetricRegistry sharedRegistry = new MetricRegistry();
+    client = createTransport(sharedRegistry);
+    client2 = createTransport(sharedRegistry);
+    server = createTransport(new MetricRegistry());
+
+    for (Transport transport : new Transport[] {client, client2}) {
+      CompletableFuture<Void> sent = new CompletableFuture<>();
+      transport.send(server.address(), Message.withData("hello").qualifier(QUALIFIER).build(), sent);
+      sent.get(3, TimeUnit.SECONDS);
+    }
+
+    TimeUnit.MILLISECONDS.sleep(500);
+
+    // Both transports share per peer gauge and keep sampling their own event loops
+    String prefix = MetricRegistryTransportMetrics.DEFAULT_PREFIX;
+    String pendingGauge = MetricRegistry.name(prefix, "pending", server.address().toString());
+    assertTrue(sharedRegistry.getGauges().containsKey(pendingGauge));
+    for (Transport transport : new Transport[] {client, client2}) {
+      String eventLoopPrefix = MetricRegistry.name(prefix, "eventloop", "sc-io-" + transport.address().port());
+      assertTrue("No event loop metrics of " + transport.address(),
+          sharedRegistry.getTimers().keySet().stream().anyMatch(name -> name.startsWith(eventLoopPrefix)));
+    }
+
+    // Per peer metrics are removed once connection to the peer is closed
+    destroyTransport(server);
+    server = null;
+    TimeUnit.MILLISECONDS.sleep(500);
+    assertFalse(sharedRegistry.getGauges().containsKey(pendingGauge));
+    assertFalse(sharedRegistry.getMeters().keySet().stream().anyMatch(name -> name.contains(".peer.")));
+  }
+
+  private Transport createTransport(MetricRegistry registry) {
+    TransportConfig config = TransportConfig.builder()
+        .connectTimeout(TransportTestUtils.CONNECT_TIMEOUT)
+        .port(TransportTestUtils.DEFAULT_PORT)
+        .metrics(new MetricRegistryTransportMetrics(registry))
+        .metricsSampleInterval(100)
+        .build();
+    return Transport.bindAwait(config);
+  }
+}
@@ -24,10 +24,12 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -447,4 +449,65 @@ public class TransportTest extends BaseTest {
     assertEquals("q/unblocked", resp.get(0).qualifier());
   }
 
+  @Test
+  public void testBlockInboundMessages() throws Exception {
+    client = createTransport();
+    server = createTransport();
+
+    final List<Message> received = new CopyOnWriteArrayList<>();
+    server.listen().subscribe(received::add);
+
+    send(client, server.address(), Message.fromQualifier("q/unblocked"));
+    Thread.sleep(1000);
+
+    server.networkEmulator().blockInbound(Collections.singletonList(client.address()));
+    send(client, server.address(), Message.fromQualifier("q/blocked"));
+    Thread.sleep(1000);
+
+    assertEquals(1, received.size());
+    assertEquals("q/unblocked", received.get(0).qualifier());
+    assertEquals(1, server.networkEmulator().totalMessageDroppedCount());
+  }
+
+  @Test
+  public void testDuplicateMessages() throws Exception {
+    client = createTransport();
+    server = createTransport();
+    client.networkEmulator()
+        .setLinkSettings(server.address(), NetworkLinkSettings.builder().duplicatePercent(100).build());
+
+    final List<Message> received = new CopyOnWriteArrayList<>();
+    server.listen().subscribe(received::add);
+
+    int total = 10;
+    for (int i = 0; i < total; i++) {
+      send(client, server.address(), Message.fromData("q" + i));
+    }
+    Thread.sleep(1000);
+
+    assertEquals(2 * total, received.size());
+    assertEquals(total, client.networkEmulator().totalMessageDuplicatedCount());
+  }
+
+  @Test
+  public void testScheduledPartition() throws Exception {
+    client = createTransport();
+    server = createTransport();
+
+    final List<Message> received = new CopyOnWriteArrayList<>();
+    server.listen().subscribe(received::add);
+
+    CompletableFuture<Void> healed = client.networkEmulator()
+        .schedulePartition(Collections.singletonList(server.address()), 0, 500, TimeUnit.MILLISECONDS);
+    Thread.sleep(100);
+    send(client, server.address(), Message.fromQualifier("q/partitioned"));
+
+    healed.get(3, TimeUnit.SECONDS);
+    send(client, server.address(), Message.fromQualifier("q/healed"));
+    Thread.sleep(1000);
+
+    assertEquals(1, received.size());
+    assertEquals("q/healed", received.get(0).qualifier());
+  }
+
 }
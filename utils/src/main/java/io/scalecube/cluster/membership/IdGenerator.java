@@ -7,7 +7,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 public final class IdGenerator {
 
-  private static final int DEFAULT_SIZE = 10;
+  public static final int DEFAULT_SIZE = 10;
 
   public static final String DEFAULT_ALGORITHM = "MD5";
 